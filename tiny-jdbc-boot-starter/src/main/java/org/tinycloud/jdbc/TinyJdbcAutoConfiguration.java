@@ -3,8 +3,13 @@ package org.tinycloud.jdbc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.*;
 import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
@@ -13,22 +18,53 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.tinycloud.jdbc.cache.BloomIndexManager;
+import org.tinycloud.jdbc.cache.CacheInvalidationBroadcaster;
+import org.tinycloud.jdbc.cache.CacheInvalidationBus;
+import org.tinycloud.jdbc.cache.CacheSnapshotManager;
+import org.tinycloud.jdbc.cache.JdbcCacheInvalidationBus;
+import org.tinycloud.jdbc.cache.LoopbackCacheInvalidationBus;
+import org.tinycloud.jdbc.cache.OffHeapEntityCacheStoreFactory;
+import org.tinycloud.jdbc.cache.ReferenceTableManager;
+import org.tinycloud.jdbc.cache.CacheInvalidator;
+import org.tinycloud.jdbc.cache.EntityCacheConfig;
+import org.tinycloud.jdbc.cache.EntityCacheManager;
+import org.tinycloud.jdbc.cache.EntityCacheStoreFactory;
+import org.tinycloud.jdbc.cache.EvictionPolicy;
+import org.tinycloud.jdbc.cache.PageCountCache;
+import org.tinycloud.jdbc.cache.QueryResultCache;
 import org.tinycloud.jdbc.config.GlobalConfig;
 import org.tinycloud.jdbc.fill.MetaObjectHandler;
 import org.tinycloud.jdbc.id.IdGeneratorInterface;
 import org.tinycloud.jdbc.id.SnowflakeConfigInterface;
+import org.tinycloud.jdbc.inlist.DefaultInListStrategySelector;
+import org.tinycloud.jdbc.inlist.InListStrategySelector;
 import org.tinycloud.jdbc.interceptor.SqlInterceptor;
+import org.tinycloud.jdbc.interceptor.SqlRewriteCache;
 import org.tinycloud.jdbc.interceptor.StatInterceptor;
 import org.tinycloud.jdbc.page.IPageHandle;
 import org.tinycloud.jdbc.page.PageHandleFactory;
+import org.tinycloud.jdbc.repository.RepositoryFactoryBean;
+import org.tinycloud.jdbc.repository.RepositoryScannerRegistrar;
+import org.tinycloud.jdbc.template.SqlTemplateRegistry;
 import org.tinycloud.jdbc.util.DbType;
 import org.tinycloud.jdbc.util.DbTypeUtils;
 import org.tinycloud.jdbc.util.TinyJdbcVersion;
 
 import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @ConditionalOnClass({DataSource.class, JdbcTemplate.class})
 @ConditionalOnSingleCandidate(DataSource.class)
@@ -61,12 +97,79 @@ public class TinyJdbcAutoConfiguration implements ApplicationContextAware, Initi
         globalConfig.setDbType(tinyJdbcProperties.getDbType());
         globalConfig.setOpenRuntimeDbType(Objects.isNull(tinyJdbcProperties.getOpenRuntimeDbType()) ? Boolean.FALSE : tinyJdbcProperties.getOpenRuntimeDbType());
         globalConfig.setCloseConn(Objects.isNull(tinyJdbcProperties.getCloseConn()) ? Boolean.TRUE : tinyJdbcProperties.getCloseConn());
+        globalConfig.setParallelScanMaxConnections(Objects.isNull(tinyJdbcProperties.getParallelScanMaxConnections()) ? 4 : tinyJdbcProperties.getParallelScanMaxConnections());
+        globalConfig.setTransactionCacheEnabled(Objects.isNull(tinyJdbcProperties.getTransactionCacheEnabled()) ? Boolean.FALSE : tinyJdbcProperties.getTransactionCacheEnabled());
         /* 获取自定义的（ID生成器） */
         this.getBeanThen(IdGeneratorInterface.class, globalConfig::setIdGeneratorInterface);
         /* 获取自定义的（雪花算法 workerId 和 datacenterId 配置） */
         this.getBeanThen(SnowflakeConfigInterface.class, globalConfig::setSnowflakeConfigInterface);
         /* 获取自定义的（实体字段自动填充处理器） */
         this.getBeanThen(MetaObjectHandler.class, globalConfig::setMetaObjectHandler);
+        /* IN 条件执行策略，默认不启用；配置了任一阈值时启用内置策略，自定义的（InListStrategySelector）优先 */
+        if (Objects.nonNull(tinyJdbcProperties.getInListArrayThreshold()) || Objects.nonNull(tinyJdbcProperties.getInListTempTableThreshold())) {
+            globalConfig.setInListStrategySelector(new DefaultInListStrategySelector(
+                    Objects.isNull(tinyJdbcProperties.getInListArrayThreshold()) ? 0 : tinyJdbcProperties.getInListArrayThreshold(),
+                    Objects.isNull(tinyJdbcProperties.getInListTempTableThreshold()) ? 0 : tinyJdbcProperties.getInListTempTableThreshold()));
+        }
+        this.getBeanThen(InListStrategySelector.class, globalConfig::setInListStrategySelector);
+        /* SQL 改写结果缓存 */
+        globalConfig.setSqlRewriteCache(new SqlRewriteCache(
+                Objects.isNull(tinyJdbcProperties.getSqlRewriteCacheMaxSize()) ? 1024 : tinyJdbcProperties.getSqlRewriteCacheMaxSize()));
+        /* 分页总数缓存 */
+        if (Boolean.TRUE.equals(tinyJdbcProperties.getPageCountCacheEnabled())) {
+            PageCountCache pageCountCache = new PageCountCache(
+                    Objects.isNull(tinyJdbcProperties.getPageCountCacheTtl()) ? 30L : tinyJdbcProperties.getPageCountCacheTtl(),
+                    TimeUnit.SECONDS,
+                    Objects.isNull(tinyJdbcProperties.getPageCountCacheMaxSize()) ? 1024 : tinyJdbcProperties.getPageCountCacheMaxSize());
+            globalConfig.setPageCountCache(pageCountCache);
+            CacheInvalidator.register(pageCountCache);
+        }
+        /* 实体二级缓存 */
+        if (!Boolean.FALSE.equals(tinyJdbcProperties.getEntityCacheEnabled())) {
+            EntityCacheConfig entityCacheConfig = new EntityCacheConfig(
+                    Objects.isNull(tinyJdbcProperties.getEntityCacheMaxSize()) ? 10000 : tinyJdbcProperties.getEntityCacheMaxSize(),
+                    Objects.isNull(tinyJdbcProperties.getEntityCacheTtl()) ? 300L : tinyJdbcProperties.getEntityCacheTtl(),
+                    Objects.isNull(tinyJdbcProperties.getEntityCacheEviction()) ? EvictionPolicy.LRU : tinyJdbcProperties.getEntityCacheEviction());
+            EntityCacheManager entityCacheManager = new EntityCacheManager(entityCacheConfig, tinyJdbcProperties.getEntityCacheClasses());
+            if (Boolean.TRUE.equals(tinyJdbcProperties.getEntityCacheOffHeap())) {
+                long capacity = Objects.isNull(tinyJdbcProperties.getEntityCacheOffHeapCapacity()) ? 64L : tinyJdbcProperties.getEntityCacheOffHeapCapacity();
+                entityCacheManager.setStoreFactory(new OffHeapEntityCacheStoreFactory(capacity * 1024L * 1024L));
+            }
+            /* 获取自定义的（实体缓存存储工厂） */
+            this.getBeanThen(EntityCacheStoreFactory.class, entityCacheManager::setStoreFactory);
+            globalConfig.setEntityCacheManager(entityCacheManager);
+            CacheInvalidator.register(entityCacheManager);
+        }
+        /* 查询结果缓存 */
+        if (Boolean.TRUE.equals(tinyJdbcProperties.getQueryCacheEnabled())) {
+            QueryResultCache queryResultCache = new QueryResultCache(
+                    Objects.isNull(tinyJdbcProperties.getQueryCacheTtl()) ? 60L : tinyJdbcProperties.getQueryCacheTtl(),
+                    TimeUnit.SECONDS,
+                    Objects.isNull(tinyJdbcProperties.getQueryCacheMaxSize()) ? 1024 : tinyJdbcProperties.getQueryCacheMaxSize(),
+                    tinyJdbcProperties.getQueryCacheTables());
+            globalConfig.setQueryResultCache(queryResultCache);
+            CacheInvalidator.register(queryResultCache);
+        }
+        /* 存在性索引 */
+        if (!Boolean.FALSE.equals(tinyJdbcProperties.getBloomIndexEnabled())) {
+            BloomIndexManager bloomIndexManager = new BloomIndexManager();
+            globalConfig.setBloomIndexManager(bloomIndexManager);
+            CacheInvalidator.register(bloomIndexManager);
+        }
+        /* 全量缓存表 */
+        if (!Boolean.FALSE.equals(tinyJdbcProperties.getCachedTableEnabled())) {
+            ReferenceTableManager referenceTableManager = new ReferenceTableManager();
+            globalConfig.setReferenceTableManager(referenceTableManager);
+            CacheInvalidator.register(referenceTableManager);
+        }
+        /* 跨节点缓存失效总线 */
+        CacheInvalidationBus cacheInvalidationBus = this.createCacheInvalidationBus();
+        if (cacheInvalidationBus != null) {
+            CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(cacheInvalidationBus,
+                    Objects.isNull(tinyJdbcProperties.getCacheBusCoalesceWindow()) ? 100L : tinyJdbcProperties.getCacheBusCoalesceWindow());
+            CacheInvalidator.setBroadcaster(broadcaster);
+            broadcaster.start();
+        }
         GlobalConfig.setConfig(globalConfig);
 
         if (logger.isInfoEnabled()) {
@@ -91,11 +194,12 @@ public class TinyJdbcAutoConfiguration implements ApplicationContextAware, Initi
     @ConditionalOnBean({IPageHandle.class, JdbcTemplate.class})
     @Bean
     public JdbcTemplateHelper jdbcTemplateHelper(@Autowired IPageHandle pageHandle,
-                                                 @Autowired JdbcTemplate jdbcTemplate) {
+                                                 @Autowired JdbcTemplate jdbcTemplate,
+                                                 ObjectProvider<SqlInterceptor> sqlInterceptors) {
         if (logger.isInfoEnabled()) {
             logger.info("Tiny-Jdbc create bean JdbcTemplateHelper.");
         }
-        return new JdbcTemplateHelper(jdbcTemplate, pageHandle);
+        return new JdbcTemplateHelper(jdbcTemplate, pageHandle, sqlInterceptors.orderedStream().collect(Collectors.toList()));
     }
 
     @ConditionalOnProperty(name = "tiny-jdbc.sql-stat-enabled", havingValue = "true", matchIfMissing = false)
@@ -107,6 +211,74 @@ public class TinyJdbcAutoConfiguration implements ApplicationContextAware, Initi
         return new StatInterceptor();
     }
 
+    /**
+     * 动态 SQL 模板注册表，启动时加载 sql-template-locations 下的全部模板文件并编译
+     */
+    @ConditionalOnMissingBean(SqlTemplateRegistry.class)
+    @Bean
+    public SqlTemplateRegistry sqlTemplateRegistry() throws IOException {
+        SqlTemplateRegistry sqlTemplateRegistry = new SqlTemplateRegistry();
+        List<String> locations = tinyJdbcProperties.getSqlTemplateLocations();
+        if (Objects.nonNull(locations)) {
+            for (String location : locations) {
+                for (Resource resource : this.applicationContext.getResources(location)) {
+                    try (InputStream in = resource.getInputStream()) {
+                        sqlTemplateRegistry.load(resource.getDescription(), in);
+                    }
+                }
+            }
+        }
+        sqlTemplateRegistry.compileAll();
+        if (logger.isInfoEnabled()) {
+            logger.info("Tiny-Jdbc create bean SqlTemplateRegistry.");
+        }
+        return sqlTemplateRegistry;
+    }
+
+    /**
+     * 缓存快照，初始化时装载，容器关闭时（早于 JdbcTemplate 销毁）写入
+     */
+    @ConditionalOnProperty(name = "tiny-jdbc.cache-snapshot-enabled", havingValue = "true", matchIfMissing = false)
+    @Bean(initMethod = "restore", destroyMethod = "save")
+    public CacheSnapshotManager cacheSnapshotManager(@Autowired JdbcTemplate jdbcTemplate) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        String file = tinyJdbcProperties.getCacheSnapshotFile();
+        if (logger.isInfoEnabled()) {
+            logger.info("Tiny-Jdbc create bean CacheSnapshotManager.");
+        }
+        return new CacheSnapshotManager(jdbcTemplate,
+                Objects.isNull(file) ? new File(System.getProperty("java.io.tmpdir"), "tiny-jdbc-cache.snapshot") : new File(file),
+                Objects.isNull(tinyJdbcProperties.getCacheSnapshotMaxAge()) ? 600L : tinyJdbcProperties.getCacheSnapshotMaxAge(),
+                tinyJdbcProperties.getCacheSnapshotVersionColumn(),
+                Objects.isNull(tinyJdbcProperties.getCacheSnapshotCountOnly()) ? false : tinyJdbcProperties.getCacheSnapshotCountOnly(),
+                globalConfig.getEntityCacheManager(),
+                globalConfig.getQueryResultCache());
+    }
+
+    /**
+     * 创建跨节点缓存失效总线，优先使用自定义的 CacheInvalidationBus Bean，其次按 cache-bus 配置创建内置实现
+     *
+     * @return 未配置时返回 null
+     */
+    private CacheInvalidationBus createCacheInvalidationBus() {
+        CacheInvalidationBus[] holder = new CacheInvalidationBus[1];
+        this.getBeanThen(CacheInvalidationBus.class, bus -> holder[0] = bus);
+        if (holder[0] != null) {
+            return holder[0];
+        }
+        String type = tinyJdbcProperties.getCacheBus();
+        if ("loopback".equalsIgnoreCase(type)) {
+            return new LoopbackCacheInvalidationBus();
+        }
+        if ("jdbc".equalsIgnoreCase(type)) {
+            return new JdbcCacheInvalidationBus(this.applicationContext.getBean(JdbcTemplate.class),
+                    Objects.isNull(tinyJdbcProperties.getCacheBusTable()) ? "tiny_jdbc_cache_invalidation" : tinyJdbcProperties.getCacheBusTable(),
+                    Objects.isNull(tinyJdbcProperties.getCacheBusPollInterval()) ? 1000L : tinyJdbcProperties.getCacheBusPollInterval(),
+                    Objects.isNull(tinyJdbcProperties.getCacheBusRetention()) ? 3600L : tinyJdbcProperties.getCacheBusRetention());
+        }
+        return null;
+    }
+
     /**
      * 根据Class<T>获取Bean
      *
@@ -119,4 +291,31 @@ public class TinyJdbcAutoConfiguration implements ApplicationContextAware, Initi
             consumer.accept(this.applicationContext.getBean(clazz));
         }
     }
+
+    /**
+     * 未使用 @TinyRepositoryScan 时，扫描 Spring Boot 应用所在的包，把 @TinyRepository 接口注册为 Bean
+     */
+    @Configuration
+    @Import(AutoConfiguredRepositoryScannerRegistrar.class)
+    @ConditionalOnMissingBean(RepositoryFactoryBean.class)
+    public static class RepositoryScannerRegistrarNotFoundConfiguration {
+    }
+
+    public static class AutoConfiguredRepositoryScannerRegistrar implements BeanFactoryAware, ImportBeanDefinitionRegistrar {
+        private BeanFactory beanFactory;
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+            this.beanFactory = beanFactory;
+        }
+
+        @Override
+        public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+            if (!AutoConfigurationPackages.has(this.beanFactory)) {
+                logger.debug("Tiny-Jdbc could not determine auto-configuration package, repository scanning disabled.");
+                return;
+            }
+            RepositoryScannerRegistrar.registerRepositories(registry, AutoConfigurationPackages.get(this.beanFactory));
+        }
+    }
 }
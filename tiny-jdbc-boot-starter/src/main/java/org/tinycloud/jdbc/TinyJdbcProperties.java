@@ -1,8 +1,11 @@
 package org.tinycloud.jdbc;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.tinycloud.jdbc.cache.EvictionPolicy;
 import org.tinycloud.jdbc.util.DbType;
 
+import java.util.List;
+
 @ConfigurationProperties(prefix = "tiny-jdbc")
 public class TinyJdbcProperties {
 
@@ -32,6 +35,167 @@ public class TinyJdbcProperties {
      */
     private Boolean sqlStatEnabled = false;
 
+    /**
+     * 是否开启分页总数缓存，默认值为 false
+     */
+    private Boolean pageCountCacheEnabled = false;
+
+    /**
+     * 分页总数缓存的存活时间（秒），默认值为 30
+     */
+    private Long pageCountCacheTtl = 30L;
+
+    /**
+     * 分页总数缓存的最大条目数，默认值为 1024
+     */
+    private Integer pageCountCacheMaxSize = 1024;
+
+    /**
+     * 并行扫描（parallelScan）同时占用的最大连接数，默认值为 4，也是所有 Dao 共用的并行扫描线程池的线程数
+     */
+    private Integer parallelScanMaxConnections = 4;
+
+    /**
+     * IN 条件值的个数达到该值时，在 PostgreSQL、H2 上绑定为一个数组参数，默认不配置（不使用），小于等于 0 时不使用
+     */
+    private Integer inListArrayThreshold;
+
+    /**
+     * IN 条件值的个数达到该值时，在 MySQL、MariaDB、PostgreSQL、H2 上写入临时表后以子查询关联（事务中不使用），
+     * 默认不配置（不使用），小于等于 0 时不使用
+     */
+    private Integer inListTempTableThreshold;
+
+    /**
+     * 动态 SQL 模板文件位置，支持通配符，如 classpath*:sql/*.xml，启动时加载并编译全部模板
+     */
+    private List<String> sqlTemplateLocations;
+
+    /**
+     * SqlRewriteInterceptor 改写结果缓存的最大条目数（所有 DAO 共用），默认值为 1024
+     */
+    private Integer sqlRewriteCacheMaxSize = 1024;
+
+    /**
+     * 是否开启实体二级缓存（按主键），默认值为 true，开启后仅对标注了 @EntityCache 或在 entity-cache-classes 中声明的实体生效
+     */
+    private Boolean entityCacheEnabled = true;
+
+    /**
+     * 无需 @EntityCache 注解即开启实体二级缓存的实体类全限定名
+     */
+    private List<String> entityCacheClasses;
+
+    /**
+     * 实体二级缓存每个实体类的最大条目数，默认值为 10000
+     */
+    private Integer entityCacheMaxSize = 10000;
+
+    /**
+     * 实体二级缓存的存活时间（秒），默认值为 300，0 表示不过期
+     */
+    private Long entityCacheTtl = 300L;
+
+    /**
+     * 实体二级缓存的淘汰策略，默认值为 LRU，可选 W_TINY_LFU
+     */
+    private EvictionPolicy entityCacheEviction = EvictionPolicy.LRU;
+
+    /**
+     * 实体二级缓存是否使用堆外存储（实体序列化后保存在直接内存中），默认值为 false
+     */
+    private Boolean entityCacheOffHeap = false;
+
+    /**
+     * 实体二级缓存使用堆外存储时每个实体类的内存容量（MB），默认值为 64
+     */
+    private Long entityCacheOffHeapCapacity = 64L;
+
+    /**
+     * 是否开启查询结果缓存，默认值为 false
+     */
+    private Boolean queryCacheEnabled = false;
+
+    /**
+     * 查询结果缓存的存活时间（秒），默认值为 60
+     */
+    private Long queryCacheTtl = 60L;
+
+    /**
+     * 查询结果缓存的最大条目数，默认值为 1024
+     */
+    private Integer queryCacheMaxSize = 1024;
+
+    /**
+     * 可缓存查询结果的表，配置后只缓存涉及的表全部在其中的查询，为空表示不限制
+     */
+    private List<String> queryCacheTables;
+
+    /**
+     * 是否开启事务级一级缓存，默认值为 false，开启后同一事务内 selectById/selectByIds 返回同一个实例
+     */
+    private Boolean transactionCacheEnabled = false;
+
+    /**
+     * 是否开启存在性索引（布隆过滤器），默认值为 true，开启后仅对标注了 @BloomIndex 的实体生效
+     */
+    private Boolean bloomIndexEnabled = true;
+
+    /**
+     * 是否开启全量缓存表，默认值为 true，开启后仅对标注了 @CachedTable 的实体生效
+     */
+    private Boolean cachedTableEnabled = true;
+
+    /**
+     * 跨节点缓存失效总线，可选 jdbc（轮询失效日志表）、loopback（进程内，用于测试），默认不开启；注册了 CacheInvalidationBus Bean 时以 Bean 为准
+     */
+    private String cacheBus;
+
+    /**
+     * 数据库轮询总线使用的失效日志表名，默认值为 tiny_jdbc_cache_invalidation
+     */
+    private String cacheBusTable = "tiny_jdbc_cache_invalidation";
+
+    /**
+     * 数据库轮询总线的轮询间隔（毫秒），默认值为 1000
+     */
+    private Long cacheBusPollInterval = 1000L;
+
+    /**
+     * 失效事件的合并窗口（毫秒），窗口内的写操作合并为一条事件发布，默认值为 100
+     */
+    private Long cacheBusCoalesceWindow = 100L;
+
+    /**
+     * 失效日志的保留时长（秒），默认值为 3600
+     */
+    private Long cacheBusRetention = 3600L;
+
+    /**
+     * 是否开启缓存快照，默认值为 false，开启后应用关闭时把实体二级缓存和查询结果缓存写入本地文件，启动时重新装载
+     */
+    private Boolean cacheSnapshotEnabled = false;
+
+    /**
+     * 缓存快照文件路径，默认值为临时目录下的 tiny-jdbc-cache.snapshot
+     */
+    private String cacheSnapshotFile;
+
+    /**
+     * 缓存快照的最大时长（秒），超过后启动时不再装载，默认值为 600
+     */
+    private Long cacheSnapshotMaxAge = 600L;
+
+    /**
+     * 缓存快照校验表新鲜度时使用的版本字段（如 update_time），未配置或表中没有该字段时该表的缓存不写入快照
+     */
+    private String cacheSnapshotVersionColumn;
+
+    /**
+     * 没有版本字段的表是否只按行数校验新鲜度，默认值为 false，开启后其他节点不改变行数的更新无法被发现
+     */
+    private Boolean cacheSnapshotCountOnly = false;
+
     public Boolean getBanner() {
         return banner;
     }
@@ -71,4 +235,260 @@ public class TinyJdbcProperties {
     public void setSqlStatEnabled(Boolean sqlStatEnabled) {
         this.sqlStatEnabled = sqlStatEnabled;
     }
+
+    public Boolean getPageCountCacheEnabled() {
+        return pageCountCacheEnabled;
+    }
+
+    public void setPageCountCacheEnabled(Boolean pageCountCacheEnabled) {
+        this.pageCountCacheEnabled = pageCountCacheEnabled;
+    }
+
+    public Long getPageCountCacheTtl() {
+        return pageCountCacheTtl;
+    }
+
+    public void setPageCountCacheTtl(Long pageCountCacheTtl) {
+        this.pageCountCacheTtl = pageCountCacheTtl;
+    }
+
+    public Integer getPageCountCacheMaxSize() {
+        return pageCountCacheMaxSize;
+    }
+
+    public void setPageCountCacheMaxSize(Integer pageCountCacheMaxSize) {
+        this.pageCountCacheMaxSize = pageCountCacheMaxSize;
+    }
+
+    public Integer getParallelScanMaxConnections() {
+        return parallelScanMaxConnections;
+    }
+
+    public void setParallelScanMaxConnections(Integer parallelScanMaxConnections) {
+        this.parallelScanMaxConnections = parallelScanMaxConnections;
+    }
+
+    public Integer getInListArrayThreshold() {
+        return inListArrayThreshold;
+    }
+
+    public void setInListArrayThreshold(Integer inListArrayThreshold) {
+        this.inListArrayThreshold = inListArrayThreshold;
+    }
+
+    public Integer getInListTempTableThreshold() {
+        return inListTempTableThreshold;
+    }
+
+    public void setInListTempTableThreshold(Integer inListTempTableThreshold) {
+        this.inListTempTableThreshold = inListTempTableThreshold;
+    }
+
+    public List<String> getSqlTemplateLocations() {
+        return sqlTemplateLocations;
+    }
+
+    public void setSqlTemplateLocations(List<String> sqlTemplateLocations) {
+        this.sqlTemplateLocations = sqlTemplateLocations;
+    }
+
+    public Integer getSqlRewriteCacheMaxSize() {
+        return sqlRewriteCacheMaxSize;
+    }
+
+    public void setSqlRewriteCacheMaxSize(Integer sqlRewriteCacheMaxSize) {
+        this.sqlRewriteCacheMaxSize = sqlRewriteCacheMaxSize;
+    }
+
+    public Boolean getEntityCacheEnabled() {
+        return entityCacheEnabled;
+    }
+
+    public void setEntityCacheEnabled(Boolean entityCacheEnabled) {
+        this.entityCacheEnabled = entityCacheEnabled;
+    }
+
+    public List<String> getEntityCacheClasses() {
+        return entityCacheClasses;
+    }
+
+    public void setEntityCacheClasses(List<String> entityCacheClasses) {
+        this.entityCacheClasses = entityCacheClasses;
+    }
+
+    public Integer getEntityCacheMaxSize() {
+        return entityCacheMaxSize;
+    }
+
+    public void setEntityCacheMaxSize(Integer entityCacheMaxSize) {
+        this.entityCacheMaxSize = entityCacheMaxSize;
+    }
+
+    public Long getEntityCacheTtl() {
+        return entityCacheTtl;
+    }
+
+    public void setEntityCacheTtl(Long entityCacheTtl) {
+        this.entityCacheTtl = entityCacheTtl;
+    }
+
+    public EvictionPolicy getEntityCacheEviction() {
+        return entityCacheEviction;
+    }
+
+    public void setEntityCacheEviction(EvictionPolicy entityCacheEviction) {
+        this.entityCacheEviction = entityCacheEviction;
+    }
+
+    public Boolean getEntityCacheOffHeap() {
+        return entityCacheOffHeap;
+    }
+
+    public void setEntityCacheOffHeap(Boolean entityCacheOffHeap) {
+        this.entityCacheOffHeap = entityCacheOffHeap;
+    }
+
+    public Long getEntityCacheOffHeapCapacity() {
+        return entityCacheOffHeapCapacity;
+    }
+
+    public void setEntityCacheOffHeapCapacity(Long entityCacheOffHeapCapacity) {
+        this.entityCacheOffHeapCapacity = entityCacheOffHeapCapacity;
+    }
+
+    public Boolean getQueryCacheEnabled() {
+        return queryCacheEnabled;
+    }
+
+    public void setQueryCacheEnabled(Boolean queryCacheEnabled) {
+        this.queryCacheEnabled = queryCacheEnabled;
+    }
+
+    public Long getQueryCacheTtl() {
+        return queryCacheTtl;
+    }
+
+    public void setQueryCacheTtl(Long queryCacheTtl) {
+        this.queryCacheTtl = queryCacheTtl;
+    }
+
+    public Integer getQueryCacheMaxSize() {
+        return queryCacheMaxSize;
+    }
+
+    public void setQueryCacheMaxSize(Integer queryCacheMaxSize) {
+        this.queryCacheMaxSize = queryCacheMaxSize;
+    }
+
+    public List<String> getQueryCacheTables() {
+        return queryCacheTables;
+    }
+
+    public void setQueryCacheTables(List<String> queryCacheTables) {
+        this.queryCacheTables = queryCacheTables;
+    }
+
+    public Boolean getTransactionCacheEnabled() {
+        return transactionCacheEnabled;
+    }
+
+    public void setTransactionCacheEnabled(Boolean transactionCacheEnabled) {
+        this.transactionCacheEnabled = transactionCacheEnabled;
+    }
+
+    public Boolean getBloomIndexEnabled() {
+        return bloomIndexEnabled;
+    }
+
+    public void setBloomIndexEnabled(Boolean bloomIndexEnabled) {
+        this.bloomIndexEnabled = bloomIndexEnabled;
+    }
+
+    public Boolean getCachedTableEnabled() {
+        return cachedTableEnabled;
+    }
+
+    public void setCachedTableEnabled(Boolean cachedTableEnabled) {
+        this.cachedTableEnabled = cachedTableEnabled;
+    }
+
+    public String getCacheBus() {
+        return cacheBus;
+    }
+
+    public void setCacheBus(String cacheBus) {
+        this.cacheBus = cacheBus;
+    }
+
+    public String getCacheBusTable() {
+        return cacheBusTable;
+    }
+
+    public void setCacheBusTable(String cacheBusTable) {
+        this.cacheBusTable = cacheBusTable;
+    }
+
+    public Long getCacheBusPollInterval() {
+        return cacheBusPollInterval;
+    }
+
+    public void setCacheBusPollInterval(Long cacheBusPollInterval) {
+        this.cacheBusPollInterval = cacheBusPollInterval;
+    }
+
+    public Long getCacheBusCoalesceWindow() {
+        return cacheBusCoalesceWindow;
+    }
+
+    public void setCacheBusCoalesceWindow(Long cacheBusCoalesceWindow) {
+        this.cacheBusCoalesceWindow = cacheBusCoalesceWindow;
+    }
+
+    public Long getCacheBusRetention() {
+        return cacheBusRetention;
+    }
+
+    public void setCacheBusRetention(Long cacheBusRetention) {
+        this.cacheBusRetention = cacheBusRetention;
+    }
+
+    public Boolean getCacheSnapshotEnabled() {
+        return cacheSnapshotEnabled;
+    }
+
+    public void setCacheSnapshotEnabled(Boolean cacheSnapshotEnabled) {
+        this.cacheSnapshotEnabled = cacheSnapshotEnabled;
+    }
+
+    public String getCacheSnapshotFile() {
+        return cacheSnapshotFile;
+    }
+
+    public void setCacheSnapshotFile(String cacheSnapshotFile) {
+        this.cacheSnapshotFile = cacheSnapshotFile;
+    }
+
+    public Long getCacheSnapshotMaxAge() {
+        return cacheSnapshotMaxAge;
+    }
+
+    public void setCacheSnapshotMaxAge(Long cacheSnapshotMaxAge) {
+        this.cacheSnapshotMaxAge = cacheSnapshotMaxAge;
+    }
+
+    public String getCacheSnapshotVersionColumn() {
+        return cacheSnapshotVersionColumn;
+    }
+
+    public void setCacheSnapshotVersionColumn(String cacheSnapshotVersionColumn) {
+        this.cacheSnapshotVersionColumn = cacheSnapshotVersionColumn;
+    }
+
+    public Boolean getCacheSnapshotCountOnly() {
+        return cacheSnapshotCountOnly;
+    }
+
+    public void setCacheSnapshotCountOnly(Boolean cacheSnapshotCountOnly) {
+        this.cacheSnapshotCountOnly = cacheSnapshotCountOnly;
+    }
 }
@@ -1,5 +1,6 @@
 package org.tinycloud.jdbc;
 
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -25,7 +26,7 @@ import java.util.List;
  * @param <T>
  * @param <ID>
  */
-public class BaseDao<T, ID extends Serializable> extends AbstractSqlSupport<T, ID> {
+public class BaseDao<T, ID extends Serializable> extends AbstractSqlSupport<T, ID> implements InitializingBean {
 
     /**
      * JdbcTemplate
@@ -84,4 +85,13 @@ public class BaseDao<T, ID extends Serializable> extends AbstractSqlSupport<T, I
     protected NamedParameterJdbcTemplate getNamedParameterJdbcTemplate() {
         return new NamedParameterJdbcTemplate(getJdbcTemplate());
     }
+
+    /**
+     * 注入完成后初始化：实体标注了 @CachedTable 时在启动阶段加载全量快照，标注了 @BloomIndex 时提交存在性索引的异步构建
+     */
+    @Override
+    public void afterPropertiesSet() {
+        this.initReferenceTable();
+        this.initBloomIndex();
+    }
 }
@@ -2,16 +2,40 @@ package org.tinycloud.jdbc;
 
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.tinycloud.jdbc.cache.CacheInvalidator;
+import org.tinycloud.jdbc.cache.CacheKey;
+import org.tinycloud.jdbc.cache.PageCountCache;
+import org.tinycloud.jdbc.cache.QueryResultCache;
+import org.tinycloud.jdbc.cache.SqlTables;
 import org.tinycloud.jdbc.config.GlobalConfig;
+import org.tinycloud.jdbc.inlist.InLists;
+import org.tinycloud.jdbc.interceptor.SqlInterceptor;
+import org.tinycloud.jdbc.interceptor.SqlInterceptorChain;
+import org.tinycloud.jdbc.interceptor.SqlInvocation;
+import org.tinycloud.jdbc.interceptor.SqlType;
 import org.tinycloud.jdbc.page.*;
+import org.tinycloud.jdbc.result.ColumnSpec;
+import org.tinycloud.jdbc.result.ColumnarResult;
+import org.tinycloud.jdbc.result.ColumnarResultExtractor;
+import org.tinycloud.jdbc.result.RowSet;
+import org.tinycloud.jdbc.result.RowSetExtractor;
 import org.tinycloud.jdbc.sql.SQL;
+import org.tinycloud.jdbc.support.RowVisitor;
+import org.tinycloud.jdbc.support.SqlProvider;
 import org.tinycloud.jdbc.util.ArrayUtils;
+import org.tinycloud.jdbc.util.CollectionUtils;
 import org.tinycloud.jdbc.util.DataAccessUtils;
+import org.tinycloud.jdbc.util.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -27,6 +51,8 @@ public class JdbcTemplateHelper {
 
     private final IPageHandle pageHandle;
 
+    private final List<SqlInterceptor> sqlInterceptors;
+
     /**
      * 获取 JdbcTemplate 实例。
      *
@@ -57,6 +83,17 @@ public class JdbcTemplateHelper {
                 : PageHandleFactory.getDynamicPageHandle(this.getJdbcTemplate());
     }
 
+    /**
+     * 渲染 SQL 对象，设置了 LIMIT / OFFSET 时按当前分页处理器的方言渲染为绑定参数。
+     *
+     * @param sql 自定义 SQL 对象
+     * @return SQL 语句和参数
+     */
+    private SqlProvider render(SQL<?> sql) {
+        IPageHandle pageHandle = sql.isPaged() ? this.getPageHandle() : null;
+        return SqlProvider.create(sql.toSql(pageHandle), sql.getParameters(pageHandle));
+    }
+
     /**
      * 构造函数，用于初始化 JdbcTemplateHelper 实例。
      *
@@ -64,8 +101,71 @@ public class JdbcTemplateHelper {
      * @param pageHandle   分页处理器实例
      */
     public JdbcTemplateHelper(JdbcTemplate jdbcTemplate, IPageHandle pageHandle) {
+        this(jdbcTemplate, pageHandle, null);
+    }
+
+    /**
+     * 构造函数，用于初始化 JdbcTemplateHelper 实例。
+     *
+     * @param jdbcTemplate    Spring 提供的 JdbcTemplate 实例
+     * @param pageHandle      分页处理器实例
+     * @param sqlInterceptors SQL 拦截器列表，可为 null
+     */
+    public JdbcTemplateHelper(JdbcTemplate jdbcTemplate, IPageHandle pageHandle, List<SqlInterceptor> sqlInterceptors) {
         this.jdbcTemplate = jdbcTemplate;
         this.pageHandle = pageHandle;
+        this.sqlInterceptors = sqlInterceptors;
+    }
+
+    /**
+     * 在执行 SQL 之前调用拦截器，返回的 invocation 中是声明了 rewritesSql() 的拦截器改写后的 SQL 和参数，后续的执行和结果缓存都以它为准。
+     *
+     * @param sql     SQL 语句
+     * @param params  SQL 语句中的参数
+     * @param sqlType SQL 类型
+     * @return 经过拦截器的 SQL 调用
+     */
+    private SqlInvocation doBefore(String sql, Object[] params, SqlType sqlType) {
+        return SqlInterceptorChain.before(this.sqlInterceptors, sql, params, sqlType, this.getJdbcTemplate());
+    }
+
+    /**
+     * 以拦截器改写后的 SQL 和参数执行，执行后调用拦截器。
+     *
+     * @param invocation 经过拦截器的 SQL 调用
+     * @param action     实际执行（JdbcTemplate，SQL，参数）
+     * @return 执行结果
+     */
+    private <R> R doExecute(SqlInvocation invocation, InLists.Action<R> action) {
+        return doAfter(doExecuteQuery(invocation, action), invocation);
+    }
+
+    /**
+     * 以拦截器改写后的 SQL 和参数执行，不调用拦截器的 after。
+     *
+     * @param invocation 经过拦截器的 SQL 调用
+     * @param action     实际执行（JdbcTemplate，SQL，参数）
+     * @return 执行结果
+     */
+    private <R> R doExecuteQuery(SqlInvocation invocation, InLists.Action<R> action) {
+        return InLists.execute(this.getJdbcTemplate(), invocation.getSql(), invocation.getArgs(), action);
+    }
+
+    /**
+     * 执行后调用拦截器。
+     *
+     * @param result     执行结果
+     * @param invocation 经过拦截器的 SQL 调用
+     * @return 拦截器处理后的结果
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R doAfter(Object result, SqlInvocation invocation) {
+        if (CollectionUtils.isNotEmpty(this.sqlInterceptors)) {
+            for (SqlInterceptor sqlInterceptor : this.sqlInterceptors) {
+                result = sqlInterceptor.after(result, invocation, this.getJdbcTemplate());
+            }
+        }
+        return (R) result;
     }
 
     /**
@@ -78,7 +178,8 @@ public class JdbcTemplateHelper {
      * @return 包含查询结果的对象列表
      */
     public <F> List<F> select(String sql, Class<F> clazz, Object... params) {
-        return getJdbcTemplate().query(sql, new BeanPropertyRowMapper<>(clazz), params);
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return cachedQuery(invocation, "bean:" + clazz.getName(), () -> doExecuteQuery(invocation, (template, statement, args) -> template.query(statement, new BeanPropertyRowMapper<>(clazz), args)));
     }
 
     /**
@@ -102,7 +203,35 @@ public class JdbcTemplateHelper {
      * @return 包含查询结果的 Map 列表
      */
     public List<Map<String, Object>> selectMap(String sql, Object... params) {
-        return getJdbcTemplate().queryForList(sql, params);
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return cachedQuery(invocation, "map", () -> doExecuteQuery(invocation, (template, statement, args) -> template.queryForList(statement, args)));
+    }
+
+    /**
+     * 执行 SQL 查询语句，返回紧凑结果集 RowSet，所有行共享一份列名索引，每行仅保存一个数组。
+     * 每一行都可以通过 RowSet.getRowMap(int) 或 RowSet.asMaps() 以只读 Map 的形式访问。
+     *
+     * @param sql    要执行的 SQL 查询语句
+     * @param params SQL 语句中的参数
+     * @return 包含查询结果的 RowSet
+     */
+    public RowSet selectRows(String sql, Object... params) {
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return doExecute(invocation, (template, statement, args) -> template.query(statement, new RowSetExtractor(), args));
+    }
+
+    /**
+     * 执行 SQL 查询语句，按列返回结果，数值列存储为基本类型数组（long[]/int[]/double[]），不产生装箱对象。
+     *
+     * @param sql     要执行的 SQL 查询语句
+     * @param columns 列定义，为空时读取全部列并根据 JDBC 类型推断存储类型
+     * @param params  SQL 语句中的参数
+     * @return 列式查询结果
+     */
+    public ColumnarResult selectColumns(String sql, List<ColumnSpec> columns, Object... params) {
+        ColumnSpec[] specs = columns == null ? new ColumnSpec[0] : columns.toArray(new ColumnSpec[0]);
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return doExecute(invocation, (template, statement, args) -> template.query(statement, new ColumnarResultExtractor(specs), args));
     }
 
     /**
@@ -115,7 +244,159 @@ public class JdbcTemplateHelper {
      * @return 查询结果中的单个对象
      */
     public <F> F selectForObject(String sql, Class<F> clazz, Object... params) {
-        return getJdbcTemplate().queryForObject(sql, clazz, params);
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return cachedQuery(invocation, "object:" + clazz.getName(), () -> doExecuteQuery(invocation, (template, statement, args) -> template.queryForObject(statement, clazz, args)));
+    }
+
+    /**
+     * 执行 SQL 查询语句，使用指定的 RowMapper 映射每一行，RowMapper 可以预先创建并复用。
+     *
+     * @param sql       要执行的 SQL 查询语句
+     * @param rowMapper 行映射器
+     * @param params    SQL 语句中的参数
+     * @param <F>       结果对象的泛型类型
+     * @return 包含查询结果的对象列表
+     */
+    public <F> List<F> select(String sql, RowMapper<F> rowMapper, Object... params) {
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return doExecute(invocation, (template, statement, args) -> template.query(statement, rowMapper, args));
+    }
+
+    /**
+     * 执行 SQL 查询语句，逐行映射后回调，不在内存中保留整个结果集。
+     *
+     * @param sql       要执行的 SQL 查询语句
+     * @param rowMapper 行映射器
+     * @param visitor   行访问器
+     * @param params    SQL 语句中的参数
+     * @param <F>       结果对象的泛型类型
+     */
+    public <F> void selectEach(String sql, RowMapper<F> rowMapper, RowVisitor<F> visitor, Object... params) {
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        AtomicInteger rowNum = new AtomicInteger();
+        doExecute(invocation, (template, statement, args) -> {
+            template.query(statement, (RowCallbackHandler) rs -> visitor.visit(rowMapper.mapRow(rs, rowNum.getAndIncrement())), args);
+            return null;
+        });
+    }
+
+    /**
+     * 开启查询结果缓存时，优先读取缓存，未命中时执行查询并写入缓存，缓存键取拦截器改写后的 SQL 和参数。
+     * 缓存中保存的是拦截器 after 处理之前的结果，命中和未命中都会调用一次拦截器的 after。
+     *
+     * @param invocation 经过拦截器的 SQL 调用
+     * @param resultType 结果类型标识
+     * @param query      实际查询，不调用拦截器的 after
+     * @return 查询结果
+     */
+    private <R> R cachedQuery(SqlInvocation invocation, String resultType, Supplier<R> query) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        QueryResultCache queryCache = globalConfig == null ? null : globalConfig.getQueryResultCache();
+        R result;
+        if (queryCache == null || !queryCache.isCacheable(invocation.getSql())) {
+            result = query.get();
+        } else {
+            CacheKey key = new CacheKey(getJdbcTemplate().getDataSource(), invocation.getSql(), invocation.getArgs(), resultType);
+            result = queryCache.getOrLoad(key, query);
+        }
+        return doAfter(result, invocation);
+    }
+
+    /**
+     * 执行查询，返回 Map 列表，不经过查询结果缓存。
+     *
+     * @param sql    SQL 语句
+     * @param params SQL 语句中的参数
+     * @return 包含查询结果的 Map 列表
+     */
+    private List<Map<String, Object>> queryForList(String sql, Object[] params) {
+        SqlInvocation invocation = doBefore(sql, params, SqlType.QUERY);
+        return doExecute(invocation, (template, statement, args) -> template.queryForList(statement, args));
+    }
+
+    /**
+     * 执行分页的 count 查询，开启分页总数缓存且分页对象未关闭缓存时，优先读取缓存。
+     *
+     * @param countSql      count 查询语句
+     * @param useCountCache 是否使用分页总数缓存
+     * @param params        SQL 语句中的参数
+     * @return 总记录数
+     */
+    private Long queryCount(String countSql, boolean useCountCache, Object... params) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        PageCountCache countCache = globalConfig == null ? null : globalConfig.getPageCountCache();
+        SqlInvocation invocation = doBefore(countSql, params, SqlType.QUERY);
+        InLists.Action<Long> countQuery = (template, statement, args) -> template.queryForObject(statement, Long.class, args);
+        if (countCache == null || !useCountCache || CacheInvalidator.isWrittenInTransaction(SqlTables.of(invocation.getSql()))) {
+            return doExecute(invocation, countQuery);
+        }
+        // 缓存中保存拦截器 after 处理之前的总数，命中时同样调用拦截器的 after
+        CacheKey key = new CacheKey(getJdbcTemplate().getDataSource(), invocation.getSql(), invocation.getArgs());
+        Long count = countCache.get(key);
+        if (count == null) {
+            long epoch = countCache.currentEpoch();
+            count = doExecuteQuery(invocation, countQuery);
+            if (count != null) {
+                countCache.put(key, count, epoch);
+            }
+        }
+        return doAfter(count, invocation);
+    }
+
+    /**
+     * 执行分页查询的公共流程，先按需查询总数，总数大于偏移位置时再查询分页数据。
+     *
+     * @param handleResult  分页处理结果
+     * @param searchCount   是否查询总记录数
+     * @param useCountCache 是否使用分页总数缓存
+     * @param offset        偏移位置
+     * @param recordsQuery  分页数据查询（分页SQL，参数）
+     * @param params        SQL 语句中的参数
+     * @return Pair，左边为总记录数（不查询总数时为 null），右边为分页数据
+     */
+    private <F> Pair<Long, List<F>> doPaginate(PageHandleResult handleResult, boolean searchCount, boolean useCountCache, long offset,
+                                              BiFunction<String, Object[], List<F>> recordsQuery, Object... params) {
+        Long count = null;
+        if (searchCount) {
+            // 查询总共数量
+            count = queryCount(handleResult.getCountSql(), useCountCache, params);
+        }
+        List<F> records;
+        if (!searchCount || (count != null && count > offset)) {
+            records = recordsQuery.apply(handleResult.getPageSql(), ArrayUtils.mergeArrays(params, handleResult.getParameters()));
+        } else {
+            records = new ArrayList<>();
+        }
+        return Pair.of(count, records);
+    }
+
+    /**
+     * 按页码分页查询。
+     */
+    private <F> Page<F> doPaginate(String sql, Page<F> page, BiFunction<String, Object[], List<F>> recordsQuery, Object... params) {
+        PageCheck.check(page);
+        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
+        long offset = (page.getPageNum() - 1L) * page.getPageSize();
+        Pair<Long, List<F>> result = doPaginate(handleResult, page.isSearchCount(), page.isUseCountCache(), offset, recordsQuery, params);
+        page.setRecords(result.getRight());
+        if (page.isSearchCount()) {
+            page.setTotal(result.getLeft());
+        }
+        return page;
+    }
+
+    /**
+     * 按 offset-limit 分页查询。
+     */
+    private <F> OffsetPage<F> doPaginate(String sql, OffsetPage<F> page, BiFunction<String, Object[], List<F>> recordsQuery, Object... params) {
+        PageCheck.check(page);
+        PageHandleResult handleResult = getPageHandle().handleOffset(sql, page.getOffset(), page.getLimit());
+        Pair<Long, List<F>> result = doPaginate(handleResult, page.isSearchCount(), page.isUseCountCache(), page.getOffset(), recordsQuery, params);
+        page.setRecords(result.getRight());
+        if (page.isSearchCount()) {
+            page.setTotal(result.getLeft());
+        }
+        return page;
     }
 
     /**
@@ -129,19 +410,49 @@ public class JdbcTemplateHelper {
      * @return 包含分页信息和查询结果的分页对象
      */
     public <F> Page<F> paginate(String sql, Class<F> clazz, Page<F> page, final Object... params) {
-        PageCheck.check(page);
-        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
-        // 查询总共数量
-        Long count = getJdbcTemplate().queryForObject(handleResult.getCountSql(), Long.class, params);
-        List<F> records;
-        if (count != null && count > 0L) {
-            records = getJdbcTemplate().query(handleResult.getPageSql(), new BeanPropertyRowMapper<>(clazz), ArrayUtils.mergeArrays(params, handleResult.getParameters()));
-        } else {
-            records = new ArrayList<>();
-        }
-        page.setRecords(records);
-        page.setTotal(count);
-        return page;
+        return doPaginate(sql, page, (pageSql, args) -> select(pageSql, new BeanPropertyRowMapper<>(clazz), args), params);
+    }
+
+    /**
+     * 执行 offset-limit 分页查询，返回指定类型的对象列表。
+     *
+     * @param sql    要执行的 SQL 查询语句
+     * @param clazz  结果对象的类型
+     * @param page   分页对象，用于指定偏移位置和返回数量
+     * @param params SQL 语句中的参数
+     * @param <F>    结果对象的泛型类型
+     * @return 包含分页信息和查询结果的分页对象
+     */
+    public <F> OffsetPage<F> paginate(String sql, Class<F> clazz, OffsetPage<F> page, final Object... params) {
+        return doPaginate(sql, page, (pageSql, args) -> select(pageSql, new BeanPropertyRowMapper<>(clazz), args), params);
+    }
+
+    /**
+     * 执行分页查询，使用指定的 RowMapper 映射分页数据。
+     *
+     * @param sql       要执行的 SQL 查询语句
+     * @param rowMapper 行映射器
+     * @param page      分页对象，用于指定页码和每页数量
+     * @param params    SQL 语句中的参数
+     * @param <F>       结果对象的泛型类型
+     * @return 包含分页信息和查询结果的分页对象
+     */
+    public <F> Page<F> paginate(String sql, RowMapper<F> rowMapper, Page<F> page, final Object... params) {
+        return doPaginate(sql, page, (pageSql, args) -> select(pageSql, rowMapper, args), params);
+    }
+
+    /**
+     * 执行 offset-limit 分页查询，使用指定的 RowMapper 映射分页数据。
+     *
+     * @param sql       要执行的 SQL 查询语句
+     * @param rowMapper 行映射器
+     * @param page      分页对象，用于指定偏移位置和返回数量
+     * @param params    SQL 语句中的参数
+     * @param <F>       结果对象的泛型类型
+     * @return 包含分页信息和查询结果的分页对象
+     */
+    public <F> OffsetPage<F> paginate(String sql, RowMapper<F> rowMapper, OffsetPage<F> page, final Object... params) {
+        return doPaginate(sql, page, (pageSql, args) -> select(pageSql, rowMapper, args), params);
     }
 
     /**
@@ -153,19 +464,31 @@ public class JdbcTemplateHelper {
      * @return 包含分页信息和查询结果的分页对象，结果为 Map 列表
      */
     public Page<Map<String, Object>> paginateMap(String sql, Page<Map<String, Object>> page, Object... params) {
-        PageCheck.check(page);
-        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
-        // 查询总共数量
-        Long count = getJdbcTemplate().queryForObject(handleResult.getCountSql(), Long.class, params);
-        List<Map<String, Object>> records;
-        if (count != null && count > 0L) {
-            records = getJdbcTemplate().queryForList(handleResult.getPageSql(), ArrayUtils.mergeArrays(params, handleResult.getParameters()));
-        } else {
-            records = new ArrayList<>();
-        }
-        page.setRecords(records);
-        page.setTotal(count);
-        return page;
+        return doPaginate(sql, page, this::queryForList, params);
+    }
+
+    /**
+     * 执行 offset-limit 分页查询，返回 Map 类型的对象列表，每个 Map 表示查询结果中的一行记录。
+     *
+     * @param sql    要执行的 SQL 查询语句
+     * @param page   分页对象，用于指定偏移位置和返回数量
+     * @param params SQL 语句中的参数
+     * @return 包含分页信息和查询结果的分页对象，结果为 Map 列表
+     */
+    public OffsetPage<Map<String, Object>> paginateMap(String sql, OffsetPage<Map<String, Object>> page, Object... params) {
+        return doPaginate(sql, page, this::queryForList, params);
+    }
+
+    /**
+     * 执行分页查询，分页数据以 RowSet 的只读 Map 视图返回，内存占用低于 paginateMap。
+     *
+     * @param sql    要执行的 SQL 查询语句
+     * @param page   分页对象，用于指定页码和每页数量
+     * @param params SQL 语句中的参数
+     * @return 包含分页信息和查询结果的分页对象，records 为只读视图
+     */
+    public Page<Map<String, Object>> paginateRows(String sql, Page<Map<String, Object>> page, Object... params) {
+        return doPaginate(sql, page, (pageSql, args) -> selectRows(pageSql, args).asMaps(), params);
     }
 
     /**
@@ -177,7 +500,13 @@ public class JdbcTemplateHelper {
      * @return 执行 SQL 语句后受影响的行数
      */
     public int execute(String sql, final Object... params) {
-        return getJdbcTemplate().update(sql, params);
+        SqlInvocation invocation = doBefore(sql, params, SqlType.UPDATE);
+        int result = doExecute(invocation, (template, statement, args) -> template.update(statement, args));
+        CacheInvalidator.invalidateSql(sql);
+        if (!sql.equals(invocation.getSql())) {
+            CacheInvalidator.invalidateSql(invocation.getSql());
+        }
+        return result;
     }
 
     /**
@@ -274,7 +603,8 @@ public class JdbcTemplateHelper {
      * @return 包含查询结果的对象列表
      */
     public <F> List<F> select(SQL<F> sql, Class<F> clazz) {
-        return select(sql.toSql(), clazz, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return select(provider.getSql(), clazz, provider.getParameters().toArray());
     }
 
     /**
@@ -289,7 +619,22 @@ public class JdbcTemplateHelper {
      * @return 包含分页信息和查询结果的分页对象
      */
     public <F> Page<F> paginate(SQL<F> sql, Class<F> clazz, Page<F> page) {
-        return paginate(sql.toSql(), clazz, page, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return paginate(provider.getSql(), clazz, page, provider.getParameters().toArray());
+    }
+
+    /**
+     * 执行自定义 SQL 对象封装的 offset-limit 分页查询，返回指定类型的对象分页结果。
+     *
+     * @param sql   自定义 SQL 对象，封装了查询 SQL 语句和对应的参数
+     * @param clazz 结果对象的类型
+     * @param page  分页对象，用于指定偏移位置和返回数量
+     * @param <F>   结果对象的泛型类型
+     * @return 包含分页信息和查询结果的分页对象
+     */
+    public <F> OffsetPage<F> paginate(SQL<F> sql, Class<F> clazz, OffsetPage<F> page) {
+        SqlProvider provider = this.render(sql);
+        return paginate(provider.getSql(), clazz, page, provider.getParameters().toArray());
     }
 
     /**
@@ -303,7 +648,8 @@ public class JdbcTemplateHelper {
      * @return 查询结果中的单个对象
      */
     public <F> F selectForObject(SQL<F> sql, Class<F> clazz) {
-        return selectForObject(sql.toSql(), clazz, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return selectForObject(provider.getSql(), clazz, provider.getParameters().toArray());
     }
 
     /**
@@ -0,0 +1,46 @@
+package org.tinycloud.jdbc.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 存在性索引注解，标注在实体类上后，为主键（或指定的唯一字段）建立布隆过滤器（需开启存在性索引）。
+ * 过滤器判定不存在的主键，selectById 直接返回 null；只含该字段等值条件的 exists 直接返回 false，均不访问数据库。
+ * 只有查询值的类型与索引字段的类型一致时才采信“不存在”的判定（整数类型之间视为一致），其他情况照常查询数据库；
+ * 字符串字段在数据库中可能按排序规则忽略大小写或尾部空格，默认不采信，确认精确比较时设置 exactStringMatch = true。
+ * <p>
+ * 注意：只有经由本进程 DAO 的新增会同步写入过滤器，其他进程或其他途径写入的数据只能依靠定时重建纳入，
+ * 多实例部署时请设置合适的 rebuildInterval 或不使用此注解。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 19:40
+ **/
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BloomIndex {
+
+    /**
+     * 建立索引的实体字段名，需为唯一字段，默认为主键
+     */
+    String field() default "";
+
+    /**
+     * 预期的键数量，实际数量超出后误判率会升高
+     */
+    long expectedInsertions() default 100000L;
+
+    /**
+     * 期望的误判率
+     */
+    double fpp() default 0.01D;
+
+    /**
+     * 定时重建间隔（秒），小于等于 0 时不定时重建
+     */
+    long rebuildInterval() default 0L;
+
+    /**
+     * 字符串字段在数据库中是否按原值精确比较（区分大小写、不忽略尾部空格），为 true 时才采信字符串键“不存在”的判定
+     */
+    boolean exactStringMatch() default false;
+}
@@ -0,0 +1,40 @@
+package org.tinycloud.jdbc.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 全量缓存表注解，标注在实体类上后，DAO 会把整张表加载为内存快照（需开启全量缓存表），
+ * selectById / selectByIds / selectAll 以及按主键或唯一索引字段的单个等值条件查询直接读取快照，不访问数据库。
+ * <p>
+ * 适用于字典、编码等数据量不大（几百到几万行）且读多写少的表。快照在后台定时刷新，
+ * 经由 DAO 写入该表时也会触发后台刷新，刷新完成后原子替换快照，读取不会阻塞。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 20:30
+ **/
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedTable {
+
+    /**
+     * 定时刷新间隔，如 30s、5m、1h，为空时不定时刷新
+     */
+    String refresh() default "";
+
+    /**
+     * 唯一索引字段（实体字段名），按这些字段的单个等值条件查询时直接读取快照
+     */
+    String[] indexes() default {};
+
+    /**
+     * 读取时是否返回实体副本，为 false 时返回快照中的共享实例，调用方不得修改
+     */
+    boolean copyOnRead() default true;
+
+    /**
+     * 字符串主键、唯一索引字段在数据库中是否按原值精确比较（区分大小写、不忽略尾部空格），
+     * 为 false 时快照中找不到的字符串键改为查询数据库，为 true 时直接判定不存在
+     */
+    boolean exactStringMatch() default false;
+}
@@ -0,0 +1,32 @@
+package org.tinycloud.jdbc.annotation;
+
+import org.tinycloud.jdbc.cache.EvictionPolicy;
+
+import java.lang.annotation.*;
+
+/**
+ * 实体二级缓存注解，标注在实体类上后，selectById / selectByIds 会优先从缓存中读取（需开启实体缓存）
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:00
+ **/
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EntityCache {
+
+    /**
+     * 最大缓存条目数，小于等于 0 时使用全局配置
+     */
+    int maxSize() default 0;
+
+    /**
+     * 存活时间（秒），小于 0 时使用全局配置，等于 0 时不过期
+     */
+    long ttl() default -1;
+
+    /**
+     * 淘汰策略
+     */
+    EvictionPolicy eviction() default EvictionPolicy.DEFAULT;
+}
@@ -0,0 +1,23 @@
+package org.tinycloud.jdbc.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 并发查询合并注解，标注在 DAO 类上后，同一时刻 SQL、参数和结果映射都相同的查询只执行一次，
+ * 其余并发调用等待并共享这次执行的结果（事务中的查询不参与合并）。
+ * <p>
+ * 适用于热点主键缓存过期、热门页面被同时请求等场景，可以避免同一查询被几十个线程重复执行。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 23:10
+ **/
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * 等待方是否拿到结果的副本（复制列表以及其中的实体/Map），为 false 时与执行方共享同一个结果列表，调用方不得修改
+     */
+    boolean copyResults() default false;
+}
@@ -0,0 +1,140 @@
+package org.tinycloud.jdbc.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 线程安全的布隆过滤器，位数组使用 AtomicLongArray，写入与判断均无锁
+ * </p>
+ * 位数组大小与哈希函数个数按预期数量和误判率计算：m = -n·ln(p) / (ln2)²，k = m / n · ln2。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 19:45
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitSize;
+
+    private final int hashFunctions;
+
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * 构造方法
+     *
+     * @param expectedInsertions 预期的键数量
+     * @param fpp                期望的误判率，取值范围 (0, 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be greater than 0");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 写入键
+     *
+     * @param key 键（已归一化）
+     */
+    public void put(Object key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long old = bits.get(word);
+            while ((old & mask) == 0 && !bits.compareAndSet(word, old, old | mask)) {
+                old = bits.get(word);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * 判断键是否可能存在，返回 false 时一定不存在
+     *
+     * @param key 键（已归一化）
+     */
+    public boolean mightContain(Object key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 位数组大小
+     */
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    /**
+     * 哈希函数个数
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * 已写入的键数量（重复写入会重复计数）
+     */
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * 位数组占用的内存（字节）
+     */
+    public long getMemoryBytes() {
+        return bitSize >>> 3;
+    }
+
+    /**
+     * 按已写入数量估算的当前误判率：(1 - e^(-kn/m))^k
+     */
+    public double getExpectedFpp() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * getInsertions() / bitSize), hashFunctions);
+    }
+
+    private static long hash(Object key) {
+        long h;
+        if (key instanceof Long) {
+            h = (Long) key;
+        } else {
+            // FNV-1a 64
+            h = 0xcbf29ce484222325L;
+            for (byte b : String.valueOf(key).getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+        }
+        // murmur3 fmix64，打散低熵的整数主键
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
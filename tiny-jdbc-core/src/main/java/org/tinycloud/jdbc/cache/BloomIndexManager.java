@@ -0,0 +1,192 @@
+package org.tinycloud.jdbc.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinycloud.jdbc.annotation.BloomIndex;
+import org.tinycloud.jdbc.annotation.Column;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.ReflectUtils;
+import org.tinycloud.jdbc.util.StrUtils;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 存在性索引管理器，为标注了 {@link BloomIndex} 的实体类维护布隆过滤器
+ * </p>
+ * 索引在首次使用时（或 DAO 初始化时）异步全量扫描建立，之后由 DAO 的新增操作增量写入。
+ * 条件写入、原生 SQL 写入涉及该表时，无法得知新增了哪些键，索引立即失效并异步重建。
+ * 其他节点按主键的写操作经失效总线到达时，主键写入主键索引；主键未知或索引字段不是主键时索引失效并异步重建。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 20:00
+ */
+public class BloomIndexManager implements TableInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BloomIndexManager.class);
+
+    /**
+     * 未标注注解的实体类占位
+     */
+    private static final BloomKeyIndex NONE = new BloomKeyIndex(Object.class, "", "", null, 1L, 0.5D, 0L, false);
+
+    private final Map<Class<?>, BloomKeyIndex> indexes = new ConcurrentHashMap<>(64);
+
+    private final ScheduledExecutorService executor;
+
+    public BloomIndexManager() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "tiny-jdbc-bloom-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.executor = scheduler;
+    }
+
+    /**
+     * 获取实体类的存在性索引
+     *
+     * @param entityClass 实体类
+     * @return 索引，未标注 {@link BloomIndex} 时返回 null
+     */
+    public BloomKeyIndex getIndex(Class<?> entityClass) {
+        BloomKeyIndex index = ConcurrentHashMapUtils.computeIfAbsent(indexes, entityClass, this::createIndex);
+        return index == NONE ? null : index;
+    }
+
+    /**
+     * 确保索引已建立：首次调用时登记键扫描器并提交异步构建
+     *
+     * @param index      索引
+     * @param keyScanner 键扫描器，逐个输出表中全部的键
+     */
+    public void ensureBuilt(BloomKeyIndex index, Consumer<Consumer<Object>> keyScanner) {
+        if (index.keyScanner == null) {
+            synchronized (index) {
+                if (index.keyScanner != null) {
+                    return;
+                }
+                index.keyScanner = keyScanner;
+            }
+            this.scheduleBuild(index);
+            if (index.getRebuildInterval() > 0 && index.periodicScheduled.compareAndSet(false, true)) {
+                executor.scheduleWithFixedDelay(() -> this.scheduleBuild(index),
+                        index.getRebuildInterval(), index.getRebuildInterval(), TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * 立即提交一次重建，已有重建任务排队时忽略
+     *
+     * @param entityClass 实体类
+     */
+    public void rebuild(Class<?> entityClass) {
+        BloomKeyIndex index = this.getIndex(entityClass);
+        if (index != null) {
+            this.scheduleBuild(index);
+        }
+    }
+
+    @Override
+    public void invalidateKeys(String table, Collection<?> ids) {
+        // 按主键的写操作来自 DAO，新增的键已由 DAO 写入索引（事务中的写入在提交后由索引再写入一次），删除不会造成漏判
+    }
+
+    @Override
+    public void invalidateRemoteKeys(String table, Collection<?> ids) {
+        for (BloomKeyIndex index : indexes.values()) {
+            if (index == NONE || !table.equals(index.getTable())) {
+                continue;
+            }
+            if (ids.isEmpty() || !index.getField().equals(TableParserUtils.getPrimaryKeyField(index.getEntityClass()))) {
+                index.markStale();
+                this.scheduleBuild(index);
+            } else {
+                for (Object id : ids) {
+                    index.put(id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidateTables(Set<String> tables) {
+        for (BloomKeyIndex index : indexes.values()) {
+            if (index != NONE && tables.contains(index.getTable())) {
+                index.markStale();
+                this.scheduleBuild(index);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (BloomKeyIndex index : indexes.values()) {
+            if (index != NONE) {
+                index.markStale();
+                this.scheduleBuild(index);
+            }
+        }
+    }
+
+    /**
+     * 关闭后台重建线程
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleBuild(BloomKeyIndex index) {
+        if (index.keyScanner == null || !index.buildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            // 先清除标记，构建期间再次失效时可以重新排队
+            index.buildScheduled.set(false);
+            try {
+                index.build();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Tiny-Jdbc bloom index built: {}", index);
+                }
+            } catch (Exception e) {
+                logger.warn("Tiny-Jdbc bloom index build failed, entity: {}", index.getEntityClass().getName(), e);
+            }
+        });
+    }
+
+    private BloomKeyIndex createIndex(Class<?> entityClass) {
+        BloomIndex annotation = entityClass.getAnnotation(BloomIndex.class);
+        if (annotation == null) {
+            return NONE;
+        }
+        Field field;
+        String column;
+        if (StrUtils.isEmpty(annotation.field())) {
+            field = TableParserUtils.getPrimaryKeyField(entityClass);
+            column = TableParserUtils.getTableColumn(entityClass).getRight();
+        } else {
+            try {
+                field = ReflectUtils.getAccessibleField(entityClass, annotation.field());
+            } catch (NoSuchFieldException e) {
+                throw new TinyJdbcException("@BloomIndex field " + annotation.field() + " not found in " + entityClass.getName(), e);
+            }
+            Column columnAnnotation = field.getAnnotation(Column.class);
+            column = columnAnnotation == null || StrUtils.isEmpty(columnAnnotation.value())
+                    ? StrUtils.camelToUnderline(field.getName()) : columnAnnotation.value();
+        }
+        String table = SqlTables.normalize(TableParserUtils.getTableName(entityClass));
+        return new BloomKeyIndex(entityClass, table, column, field, annotation.expectedInsertions(), annotation.fpp(), annotation.rebuildInterval(), annotation.exactStringMatch());
+    }
+}
@@ -0,0 +1,381 @@
+package org.tinycloud.jdbc.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.tinycloud.jdbc.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 单个实体类的存在性索引，由 {@link BloomIndexManager} 创建和重建
+ * </p>
+ * 索引未建成或已失效时，{@link #mightContain(Object)} 一律返回 true，调用方照常查询数据库；
+ * 查询值的类型与索引字段不一致（整数类型之间视为一致），或者是未声明精确比较的字符串时，同样返回 true，
+ * 数据库可能经过类型转换或排序规则找到过滤器中没有的值。
+ * 重建期间写入的键会先记录下来，新过滤器生效前补写进去；重建期间索引再次失效时，本次结果不会生效。
+ * 事务中写入的键在事务提交后再写入一次：重建扫描看不到未提交的行，提交前生效的新过滤器可能漏掉这些键。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 19:50
+ */
+public final class BloomKeyIndex {
+
+    private final Class<?> entityClass;
+
+    private final String table;
+
+    private final String column;
+
+    private final Field field;
+
+    private final long expectedInsertions;
+
+    private final double fpp;
+
+    private final long rebuildInterval;
+
+    private final boolean exactStringMatch;
+
+    /**
+     * 当前生效的过滤器，为 null 表示未建成或已失效
+     */
+    private volatile BloomFilter current;
+
+    /**
+     * 重建期间写入的键，新过滤器生效前补写；不在重建时为 null，由 pendingLock 保护
+     */
+    private List<Object> pendingKeys;
+
+    private final Object pendingLock = new Object();
+
+    /**
+     * 失效代数，重建开始后发生过失效的结果不生效
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 是否已提交重建任务
+     */
+    final AtomicBoolean buildScheduled = new AtomicBoolean();
+
+    /**
+     * 是否已安排定时重建
+     */
+    final AtomicBoolean periodicScheduled = new AtomicBoolean();
+
+    /**
+     * 键扫描器，逐个输出表中全部的键
+     */
+    volatile Consumer<Consumer<Object>> keyScanner;
+
+    private final LongAdder probes = new LongAdder();
+
+    private final LongAdder definiteMisses = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile long lastBuildTime;
+
+    private volatile long lastBuildCost;
+
+    BloomKeyIndex(Class<?> entityClass, String table, String column, Field field, long expectedInsertions, double fpp, long rebuildInterval,
+                  boolean exactStringMatch) {
+        this.entityClass = entityClass;
+        this.table = table;
+        this.column = column;
+        this.field = field;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.rebuildInterval = rebuildInterval;
+        this.exactStringMatch = exactStringMatch;
+    }
+
+    /**
+     * 判断键是否可能存在，返回 false 时一定不存在
+     *
+     * @param key 键
+     */
+    public boolean mightContain(Object key) {
+        BloomFilter filter = current;
+        if (filter == null || key == null || !this.isComparable(key)) {
+            return true;
+        }
+        probes.increment();
+        if (filter.mightContain(EntityCacheManager.normalizeId(key))) {
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    /**
+     * 查询值与过滤器中的键是否可以直接比较：类型一致（整数类型之间视为一致），字符串还需声明精确比较
+     */
+    private boolean isComparable(Object key) {
+        if (field == null) {
+            return false;
+        }
+        Class<?> fieldType = ClassUtils.wrapPrimitive(field.getType());
+        if (key instanceof String) {
+            return fieldType == String.class && exactStringMatch;
+        }
+        return key.getClass() == fieldType || (isIntegral(key.getClass()) && isIntegral(fieldType));
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+    }
+
+    /**
+     * 写入新增的键
+     *
+     * @param key 键
+     */
+    public void put(Object key) {
+        if (key == null) {
+            return;
+        }
+        Object normalized = EntityCacheManager.normalizeId(key);
+        this.doPut(normalized);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            CommittedKeys committed = (CommittedKeys) TransactionSynchronizationManager.getResource(this);
+            if (committed == null) {
+                committed = new CommittedKeys(this);
+                TransactionSynchronizationManager.bindResource(this, committed);
+                TransactionSynchronizationManager.registerSynchronization(committed);
+            }
+            committed.keys.add(normalized);
+        }
+    }
+
+    private void doPut(Object normalized) {
+        synchronized (pendingLock) {
+            BloomFilter filter = current;
+            if (filter != null) {
+                filter.put(normalized);
+            }
+            if (pendingKeys != null) {
+                pendingKeys.add(normalized);
+            }
+        }
+    }
+
+    /**
+     * 写入实体中索引字段的值
+     *
+     * @param entity 实体
+     */
+    public void putEntity(Object entity) {
+        if (entity == null) {
+            return;
+        }
+        try {
+            this.put(field.get(entity));
+        } catch (IllegalAccessException e) {
+            // 读取失败时让索引失效，避免漏掉该键
+            this.markStale();
+        }
+    }
+
+    /**
+     * 记录一次误判：过滤器判定可能存在，但数据库中不存在
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * 标记索引失效，重建完成前不再短路查询
+     */
+    void markStale() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    /**
+     * 全量扫描重建
+     */
+    synchronized void build() {
+        Consumer<Consumer<Object>> scanner = keyScanner;
+        if (scanner == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long gen = generation.get();
+        BloomFilter filter = new BloomFilter(expectedInsertions, fpp);
+        synchronized (pendingLock) {
+            pendingKeys = new ArrayList<>();
+        }
+        try {
+            scanner.accept(key -> {
+                if (key != null) {
+                    filter.put(EntityCacheManager.normalizeId(key));
+                }
+            });
+            synchronized (pendingLock) {
+                if (generation.get() == gen) {
+                    for (Object key : pendingKeys) {
+                        filter.put(key);
+                    }
+                    current = filter;
+                    lastBuildTime = System.currentTimeMillis();
+                    lastBuildCost = lastBuildTime - start;
+                }
+            }
+        } finally {
+            synchronized (pendingLock) {
+                pendingKeys = null;
+            }
+        }
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public long getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    /**
+     * 索引是否已建成并生效
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * 判断次数（索引生效期间）
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * 判定一定不存在、直接短路的次数
+     */
+    public long getDefiniteMisses() {
+        return definiteMisses.sum();
+    }
+
+    /**
+     * 误判次数
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * 实际观测到的误判率：误判次数 / (误判次数 + 短路次数)
+     */
+    public double getObservedFpp() {
+        long fp = getFalsePositives();
+        long negatives = fp + getDefiniteMisses();
+        return negatives == 0 ? 0D : (double) fp / negatives;
+    }
+
+    /**
+     * 按已写入数量估算的误判率，索引未建成时返回 1
+     */
+    public double getExpectedFpp() {
+        BloomFilter filter = current;
+        return filter == null ? 1D : filter.getExpectedFpp();
+    }
+
+    /**
+     * 已写入的键数量
+     */
+    public long getInsertions() {
+        BloomFilter filter = current;
+        return filter == null ? 0L : filter.getInsertions();
+    }
+
+    /**
+     * 位数组占用的内存（字节）
+     */
+    public long getMemoryBytes() {
+        BloomFilter filter = current;
+        return filter == null ? 0L : filter.getMemoryBytes();
+    }
+
+    /**
+     * 最近一次建成的时间戳（毫秒）
+     */
+    public long getLastBuildTime() {
+        return lastBuildTime;
+    }
+
+    /**
+     * 最近一次建成的耗时（毫秒）
+     */
+    public long getLastBuildCost() {
+        return lastBuildCost;
+    }
+
+    /**
+     * 事务中写入的键，提交后再写入一次
+     */
+    private static final class CommittedKeys implements TransactionSynchronization {
+        private final BloomKeyIndex index;
+
+        private final Set<Object> keys = new HashSet<>();
+
+        private CommittedKeys(BloomKeyIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(index);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(index, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(index);
+            if (status == STATUS_COMMITTED) {
+                for (Object key : keys) {
+                    index.doPut(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BloomKeyIndex{" +
+                "entityClass=" + entityClass.getName() +
+                ", column='" + column + '\'' +
+                ", ready=" + isReady() +
+                ", insertions=" + getInsertions() +
+                ", memoryBytes=" + getMemoryBytes() +
+                ", expectedFpp=" + getExpectedFpp() +
+                ", observedFpp=" + getObservedFpp() +
+                '}';
+    }
+}
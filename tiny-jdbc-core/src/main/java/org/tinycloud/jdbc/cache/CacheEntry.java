@@ -0,0 +1,32 @@
+package org.tinycloud.jdbc.cache;
+
+/**
+ * <p>
+ * 带过期时间的缓存条目
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:16
+ */
+final class CacheEntry {
+
+    private final Object value;
+
+    /**
+     * 过期时间点（System.nanoTime），0 表示不过期
+     */
+    private final long expireAt;
+
+    CacheEntry(Object value, long ttlNanos) {
+        this.value = value;
+        this.expireAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0L;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    boolean isExpired(long now) {
+        return expireAt != 0L && expireAt - now <= 0;
+    }
+}
@@ -0,0 +1,164 @@
+package org.tinycloud.jdbc.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 跨节点缓存失效广播器，连接 {@link CacheInvalidator} 与 {@link CacheInvalidationBus}
+ * </p>
+ * 本节点已提交的写操作先合并到待发布事件中，在合并窗口结束时一次性发布，窗口内对同一张表的多次写入只产生一条消息；
+ * 单表主键过多时改为整表失效。收到其他节点的事件后直接分发给本地缓存，不会再次发布。
+ * 事件总是在广播器自己的线程中发布：提交回调中事务的连接仍绑定在当前线程上，在其中写入失效日志会加入一个不再提交的事务。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 22:25
+ */
+public class CacheInvalidationBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    /**
+     * 单个事件中每张表最多携带的主键数量，超过后改为整表失效
+     */
+    private static final int MAX_KEYS_PER_TABLE = 1000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheInvalidationBus bus;
+
+    private final long windowMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private InvalidationEvent pending;
+
+    /**
+     * 构造方法
+     *
+     * @param bus          失效总线
+     * @param windowMillis 合并窗口（毫秒），小于等于 0 时不等待，尽快发布
+     */
+    public CacheInvalidationBroadcaster(CacheInvalidationBus bus, long windowMillis) {
+        this.bus = bus;
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tiny-jdbc-cache-bus");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 本节点标识，用于过滤总线回传的本节点事件
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 开始接收其他节点的事件
+     */
+    public void start() {
+        bus.subscribe(this::receive);
+    }
+
+    /**
+     * 发布尚未发布的事件并关闭总线
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(windowMillis > 0L ? windowMillis * 2 : 1000L, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        bus.close();
+    }
+
+    void publishAll() {
+        InvalidationEvent event = new InvalidationEvent(nodeId);
+        event.addAll();
+        enqueue(event);
+    }
+
+    void publishTables(Set<String> tables) {
+        InvalidationEvent event = new InvalidationEvent(nodeId);
+        event.addTables(tables);
+        enqueue(event);
+    }
+
+    void publishKeys(String table, Collection<?> ids) {
+        InvalidationEvent event = new InvalidationEvent(nodeId);
+        event.addKeys(table, ids);
+        enqueue(event);
+    }
+
+    void publish(boolean all, Set<String> tables, Map<String, ? extends Collection<?>> keys) {
+        InvalidationEvent event = new InvalidationEvent(nodeId);
+        if (all) {
+            event.addAll();
+        } else {
+            event.addTables(tables);
+            for (Map.Entry<String, ? extends Collection<?>> entry : keys.entrySet()) {
+                event.addKeys(entry.getKey(), entry.getValue());
+            }
+        }
+        enqueue(event);
+    }
+
+    private void enqueue(InvalidationEvent event) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.merge(event);
+                return;
+            }
+            pending = event;
+        }
+        try {
+            scheduler.schedule(this::flush, Math.max(windowMillis, 0L), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 已关闭：事件留在 pending 中，由 shutdown() 的最后一次 flush 发布
+            logger.debug("Tiny-Jdbc cache invalidation broadcaster is shut down, event left for the final flush");
+        }
+    }
+
+    private void flush() {
+        InvalidationEvent event;
+        synchronized (this) {
+            event = pending;
+            pending = null;
+        }
+        if (event != null) {
+            send(event);
+        }
+    }
+
+    private void send(InvalidationEvent event) {
+        event.collapseKeys(MAX_KEYS_PER_TABLE);
+        try {
+            bus.publish(event);
+        } catch (RuntimeException e) {
+            logger.warn("Tiny-Jdbc cache invalidation publish failed: {}", event, e);
+        }
+    }
+
+    private void receive(InvalidationEvent event) {
+        if (event == null || event.isEmpty() || nodeId.equals(event.getNodeId())) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Tiny-Jdbc cache invalidation received: {}", event);
+        }
+        CacheInvalidator.applyRemote(event);
+    }
+}
@@ -0,0 +1,37 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 跨节点缓存失效总线 SPI，可注册为 Spring Bean 以替换内置实现
+ * </p>
+ * 本节点已提交的写操作经 {@link CacheInvalidationBroadcaster} 合并后调用 {@link #publish(InvalidationEvent)} 发布；
+ * 收到的事件（可能包括本节点自己发布的）交给 {@link #subscribe(Consumer)} 注册的处理器，由其过滤本节点事件后失效本地缓存。
+ * 实现类须线程安全，发布失败时抛出异常即可，调用方会记录日志而不影响业务写操作。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 22:15
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * 发布失效事件
+     *
+     * @param event 失效事件，不为空
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * 开始接收其他节点的失效事件
+     *
+     * @param handler 事件处理器
+     */
+    void subscribe(Consumer<InvalidationEvent> handler);
+
+    /**
+     * 停止接收并释放资源
+     */
+    default void close() {
+    }
+}
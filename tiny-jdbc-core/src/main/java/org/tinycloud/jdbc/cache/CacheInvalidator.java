@@ -0,0 +1,230 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>
+ * 缓存失效分发器，所有 DAO 写操作（增删改、DDL、批量插入）完成后经由此类通知已注册的缓存
+ * </p>
+ * 未注册任何监听器时，写路径不会解析 SQL，没有额外开销。在 Spring 事务中执行的写操作除立即失效外，
+ * 还会在事务结束后再失效一次，并且本事务后续对这些表的读取不使用缓存，避免未提交的数据进入缓存。
+ * 设置了 {@link CacheInvalidationBroadcaster} 时，非事务写操作立即广播，事务中的写操作在提交后广播，回滚不广播。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 10:20
+ */
+public final class CacheInvalidator {
+
+    private static final List<TableInvalidationListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile CacheInvalidationBroadcaster broadcaster;
+
+    private CacheInvalidator() {
+    }
+
+    /**
+     * 注册失效监听器
+     *
+     * @param listener 监听器
+     */
+    public static void register(TableInvalidationListener listener) {
+        if (listener != null && !LISTENERS.contains(listener)) {
+            LISTENERS.add(listener);
+        }
+    }
+
+    /**
+     * 移除失效监听器
+     *
+     * @param listener 监听器
+     */
+    public static void unregister(TableInvalidationListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * 是否存在已注册的监听器
+     */
+    public static boolean hasListeners() {
+        return !LISTENERS.isEmpty();
+    }
+
+    /**
+     * 设置跨节点失效广播器，设置后本节点已提交的写操作会广播给其他节点
+     *
+     * @param broadcaster 广播器，为 null 时不广播
+     */
+    public static void setBroadcaster(CacheInvalidationBroadcaster broadcaster) {
+        CacheInvalidator.broadcaster = broadcaster;
+    }
+
+    public static CacheInvalidationBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    /**
+     * 根据执行的写 SQL 失效缓存，无法解析出表名时失效全部缓存
+     *
+     * @param sql 已执行的写 SQL
+     */
+    public static void invalidateSql(String sql) {
+        if (isIdle() && !TransactionEntityCache.isActive()) {
+            return;
+        }
+        Set<String> tables = SqlTables.of(sql);
+        if (tables.isEmpty()) {
+            invalidateAll();
+        } else {
+            TransactionEntityCache.invalidateTables(tables);
+            TransactionalWrites writes = TransactionalWrites.current(true);
+            if (writes != null) {
+                writes.recordTables(tables);
+            } else if (broadcaster != null) {
+                broadcaster.publishTables(tables);
+            }
+            dispatchTables(tables);
+        }
+    }
+
+    /**
+     * 失效与给定表相关的缓存
+     *
+     * @param tables 表名，可未归一化
+     */
+    public static void invalidateTables(Collection<String> tables) {
+        if (tables == null || tables.isEmpty() || (isIdle() && !TransactionEntityCache.isActive())) {
+            return;
+        }
+        Set<String> normalized = new LinkedHashSet<>(tables.size());
+        for (String table : tables) {
+            normalized.add(SqlTables.normalize(table));
+        }
+        TransactionEntityCache.invalidateTables(normalized);
+        TransactionalWrites writes = TransactionalWrites.current(true);
+        if (writes != null) {
+            writes.recordTables(normalized);
+        } else if (broadcaster != null) {
+            broadcaster.publishTables(normalized);
+        }
+        dispatchTables(normalized);
+    }
+
+    /**
+     * 按主键失效缓存，用于已知主键的写操作（按主键更新、删除，以及新增）
+     *
+     * @param table 被写入的表名，可未归一化
+     * @param ids   受影响的主键
+     */
+    public static void invalidateKeys(String table, Collection<?> ids) {
+        if (isIdle()) {
+            return;
+        }
+        String normalized = SqlTables.normalize(table);
+        Collection<?> keys = ids == null ? Collections.emptyList() : ids;
+        TransactionalWrites writes = TransactionalWrites.current(true);
+        if (writes != null) {
+            writes.recordKeys(normalized, keys);
+        } else if (broadcaster != null) {
+            broadcaster.publishKeys(normalized, keys);
+        }
+        dispatchKeys(normalized, keys);
+    }
+
+    /**
+     * 失效全部缓存
+     */
+    public static void invalidateAll() {
+        TransactionEntityCache.invalidateAll();
+        if (isIdle()) {
+            return;
+        }
+        TransactionalWrites writes = TransactionalWrites.current(true);
+        if (writes != null) {
+            writes.recordAll();
+        } else if (broadcaster != null) {
+            broadcaster.publishAll();
+        }
+        dispatchAll();
+    }
+
+    /**
+     * 当前事务是否写入过给定的表，写入过时本事务内读取这些表不应使用缓存
+     *
+     * @param tables 表名（已归一化）
+     * @return 不在事务中时返回 false
+     */
+    public static boolean isWrittenInTransaction(Set<String> tables) {
+        TransactionalWrites writes = TransactionalWrites.current(false);
+        return writes != null && writes.isWritten(tables);
+    }
+
+    /**
+     * 当前事务是否可能写入过给定主键的行
+     *
+     * @param table 表名（已归一化）
+     * @param id    主键
+     * @return 不在事务中时返回 false
+     */
+    public static boolean isWrittenInTransaction(String table, Object id) {
+        TransactionalWrites writes = TransactionalWrites.current(false);
+        return writes != null && writes.isWritten(table, id);
+    }
+
+    /**
+     * 应用其他节点发布的失效事件，只失效本地缓存，不再广播
+     *
+     * @param event 失效事件
+     */
+    public static void applyRemote(InvalidationEvent event) {
+        if (event.isAll()) {
+            dispatchAll();
+            return;
+        }
+        if (!event.getTables().isEmpty()) {
+            dispatchTables(event.getTables());
+        }
+        for (Map.Entry<String, Set<Object>> entry : event.getKeys().entrySet()) {
+            for (TableInvalidationListener listener : LISTENERS) {
+                listener.invalidateRemoteKeys(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 本地事务提交后广播该事务的写操作
+     */
+    static void publishCommitted(boolean all, Set<String> tables, Map<String, Set<Object>> keys) {
+        CacheInvalidationBroadcaster current = broadcaster;
+        if (current != null) {
+            current.publish(all, tables, keys);
+        }
+    }
+
+    private static boolean isIdle() {
+        return LISTENERS.isEmpty() && broadcaster == null;
+    }
+
+    static void dispatchAll() {
+        for (TableInvalidationListener listener : LISTENERS) {
+            listener.invalidateAll();
+        }
+    }
+
+    static void dispatchTables(Set<String> tables) {
+        for (TableInvalidationListener listener : LISTENERS) {
+            listener.invalidateTables(tables);
+        }
+    }
+
+    static void dispatchKeys(String table, Collection<?> ids) {
+        for (TableInvalidationListener listener : LISTENERS) {
+            listener.invalidateKeys(table, ids);
+        }
+    }
+}
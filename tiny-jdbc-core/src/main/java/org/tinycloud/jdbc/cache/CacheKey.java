@@ -0,0 +1,100 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * 缓存键，由命名空间（一般为数据源）、SQL、绑定参数和结果类型组成
+ * </p>
+ * 命名空间按引用比较，用于区分多数据源下相同的 SQL；参数按值比较（支持数组参数）；
+ * 结果类型按 equals 比较，用于区分同一 SQL 映射为不同类型的结果。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 10:12
+ */
+public final class CacheKey {
+
+    /**
+     * 命名空间，按引用比较
+     */
+    private final Object namespace;
+
+    /**
+     * 要执行的SQL
+     */
+    private final String sql;
+
+    /**
+     * 要绑定到SQL的参数（拷贝，避免调用方后续修改影响键）
+     */
+    private final Object[] parameters;
+
+    /**
+     * 结果类型，可为 null
+     */
+    private final Object resultType;
+
+    private final int hash;
+
+    public CacheKey(Object namespace, String sql, Object[] parameters) {
+        this(namespace, sql, parameters, null);
+    }
+
+    public CacheKey(Object namespace, String sql, Object[] parameters, Object resultType) {
+        this.namespace = namespace;
+        this.sql = sql;
+        this.parameters = parameters == null ? new Object[0] : parameters.clone();
+        this.resultType = resultType;
+        int h = System.identityHashCode(namespace);
+        h = 31 * h + (sql == null ? 0 : sql.hashCode());
+        h = 31 * h + Arrays.deepHashCode(this.parameters);
+        h = 31 * h + (resultType == null ? 0 : resultType.hashCode());
+        this.hash = h;
+    }
+
+    public Object getNamespace() {
+        return namespace;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Object[] getParameters() {
+        return parameters.clone();
+    }
+
+    public Object getResultType() {
+        return resultType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey that = (CacheKey) o;
+        return this.hash == that.hash
+                && this.namespace == that.namespace
+                && (this.sql == null ? that.sql == null : this.sql.equals(that.sql))
+                && Arrays.deepEquals(this.parameters, that.parameters)
+                && (this.resultType == null ? that.resultType == null : this.resultType.equals(that.resultType));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheKey{" +
+                "sql='" + sql + '\'' +
+                ", parameters=" + Arrays.deepToString(parameters) +
+                ", resultType=" + resultType +
+                '}';
+    }
+}
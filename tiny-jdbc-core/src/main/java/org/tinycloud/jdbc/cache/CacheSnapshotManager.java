@@ -0,0 +1,579 @@
+package org.tinycloud.jdbc.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.tinycloud.jdbc.util.StrUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 缓存快照管理器，应用正常关闭时把实体二级缓存和查询结果缓存写入本地文件，启动时重新装载，缩短滚动发布后的缓存预热时间
+ * </p>
+ * 快照为紧凑的二进制格式，通过内存映射文件读写：实体使用 {@link EntityCodec} 编码，查询参数和标量结果按类型标记编码，
+ * 无法编码的条目不写入快照。快照中记录每张表的版本戳（行数和版本字段的最大值），
+ * 装载时重新探测，版本戳不一致的表对应的条目全部丢弃；超过最大时长的快照整体丢弃。
+ * 只有能取得版本戳的表才写入快照：未配置版本字段或表中没有该字段时，该表的条目不写入，
+ * 除非显式开启只按行数判断（countOnly），此时其他节点不改变行数的更新无法被发现。
+ * 版本戳无法发现不改变版本字段的更新，最大时长不宜设置过长。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 22:50
+ */
+public class CacheSnapshotManager {
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotManager.class);
+
+    private static final int MAGIC = 0x544A4353;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * 标量类型标记
+     */
+    private static final Map<Class<?>, Integer> SCALAR_TAGS = new HashMap<>(32);
+
+    static {
+        Class<?>[] types = {Long.class, Integer.class, String.class, Double.class, BigDecimal.class, Boolean.class,
+                java.util.Date.class, java.sql.Timestamp.class, java.sql.Date.class, LocalDate.class, LocalDateTime.class,
+                Short.class, Float.class, BigInteger.class, Byte.class};
+        for (int i = 0; i < types.length; i++) {
+            SCALAR_TAGS.put(types[i], i + 1);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final File file;
+
+    private final long maxAgeMillis;
+
+    private final String versionColumn;
+
+    private final boolean countOnly;
+
+    private final EntityCacheManager entityCacheManager;
+
+    private final QueryResultCache queryResultCache;
+
+    /**
+     * 构造方法
+     *
+     * @param jdbcTemplate       jdbcTemplate，用于探测表的版本戳，其数据源也是查询结果缓存键的命名空间
+     * @param file               快照文件
+     * @param maxAgeSeconds      快照最大时长（秒），超过后不再装载
+     * @param versionColumn      版本字段（如 update_time），为空或表中没有该字段时该表不写入快照
+     * @param entityCacheManager 实体二级缓存，可为 null
+     * @param queryResultCache   查询结果缓存，可为 null
+     */
+    public CacheSnapshotManager(JdbcTemplate jdbcTemplate, File file, long maxAgeSeconds, String versionColumn,
+                                EntityCacheManager entityCacheManager, QueryResultCache queryResultCache) {
+        this(jdbcTemplate, file, maxAgeSeconds, versionColumn, false, entityCacheManager, queryResultCache);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param jdbcTemplate       jdbcTemplate，用于探测表的版本戳，其数据源也是查询结果缓存键的命名空间
+     * @param file               快照文件
+     * @param maxAgeSeconds      快照最大时长（秒），超过后不再装载
+     * @param versionColumn      版本字段（如 update_time），可为空
+     * @param countOnly          没有版本字段的表是否只按行数判断新鲜度，为 false 时这些表不写入快照
+     * @param entityCacheManager 实体二级缓存，可为 null
+     * @param queryResultCache   查询结果缓存，可为 null
+     */
+    public CacheSnapshotManager(JdbcTemplate jdbcTemplate, File file, long maxAgeSeconds, String versionColumn, boolean countOnly,
+                                EntityCacheManager entityCacheManager, QueryResultCache queryResultCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.file = file;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        this.versionColumn = versionColumn;
+        this.countOnly = countOnly;
+        this.entityCacheManager = entityCacheManager;
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * 把当前缓存写入快照文件，先写临时文件再原子替换
+     *
+     * @return 写入的条目数
+     */
+    public int save() {
+        long start = System.currentTimeMillis();
+        Map<String, String> stamps = new LinkedHashMap<>();
+        List<byte[]> entitySections = new ArrayList<>();
+        List<byte[]> querySections = new ArrayList<>();
+        int[] count = new int[1];
+        if (entityCacheManager != null) {
+            entityCacheManager.forEach((entityClass, table, entities) -> {
+                if (entities.isEmpty()) {
+                    return;
+                }
+                if (stamp(stamps, table) == null) {
+                    return;
+                }
+                byte[] section = encodeEntities(entityClass, table, entities);
+                if (section != null) {
+                    entitySections.add(section);
+                    count[0] += entities.size();
+                }
+            });
+        }
+        if (queryResultCache != null) {
+            Object namespace = jdbcTemplate.getDataSource();
+            queryResultCache.forEach((key, value) -> {
+                if (key.getNamespace() != namespace) {
+                    return;
+                }
+                for (String table : SqlTables.of(key.getSql())) {
+                    if (stamp(stamps, table) == null) {
+                        return;
+                    }
+                }
+                byte[] section = encodeQuery(key, value);
+                if (section != null) {
+                    querySections.add(section);
+                    count[0]++;
+                }
+            });
+        }
+        stamps.values().removeIf(Objects::isNull);
+
+        EntityCodec.Output out = new EntityCodec.Output(4096);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeVarLong(stamps.size());
+        for (Map.Entry<String, String> entry : stamps.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeString(entry.getValue());
+        }
+        writeSections(out, entitySections);
+        writeSections(out, querySections);
+        try {
+            write(out);
+        } catch (IOException e) {
+            logger.warn("Tiny-Jdbc cache snapshot save failed: {}", file, e);
+            return 0;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("Tiny-Jdbc cache snapshot saved: {} entries, {} bytes, {} ms.", count[0], out.size(), System.currentTimeMillis() - start);
+        }
+        return count[0];
+    }
+
+    /**
+     * 从快照文件装载缓存，文件不存在、格式不符或已超过最大时长时不装载
+     *
+     * @return 装载的条目数
+     */
+    public int restore() {
+        if (!file.isFile()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        int count = 0;
+        try {
+            EntityCodec.Input in = new EntityCodec.Input(read());
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.warn("Tiny-Jdbc cache snapshot ignored, unknown format: {}", file);
+                return 0;
+            }
+            long createdAt = in.readLong();
+            if (System.currentTimeMillis() - createdAt > maxAgeMillis) {
+                logger.info("Tiny-Jdbc cache snapshot ignored, older than {} ms: {}", maxAgeMillis, file);
+                return 0;
+            }
+            Set<String> freshTables = new LinkedHashSet<>();
+            long tableCount = in.readVarLong();
+            for (long i = 0; i < tableCount; i++) {
+                String table = in.readString();
+                String stamp = in.readString();
+                if (stamp.equals(probe(table))) {
+                    freshTables.add(table);
+                }
+            }
+            long entitySections = in.readVarLong();
+            for (long i = 0; i < entitySections; i++) {
+                count += restoreEntities(new EntityCodec.Input(in.readBytes()), freshTables);
+            }
+            long querySections = in.readVarLong();
+            for (long i = 0; i < querySections; i++) {
+                count += restoreQuery(new EntityCodec.Input(in.readBytes()), freshTables);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Tiny-Jdbc cache snapshot restore failed: {}", file, e);
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("Tiny-Jdbc cache snapshot restored: {} entries, {} ms.", count, System.currentTimeMillis() - start);
+        }
+        return count;
+    }
+
+    /**
+     * 取表的版本戳，同一次保存中每张表只探测一次（包括探测失败的表）
+     *
+     * @param stamps 已探测的版本戳
+     * @param table  表名（已归一化）
+     * @return 版本戳，无法取得时返回 null
+     */
+    private String stamp(Map<String, String> stamps, String table) {
+        if (stamps.containsKey(table)) {
+            return stamps.get(table);
+        }
+        String stamp = probe(table);
+        stamps.put(table, stamp);
+        return stamp;
+    }
+
+    /**
+     * 探测表的版本戳
+     *
+     * @param table 表名（已归一化）
+     * @return 版本戳，探测失败、或者没有版本字段且未开启只按行数判断时返回 null
+     */
+    private String probe(String table) {
+        try {
+            if (StrUtils.isNotEmpty(versionColumn)) {
+                try {
+                    Map<String, Object> row = jdbcTemplate.queryForMap("SELECT COUNT(*), MAX(" + versionColumn + ") FROM " + table);
+                    StringBuilder stamp = new StringBuilder();
+                    for (Object value : row.values()) {
+                        stamp.append(value).append('|');
+                    }
+                    return stamp.toString();
+                } catch (RuntimeException e) {
+                    if (!countOnly) {
+                        logger.debug("Tiny-Jdbc cache snapshot skips table {} without version column {}", table, versionColumn, e);
+                        return null;
+                    }
+                }
+            } else if (!countOnly) {
+                return null;
+            }
+            return "count:" + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        } catch (RuntimeException e) {
+            logger.debug("Tiny-Jdbc cache snapshot probe {} failed", table, e);
+            return null;
+        }
+    }
+
+    private byte[] encodeEntities(Class<?> entityClass, String table, Map<Object, Object> entities) {
+        EntityCodec<?> codec;
+        try {
+            codec = EntityCodec.forClass(entityClass);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        EntityCodec.Output out = new EntityCodec.Output(1024);
+        out.writeString(entityClass.getName());
+        out.writeString(table);
+        List<Map.Entry<Object, Object>> encodable = new ArrayList<>(entities.size());
+        for (Map.Entry<Object, Object> entry : entities.entrySet()) {
+            if (isScalar(entry.getKey())) {
+                encodable.add(entry);
+            }
+        }
+        out.writeVarLong(encodable.size());
+        for (Map.Entry<Object, Object> entry : encodable) {
+            writeScalar(out, entry.getKey());
+            codec.encode(entry.getValue(), out);
+        }
+        return Arrays.copyOf(out.buffer(), out.size());
+    }
+
+    private int restoreEntities(EntityCodec.Input in, Set<String> freshTables) {
+        Class<?> entityClass;
+        try {
+            entityClass = loadClass(in.readString());
+        } catch (ClassNotFoundException e) {
+            return 0;
+        }
+        String table = in.readString();
+        if (entityCacheManager == null || !freshTables.contains(table) || !entityCacheManager.isCacheable(entityClass)) {
+            return 0;
+        }
+        long epoch = entityCacheManager.currentEpoch(entityClass);
+        EntityCodec<?> codec = EntityCodec.forClass(entityClass);
+        long size = in.readVarLong();
+        int restored = 0;
+        for (long i = 0; i < size; i++) {
+            Object id = readScalar(in);
+            Object entity = codec.decode(in);
+            entityCacheManager.put(entityClass, id, entity, epoch);
+            restored++;
+        }
+        return restored;
+    }
+
+    private byte[] encodeQuery(CacheKey key, Object value) {
+        if (!(key.getResultType() instanceof String)) {
+            return null;
+        }
+        String resultType = (String) key.getResultType();
+        Object[] parameters = key.getParameters();
+        for (Object parameter : parameters) {
+            if (!isScalar(parameter)) {
+                return null;
+            }
+        }
+        EntityCodec.Output out = new EntityCodec.Output(256);
+        out.writeString(key.getSql());
+        out.writeString(resultType);
+        out.writeVarLong(parameters.length);
+        for (Object parameter : parameters) {
+            writeScalar(out, parameter);
+        }
+        if (resultType.startsWith("bean:")) {
+            EntityCodec<?> codec;
+            try {
+                codec = EntityCodec.forClass(loadClass(resultType.substring(5)));
+            } catch (ClassNotFoundException | RuntimeException e) {
+                return null;
+            }
+            List<?> list = (List<?>) value;
+            out.writeVarLong(list.size());
+            for (Object element : list) {
+                codec.encode(element, out);
+            }
+        } else if (resultType.startsWith("column:")) {
+            List<?> list = (List<?>) value;
+            out.writeVarLong(list.size());
+            for (Object element : list) {
+                if (!isScalar(element)) {
+                    return null;
+                }
+                writeScalar(out, element);
+            }
+        } else if (resultType.startsWith("object:")) {
+            if (!isScalar(value)) {
+                return null;
+            }
+            writeScalar(out, value);
+        } else if ("map".equals(resultType)) {
+            List<?> list = (List<?>) value;
+            out.writeVarLong(list.size());
+            for (Object element : list) {
+                Map<?, ?> row = (Map<?, ?>) element;
+                out.writeVarLong(row.size());
+                for (Map.Entry<?, ?> column : row.entrySet()) {
+                    if (!isScalar(column.getValue())) {
+                        return null;
+                    }
+                    out.writeString(String.valueOf(column.getKey()));
+                    writeScalar(out, column.getValue());
+                }
+            }
+        } else {
+            return null;
+        }
+        return Arrays.copyOf(out.buffer(), out.size());
+    }
+
+    private int restoreQuery(EntityCodec.Input in, Set<String> freshTables) {
+        String sql = in.readString();
+        String resultType = in.readString();
+        Set<String> tables = SqlTables.of(sql);
+        if (queryResultCache == null || tables.isEmpty() || !freshTables.containsAll(tables)) {
+            return 0;
+        }
+        Object[] parameters = new Object[(int) in.readVarLong()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = readScalar(in);
+        }
+        Object value;
+        if (resultType.startsWith("bean:")) {
+            EntityCodec<?> codec;
+            try {
+                codec = EntityCodec.forClass(loadClass(resultType.substring(5)));
+            } catch (ClassNotFoundException e) {
+                return 0;
+            }
+            int size = (int) in.readVarLong();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(codec.decode(in));
+            }
+            value = list;
+        } else if (resultType.startsWith("column:")) {
+            int size = (int) in.readVarLong();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readScalar(in));
+            }
+            value = list;
+        } else if (resultType.startsWith("object:")) {
+            value = readScalar(in);
+        } else {
+            int size = (int) in.readVarLong();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int columns = (int) in.readVarLong();
+                Map<String, Object> row = new LinkedHashMap<>(columns * 2);
+                for (int j = 0; j < columns; j++) {
+                    row.put(in.readString(), readScalar(in));
+                }
+                list.add(row);
+            }
+            value = list;
+        }
+        CacheKey key = new CacheKey(jdbcTemplate.getDataSource(), sql, parameters, resultType);
+        queryResultCache.put(key, value, queryResultCache.currentEpoch());
+        return 1;
+    }
+
+    private static Class<?> loadClass(String name) throws ClassNotFoundException {
+        return Class.forName(name, false, Thread.currentThread().getContextClassLoader());
+    }
+
+    private static void writeSections(EntityCodec.Output out, List<byte[]> sections) {
+        out.writeVarLong(sections.size());
+        for (byte[] section : sections) {
+            out.writeBytes(section);
+        }
+    }
+
+    private void write(EntityCodec.Output out) throws IOException {
+        Path target = file.toPath();
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, out.size());
+            buffer.put(out.buffer(), 0, out.size());
+            buffer.force();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] read() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+
+    private static boolean isScalar(Object value) {
+        return value == null || SCALAR_TAGS.containsKey(value.getClass());
+    }
+
+    private static void writeScalar(EntityCodec.Output out, Object value) {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        int tag = SCALAR_TAGS.get(value.getClass());
+        out.writeByte(tag);
+        switch (tag) {
+            case 1:
+            case 2:
+            case 12:
+            case 15:
+                out.writeVarLong(((Number) value).longValue());
+                break;
+            case 3:
+                out.writeString((String) value);
+                break;
+            case 4:
+                out.writeLong(Double.doubleToRawLongBits((Double) value));
+                break;
+            case 5:
+                out.writeString(value.toString());
+                break;
+            case 6:
+                out.writeByte((Boolean) value ? 1 : 0);
+                break;
+            case 7:
+            case 9:
+                out.writeVarLong(((java.util.Date) value).getTime());
+                break;
+            case 8:
+                out.writeVarLong(((java.sql.Timestamp) value).getTime());
+                out.writeVarLong(((java.sql.Timestamp) value).getNanos());
+                break;
+            case 10:
+                out.writeVarLong(((LocalDate) value).toEpochDay());
+                break;
+            case 11:
+                out.writeVarLong(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC));
+                out.writeVarLong(((LocalDateTime) value).getNano());
+                break;
+            case 13:
+                out.writeInt(Float.floatToRawIntBits((Float) value));
+                break;
+            case 14:
+                out.writeBytes(((BigInteger) value).toByteArray());
+                break;
+            default:
+                throw new IllegalStateException("unknown scalar tag " + tag);
+        }
+    }
+
+    private static Object readScalar(EntityCodec.Input in) {
+        int tag = in.readByte();
+        switch (tag) {
+            case 0:
+                return null;
+            case 1:
+                return in.readVarLong();
+            case 2:
+                return (int) in.readVarLong();
+            case 3:
+                return in.readString();
+            case 4:
+                return Double.longBitsToDouble(in.readLong());
+            case 5:
+                return new BigDecimal(in.readString());
+            case 6:
+                return in.readByte() != 0;
+            case 7:
+                return new java.util.Date(in.readVarLong());
+            case 8:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readVarLong());
+                timestamp.setNanos((int) in.readVarLong());
+                return timestamp;
+            case 9:
+                return new java.sql.Date(in.readVarLong());
+            case 10:
+                return LocalDate.ofEpochDay(in.readVarLong());
+            case 11:
+                return LocalDateTime.ofEpochSecond(in.readVarLong(), (int) in.readVarLong(), ZoneOffset.UTC);
+            case 12:
+                return (short) in.readVarLong();
+            case 13:
+                return Float.intBitsToFloat(in.readInt());
+            case 14:
+                return new BigInteger(in.readBytes());
+            case 15:
+                return (byte) in.readVarLong();
+            default:
+                throw new IllegalStateException("unknown scalar tag " + tag);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 默认的实体缓存存储工厂，根据淘汰策略创建进程内存储
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:12
+ */
+public class DefaultEntityCacheStoreFactory implements EntityCacheStoreFactory {
+
+    @Override
+    public EntityCacheStore create(Class<?> entityClass, EntityCacheConfig config) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(config.getTtl());
+        if (config.getEviction() == EvictionPolicy.W_TINY_LFU) {
+            return new TinyLfuEntityCacheStore(config.getMaxSize(), ttlNanos);
+        }
+        return new LruEntityCacheStore(config.getMaxSize(), ttlNanos);
+    }
+}
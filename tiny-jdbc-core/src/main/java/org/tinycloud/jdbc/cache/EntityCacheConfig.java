@@ -0,0 +1,72 @@
+package org.tinycloud.jdbc.cache;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * 实体缓存配置
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:05
+ */
+public class EntityCacheConfig implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 最大缓存条目数
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 存活时间（秒），0 表示不过期
+     */
+    private long ttl = 300L;
+
+    /**
+     * 淘汰策略
+     */
+    private EvictionPolicy eviction = EvictionPolicy.LRU;
+
+    public EntityCacheConfig() {
+    }
+
+    public EntityCacheConfig(int maxSize, long ttl, EvictionPolicy eviction) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.eviction = eviction;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public EvictionPolicy getEviction() {
+        return eviction;
+    }
+
+    public void setEviction(EvictionPolicy eviction) {
+        this.eviction = eviction;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheConfig{" +
+                "maxSize=" + maxSize +
+                ", ttl=" + ttl +
+                ", eviction=" + eviction +
+                '}';
+    }
+}
@@ -0,0 +1,244 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.annotation.EntityCache;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 实体二级缓存管理器，按实体类管理主键缓存
+ * </p>
+ * 标注了 {@link EntityCache} 或在配置中声明的实体类会被缓存。按主键的写操作只移除对应主键的条目，
+ * 无法确定主键的写操作（条件更新/删除、原生 SQL）清空整张表对应的缓存。缓存中保存实体副本，读取时再次复制。
+ * 当前事务写入过的行不读缓存，写入过该表的事务不写缓存。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:45
+ */
+public class EntityCacheManager implements TableInvalidationListener {
+
+    /**
+     * 不缓存的实体类占位
+     */
+    private static final Region NONE = new Region(null, null);
+
+    private final EntityCacheConfig defaultConfig;
+
+    private final Set<String> cachedClassNames;
+
+    private volatile EntityCacheStoreFactory storeFactory = new DefaultEntityCacheStoreFactory();
+
+    private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>(64);
+
+    /**
+     * 构造方法
+     *
+     * @param defaultConfig    默认配置，注解未指定的属性以及配置声明的实体类使用此配置
+     * @param cachedClassNames 无需注解即开启缓存的实体类全限定名
+     */
+    public EntityCacheManager(EntityCacheConfig defaultConfig, Collection<String> cachedClassNames) {
+        this.defaultConfig = defaultConfig == null ? new EntityCacheConfig() : defaultConfig;
+        this.cachedClassNames = cachedClassNames == null ? Collections.emptySet() : new HashSet<>(cachedClassNames);
+    }
+
+    public void setStoreFactory(EntityCacheStoreFactory storeFactory) {
+        if (storeFactory != null) {
+            this.storeFactory = storeFactory;
+        }
+    }
+
+    /**
+     * 实体类是否开启缓存
+     *
+     * @param entityClass 实体类
+     */
+    public boolean isCacheable(Class<?> entityClass) {
+        return region(entityClass) != NONE;
+    }
+
+    /**
+     * 读取缓存，返回实体副本
+     *
+     * @param entityClass 实体类
+     * @param id          主键
+     * @return 实体副本，未命中返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Class<T> entityClass, Object id) {
+        Region region = region(entityClass);
+        if (region == NONE || id == null || CacheInvalidator.isWrittenInTransaction(region.table, id)) {
+            return null;
+        }
+        Object entity = region.store.get(normalizeId(id));
+        return (T) (region.store.isStoreByValue() ? entity : EntityCopier.copy(entity));
+    }
+
+    /**
+     * 获取当前失效代数，应在查询数据库前调用，并传给 {@link #put(Class, Object, Object, long)}
+     *
+     * @param entityClass 实体类
+     */
+    public long currentEpoch(Class<?> entityClass) {
+        Region region = region(entityClass);
+        return region == NONE ? 0L : region.epoch.get();
+    }
+
+    /**
+     * 写入缓存，查询期间该实体类发生过失效时放弃写入，避免把旧数据放回缓存
+     *
+     * @param entityClass 实体类
+     * @param id          主键
+     * @param entity      实体
+     * @param epoch       查询前获取的失效代数
+     */
+    public void put(Class<?> entityClass, Object id, Object entity, long epoch) {
+        Region region = region(entityClass);
+        if (region == NONE || id == null || entity == null || region.epoch.get() != epoch
+                || CacheInvalidator.isWrittenInTransaction(Collections.singleton(region.table))) {
+            return;
+        }
+        region.store.put(normalizeId(id), region.store.isStoreByValue() ? entity : EntityCopier.copy(entity));
+    }
+
+    /**
+     * 清空实体类的缓存
+     *
+     * @param entityClass 实体类
+     */
+    public void clear(Class<?> entityClass) {
+        Region region = region(entityClass);
+        if (region != NONE) {
+            region.epoch.incrementAndGet();
+            region.store.clear();
+        }
+    }
+
+    /**
+     * 命中统计
+     *
+     * @param entityClass 实体类
+     * @return 统计信息，未开启缓存时返回 null
+     */
+    public CacheStats getStats(Class<?> entityClass) {
+        Region region = region(entityClass);
+        return region == NONE ? null : region.store.getStats();
+    }
+
+    /**
+     * 遍历已开启缓存的实体类的所有未过期条目，用于生成缓存快照
+     *
+     * @param action 回调（实体类，表名，主键 -> 实体）
+     */
+    public void forEach(EntryVisitor action) {
+        for (Map.Entry<Class<?>, Region> entry : regions.entrySet()) {
+            Region region = entry.getValue();
+            if (region != NONE) {
+                Map<Object, Object> entities = new LinkedHashMap<>();
+                region.store.forEach(entities::put);
+                action.visit(entry.getKey(), region.table, entities);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateKeys(String table, Collection<?> ids) {
+        for (Region region : regions.values()) {
+            if (region != NONE && region.table.equals(table)) {
+                region.epoch.incrementAndGet();
+                for (Object id : ids) {
+                    region.store.evict(normalizeId(id));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidateTables(Set<String> tables) {
+        for (Region region : regions.values()) {
+            if (region != NONE && tables.contains(region.table)) {
+                region.epoch.incrementAndGet();
+                region.store.clear();
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Region region : regions.values()) {
+            if (region != NONE) {
+                region.epoch.incrementAndGet();
+                region.store.clear();
+            }
+        }
+    }
+
+    /**
+     * 归一化主键，整数类型统一为 Long，避免 Integer 与 Long 主键被当作不同的键
+     *
+     * @param id 主键
+     * @return 归一化后的主键
+     */
+    public static Object normalizeId(Object id) {
+        if (id instanceof Integer || id instanceof Short || id instanceof Byte) {
+            return ((Number) id).longValue();
+        }
+        if (id instanceof BigInteger && ((BigInteger) id).bitLength() < 64) {
+            return ((BigInteger) id).longValue();
+        }
+        return id;
+    }
+
+    private Region region(Class<?> entityClass) {
+        return ConcurrentHashMapUtils.computeIfAbsent(regions, entityClass, this::createRegion);
+    }
+
+    private Region createRegion(Class<?> entityClass) {
+        EntityCache annotation = entityClass.getAnnotation(EntityCache.class);
+        if (annotation == null && !cachedClassNames.contains(entityClass.getName())) {
+            return NONE;
+        }
+        EntityCacheConfig config = new EntityCacheConfig(defaultConfig.getMaxSize(), defaultConfig.getTtl(), defaultConfig.getEviction());
+        if (annotation != null) {
+            if (annotation.maxSize() > 0) {
+                config.setMaxSize(annotation.maxSize());
+            }
+            if (annotation.ttl() >= 0) {
+                config.setTtl(annotation.ttl());
+            }
+            if (annotation.eviction() != EvictionPolicy.DEFAULT) {
+                config.setEviction(annotation.eviction());
+            }
+        }
+        String table = SqlTables.normalize(TableParserUtils.getTableName(entityClass));
+        return new Region(table, storeFactory.create(entityClass, config));
+    }
+
+    /**
+     * 缓存条目遍历回调
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(Class<?> entityClass, String table, Map<Object, Object> entities);
+    }
+
+    private static final class Region {
+        private final String table;
+        private final EntityCacheStore store;
+        private final AtomicLong epoch = new AtomicLong();
+
+        private Region(String table, EntityCacheStore store) {
+            this.table = table;
+            this.store = store;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 实体缓存存储 SPI，每个实体类对应一个存储实例，实现类须线程安全
+ * </p>
+ * 存储中保存的是实体的副本，读写时的拷贝由 {@link EntityCacheManager} 负责；按值存储（序列化）的实现可声明
+ * {@link #isStoreByValue()}，由存储自身保证隔离，管理器不再额外复制。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:08
+ */
+public interface EntityCacheStore {
+
+    /**
+     * 根据主键读取缓存
+     *
+     * @param id 主键（已归一化）
+     * @return 实体，未命中或已过期返回 null
+     */
+    Object get(Object id);
+
+    /**
+     * 写入缓存
+     *
+     * @param id     主键（已归一化）
+     * @param entity 实体
+     */
+    void put(Object id, Object entity);
+
+    /**
+     * 移除指定主键的缓存
+     *
+     * @param id 主键（已归一化）
+     */
+    void evict(Object id);
+
+    /**
+     * 清空缓存
+     */
+    void clear();
+
+    /**
+     * 当前条目数
+     */
+    long size();
+
+    /**
+     * 命中统计
+     */
+    CacheStats getStats();
+
+    /**
+     * 是否按值存储：写入时已序列化、读取时返回新解码的对象，为 true 时管理器读写不再复制实体
+     */
+    default boolean isStoreByValue() {
+        return false;
+    }
+
+    /**
+     * 遍历未过期的条目，用于生成缓存快照，不改变访问顺序和命中统计；不支持遍历的实现可以不覆盖
+     *
+     * @param action 回调（主键，实体）
+     */
+    default void forEach(BiConsumer<Object, Object> action) {
+    }
+}
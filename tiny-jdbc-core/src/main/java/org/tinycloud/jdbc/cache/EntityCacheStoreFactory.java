@@ -0,0 +1,21 @@
+package org.tinycloud.jdbc.cache;
+
+/**
+ * <p>
+ * 实体缓存存储工厂 SPI，可注册为 Spring Bean 以替换默认的进程内存储
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:10
+ */
+public interface EntityCacheStoreFactory {
+
+    /**
+     * 为实体类创建缓存存储
+     *
+     * @param entityClass 实体类
+     * @param config      缓存配置（已合并注解与全局配置）
+     * @return 缓存存储
+     */
+    EntityCacheStore create(Class<?> entityClass, EntityCacheConfig config);
+}
@@ -0,0 +1,438 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.ReflectUtils;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 实体二进制编解码器，按实体元数据为每个字段生成类型专用的读写逻辑
+ * </p>
+ * 字段按列顺序（实体字段声明顺序）依次写入，不写字段名；基本类型字段不装箱，整数使用 zigzag 变长编码，
+ * 包装类型和对象字段前置一个字节的空值标记。无法识别的字段类型须实现 {@link Serializable}，使用 JDK 序列化兜底。
+ * 编解码器无状态、线程安全，按实体类缓存。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 21:20
+ */
+public final class EntityCodec<T> {
+
+    private static final Map<Class<?>, EntityCodec<?>> CODEC_CACHE = new ConcurrentHashMap<>(64);
+
+    private final Class<T> entityClass;
+
+    private final Constructor<T> constructor;
+
+    private final FieldCodec[] fieldCodecs;
+
+    private EntityCodec(Class<T> entityClass) {
+        this.entityClass = entityClass;
+        try {
+            this.constructor = entityClass.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new TinyJdbcException("entity codec requires a no-arg constructor: " + entityClass.getName(), e);
+        }
+        Field[] fields = TableParserUtils.resolveFields(entityClass);
+        this.fieldCodecs = new FieldCodec[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            ReflectUtils.makeAccessible(fields[i]);
+            this.fieldCodecs[i] = fieldCodec(fields[i]);
+        }
+    }
+
+    /**
+     * 获取实体类的编解码器
+     *
+     * @param entityClass 实体类
+     * @return 编解码器
+     * @throws TinyJdbcException 实体类没有无参构造方法，或存在既不能识别也未实现 Serializable 的字段
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityCodec<T> forClass(Class<T> entityClass) {
+        return (EntityCodec<T>) ConcurrentHashMapUtils.computeIfAbsent(CODEC_CACHE, entityClass, EntityCodec::new);
+    }
+
+    /**
+     * 把实体编码写入输出缓冲
+     *
+     * @param entity 实体
+     * @param out    输出缓冲
+     */
+    public void encode(Object entity, Output out) {
+        try {
+            for (FieldCodec fieldCodec : fieldCodecs) {
+                fieldCodec.write(out, entity);
+            }
+        } catch (IllegalAccessException e) {
+            throw new TinyJdbcException("entity codec encode " + entityClass.getName() + " failed", e);
+        }
+    }
+
+    /**
+     * 从输入缓冲解码出新的实体
+     *
+     * @param in 输入缓冲
+     * @return 实体
+     */
+    public T decode(Input in) {
+        try {
+            T entity = constructor.newInstance();
+            for (FieldCodec fieldCodec : fieldCodecs) {
+                fieldCodec.read(in, entity);
+            }
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new TinyJdbcException("entity codec decode " + entityClass.getName() + " failed", e);
+        }
+    }
+
+    private static FieldCodec fieldCodec(Field field) {
+        Class<?> type = field.getType();
+        if (type == long.class) {
+            return new FieldCodec((out, o) -> out.writeVarLong(field.getLong(o)), (in, o) -> field.setLong(o, in.readVarLong()));
+        }
+        if (type == int.class) {
+            return new FieldCodec((out, o) -> out.writeVarLong(field.getInt(o)), (in, o) -> field.setInt(o, (int) in.readVarLong()));
+        }
+        if (type == short.class) {
+            return new FieldCodec((out, o) -> out.writeVarLong(field.getShort(o)), (in, o) -> field.setShort(o, (short) in.readVarLong()));
+        }
+        if (type == byte.class) {
+            return new FieldCodec((out, o) -> out.writeByte(field.getByte(o)), (in, o) -> field.setByte(o, in.readByte()));
+        }
+        if (type == boolean.class) {
+            return new FieldCodec((out, o) -> out.writeByte(field.getBoolean(o) ? 1 : 0), (in, o) -> field.setBoolean(o, in.readByte() != 0));
+        }
+        if (type == char.class) {
+            return new FieldCodec((out, o) -> out.writeVarLong(field.getChar(o)), (in, o) -> field.setChar(o, (char) in.readVarLong()));
+        }
+        if (type == double.class) {
+            return new FieldCodec((out, o) -> out.writeLong(Double.doubleToRawLongBits(field.getDouble(o))),
+                    (in, o) -> field.setDouble(o, Double.longBitsToDouble(in.readLong())));
+        }
+        if (type == float.class) {
+            return new FieldCodec((out, o) -> out.writeInt(Float.floatToRawIntBits(field.getFloat(o))),
+                    (in, o) -> field.setFloat(o, Float.intBitsToFloat(in.readInt())));
+        }
+        ValueCodec valueCodec = valueCodec(field, type);
+        return new FieldCodec((out, o) -> {
+            Object value = field.get(o);
+            if (value == null) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                valueCodec.write(out, value);
+            }
+        }, (in, o) -> field.set(o, in.readByte() == 0 ? null : valueCodec.read(in)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueCodec valueCodec(Field field, Class<?> type) {
+        if (type == String.class) {
+            return new ValueCodec((out, v) -> out.writeString((String) v), Input::readString);
+        }
+        if (type == Long.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong((Long) v), Input::readVarLong);
+        }
+        if (type == Integer.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong((Integer) v), in -> (int) in.readVarLong());
+        }
+        if (type == Short.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong((Short) v), in -> (short) in.readVarLong());
+        }
+        if (type == Byte.class) {
+            return new ValueCodec((out, v) -> out.writeByte((Byte) v), Input::readByte);
+        }
+        if (type == Boolean.class) {
+            return new ValueCodec((out, v) -> out.writeByte((Boolean) v ? 1 : 0), in -> in.readByte() != 0);
+        }
+        if (type == Character.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong((Character) v), in -> (char) in.readVarLong());
+        }
+        if (type == Double.class) {
+            return new ValueCodec((out, v) -> out.writeLong(Double.doubleToRawLongBits((Double) v)), in -> Double.longBitsToDouble(in.readLong()));
+        }
+        if (type == Float.class) {
+            return new ValueCodec((out, v) -> out.writeInt(Float.floatToRawIntBits((Float) v)), in -> Float.intBitsToFloat(in.readInt()));
+        }
+        if (type == BigDecimal.class) {
+            return new ValueCodec((out, v) -> {
+                BigDecimal decimal = (BigDecimal) v;
+                out.writeVarLong(decimal.scale());
+                out.writeBytes(decimal.unscaledValue().toByteArray());
+            }, in -> {
+                int scale = (int) in.readVarLong();
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            });
+        }
+        if (type == BigInteger.class) {
+            return new ValueCodec((out, v) -> out.writeBytes(((BigInteger) v).toByteArray()), in -> new BigInteger(in.readBytes()));
+        }
+        if (type == byte[].class) {
+            return new ValueCodec((out, v) -> out.writeBytes((byte[]) v), Input::readBytes);
+        }
+        if (type == java.util.Date.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong(((java.util.Date) v).getTime()), in -> new java.util.Date(in.readVarLong()));
+        }
+        if (type == java.sql.Timestamp.class) {
+            return new ValueCodec((out, v) -> {
+                java.sql.Timestamp timestamp = (java.sql.Timestamp) v;
+                out.writeVarLong(timestamp.getTime());
+                out.writeVarLong(timestamp.getNanos());
+            }, in -> {
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readVarLong());
+                timestamp.setNanos((int) in.readVarLong());
+                return timestamp;
+            });
+        }
+        if (type == java.sql.Date.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong(((java.sql.Date) v).getTime()), in -> new java.sql.Date(in.readVarLong()));
+        }
+        if (type == java.sql.Time.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong(((java.sql.Time) v).getTime()), in -> new java.sql.Time(in.readVarLong()));
+        }
+        if (type == LocalDate.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong(((LocalDate) v).toEpochDay()), in -> LocalDate.ofEpochDay(in.readVarLong()));
+        }
+        if (type == LocalTime.class) {
+            return new ValueCodec((out, v) -> out.writeVarLong(((LocalTime) v).toNanoOfDay()), in -> LocalTime.ofNanoOfDay(in.readVarLong()));
+        }
+        if (type == LocalDateTime.class) {
+            return new ValueCodec((out, v) -> {
+                LocalDateTime dateTime = (LocalDateTime) v;
+                out.writeVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                out.writeVarLong(dateTime.getNano());
+            }, in -> LocalDateTime.ofEpochSecond(in.readVarLong(), (int) in.readVarLong(), ZoneOffset.UTC));
+        }
+        if (type == Instant.class) {
+            return new ValueCodec((out, v) -> {
+                Instant instant = (Instant) v;
+                out.writeVarLong(instant.getEpochSecond());
+                out.writeVarLong(instant.getNano());
+            }, in -> Instant.ofEpochSecond(in.readVarLong(), in.readVarLong()));
+        }
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return new ValueCodec((out, v) -> out.writeString(((Enum<?>) v).name()), in -> Enum.valueOf(enumType, in.readString()));
+        }
+        if (Serializable.class.isAssignableFrom(type) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return new ValueCodec((out, v) -> out.writeBytes(serialize(field, v)), in -> deserialize(field, in.readBytes()));
+        }
+        throw new TinyJdbcException("entity codec unsupported field type: " + field.getDeclaringClass().getName() + "." + field.getName()
+                + " (" + type.getName() + ")");
+    }
+
+    private static byte[] serialize(Field field, Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new TinyJdbcException("entity codec serialize field " + field.getName() + " failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(Field field, byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new TinyJdbcException("entity codec deserialize field " + field.getName() + " failed", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer<V> {
+        void write(Output out, V value) throws IllegalAccessException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<V> {
+        V read(Input in) throws IllegalAccessException;
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+        void read(Input in, Object entity) throws IllegalAccessException;
+    }
+
+    private static final class FieldCodec {
+        private final Writer<Object> writer;
+        private final FieldReader reader;
+
+        private FieldCodec(Writer<Object> writer, FieldReader reader) {
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        private void write(Output out, Object entity) throws IllegalAccessException {
+            writer.write(out, entity);
+        }
+
+        private void read(Input in, Object entity) throws IllegalAccessException {
+            reader.read(in, entity);
+        }
+    }
+
+    private static final class ValueCodec {
+        private final Writer<Object> writer;
+        private final Reader<Object> reader;
+
+        private ValueCodec(Writer<Object> writer, Reader<Object> reader) {
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        private void write(Output out, Object value) throws IllegalAccessException {
+            writer.write(out, value);
+        }
+
+        private Object read(Input in) throws IllegalAccessException {
+            return reader.read(in);
+        }
+    }
+
+    /**
+     * 可扩容的输出缓冲，可以复用（{@link #reset()}）以避免每次编码分配新数组
+     */
+    public static final class Output {
+        private byte[] buf;
+        private int pos;
+
+        public Output(int initialCapacity) {
+            this.buf = new byte[Math.max(initialCapacity, 16)];
+        }
+
+        public void reset() {
+            this.pos = 0;
+        }
+
+        public int size() {
+            return pos;
+        }
+
+        public byte[] buffer() {
+            return buf;
+        }
+
+        public void writeByte(int v) {
+            ensure(1);
+            buf[pos++] = (byte) v;
+        }
+
+        public void writeInt(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        public void writeLong(long v) {
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+
+        /**
+         * zigzag 变长编码，小的正负数都只占 1~2 个字节
+         */
+        public void writeVarLong(long v) {
+            long zigzag = (v << 1) ^ (v >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0L) {
+                buf[pos++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buf[pos++] = (byte) zigzag;
+        }
+
+        public void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        public void writeString(String s) {
+            writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + n));
+            }
+        }
+    }
+
+    /**
+     * 基于字节数组的输入缓冲
+     */
+    public static final class Input {
+        private final byte[] buf;
+        private int pos;
+
+        public Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        public byte readByte() {
+            return buf[pos++];
+        }
+
+        public int readInt() {
+            return ((buf[pos++] & 0xFF) << 24) | ((buf[pos++] & 0xFF) << 16) | ((buf[pos++] & 0xFF) << 8) | (buf[pos++] & 0xFF);
+        }
+
+        public long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        public long readVarLong() {
+            long zigzag = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1L);
+        }
+
+        public byte[] readBytes() {
+            int length = (int) readVarLong();
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        public String readString() {
+            int length = (int) readVarLong();
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+    }
+}
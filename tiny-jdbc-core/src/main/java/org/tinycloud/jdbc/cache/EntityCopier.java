@@ -0,0 +1,93 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.ReflectUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 实体浅拷贝工具，缓存读写时复制实体，避免调用方修改返回的对象后污染缓存
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:40
+ */
+public final class EntityCopier {
+
+    private static final Map<Class<?>, Field[]> FIELD_CACHE = new ConcurrentHashMap<>(64);
+
+    private static final Map<Class<?>, Constructor<?>> CONSTRUCTOR_CACHE = new ConcurrentHashMap<>(64);
+
+    private EntityCopier() {
+    }
+
+    /**
+     * 浅拷贝实体的所有非静态、非 transient 字段
+     *
+     * @param source 源对象
+     * @param <T>    实体类型
+     * @return 新对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T source) {
+        if (source == null) {
+            return null;
+        }
+        Class<?> clazz = source.getClass();
+        try {
+            T target = (T) ConcurrentHashMapUtils.computeIfAbsent(CONSTRUCTOR_CACHE, clazz, key -> {
+                try {
+                    Constructor<?> constructor = key.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    return constructor;
+                } catch (NoSuchMethodException e) {
+                    throw new TinyJdbcException("entity cache requires a no-arg constructor: " + key.getName(), e);
+                }
+            }).newInstance();
+            for (Field field : fields(clazz)) {
+                field.set(target, field.get(source));
+            }
+            return target;
+        } catch (ReflectiveOperationException e) {
+            throw new TinyJdbcException("entity cache copy " + clazz.getName() + " failed", e);
+        }
+    }
+
+    /**
+     * 把源对象的字段值复制到目标对象
+     *
+     * @param source      源对象
+     * @param target      目标对象，与源对象类型相同
+     * @param ignoreNulls 是否跳过源对象中为 null 的字段
+     */
+    public static void copyInto(Object source, Object target, boolean ignoreNulls) {
+        if (source == null || target == null || source == target) {
+            return;
+        }
+        try {
+            for (Field field : fields(source.getClass())) {
+                Object value = field.get(source);
+                if (value != null || !ignoreNulls) {
+                    field.set(target, value);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new TinyJdbcException("entity cache copy " + source.getClass().getName() + " failed", e);
+        }
+    }
+
+    private static Field[] fields(Class<?> clazz) {
+        return ConcurrentHashMapUtils.computeIfAbsent(FIELD_CACHE, clazz, key -> {
+            Field[] fields = ReflectUtils.getFields(key);
+            for (Field field : fields) {
+                ReflectUtils.makeAccessible(field);
+            }
+            return fields;
+        });
+    }
+}
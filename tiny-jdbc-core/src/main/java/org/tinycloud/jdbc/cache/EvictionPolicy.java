@@ -0,0 +1,24 @@
+package org.tinycloud.jdbc.cache;
+
+/**
+ * <p>
+ * 缓存淘汰策略
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:02
+ */
+public enum EvictionPolicy {
+    /**
+     * 使用全局配置
+     */
+    DEFAULT,
+    /**
+     * 最近最少使用
+     */
+    LRU,
+    /**
+     * W-TinyLFU：小窗口 LRU + 基于访问频率准入的分段 LRU，抗扫描污染，适合热点明显的场景
+     */
+    W_TINY_LFU
+}
@@ -0,0 +1,216 @@
+package org.tinycloud.jdbc.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * 跨节点缓存失效事件，记录一个节点在一段时间内已提交的写操作：全部失效、整表失效以及按主键失效
+ * </p>
+ * 同一事件内会自动合并：整表失效覆盖该表的主键失效，全部失效覆盖其余一切。
+ * 事件可通过 {@link #encode()} / {@link #decode(String, String)} 与文本互转，便于通过数据库、消息队列等传输。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 22:10
+ */
+public final class InvalidationEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String nodeId;
+
+    private boolean all;
+
+    private final Set<String> tables = new LinkedHashSet<>();
+
+    private final Map<String, Set<Object>> keys = new LinkedHashMap<>();
+
+    /**
+     * 构造方法
+     *
+     * @param nodeId 发布事件的节点标识
+     */
+    public InvalidationEvent(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 是否失效全部缓存
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * 整表失效的表名（已归一化）
+     */
+    public Set<String> getTables() {
+        return Collections.unmodifiableSet(tables);
+    }
+
+    /**
+     * 按主键失效的表名 -> 主键，主键为空表示只有新增
+     */
+    public Map<String, Set<Object>> getKeys() {
+        return Collections.unmodifiableMap(keys);
+    }
+
+    /**
+     * 事件是否没有任何内容
+     */
+    public boolean isEmpty() {
+        return !all && tables.isEmpty() && keys.isEmpty();
+    }
+
+    public void addAll() {
+        all = true;
+        tables.clear();
+        keys.clear();
+    }
+
+    public void addTables(Collection<String> written) {
+        if (all) {
+            return;
+        }
+        for (String table : written) {
+            tables.add(table);
+            keys.remove(table);
+        }
+    }
+
+    public void addKeys(String table, Collection<?> ids) {
+        if (all || tables.contains(table)) {
+            return;
+        }
+        Set<Object> set = keys.computeIfAbsent(table, k -> new LinkedHashSet<>());
+        for (Object id : ids) {
+            set.add(EntityCacheManager.normalizeId(id));
+        }
+    }
+
+    /**
+     * 合并另一个事件
+     *
+     * @param other 事件
+     */
+    public void merge(InvalidationEvent other) {
+        if (other.all) {
+            addAll();
+            return;
+        }
+        addTables(other.tables);
+        for (Map.Entry<String, Set<Object>> entry : other.keys.entrySet()) {
+            addKeys(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 主键数量超过上限的表改为整表失效，限制事件体积
+     *
+     * @param maxKeysPerTable 每张表最多保留的主键数量
+     */
+    public void collapseKeys(int maxKeysPerTable) {
+        Iterator<Map.Entry<String, Set<Object>>> iterator = keys.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Set<Object>> entry = iterator.next();
+            if (entry.getValue().size() > maxKeysPerTable) {
+                tables.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 编码为文本，每行一条：{@code A} 全部失效，{@code T\t表名} 整表失效，{@code K\t表名\t主键...} 按主键失效。
+     * 主键以 {@code L}（整数）或 {@code S}（字符串）为前缀；含有其他类型主键的表按整表失效。
+     *
+     * @return 文本
+     */
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        if (all) {
+            return "A";
+        }
+        for (String table : tables) {
+            builder.append("T\t").append(table).append('\n');
+        }
+        for (Map.Entry<String, Set<Object>> entry : keys.entrySet()) {
+            String ids = encodeIds(entry.getValue());
+            if (ids == null) {
+                builder.append("T\t").append(entry.getKey()).append('\n');
+            } else {
+                builder.append("K\t").append(entry.getKey()).append(ids).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 从文本解码事件
+     *
+     * @param nodeId 发布事件的节点标识
+     * @param text   {@link #encode()} 生成的文本
+     * @return 事件
+     */
+    public static InvalidationEvent decode(String nodeId, String text) {
+        InvalidationEvent event = new InvalidationEvent(nodeId);
+        if (text == null) {
+            return event;
+        }
+        for (String line : text.split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split("\t", -1);
+            if ("A".equals(parts[0])) {
+                event.addAll();
+            } else if ("T".equals(parts[0]) && parts.length > 1) {
+                event.addTables(Collections.singleton(parts[1]));
+            } else if ("K".equals(parts[0]) && parts.length > 1) {
+                Set<Object> ids = new LinkedHashSet<>(parts.length);
+                for (int i = 2; i < parts.length; i++) {
+                    String id = parts[i];
+                    ids.add(id.charAt(0) == 'L' ? (Object) Long.parseLong(id.substring(1)) : id.substring(1));
+                }
+                event.addKeys(parts[1], ids);
+            } else {
+                // 无法识别的行，保守地失效全部缓存
+                event.addAll();
+            }
+        }
+        return event;
+    }
+
+    private static String encodeIds(Set<Object> ids) {
+        StringBuilder builder = new StringBuilder();
+        for (Object id : ids) {
+            if (id instanceof Long) {
+                builder.append("\tL").append(id);
+            } else if (id instanceof String && ((String) id).indexOf('\t') < 0 && ((String) id).indexOf('\n') < 0) {
+                builder.append("\tS").append(id);
+            } else {
+                return null;
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidationEvent{" +
+                "nodeId='" + nodeId + '\'' +
+                ", all=" + all +
+                ", tables=" + tables +
+                ", keys=" + keys +
+                '}';
+    }
+}
@@ -0,0 +1,159 @@
+package org.tinycloud.jdbc.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 基于数据库轮询的缓存失效总线，各节点把事件写入失效日志表，并定时读取其他节点写入的新记录，不需要额外的中间件
+ * </p>
+ * 日志表需预先创建，以 MySQL 为例：
+ * <pre>
+ * CREATE TABLE tiny_jdbc_cache_invalidation (
+ *     id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+ *     node_id    VARCHAR(64) NOT NULL,
+ *     payload    TEXT        NOT NULL,
+ *     created_at BIGINT      NOT NULL
+ * );
+ * </pre>
+ * 按自增主键递增读取；并发写入时较小的主键可能晚于较大的主键提交，因此读取时出现的主键空洞会在一段时间内继续补读。
+ * 超过保留时间的记录由各节点定时清理。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 22:35
+ */
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+
+    /**
+     * 主键空洞的补读时长（毫秒）
+     */
+    private static final long GAP_TIMEOUT_MILLIS = 10000L;
+
+    /**
+     * 最多同时补读的主键空洞数量
+     */
+    private static final int MAX_GAPS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String tableName;
+
+    private final long pollIntervalMillis;
+
+    private final long retentionMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tiny-jdbc-cache-bus-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 尚未读到的主键 -> 放弃补读的时间
+     */
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    private long lastId;
+
+    private long lastPurge;
+
+    /**
+     * 构造方法
+     *
+     * @param jdbcTemplate       jdbcTemplate
+     * @param tableName          失效日志表名
+     * @param pollIntervalMillis 轮询间隔（毫秒）
+     * @param retentionSeconds   日志保留时长（秒），小于等于 0 时不清理
+     */
+    public JdbcCacheInvalidationBus(JdbcTemplate jdbcTemplate, String tableName, long pollIntervalMillis, long retentionSeconds) {
+        if (pollIntervalMillis <= 0L) {
+            throw new IllegalArgumentException("pollIntervalMillis must be greater than 0");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableName = tableName;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMillis = TimeUnit.SECONDS.toMillis(retentionSeconds);
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        jdbcTemplate.update("INSERT INTO " + tableName + " (node_id, payload, created_at) VALUES (?, ?, ?)",
+                event.getNodeId(), event.encode(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> handler) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tableName, Long.class);
+        this.lastId = maxId == null ? 0L : maxId;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll(handler);
+                purge();
+            } catch (RuntimeException e) {
+                logger.warn("Tiny-Jdbc cache invalidation poll failed", e);
+            }
+        }, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void poll(Consumer<InvalidationEvent> handler) {
+        long now = System.currentTimeMillis();
+        gaps.values().removeIf(deadline -> deadline < now);
+        StringBuilder sql = new StringBuilder("SELECT id, node_id, payload FROM ").append(tableName).append(" WHERE id > ?");
+        List<Object> params = new ArrayList<>(gaps.size() + 1);
+        params.add(lastId);
+        if (!gaps.isEmpty()) {
+            sql.append(" OR id IN (");
+            for (Long gap : gaps.keySet()) {
+                sql.append(params.size() > 1 ? ", ?" : "?");
+                params.add(gap);
+            }
+            sql.append(')');
+        }
+        sql.append(" ORDER BY id");
+        jdbcTemplate.query(sql.toString(), rs -> {
+            long id = rs.getLong(1);
+            if (gaps.remove(id) == null) {
+                for (long missing = lastId + 1; missing < id && missing - lastId <= MAX_GAPS; missing++) {
+                    gaps.put(missing, now + GAP_TIMEOUT_MILLIS);
+                }
+                lastId = Math.max(lastId, id);
+            }
+            try {
+                handler.accept(InvalidationEvent.decode(rs.getString(2), rs.getString(3)));
+            } catch (RuntimeException e) {
+                logger.warn("Tiny-Jdbc cache invalidation event {} apply failed", id, e);
+            }
+        }, params.toArray());
+        Iterator<Long> iterator = gaps.keySet().iterator();
+        while (gaps.size() > MAX_GAPS && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void purge() {
+        long now = System.currentTimeMillis();
+        if (retentionMillis <= 0L || now - lastPurge < retentionMillis / 10) {
+            return;
+        }
+        lastPurge = now;
+        jdbcTemplate.update("DELETE FROM " + tableName + " WHERE created_at < ?", now - retentionMillis);
+    }
+}
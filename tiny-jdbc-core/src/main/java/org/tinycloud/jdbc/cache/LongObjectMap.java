@@ -0,0 +1,126 @@
+package org.tinycloud.jdbc.cache;
+
+/**
+ * <p>
+ * 以 long 为键的开放寻址哈希表（线性探测），键不装箱
+ * </p>
+ * 用于全量缓存表快照的主键索引，构建完成后只读，发布后可被多线程安全读取（由快照的 volatile 引用保证可见性）。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 20:35
+ */
+public final class LongObjectMap<V> {
+
+    private long[] keys;
+
+    private Object[] values;
+
+    /**
+     * 键 0 作为空槽标记，单独保存
+     */
+    private Object zeroValue;
+
+    private boolean hasZero;
+
+    private int size;
+
+    private int mask;
+
+    /**
+     * 构造方法
+     *
+     * @param expectedSize 预期的条目数
+     */
+    public LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 写入条目
+     *
+     * @param key   键
+     * @param value 值，不能为 null
+     * @return 原来的值
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            Object old = zeroValue;
+            zeroValue = value;
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            return (V) old;
+        }
+        int index = slot(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                Object old = values[index];
+                values[index] = value;
+                return (V) old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * 读取条目
+     *
+     * @param key 键
+     * @return 值，不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return (V) zeroValue;
+        }
+        int index = slot(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new Object[oldValues.length << 1];
+        mask = keys.length - 1;
+        size = hasZero ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongObjectMap{size=" + size + ", capacity=" + keys.length + "}";
+    }
+}
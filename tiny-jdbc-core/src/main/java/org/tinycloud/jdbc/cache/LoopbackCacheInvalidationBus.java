@@ -0,0 +1,63 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 进程内的缓存失效总线，同一 JVM 中订阅了同一频道的实例互相收到事件，用于测试以及单机多数据源场景
+ * </p>
+ * 事件在发布线程中同步投递。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 22:18
+ */
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Map<String, List<Consumer<InvalidationEvent>>> CHANNELS = new ConcurrentHashMap<>(4);
+
+    private final List<Consumer<InvalidationEvent>> subscribers;
+
+    private volatile Consumer<InvalidationEvent> handler;
+
+    public LoopbackCacheInvalidationBus() {
+        this("default");
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param channel 频道名，只有同一频道的实例互相投递
+     */
+    public LoopbackCacheInvalidationBus(String channel) {
+        this.subscribers = ConcurrentHashMapUtils.computeIfAbsent(CHANNELS, channel, key -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> subscriber : subscribers) {
+            subscriber.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> handler) {
+        close();
+        this.handler = handler;
+        subscribers.add(handler);
+    }
+
+    @Override
+    public void close() {
+        Consumer<InvalidationEvent> current = this.handler;
+        if (current != null) {
+            subscribers.remove(current);
+            this.handler = null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 基于 LRU 淘汰的进程内实体缓存存储
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:15
+ */
+public class LruEntityCacheStore implements EntityCacheStore {
+
+    private final long ttlNanos;
+
+    private final CacheStats stats = new CacheStats();
+
+    private final LinkedHashMap<Object, CacheEntry> entries;
+
+    /**
+     * 构造方法
+     *
+     * @param maxSize  最大条目数
+     * @param ttlNanos 存活时间（纳秒），小于等于 0 表示不过期
+     */
+    public LruEntityCacheStore(final int maxSize, long ttlNanos) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<Object, CacheEntry>(Math.min(maxSize, 1024), 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry> eldest) {
+                if (size() > maxSize) {
+                    stats.recordEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Object get(Object id) {
+        CacheEntry entry = entries.get(id);
+        if (entry == null) {
+            stats.recordMiss();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(id);
+            stats.recordEviction();
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return entry.getValue();
+    }
+
+    @Override
+    public synchronized void put(Object id, Object entity) {
+        entries.put(id, new CacheEntry(entity, ttlNanos));
+    }
+
+    @Override
+    public synchronized void evict(Object id) {
+        if (entries.remove(id) != null) {
+            stats.recordInvalidations(1);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        stats.recordInvalidations(entries.size());
+        entries.clear();
+    }
+
+    @Override
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public synchronized void forEach(BiConsumer<Object, Object> action) {
+        long now = System.nanoTime();
+        for (Map.Entry<Object, CacheEntry> entry : entries.entrySet()) {
+            if (!entry.getValue().isExpired(now)) {
+                action.accept(entry.getKey(), entry.getValue().getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.tinycloud.jdbc.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 堆外实体缓存存储，实体经 {@link EntityCodec} 编码后写入直接内存（DirectByteBuffer），命中时再解码为新对象
+ * </p>
+ * 存储按主键哈希分为若干段，每段独立加锁，由固定数量的内存块组成环形日志：新条目追加写入当前块，
+ * 当前块写满后切换到下一块，并整块淘汰该块中的旧条目（分段淘汰，近似 FIFO）。覆盖或移除的条目只留下空洞，
+ * 随所在块一起回收。堆上只保留主键到位置的索引，内存占用上限即构造时指定的容量，不随实体字段数量增长，
+ * 也不会在老年代堆积大量小对象。单个条目超过块大小时不缓存。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 21:40
+ */
+public class OffHeapEntityCacheStore implements EntityCacheStore {
+
+    /**
+     * 条目头：int 长度 + long 过期时间（纳秒，0 表示不过期）
+     */
+    private static final int HEADER_BYTES = 12;
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private static final int BLOCKS_PER_SEGMENT = 8;
+
+    private static final ThreadLocal<EntityCodec.Output> OUTPUT = ThreadLocal.withInitial(() -> new EntityCodec.Output(256));
+
+    private final EntityCodec<?> codec;
+
+    private final long ttlNanos;
+
+    private final int blockSize;
+
+    private final CacheStats stats = new CacheStats();
+
+    private final Segment[] segments;
+
+    /**
+     * 构造方法
+     *
+     * @param entityClass   实体类
+     * @param capacityBytes 堆外内存容量（字节）
+     * @param maxSize       最大条目数
+     * @param ttlNanos      存活时间（纳秒），小于等于 0 表示不过期
+     */
+    public OffHeapEntityCacheStore(Class<?> entityClass, long capacityBytes, int maxSize, long ttlNanos) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        long blockBytes = capacityBytes / (SEGMENT_COUNT * BLOCKS_PER_SEGMENT);
+        if (blockBytes < 1024L || blockBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacityBytes must be between 128KB and 256GB");
+        }
+        this.codec = EntityCodec.forClass(entityClass);
+        this.ttlNanos = ttlNanos;
+        this.blockSize = (int) blockBytes;
+        this.segments = new Segment[SEGMENT_COUNT];
+        int segmentMaxSize = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            this.segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    @Override
+    public Object get(Object id) {
+        byte[] bytes = segment(id).read(id);
+        if (bytes == null) {
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return codec.decode(new EntityCodec.Input(bytes));
+    }
+
+    @Override
+    public void put(Object id, Object entity) {
+        EntityCodec.Output out = OUTPUT.get();
+        out.reset();
+        codec.encode(entity, out);
+        long expireAt = ttlNanos > 0L ? System.nanoTime() + ttlNanos : 0L;
+        segment(id).write(id, out.buffer(), out.size(), expireAt);
+    }
+
+    @Override
+    public void evict(Object id) {
+        if (segment(id).remove(id)) {
+            stats.recordInvalidations(1);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            stats.recordInvalidations(segment.clear());
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0L;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public boolean isStoreByValue() {
+        return true;
+    }
+
+    @Override
+    public void forEach(BiConsumer<Object, Object> action) {
+        for (Segment segment : segments) {
+            for (Map.Entry<Object, byte[]> entry : segment.entries().entrySet()) {
+                action.accept(entry.getKey(), codec.decode(new EntityCodec.Input(entry.getValue())));
+            }
+        }
+    }
+
+    /**
+     * 已分配的堆外内存（字节），内存块在首次写入时才分配
+     */
+    public long getAllocatedBytes() {
+        long bytes = 0L;
+        for (Segment segment : segments) {
+            bytes += segment.allocatedBlocks() * (long) blockSize;
+        }
+        return bytes;
+    }
+
+    /**
+     * 堆外内存容量（字节）
+     */
+    public long getCapacityBytes() {
+        return (long) blockSize * SEGMENT_COUNT * BLOCKS_PER_SEGMENT;
+    }
+
+    private Segment segment(Object id) {
+        int h = id.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    private static int block(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    private final class Segment {
+        private final int maxSize;
+        private final ByteBuffer[] blocks = new ByteBuffer[BLOCKS_PER_SEGMENT];
+        @SuppressWarnings("unchecked")
+        private final List<Object>[] blockKeys = new List[BLOCKS_PER_SEGMENT];
+        private final Map<Object, Long> index = new HashMap<>();
+        private int active;
+        private int writePos;
+
+        private Segment(int maxSize) {
+            this.maxSize = maxSize;
+            for (int i = 0; i < BLOCKS_PER_SEGMENT; i++) {
+                blockKeys[i] = new ArrayList<>();
+            }
+        }
+
+        private synchronized byte[] read(Object id) {
+            Long location = index.get(id);
+            if (location == null) {
+                return null;
+            }
+            byte[] bytes = copyOut(location, System.nanoTime());
+            if (bytes == null) {
+                index.remove(id);
+                stats.recordEviction();
+            }
+            return bytes;
+        }
+
+        /**
+         * 复制出所有未过期条目的编码
+         */
+        private synchronized Map<Object, byte[]> entries() {
+            long now = System.nanoTime();
+            Map<Object, byte[]> copies = new LinkedHashMap<>(index.size() * 2);
+            for (Map.Entry<Object, Long> entry : index.entrySet()) {
+                byte[] bytes = copyOut(entry.getValue(), now);
+                if (bytes != null) {
+                    copies.put(entry.getKey(), bytes);
+                }
+            }
+            return copies;
+        }
+
+        /**
+         * 复制出指定位置的条目编码，已过期时返回 null
+         */
+        private byte[] copyOut(long location, long now) {
+            ByteBuffer buffer = blocks[block(location)];
+            int offset = offset(location);
+            long expireAt = buffer.getLong(offset + 4);
+            if (expireAt != 0L && now - expireAt >= 0L) {
+                return null;
+            }
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            buffer.position(offset + HEADER_BYTES);
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        private synchronized void write(Object id, byte[] bytes, int length, long expireAt) {
+            int required = HEADER_BYTES + length;
+            if (required > blockSize) {
+                index.remove(id);
+                return;
+            }
+            for (int i = 0; i < BLOCKS_PER_SEGMENT && index.size() >= maxSize && !index.containsKey(id); i++) {
+                advance();
+            }
+            if (writePos + required > blockSize) {
+                advance();
+            }
+            ByteBuffer buffer = blocks[active];
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(blockSize);
+                blocks[active] = buffer;
+            }
+            buffer.putInt(writePos, length);
+            buffer.putLong(writePos + 4, expireAt);
+            buffer.position(writePos + HEADER_BYTES);
+            buffer.put(bytes, 0, length);
+            index.put(id, ((long) active << 32) | writePos);
+            blockKeys[active].add(id);
+            writePos += required;
+        }
+
+        /**
+         * 切换到下一个内存块，并整块淘汰其中仍然有效的条目
+         */
+        private void advance() {
+            active = (active + 1) % BLOCKS_PER_SEGMENT;
+            writePos = 0;
+            List<Object> keys = blockKeys[active];
+            for (Object key : keys) {
+                Long location = index.get(key);
+                if (location != null && block(location) == active) {
+                    index.remove(key);
+                    stats.recordEviction();
+                }
+            }
+            keys.clear();
+        }
+
+        private synchronized boolean remove(Object id) {
+            return index.remove(id) != null;
+        }
+
+        private synchronized int clear() {
+            int size = index.size();
+            index.clear();
+            for (List<Object> keys : blockKeys) {
+                keys.clear();
+            }
+            active = 0;
+            writePos = 0;
+            return size;
+        }
+
+        private synchronized int size() {
+            return index.size();
+        }
+
+        private synchronized int allocatedBlocks() {
+            int count = 0;
+            for (ByteBuffer buffer : blocks) {
+                if (buffer != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
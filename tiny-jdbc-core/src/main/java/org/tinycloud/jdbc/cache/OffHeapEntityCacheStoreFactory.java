@@ -0,0 +1,45 @@
+package org.tinycloud.jdbc.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 堆外实体缓存存储工厂，为每个实体类创建指定容量的 {@link OffHeapEntityCacheStore}
+ * </p>
+ * 堆外存储固定使用分段淘汰，忽略配置的淘汰策略；实体类无法生成编解码器（如缺少无参构造方法或含有不可序列化的字段）时，
+ * 回退为默认的进程内存储。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 21:55
+ */
+public class OffHeapEntityCacheStoreFactory implements EntityCacheStoreFactory {
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapEntityCacheStoreFactory.class);
+
+    private final long capacityBytes;
+
+    private final EntityCacheStoreFactory fallback = new DefaultEntityCacheStoreFactory();
+
+    /**
+     * 构造方法
+     *
+     * @param capacityBytes 每个实体类的堆外内存容量（字节）
+     */
+    public OffHeapEntityCacheStoreFactory(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+
+    @Override
+    public EntityCacheStore create(Class<?> entityClass, EntityCacheConfig config) {
+        try {
+            EntityCodec.forClass(entityClass);
+        } catch (TinyJdbcException e) {
+            logger.warn("Tiny-Jdbc off-heap entity cache falls back to heap for {}: {}", entityClass.getName(), e.getMessage());
+            return fallback.create(entityClass, config);
+        }
+        return new OffHeapEntityCacheStore(entityClass, capacityBytes, config.getMaxSize(), TimeUnit.SECONDS.toNanos(config.getTtl()));
+    }
+}
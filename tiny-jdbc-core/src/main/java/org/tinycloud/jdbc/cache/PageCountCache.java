@@ -0,0 +1,48 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 分页总数缓存，缓存 paginate 中 count 查询的结果
+ * </p>
+ * 条目按 TTL 过期，并在 DAO 写入涉及的表时立即失效；容量超限时淘汰最久未访问的条目。
+ * 无法解析出表名的 count SQL 不会被缓存，以免漏失效。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 10:30
+ */
+public class PageCountCache extends TableTaggedLruCache<Long> {
+
+    /**
+     * 构造方法
+     *
+     * @param ttl     存活时间
+     * @param unit    时间单位
+     * @param maxSize 最大条目数
+     */
+    public PageCountCache(long ttl, TimeUnit unit, int maxSize) {
+        super(ttl, unit, maxSize);
+    }
+
+    /**
+     * 查询缓存的总数
+     *
+     * @param key 缓存键
+     * @return 总数，未命中或已过期返回 null
+     */
+    public Long get(CacheKey key) {
+        return this.getValue(key);
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key   缓存键
+     * @param count 总数
+     * @param epoch 执行 count 查询前通过 {@link #currentEpoch()} 获取的失效代数
+     */
+    public void put(CacheKey key, long count, long epoch) {
+        this.putValue(key, count, epoch);
+    }
+}
@@ -0,0 +1,156 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 查询结果缓存，按（SQL，参数，结果类型）缓存查询结果
+ * </p>
+ * 每个条目以 {@link SqlTables} 解析出的表名作为标签，DAO 写入这些表时立即失效；条目同时按 TTL 过期，容量超限时淘汰最久未访问的条目。
+ * 无法解析出表名的 SQL 不会被缓存；配置了可缓存表时，只缓存涉及的表全部在其中的 SQL。
+ * 当前事务写入过的表，本事务内的查询既不读取也不写入缓存。查询结果在读写缓存时都会复制，实体和 Map 元素也各复制一份，调用方修改返回的对象不会影响缓存。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 18:40
+ */
+public class QueryResultCache extends TableTaggedLruCache<Object> {
+
+    /**
+     * 可缓存的表（已归一化），为空表示不限制
+     */
+    private final Set<String> cacheableTables;
+
+    /**
+     * 构造方法
+     *
+     * @param ttl     存活时间
+     * @param unit    时间单位
+     * @param maxSize 最大条目数
+     */
+    public QueryResultCache(long ttl, TimeUnit unit, int maxSize) {
+        this(ttl, unit, maxSize, null);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param ttl             存活时间
+     * @param unit            时间单位
+     * @param maxSize         最大条目数
+     * @param cacheableTables 可缓存的表，为空表示不限制
+     */
+    public QueryResultCache(long ttl, TimeUnit unit, int maxSize, Collection<String> cacheableTables) {
+        super(ttl, unit, maxSize);
+        if (cacheableTables == null || cacheableTables.isEmpty()) {
+            this.cacheableTables = Collections.emptySet();
+        } else {
+            Set<String> normalized = new HashSet<>(cacheableTables.size() * 2);
+            for (String table : cacheableTables) {
+                normalized.add(SqlTables.normalize(table));
+            }
+            this.cacheableTables = normalized;
+        }
+    }
+
+    /**
+     * SQL 是否可以使用缓存（能解析出表名、表在可缓存范围内，且未被当前事务写入）
+     *
+     * @param sql 查询SQL
+     */
+    public boolean isCacheable(String sql) {
+        Set<String> tables = SqlTables.of(sql);
+        if (tables.isEmpty()) {
+            return false;
+        }
+        if (!cacheableTables.isEmpty() && !cacheableTables.containsAll(tables)) {
+            return false;
+        }
+        return !CacheInvalidator.isWrittenInTransaction(tables);
+    }
+
+    /**
+     * 读取缓存，未命中时执行查询并写入缓存
+     *
+     * @param key    缓存键
+     * @param loader 查询
+     * @return 查询结果
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R getOrLoad(CacheKey key, Supplier<R> loader) {
+        Object cached = this.get(key);
+        if (cached != null) {
+            return (R) cached;
+        }
+        long epoch = this.currentEpoch();
+        R result = loader.get();
+        this.put(key, result, epoch);
+        return result;
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param key 缓存键
+     * @return 查询结果（副本），未命中或已过期返回 null
+     */
+    public Object get(CacheKey key) {
+        Object value = this.getValue(key);
+        return value == null ? null : copy(key, value);
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key   缓存键
+     * @param value 查询结果
+     * @param epoch 执行查询前通过 {@link #currentEpoch()} 获取的失效代数
+     */
+    public void put(CacheKey key, Object value, long epoch) {
+        if (value != null) {
+            this.putValue(key, copy(key, value), epoch);
+        }
+    }
+
+    /**
+     * 遍历未过期的条目，用于生成缓存快照，不改变访问顺序和命中统计
+     *
+     * @param action 回调（缓存键，查询结果）
+     */
+    public void forEach(BiConsumer<CacheKey, Object> action) {
+        this.forEachValue(action);
+    }
+
+    /**
+     * 复制查询结果，写入和读取时各复制一次：列表复制一份，实体元素用 EntityCopier 复制，Map 元素复制为新的 LinkedHashMap
+     */
+    private static Object copy(CacheKey key, Object value) {
+        Object resultType = key.getResultType();
+        boolean bean = resultType instanceof String && ((String) resultType).startsWith("bean:");
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(copyElement(element, bean));
+            }
+            return copy;
+        }
+        return copyElement(value, bean);
+    }
+
+    private static Object copyElement(Object element, boolean bean) {
+        if (element instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) element);
+        }
+        return bean ? EntityCopier.copy(element) : element;
+    }
+}
@@ -0,0 +1,325 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 全量缓存表，持有一张表的不可变内存快照
+ * </p>
+ * 整数主键使用 {@link LongObjectMap} 索引，其他类型主键和唯一索引字段使用 HashMap。
+ * 刷新时在后台构建新快照后整体替换引用，读取方始终看到一份完整的快照，不会阻塞。
+ * 快照按值精确匹配，数据库可能经过类型转换或排序规则找到快照中没有的键，调用方须先用 {@link #isExactKey(String, Object)}
+ * 判断找不到的键能否直接判定不存在。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 20:40
+ */
+public final class ReferenceTable {
+
+    private final Class<?> entityClass;
+
+    private final String table;
+
+    private final String primaryKeyColumn;
+
+    private final Field primaryKeyField;
+
+    /**
+     * 唯一索引：数据库字段名 -> 实体字段
+     */
+    private final Map<String, Field> indexFields;
+
+    private final long refreshSeconds;
+
+    private final boolean copyOnRead;
+
+    private final boolean exactStringMatch;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 全量加载器
+     */
+    volatile Supplier<List<?>> loader;
+
+    /**
+     * 是否已提交刷新任务
+     */
+    final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+    /**
+     * 是否已安排定时刷新
+     */
+    final AtomicBoolean periodicScheduled = new AtomicBoolean();
+
+    /**
+     * 写入代数，每次写入该表时递增
+     */
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    /**
+     * 当前快照开始加载时的写入代数，与 writeGeneration 不一致表示有待完成的刷新
+     */
+    private volatile long loadedGeneration;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private volatile long lastLoadCost;
+
+    ReferenceTable(Class<?> entityClass, String table, String primaryKeyColumn, Field primaryKeyField,
+                   Map<String, Field> indexFields, long refreshSeconds, boolean copyOnRead, boolean exactStringMatch) {
+        this.entityClass = entityClass;
+        this.table = table;
+        this.primaryKeyColumn = primaryKeyColumn;
+        this.primaryKeyField = primaryKeyField;
+        this.indexFields = indexFields;
+        this.refreshSeconds = refreshSeconds;
+        this.copyOnRead = copyOnRead;
+        this.exactStringMatch = exactStringMatch;
+    }
+
+    /**
+     * 按主键读取
+     *
+     * @param id 主键
+     * @return 实体，不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getById(Object id) {
+        hits.increment();
+        return (T) this.read(snapshot.byId(id));
+    }
+
+    /**
+     * 按主键或唯一索引字段读取
+     *
+     * @param column 数据库字段名
+     * @param value  字段值
+     * @return 实体，不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getByColumn(String column, Object value) {
+        if (primaryKeyColumn.equals(column)) {
+            return this.getById(value);
+        }
+        Map<Object, Object> index = snapshot.secondary.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("column " + column + " is not indexed in cached table " + table);
+        }
+        hits.increment();
+        return (T) this.read(index.get(EntityCacheManager.normalizeId(value)));
+    }
+
+    /**
+     * 读取全部行
+     *
+     * @return 按加载顺序排列的实体列表
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAll() {
+        hits.increment();
+        List<Object> rows = snapshot.rows;
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add((T) this.read(row));
+        }
+        return result;
+    }
+
+    /**
+     * 字段是否可以直接从快照中按等值条件查询（主键或唯一索引字段）
+     *
+     * @param column 数据库字段名
+     */
+    public boolean isIndexed(String column) {
+        return primaryKeyColumn.equals(column) || indexFields.containsKey(column);
+    }
+
+    /**
+     * 快照中找不到该值时，能否判定数据库中也不存在：值的类型与字段类型一致（整数类型之间视为一致），
+     * 字符串还需声明精确比较；返回 false 时应改为查询数据库
+     *
+     * @param column 数据库字段名（主键或唯一索引字段）
+     * @param value  字段值
+     */
+    public boolean isExactKey(String column, Object value) {
+        Field field = primaryKeyColumn.equals(column) ? primaryKeyField : indexFields.get(column);
+        if (field == null || value == null) {
+            return false;
+        }
+        Class<?> fieldType = ClassUtils.wrapPrimitive(field.getType());
+        if (value instanceof String) {
+            return fieldType == String.class && exactStringMatch;
+        }
+        return value.getClass() == fieldType || (isIntegral(value.getClass()) && isIntegral(fieldType));
+    }
+
+    public String getPrimaryKeyColumn() {
+        return primaryKeyColumn;
+    }
+
+    /**
+     * 快照是否已加载
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * 快照是否已加载且没有待完成的刷新，为 false 时应直接查询数据库
+     */
+    public boolean isFresh() {
+        return snapshot != null && loadedGeneration == writeGeneration.get();
+    }
+
+    /**
+     * 标记该表已被写入，之后的刷新完成前快照不再是最新的
+     */
+    void markStale() {
+        writeGeneration.incrementAndGet();
+    }
+
+    /**
+     * 全量加载并替换快照
+     */
+    synchronized void load() {
+        Supplier<List<?>> supplier = loader;
+        if (supplier == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long generation = writeGeneration.get();
+        List<?> rows = supplier.get();
+        this.snapshot = this.build(rows);
+        this.loadedGeneration = generation;
+        loads.increment();
+        lastLoadCost = System.currentTimeMillis() - start;
+    }
+
+    private Snapshot build(List<?> rows) {
+        boolean integralKey = isIntegral(primaryKeyField.getType());
+        LongObjectMap<Object> longIds = integralKey ? new LongObjectMap<>(rows.size()) : null;
+        Map<Object, Object> ids = integralKey ? null : new HashMap<>(rows.size() * 2);
+        Map<String, Map<Object, Object>> secondary = new HashMap<>(indexFields.size() * 2);
+        for (String column : indexFields.keySet()) {
+            secondary.put(column, new HashMap<>(rows.size() * 2));
+        }
+        try {
+            for (Object row : rows) {
+                Object id = primaryKeyField.get(row);
+                if (id != null) {
+                    if (longIds != null) {
+                        longIds.put(((Number) id).longValue(), row);
+                    } else {
+                        ids.put(EntityCacheManager.normalizeId(id), row);
+                    }
+                }
+                for (Map.Entry<String, Field> entry : indexFields.entrySet()) {
+                    Object value = entry.getValue().get(row);
+                    if (value != null) {
+                        secondary.get(entry.getKey()).put(EntityCacheManager.normalizeId(value), row);
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("build cached table " + table + " failed", e);
+        }
+        return new Snapshot(Collections.unmodifiableList(new ArrayList<>(rows)), longIds, ids, secondary);
+    }
+
+    private Object read(Object row) {
+        return copyOnRead ? EntityCopier.copy(row) : row;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == Long.class || type == long.class || type == Integer.class || type == int.class
+                || type == Short.class || type == short.class || type == Byte.class || type == byte.class;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public long getRefreshSeconds() {
+        return refreshSeconds;
+    }
+
+    /**
+     * 快照中的行数
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.rows.size();
+    }
+
+    /**
+     * 读取次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 加载次数
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * 最近一次加载耗时（毫秒）
+     */
+    public long getLastLoadCost() {
+        return lastLoadCost;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceTable{" +
+                "table='" + table + '\'' +
+                ", size=" + size() +
+                ", hits=" + getHits() +
+                ", loads=" + getLoads() +
+                '}';
+    }
+
+    private static final class Snapshot {
+        private final List<Object> rows;
+        private final LongObjectMap<Object> longIds;
+        private final Map<Object, Object> ids;
+        private final Map<String, Map<Object, Object>> secondary;
+
+        private Snapshot(List<Object> rows, LongObjectMap<Object> longIds, Map<Object, Object> ids,
+                         Map<String, Map<Object, Object>> secondary) {
+            this.rows = rows;
+            this.longIds = longIds;
+            this.ids = ids;
+            this.secondary = secondary;
+        }
+
+        private Object byId(Object id) {
+            if (longIds == null) {
+                return ids.get(EntityCacheManager.normalizeId(id));
+            }
+            Object key = EntityCacheManager.normalizeId(id);
+            return key instanceof Long ? longIds.get((Long) key) : null;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.tinycloud.jdbc.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinycloud.jdbc.annotation.CachedTable;
+import org.tinycloud.jdbc.annotation.Column;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.ReflectUtils;
+import org.tinycloud.jdbc.util.StrUtils;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 全量缓存表管理器，为标注了 {@link CachedTable} 的实体类维护内存快照
+ * </p>
+ * 快照在首次使用时（或 DAO 初始化时）同步加载，之后按 refresh 间隔以及写入该表时在后台刷新并原子替换。
+ * 写入该表后、刷新完成前，快照被标记为过期，DAO 改为查询数据库。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 20:50
+ */
+public class ReferenceTableManager implements TableInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceTableManager.class);
+
+    /**
+     * 未标注注解的实体类占位
+     */
+    private static final ReferenceTable NONE = new ReferenceTable(Object.class, "", "", null, null, 0L, false, false);
+
+    private final Map<Class<?>, ReferenceTable> tables = new ConcurrentHashMap<>(64);
+
+    private final ScheduledExecutorService executor;
+
+    public ReferenceTableManager() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "tiny-jdbc-cached-table");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.executor = scheduler;
+    }
+
+    /**
+     * 获取实体类的全量缓存表
+     *
+     * @param entityClass 实体类
+     * @return 全量缓存表，未标注 {@link CachedTable} 时返回 null
+     */
+    public ReferenceTable getTable(Class<?> entityClass) {
+        ReferenceTable table = ConcurrentHashMapUtils.computeIfAbsent(tables, entityClass, this::createTable);
+        return table == NONE ? null : table;
+    }
+
+    /**
+     * 确保快照已加载：首次调用时登记加载器并同步加载，之后按配置定时刷新
+     *
+     * @param table  全量缓存表
+     * @param loader 全量加载器
+     */
+    public void ensureLoaded(ReferenceTable table, Supplier<List<?>> loader) {
+        if (table.isLoaded()) {
+            return;
+        }
+        synchronized (table) {
+            if (table.isLoaded()) {
+                return;
+            }
+            if (table.loader == null) {
+                table.loader = loader;
+            }
+            table.load();
+        }
+        if (table.getRefreshSeconds() > 0 && table.periodicScheduled.compareAndSet(false, true)) {
+            executor.scheduleWithFixedDelay(() -> this.scheduleReload(table),
+                    table.getRefreshSeconds(), table.getRefreshSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 立即提交一次后台刷新
+     *
+     * @param entityClass 实体类
+     */
+    public void reload(Class<?> entityClass) {
+        ReferenceTable table = this.getTable(entityClass);
+        if (table != null) {
+            this.scheduleReload(table);
+        }
+    }
+
+    @Override
+    public void invalidateTables(Set<String> written) {
+        for (ReferenceTable table : tables.values()) {
+            if (table != NONE && written.contains(table.getTable())) {
+                table.markStale();
+                this.scheduleReload(table);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (ReferenceTable table : tables.values()) {
+            if (table != NONE) {
+                table.markStale();
+                this.scheduleReload(table);
+            }
+        }
+    }
+
+    /**
+     * 关闭后台刷新线程
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleReload(ReferenceTable table) {
+        if (table.loader == null || !table.reloadScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            // 先清除标记，刷新期间再次写入时可以重新排队
+            table.reloadScheduled.set(false);
+            try {
+                table.load();
+            } catch (Exception e) {
+                logger.warn("Tiny-Jdbc cached table reload failed, keep the previous snapshot, table: {}", table.getTable(), e);
+            }
+        });
+    }
+
+    private ReferenceTable createTable(Class<?> entityClass) {
+        CachedTable annotation = entityClass.getAnnotation(CachedTable.class);
+        if (annotation == null) {
+            return NONE;
+        }
+        Map<String, Field> indexFields = new LinkedHashMap<>();
+        for (String fieldName : annotation.indexes()) {
+            Field field;
+            try {
+                field = ReflectUtils.getAccessibleField(entityClass, fieldName);
+            } catch (NoSuchFieldException e) {
+                throw new TinyJdbcException("@CachedTable index field " + fieldName + " not found in " + entityClass.getName(), e);
+            }
+            Column column = field.getAnnotation(Column.class);
+            indexFields.put(column == null || StrUtils.isEmpty(column.value()) ? StrUtils.camelToUnderline(fieldName) : column.value(), field);
+        }
+        return new ReferenceTable(entityClass,
+                SqlTables.normalize(TableParserUtils.getTableName(entityClass)),
+                TableParserUtils.getTableColumn(entityClass).getRight(),
+                TableParserUtils.getPrimaryKeyField(entityClass),
+                indexFields,
+                parseSeconds(annotation.refresh(), entityClass),
+                annotation.copyOnRead(),
+                annotation.exactStringMatch());
+    }
+
+    /**
+     * 解析刷新间隔，支持 s、m、h、d 后缀，无后缀按秒处理
+     */
+    static long parseSeconds(String refresh, Class<?> entityClass) {
+        if (StrUtils.isEmpty(refresh)) {
+            return 0L;
+        }
+        String value = refresh.trim().toLowerCase();
+        long unit = 1L;
+        char last = value.charAt(value.length() - 1);
+        if (last == 's' || last == 'm' || last == 'h' || last == 'd') {
+            unit = last == 's' ? 1L : last == 'm' ? 60L : last == 'h' ? 3600L : 86400L;
+            value = value.substring(0, value.length() - 1).trim();
+        }
+        try {
+            return Long.parseLong(value) * unit;
+        } catch (NumberFormatException e) {
+            throw new TinyJdbcException("@CachedTable refresh " + refresh + " is invalid in " + entityClass.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>
+ * 并发调用合并（single-flight），同一个键同一时刻只执行一次，执行期间到达的调用等待并共享结果或异常
+ * </p>
+ * 执行结束后立即移除，不缓存结果，之后的调用会重新执行。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 23:12
+ */
+public final class SingleFlightGroup {
+
+    private final Map<Object, CompletableFuture<Object>> calls = new ConcurrentHashMap<>(64);
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * 执行调用，存在相同键的进行中调用时等待其结果
+     *
+     * @param key    调用键，须正确实现 equals/hashCode
+     * @param loader 实际执行
+     * @param shared 等待方拿到结果后的处理（如复制），为 null 时原样返回
+     * @return 结果
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(Object key, Supplier<R> loader, UnaryOperator<R> shared) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            R result;
+            try {
+                result = (R) inFlight.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new TinyJdbcException("single flight call failed", cause);
+            }
+            return shared == null || result == null ? result : shared.apply(result);
+        }
+        executions.increment();
+        try {
+            R result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * 实际执行的次数
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * 被合并（等待并共享结果）的调用次数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 当前进行中的调用数
+     */
+    public int getInFlightCount() {
+        return calls.size();
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightGroup{" +
+                "executions=" + getExecutionCount() +
+                ", coalesced=" + getCoalescedCount() +
+                ", inFlight=" + getInFlightCount() +
+                '}';
+    }
+}
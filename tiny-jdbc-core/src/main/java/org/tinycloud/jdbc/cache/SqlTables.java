@@ -0,0 +1,98 @@
+package org.tinycloud.jdbc.cache;
+
+import org.tinycloud.jdbc.util.StrUtils;
+import org.tinycloud.jdbc.util.TableNameParser;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * 基于 {@link TableNameParser} 提取 SQL 涉及的表名，并按 SQL 文本做有界缓存
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 10:25
+ */
+public final class SqlTables {
+
+    /**
+     * 最多缓存的 SQL 条数，超出后淘汰最久未使用的
+     */
+    private static final int MAX_CACHED_SQL = 1024;
+
+    private static final Map<String, Set<String>> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, Set<String>>(64, 0.75F, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+                    return size() > MAX_CACHED_SQL;
+                }
+            });
+
+    private SqlTables() {
+    }
+
+    /**
+     * 解析 SQL 中涉及的表名（已归一化）
+     *
+     * @param sql SQL
+     * @return 不可变的表名集合，无法解析时返回空集合
+     */
+    public static Set<String> of(String sql) {
+        if (StrUtils.isBlank(sql)) {
+            return Collections.emptySet();
+        }
+        Set<String> tables = CACHE.get(sql);
+        if (tables == null) {
+            tables = parse(sql);
+            CACHE.put(sql, tables);
+        }
+        return tables;
+    }
+
+    /**
+     * 归一化表名：去掉引号、反引号、方括号以及 schema 前缀，并转为小写
+     *
+     * @param table 原始表名
+     * @return 归一化后的表名
+     */
+    public static String normalize(String table) {
+        if (table == null) {
+            return "";
+        }
+        String name = table.trim();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '`' && c != '"' && c != '[' && c != ']') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> parse(String sql) {
+        try {
+            Set<String> tables = new LinkedHashSet<>();
+            for (String table : new TableNameParser(sql).tables()) {
+                String name = normalize(table);
+                if (!name.isEmpty()) {
+                    tables.add(name);
+                }
+            }
+            return Collections.unmodifiableSet(tables);
+        } catch (RuntimeException e) {
+            return Collections.emptySet();
+        }
+    }
+}
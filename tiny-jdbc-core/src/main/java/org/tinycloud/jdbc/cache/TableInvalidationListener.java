@@ -0,0 +1,48 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * <p>
+ * 表级缓存失效监听器，DAO 写操作完成后由 {@link CacheInvalidator} 回调
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 10:18
+ */
+public interface TableInvalidationListener {
+
+    /**
+     * 失效与给定表相关的缓存条目
+     *
+     * @param tables 被写入的表名（已经过 {@link SqlTables#normalize(String)} 归一化）
+     */
+    void invalidateTables(Set<String> tables);
+
+    /**
+     * 失效给定表中指定主键的缓存条目，默认按整张表失效；按主键缓存的实现可覆盖此方法只移除对应条目
+     *
+     * @param table 被写入的表名（已归一化）
+     * @param ids   受影响的主键，为空表示没有已存在的行被修改（如新增）
+     */
+    default void invalidateKeys(String table, Collection<?> ids) {
+        invalidateTables(Collections.singleton(table));
+    }
+
+    /**
+     * 应用其他节点按主键的写操作，默认与本地写操作相同；需要在本地补写新增键的实现可覆盖此方法
+     *
+     * @param table 被写入的表名（已归一化）
+     * @param ids   受影响的主键，为空表示无法得知具体主键（如批量新增、自增主键新增）
+     */
+    default void invalidateRemoteKeys(String table, Collection<?> ids) {
+        invalidateKeys(table, ids);
+    }
+
+    /**
+     * 无法确定写入的表时，失效全部缓存条目
+     */
+    void invalidateAll();
+}
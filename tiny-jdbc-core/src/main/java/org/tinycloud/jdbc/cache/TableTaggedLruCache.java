@@ -0,0 +1,212 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 以表名为标签的 LRU 缓存基类，分页总数缓存和查询结果缓存共用
+ * </p>
+ * 每个条目以 {@link SqlTables} 从缓存键的 SQL 中解析出的表名作为标签，DAO 写入这些表时立即失效；
+ * 条目同时按 TTL 过期，容量超限时淘汰最久未访问的条目。无法解析出表名的 SQL 不会被缓存，以免漏失效。
+ * 失效代数用于丢弃查询期间发生过失效的结果，避免把旧数据放回缓存。
+ *
+ * @param <V> 缓存值类型
+ * @author liuxingyu01
+ * @since 2026-10-20 09:30
+ */
+public abstract class TableTaggedLruCache<V> implements TableInvalidationListener {
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    private final CacheStats stats = new CacheStats();
+
+    /**
+     * 缓存条目，按访问顺序排列，用于 LRU 淘汰
+     */
+    private final LinkedHashMap<CacheKey, Entry<V>> entries = new LinkedHashMap<>(64, 0.75F, true);
+
+    /**
+     * 表名 -> 依赖该表的缓存键
+     */
+    private final Map<String, Set<CacheKey>> tableIndex = new HashMap<>();
+
+    /**
+     * 失效代数，查询期间发生过失效的结果不写入缓存
+     */
+    private long epoch;
+
+    /**
+     * 构造方法
+     *
+     * @param ttl     存活时间
+     * @param unit    时间单位
+     * @param maxSize 最大条目数
+     */
+    protected TableTaggedLruCache(long ttl, TimeUnit unit, int maxSize) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl must be greater than 0");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取当前失效代数，应在执行查询前调用，并传给写入方法
+     */
+    public synchronized long currentEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 查询缓存的值
+     *
+     * @param key 缓存键
+     * @return 缓存的值，未命中或已过期返回 null
+     */
+    protected synchronized V getValue(CacheKey key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            stats.recordMiss();
+            return null;
+        }
+        if (entry.expireAt - System.nanoTime() <= 0) {
+            remove(key, entry);
+            stats.recordEviction();
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return entry.value;
+    }
+
+    /**
+     * 写入缓存，查询期间发生过失效或无法解析出表名时放弃写入
+     *
+     * @param key   缓存键
+     * @param value 缓存的值
+     * @param epoch 执行查询前获取的失效代数
+     */
+    protected synchronized void putValue(CacheKey key, V value, long epoch) {
+        if (epoch != this.epoch) {
+            return;
+        }
+        Set<String> tables = SqlTables.of(key.getSql());
+        if (tables.isEmpty()) {
+            return;
+        }
+        Entry<V> old = entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos, tables));
+        if (old == null) {
+            for (String table : tables) {
+                tableIndex.computeIfAbsent(table, k -> new HashSet<>()).add(key);
+            }
+        }
+        evictIfNecessary();
+    }
+
+    /**
+     * 遍历未过期的条目，不改变访问顺序和命中统计
+     *
+     * @param action 回调（缓存键，缓存的值）
+     */
+    protected synchronized void forEachValue(BiConsumer<CacheKey, V> action) {
+        long now = System.nanoTime();
+        for (Map.Entry<CacheKey, Entry<V>> entry : entries.entrySet()) {
+            if (entry.getValue().expireAt - now > 0) {
+                action.accept(entry.getKey(), entry.getValue().value);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void invalidateTables(Set<String> tables) {
+        epoch++;
+        long removed = 0;
+        for (String table : tables) {
+            Set<CacheKey> keys = tableIndex.remove(table);
+            if (keys == null) {
+                continue;
+            }
+            for (CacheKey key : keys) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null) {
+                    remove(key, entry);
+                    removed++;
+                }
+            }
+        }
+        stats.recordInvalidations(removed);
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        epoch++;
+        stats.recordInvalidations(entries.size());
+        entries.clear();
+        tableIndex.clear();
+    }
+
+    /**
+     * 当前条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 命中统计
+     */
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<CacheKey, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Map.Entry<CacheKey, Entry<V>> eldest = it.next();
+            it.remove();
+            unindex(eldest.getKey(), eldest.getValue());
+            stats.recordEviction();
+        }
+    }
+
+    private void remove(CacheKey key, Entry<V> entry) {
+        entries.remove(key);
+        unindex(key, entry);
+    }
+
+    private void unindex(CacheKey key, Entry<V> entry) {
+        for (String table : entry.tables) {
+            Set<CacheKey> keys = tableIndex.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    tableIndex.remove(table);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expireAt;
+        private final Set<String> tables;
+
+        private Entry(V value, long expireAt, Set<String> tables) {
+            this.value = value;
+            this.expireAt = expireAt;
+            this.tables = tables;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.tinycloud.jdbc.cache;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 基于 W-TinyLFU 淘汰的进程内实体缓存存储
+ * </p>
+ * 新条目先进入约占 1% 容量的窗口 LRU；被窗口淘汰的条目与主区试用段中最久未访问的条目比较访问频率，
+ * 频率更高者留下。主区分为试用段（20%）和保护段（80%），试用段中再次被访问的条目晋升到保护段。
+ * 一次性的大范围扫描因此难以把热点条目挤出缓存。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 17:25
+ */
+public class TinyLfuEntityCacheStore implements EntityCacheStore {
+
+    private final long ttlNanos;
+
+    private final int windowCapacity;
+
+    private final int mainCapacity;
+
+    private final int protectedCapacity;
+
+    private final CacheStats stats = new CacheStats();
+
+    private final FrequencySketch sketch;
+
+    private final LinkedHashMap<Object, CacheEntry> window = new LinkedHashMap<>(16, 0.75F, true);
+
+    private final LinkedHashMap<Object, CacheEntry> probation = new LinkedHashMap<>(16, 0.75F, true);
+
+    private final LinkedHashMap<Object, CacheEntry> protectedSegment = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * 构造方法
+     *
+     * @param maxSize  最大条目数
+     * @param ttlNanos 存活时间（纳秒），小于等于 0 表示不过期
+     */
+    public TinyLfuEntityCacheStore(int maxSize, long ttlNanos) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.ttlNanos = ttlNanos;
+        this.windowCapacity = Math.max(1, maxSize / 100);
+        this.mainCapacity = maxSize - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8D);
+        this.sketch = new FrequencySketch(maxSize);
+    }
+
+    @Override
+    public synchronized Object get(Object id) {
+        sketch.increment(id);
+        CacheEntry entry = window.get(id);
+        if (entry == null) {
+            entry = protectedSegment.get(id);
+        }
+        if (entry == null) {
+            entry = probation.remove(id);
+            if (entry != null) {
+                // 试用段再次命中，晋升到保护段
+                protectedSegment.put(id, entry);
+                demoteProtected();
+            }
+        }
+        if (entry == null) {
+            stats.recordMiss();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            remove(id);
+            stats.recordEviction();
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return entry.getValue();
+    }
+
+    @Override
+    public synchronized void put(Object id, Object entity) {
+        CacheEntry entry = new CacheEntry(entity, ttlNanos);
+        if (window.containsKey(id)) {
+            window.put(id, entry);
+            return;
+        }
+        if (protectedSegment.containsKey(id)) {
+            protectedSegment.put(id, entry);
+            return;
+        }
+        if (probation.containsKey(id)) {
+            probation.put(id, entry);
+            return;
+        }
+        sketch.increment(id);
+        window.put(id, entry);
+        if (window.size() > windowCapacity) {
+            evictFromWindow();
+        }
+    }
+
+    @Override
+    public synchronized void evict(Object id) {
+        if (remove(id)) {
+            stats.recordInvalidations(1);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        stats.recordInvalidations(window.size() + probation.size() + protectedSegment.size());
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    @Override
+    public synchronized long size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public synchronized void forEach(BiConsumer<Object, Object> action) {
+        long now = System.nanoTime();
+        for (Map<Object, CacheEntry> segment : Arrays.asList(window, probation, protectedSegment)) {
+            for (Map.Entry<Object, CacheEntry> entry : segment.entrySet()) {
+                if (!entry.getValue().isExpired(now)) {
+                    action.accept(entry.getKey(), entry.getValue().getValue());
+                }
+            }
+        }
+    }
+
+    private boolean remove(Object id) {
+        return window.remove(id) != null || probation.remove(id) != null || protectedSegment.remove(id) != null;
+    }
+
+    /**
+     * 窗口溢出：窗口中最久未访问的条目作为候选者，与主区的淘汰对象比较频率
+     */
+    private void evictFromWindow() {
+        Map.Entry<Object, CacheEntry> candidate = pollEldest(window);
+        if (candidate == null) {
+            return;
+        }
+        if (mainCapacity <= 0) {
+            stats.recordEviction();
+            return;
+        }
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        LinkedHashMap<Object, CacheEntry> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        Object victimKey = victimSegment.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victimKey)) {
+            victimSegment.remove(victimKey);
+            probation.put(candidate.getKey(), candidate.getValue());
+        }
+        stats.recordEviction();
+    }
+
+    /**
+     * 保护段超出容量时，将最久未访问的条目降级到试用段
+     */
+    private void demoteProtected() {
+        while (protectedSegment.size() > protectedCapacity) {
+            Map.Entry<Object, CacheEntry> eldest = pollEldest(protectedSegment);
+            if (eldest == null) {
+                return;
+            }
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static Map.Entry<Object, CacheEntry> pollEldest(LinkedHashMap<Object, CacheEntry> segment) {
+        Iterator<Map.Entry<Object, CacheEntry>> it = segment.entrySet().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        Map.Entry<Object, CacheEntry> eldest = it.next();
+        Map.Entry<Object, CacheEntry> copy = new AbstractMap.SimpleImmutableEntry<>(eldest.getKey(), eldest.getValue());
+        it.remove();
+        return copy;
+    }
+}
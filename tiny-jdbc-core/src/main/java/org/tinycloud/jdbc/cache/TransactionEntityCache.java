@@ -0,0 +1,155 @@
+package org.tinycloud.jdbc.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.tinycloud.jdbc.config.GlobalConfig;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * 事务级一级缓存（identity map），绑定在 Spring 事务同步上
+ * </p>
+ * 同一事务内按主键查询同一实体返回同一个实例；insert、updateById 会更新缓存中的实例，按主键删除时移除，
+ * 条件写入和原生 SQL 写入时清空涉及的表。事务结束（提交或回滚）后整个缓存被丢弃。
+ * 没有活动的事务同步时所有方法直接返回，没有额外开销。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 19:10
+ */
+public final class TransactionEntityCache implements TransactionSynchronization {
+
+    private static final Object RESOURCE_KEY = TransactionEntityCache.class;
+
+    /**
+     * 命名空间（数据源）-> 实体类 -> 主键 -> 实体
+     */
+    private final Map<Object, Map<Class<?>, Map<Object, Object>>> namespaces = new IdentityHashMap<>(4);
+
+    private TransactionEntityCache() {
+    }
+
+    /**
+     * 获取当前事务中实体类的 identity map，未开启一级缓存或没有活动的事务同步时返回 null
+     *
+     * @param namespace   命名空间，一般为数据源
+     * @param entityClass 实体类
+     * @return 主键（已归一化）-> 实体
+     */
+    public static Map<Object, Object> current(Object namespace, Class<?> entityClass) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        TransactionEntityCache cache = (TransactionEntityCache) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (cache == null) {
+            GlobalConfig globalConfig = GlobalConfig.getConfig();
+            if (globalConfig == null || !Boolean.TRUE.equals(globalConfig.getTransactionCacheEnabled())) {
+                return null;
+            }
+            cache = new TransactionEntityCache();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, cache);
+            TransactionSynchronizationManager.registerSynchronization(cache);
+        }
+        return cache.namespaces.computeIfAbsent(namespace, k -> new HashMap<>())
+                .computeIfAbsent(entityClass, k -> new HashMap<>());
+    }
+
+    /**
+     * 写入或合并实体：缓存中已有该主键的实例时，把实体的字段复制到已有实例上，保持实例唯一
+     *
+     * @param identityMap 当前事务中实体类的 identity map
+     * @param id          主键
+     * @param entity      实体
+     * @param ignoreNulls 是否跳过实体中为 null 的字段；为 true 且缓存中没有该实例时不写入，避免缓存不完整的实体
+     */
+    public static void merge(Map<Object, Object> identityMap, Object id, Object entity, boolean ignoreNulls) {
+        if (id == null || entity == null) {
+            return;
+        }
+        Object key = EntityCacheManager.normalizeId(id);
+        Object existing = identityMap.get(key);
+        if (existing != null) {
+            EntityCopier.copyInto(entity, existing, ignoreNulls);
+        } else if (!ignoreNulls) {
+            identityMap.put(key, entity);
+        }
+    }
+
+    /**
+     * 移除给定主键的实体
+     *
+     * @param identityMap 当前事务中实体类的 identity map
+     * @param ids         主键
+     */
+    public static void evict(Map<Object, Object> identityMap, Collection<?> ids) {
+        for (Object id : ids) {
+            identityMap.remove(EntityCacheManager.normalizeId(id));
+        }
+    }
+
+    /**
+     * 清空当前事务中与给定表对应的实体
+     *
+     * @param tables 表名（已归一化）
+     */
+    static void invalidateTables(Set<String> tables) {
+        TransactionEntityCache cache = existing();
+        if (cache == null) {
+            return;
+        }
+        for (Map<Class<?>, Map<Object, Object>> classes : cache.namespaces.values()) {
+            Iterator<Class<?>> it = classes.keySet().iterator();
+            while (it.hasNext()) {
+                if (tables.contains(SqlTables.normalize(TableParserUtils.getTableName(it.next())))) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空当前事务中的全部实体
+     */
+    static void invalidateAll() {
+        TransactionEntityCache cache = existing();
+        if (cache != null) {
+            cache.namespaces.clear();
+        }
+    }
+
+    /**
+     * 当前事务是否已存在一级缓存
+     */
+    static boolean isActive() {
+        return existing() != null;
+    }
+
+    private static TransactionEntityCache existing() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (TransactionEntityCache) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, this);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+        namespaces.clear();
+    }
+}
@@ -0,0 +1,131 @@
+package org.tinycloud.jdbc.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * 记录当前事务中的写操作，事务结束（提交或回滚）后重新分发一次失效
+ * </p>
+ * 写操作发生时立即失效一次，使其他线程无法再读到旧缓存；但在事务提交前其他线程仍可能把已提交的旧数据重新放入缓存，
+ * 因此事务结束后需再失效一次。事务内写过的表，本事务的读取不使用缓存，避免读到或写入未提交的数据。
+ * 事务提交后，写记录还会交给跨节点失效广播器。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 18:30
+ */
+final class TransactionalWrites implements TransactionSynchronization {
+
+    private static final Object RESOURCE_KEY = TransactionalWrites.class;
+
+    /**
+     * 是否存在无法解析表名的写操作
+     */
+    private boolean all;
+
+    /**
+     * 整表写入的表名
+     */
+    private final Set<String> tables = new HashSet<>();
+
+    /**
+     * 按主键写入的表名 -> 主键
+     */
+    private final Map<String, Set<Object>> keys = new HashMap<>();
+
+    private TransactionalWrites() {
+    }
+
+    /**
+     * 获取当前事务的写记录，不存在事务同步时返回 null
+     *
+     * @param create 不存在时是否创建
+     */
+    static TransactionalWrites current(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        TransactionalWrites writes = (TransactionalWrites) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (writes == null && create) {
+            writes = new TransactionalWrites();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, writes);
+            TransactionSynchronizationManager.registerSynchronization(writes);
+        }
+        return writes;
+    }
+
+    void recordAll() {
+        all = true;
+    }
+
+    void recordTables(Set<String> written) {
+        tables.addAll(written);
+    }
+
+    void recordKeys(String table, Collection<?> ids) {
+        Set<Object> set = keys.computeIfAbsent(table, k -> new HashSet<>());
+        for (Object id : ids) {
+            set.add(EntityCacheManager.normalizeId(id));
+        }
+    }
+
+    /**
+     * 给定表在本事务中是否被写入过（包括按主键写入）
+     */
+    boolean isWritten(Set<String> read) {
+        if (all) {
+            return true;
+        }
+        for (String table : read) {
+            if (tables.contains(table) || keys.containsKey(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 给定主键的行在本事务中是否可能被写入过
+     */
+    boolean isWritten(String table, Object id) {
+        if (all || tables.contains(table)) {
+            return true;
+        }
+        Set<Object> ids = keys.get(table);
+        return ids != null && ids.contains(EntityCacheManager.normalizeId(id));
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, this);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+        if (status == STATUS_COMMITTED) {
+            CacheInvalidator.publishCommitted(all, tables, keys);
+        }
+        if (all) {
+            CacheInvalidator.dispatchAll();
+            return;
+        }
+        if (!tables.isEmpty()) {
+            CacheInvalidator.dispatchTables(tables);
+        }
+        for (Map.Entry<String, Set<Object>> entry : keys.entrySet()) {
+            CacheInvalidator.dispatchKeys(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package org.tinycloud.jdbc.config;
 
+import org.tinycloud.jdbc.cache.BloomIndexManager;
+import org.tinycloud.jdbc.cache.EntityCacheManager;
+import org.tinycloud.jdbc.cache.PageCountCache;
+import org.tinycloud.jdbc.cache.QueryResultCache;
+import org.tinycloud.jdbc.cache.ReferenceTableManager;
 import org.tinycloud.jdbc.fill.MetaObjectHandler;
 import org.tinycloud.jdbc.id.IdGeneratorInterface;
 import org.tinycloud.jdbc.id.SnowflakeConfigInterface;
+import org.tinycloud.jdbc.inlist.InListStrategySelector;
+import org.tinycloud.jdbc.interceptor.SqlRewriteCache;
 import org.tinycloud.jdbc.util.DbType;
 
 import java.io.Serializable;
@@ -59,6 +66,51 @@ public class GlobalConfig implements Serializable {
      */
     private MetaObjectHandler metaObjectHandler;
 
+    /**
+     * 分页总数缓存，为 null 时不缓存
+     */
+    private transient PageCountCache pageCountCache;
+
+    /**
+     * 并行扫描（parallelScan）同时占用的最大连接数，默认值为 4，也是所有 Dao 共用的并行扫描线程池的线程数
+     */
+    private Integer parallelScanMaxConnections = 4;
+
+    /**
+     * 实体二级缓存（按主键），为 null 时不缓存
+     */
+    private transient EntityCacheManager entityCacheManager;
+
+    /**
+     * 查询结果缓存，为 null 时不缓存
+     */
+    private transient QueryResultCache queryResultCache;
+
+    /**
+     * 是否开启事务级一级缓存，默认值为 false
+     */
+    private Boolean transactionCacheEnabled = false;
+
+    /**
+     * 存在性索引（布隆过滤器）管理器，为 null 时不使用
+     */
+    private transient BloomIndexManager bloomIndexManager;
+
+    /**
+     * 全量缓存表管理器，为 null 时不使用
+     */
+    private transient ReferenceTableManager referenceTableManager;
+
+    /**
+     * IN 条件执行策略选择，为 null 时（默认）IN 列表始终逐个展开，如 new DefaultInListStrategySelector(100, 10000)
+     */
+    private transient InListStrategySelector inListStrategySelector;
+
+    /**
+     * SQL 改写结果缓存，所有 SqlRewriteInterceptor 共用，为 null 时每次执行都重新改写
+     */
+    private transient SqlRewriteCache sqlRewriteCache = new SqlRewriteCache(1024);
+
     public boolean isBanner() {
         return banner;
     }
@@ -123,6 +175,78 @@ public class GlobalConfig implements Serializable {
         this.metaObjectHandler = metaObjectHandler;
     }
 
+    public PageCountCache getPageCountCache() {
+        return pageCountCache;
+    }
+
+    public void setPageCountCache(PageCountCache pageCountCache) {
+        this.pageCountCache = pageCountCache;
+    }
+
+    public EntityCacheManager getEntityCacheManager() {
+        return entityCacheManager;
+    }
+
+    public void setEntityCacheManager(EntityCacheManager entityCacheManager) {
+        this.entityCacheManager = entityCacheManager;
+    }
+
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    public Boolean getTransactionCacheEnabled() {
+        return transactionCacheEnabled;
+    }
+
+    public void setTransactionCacheEnabled(Boolean transactionCacheEnabled) {
+        this.transactionCacheEnabled = transactionCacheEnabled;
+    }
+
+    public BloomIndexManager getBloomIndexManager() {
+        return bloomIndexManager;
+    }
+
+    public void setBloomIndexManager(BloomIndexManager bloomIndexManager) {
+        this.bloomIndexManager = bloomIndexManager;
+    }
+
+    public ReferenceTableManager getReferenceTableManager() {
+        return referenceTableManager;
+    }
+
+    public void setReferenceTableManager(ReferenceTableManager referenceTableManager) {
+        this.referenceTableManager = referenceTableManager;
+    }
+
+    public InListStrategySelector getInListStrategySelector() {
+        return inListStrategySelector;
+    }
+
+    public void setInListStrategySelector(InListStrategySelector inListStrategySelector) {
+        this.inListStrategySelector = inListStrategySelector;
+    }
+
+    public SqlRewriteCache getSqlRewriteCache() {
+        return sqlRewriteCache;
+    }
+
+    public void setSqlRewriteCache(SqlRewriteCache sqlRewriteCache) {
+        this.sqlRewriteCache = sqlRewriteCache;
+    }
+
+    public Integer getParallelScanMaxConnections() {
+        return parallelScanMaxConnections;
+    }
+
+    public void setParallelScanMaxConnections(Integer parallelScanMaxConnections) {
+        this.parallelScanMaxConnections = parallelScanMaxConnections;
+    }
+
     /**
      * 缓存全局配置信息
      */
@@ -1,11 +1,17 @@
 package org.tinycloud.jdbc.criteria;
 
+import org.tinycloud.jdbc.criteria.predicate.BetweenPredicate;
+import org.tinycloud.jdbc.criteria.predicate.ComparePredicate;
+import org.tinycloud.jdbc.criteria.predicate.GroupPredicate;
+import org.tinycloud.jdbc.criteria.predicate.InPredicate;
+import org.tinycloud.jdbc.criteria.predicate.NullPredicate;
+import org.tinycloud.jdbc.criteria.predicate.PredicateNode;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.sql.enums.JoinType;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * <p>
@@ -23,15 +29,28 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
      */
     protected final Children typedThis = (Children) this;
 
+    /**
+     * 构造方法
+     */
+    public AbstractCriteria() {
+        super();
+    }
+
+    /**
+     * 构造方法，直接使用给定的各部分
+     */
+    protected AbstractCriteria(List<String> selectFields, List<PredicateNode> predicates,
+                               Map<String, Object> updateValues, List<String> orderBys, List<String> lastSqls) {
+        super(selectFields, predicates, updateValues, orderBys, lastSqls);
+    }
+
     public <R> Children lt(String field, R value) {
         return this.lt(true, field, value);
     }
 
     public <R> Children lt(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " < ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(field, "<", value, this.nextJoinType()));
         });
     }
 
@@ -41,9 +60,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children lte(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " <= ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(field, "<=", value, this.nextJoinType()));
         });
     }
 
@@ -53,9 +70,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children gt(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " > ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(field, ">", value, this.nextJoinType()));
         });
     }
 
@@ -65,9 +80,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children gte(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " >= ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(field, ">=", value, this.nextJoinType()));
         });
     }
 
@@ -77,9 +90,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children eq(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " = ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(field, "=", value, this.nextJoinType()));
         });
     }
 
@@ -89,9 +100,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children notEq(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " <> ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(field, "<>", value, this.nextJoinType()));
         });
     }
 
@@ -101,8 +110,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children isNull(boolean whether, String field) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " IS NULL";
-            this.conditions.add(condition);
+            this.addPredicate(new NullPredicate(field, false, this.nextJoinType()));
         });
     }
 
@@ -112,8 +120,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children isNotNull(boolean whether, String field) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " IS NOT NULL";
-            this.conditions.add(condition);
+            this.addPredicate(new NullPredicate(field, true, this.nextJoinType()));
         });
     }
 
@@ -124,14 +131,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
     public <R> Children in(boolean whether, String field, List<R> values) {
         return this.whetherDo(whether, () -> {
             this.validateInValues(field, values);
-            StringBuilder condition = new StringBuilder();
-            condition.append(getConditionPrefix())
-                    .append(field)
-                    .append(" IN (")
-                    .append(IntStream.range(0, values.size()).mapToObj(i -> "?").collect(Collectors.joining(", ")))
-                    .append(")");
-            this.conditions.add(condition.toString());
-            this.whereParameters.addAll(values);
+            this.addPredicate(new InPredicate(field, values, false, this.nextJoinType()));
         });
     }
 
@@ -142,14 +142,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
     public <R> Children notIn(boolean whether, String field, List<R> values) {
         return this.whetherDo(whether, () -> {
             this.validateInValues(field, values);
-            StringBuilder condition = new StringBuilder();
-            condition.append(getConditionPrefix())
-                    .append(field)
-                    .append(" NOT IN (")
-                    .append(IntStream.range(0, values.size()).mapToObj(i -> "?").collect(Collectors.joining(", ")))
-                    .append(")");
-            this.conditions.add(condition.toString());
-            this.whereParameters.addAll(values);
+            this.addPredicate(new InPredicate(field, values, true, this.nextJoinType()));
         });
     }
 
@@ -159,9 +152,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children like(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value + "%");
+            this.addPredicate(new ComparePredicate(field, "LIKE", "%" + value + "%", this.nextJoinType()));
         });
     }
 
@@ -171,9 +162,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children notLike(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " NOT LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value + "%");
+            this.addPredicate(new ComparePredicate(field, "NOT LIKE", "%" + value + "%", this.nextJoinType()));
         });
     }
 
@@ -183,9 +172,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children leftLike(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value);
+            this.addPredicate(new ComparePredicate(field, "LIKE", "%" + value, this.nextJoinType()));
         });
     }
 
@@ -195,9 +182,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children notLeftLike(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " NOT LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value);
+            this.addPredicate(new ComparePredicate(field, "NOT LIKE", "%" + value, this.nextJoinType()));
         });
     }
 
@@ -207,9 +192,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children rightLike(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value + "%");
+            this.addPredicate(new ComparePredicate(field, "LIKE", value + "%", this.nextJoinType()));
         });
     }
 
@@ -219,9 +202,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children notRightLike(boolean whether, String field, R value) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + field + " NOT LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value + "%");
+            this.addPredicate(new ComparePredicate(field, "NOT LIKE", value + "%", this.nextJoinType()));
         });
     }
 
@@ -231,10 +212,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children between(boolean whether, String field, R start, R end) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + "(" + field + " BETWEEN ? AND ?)";
-            this.conditions.add(condition);
-            this.whereParameters.add(start);
-            this.whereParameters.add(end);
+            this.addPredicate(new BetweenPredicate(field, start, end, false, this.nextJoinType()));
         });
     }
 
@@ -244,10 +222,7 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
 
     public <R> Children notBetween(boolean whether, String field, R start, R end) {
         return this.whetherDo(whether, () -> {
-            String condition = this.getConditionPrefix() + "(" + field + " NOT BETWEEN ? AND ?)";
-            this.conditions.add(condition);
-            this.whereParameters.add(start);
-            this.whereParameters.add(end);
+            this.addPredicate(new BetweenPredicate(field, start, end, true, this.nextJoinType()));
         });
     }
 
@@ -264,13 +239,10 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
         return this.whetherDo(whether, () -> {
             final Children instance = this.instance();
             consumer.accept(instance);
-            String nestedCondition = instance.children();
-            if (nestedCondition.isEmpty()) {
+            if (instance.predicates.isEmpty()) {
                 return;
             }
-            String condition = " AND " + nestedCondition;
-            this.conditions.add(condition);
-            this.whereParameters.addAll(instance.whereParameters);
+            this.addPredicate(new GroupPredicate(instance.predicates, JoinType.AND));
         });
     }
 
@@ -287,13 +259,10 @@ public abstract class AbstractCriteria<T, Children extends AbstractCriteria<T, C
         return this.whetherDo(whether, () -> {
             final Children instance = this.instance();
             consumer.accept(instance);
-            String nestedCondition = instance.children();
-            if (nestedCondition.isEmpty()) {
+            if (instance.predicates.isEmpty()) {
                 return;
             }
-            String condition = " OR " + nestedCondition;
-            this.conditions.add(condition);
-            this.whereParameters.addAll(instance.whereParameters);
+            this.addPredicate(new GroupPredicate(instance.predicates, JoinType.OR));
         });
     }
 
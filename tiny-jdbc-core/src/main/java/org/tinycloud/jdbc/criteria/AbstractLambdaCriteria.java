@@ -1,8 +1,13 @@
 package org.tinycloud.jdbc.criteria;
 
+import org.tinycloud.jdbc.criteria.predicate.BetweenPredicate;
+import org.tinycloud.jdbc.criteria.predicate.ComparePredicate;
+import org.tinycloud.jdbc.criteria.predicate.GroupPredicate;
+import org.tinycloud.jdbc.criteria.predicate.InPredicate;
+import org.tinycloud.jdbc.criteria.predicate.NullPredicate;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.sql.enums.JoinType;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -29,10 +34,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children lt(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            // 替换硬编码AND，复用父类前缀方法
-            String condition = this.getConditionPrefix() + columnName + " < ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(columnName, "<", value, this.nextJoinType()));
         });
     }
 
@@ -43,9 +45,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children lte(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " <= ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(columnName, "<=", value, this.nextJoinType()));
         });
     }
 
@@ -56,9 +56,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children gt(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " > ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(columnName, ">", value, this.nextJoinType()));
         });
     }
 
@@ -69,9 +67,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children gte(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " >= ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(columnName, ">=", value, this.nextJoinType()));
         });
     }
 
@@ -82,9 +78,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children eq(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " = ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(columnName, "=", value, this.nextJoinType()));
         });
     }
 
@@ -95,9 +89,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children notEq(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " <> ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value);
+            this.addPredicate(new ComparePredicate(columnName, "<>", value, this.nextJoinType()));
         });
     }
 
@@ -108,8 +100,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children isNull(boolean whether, TypeFunction<T, ?> field) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " IS NULL";
-            this.conditions.add(condition);
+            this.addPredicate(new NullPredicate(columnName, false, this.nextJoinType()));
         });
     }
 
@@ -120,8 +111,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children isNotNull(boolean whether, TypeFunction<T, ?> field) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " IS NOT NULL";
-            this.conditions.add(condition);
+            this.addPredicate(new NullPredicate(columnName, true, this.nextJoinType()));
         });
     }
 
@@ -133,14 +123,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
             this.validateInValues(columnName, values);
-            StringBuilder condition = new StringBuilder();
-            condition.append(this.getConditionPrefix())
-                    .append(columnName)
-                    .append(" IN (")
-                    .append(String.join(", ", Collections.nCopies(values.size(), "?")))
-                    .append(")");
-            this.conditions.add(condition.toString());
-            this.whereParameters.addAll(values);
+            this.addPredicate(new InPredicate(columnName, values, false, this.nextJoinType()));
         });
     }
 
@@ -152,14 +135,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
             this.validateInValues(columnName, values);
-            StringBuilder condition = new StringBuilder();
-            condition.append(this.getConditionPrefix())
-                    .append(columnName)
-                    .append(" NOT IN (")
-                    .append(String.join(", ", Collections.nCopies(values.size(), "?")))
-                    .append(")");
-            this.conditions.add(condition.toString());
-            this.whereParameters.addAll(values);
+            this.addPredicate(new InPredicate(columnName, values, true, this.nextJoinType()));
         });
     }
 
@@ -170,9 +146,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children like(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value + "%");
+            this.addPredicate(new ComparePredicate(columnName, "LIKE", "%" + value + "%", this.nextJoinType()));
         });
     }
 
@@ -183,9 +157,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children notLike(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " NOT LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value + "%");
+            this.addPredicate(new ComparePredicate(columnName, "NOT LIKE", "%" + value + "%", this.nextJoinType()));
         });
     }
 
@@ -196,9 +168,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children leftLike(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value);
+            this.addPredicate(new ComparePredicate(columnName, "LIKE", "%" + value, this.nextJoinType()));
         });
     }
 
@@ -209,9 +179,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children notLeftLike(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " NOT LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add("%" + value);
+            this.addPredicate(new ComparePredicate(columnName, "NOT LIKE", "%" + value, this.nextJoinType()));
         });
     }
 
@@ -222,9 +190,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children rightLike(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value + "%");
+            this.addPredicate(new ComparePredicate(columnName, "LIKE", value + "%", this.nextJoinType()));
         });
     }
 
@@ -235,9 +201,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children notRightLike(boolean whether, TypeFunction<T, ?> field, R value) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + columnName + " NOT LIKE ?";
-            this.conditions.add(condition);
-            this.whereParameters.add(value + "%");
+            this.addPredicate(new ComparePredicate(columnName, "NOT LIKE", value + "%", this.nextJoinType()));
         });
     }
 
@@ -248,10 +212,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children between(boolean whether, TypeFunction<T, ?> field, R start, R end) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + "(" + columnName + " BETWEEN ? AND ?)";
-            this.conditions.add(condition);
-            this.whereParameters.add(start);
-            this.whereParameters.add(end);
+            this.addPredicate(new BetweenPredicate(columnName, start, end, false, this.nextJoinType()));
         });
     }
 
@@ -262,10 +223,7 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
     public <R> Children notBetween(boolean whether, TypeFunction<T, ?> field, R start, R end) {
         return this.whetherDo(whether, () -> {
             String columnName = this.getColumnName(field);
-            String condition = this.getConditionPrefix() + "(" + columnName + " NOT BETWEEN ? AND ?)";
-            this.conditions.add(condition);
-            this.whereParameters.add(start);
-            this.whereParameters.add(end);
+            this.addPredicate(new BetweenPredicate(columnName, start, end, true, this.nextJoinType()));
         });
     }
 
@@ -282,13 +240,10 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
         return this.whetherDo(whether, () -> {
             final Children instance = this.instance();
             consumer.accept(instance);
-            String nestedCondition = instance.children();
-            if (nestedCondition.isEmpty()) {
+            if (instance.predicates.isEmpty()) {
                 return;
             }
-            String condition = " AND " + nestedCondition;
-            this.conditions.add(condition);
-            this.whereParameters.addAll(instance.whereParameters);
+            this.addPredicate(new GroupPredicate(instance.predicates, JoinType.AND));
         });
     }
 
@@ -305,13 +260,10 @@ public abstract class AbstractLambdaCriteria<T, Children extends AbstractLambdaC
         return this.whetherDo(whether, () -> {
             final Children instance = this.instance();
             consumer.accept(instance);
-            String nestedCondition = instance.children();
-            if (nestedCondition.isEmpty()) {
+            if (instance.predicates.isEmpty()) {
                 return;
             }
-            String condition = " OR " + nestedCondition;
-            this.conditions.add(condition);
-            this.whereParameters.addAll(instance.whereParameters);
+            this.addPredicate(new GroupPredicate(instance.predicates, JoinType.OR));
         });
     }
 
@@ -1,9 +1,14 @@
 package org.tinycloud.jdbc.criteria;
 
+import org.tinycloud.jdbc.criteria.predicate.ComparePredicate;
+import org.tinycloud.jdbc.criteria.predicate.PredicateNode;
+import org.tinycloud.jdbc.criteria.predicate.Predicates;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.sql.enums.JoinType;
 import org.tinycloud.jdbc.util.LambdaUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,14 +32,9 @@ public abstract class Criteria<T> {
     protected final List<String> selectFields;
 
     /**
-     * 查询条件-键
+     * 查询条件（谓词树，每个节点记录与前一个节点的连接方式）
      */
-    protected final List<String> conditions;
-
-    /**
-     * 查询条件-值
-     */
-    protected final List<Object> whereParameters;
+    protected final List<PredicateNode> predicates;
 
     /**
      * 更新字段和值（按插入顺序保存，重复字段会被覆盖）
@@ -51,6 +51,15 @@ public abstract class Criteria<T> {
      */
     protected final List<String> lastSqls;
 
+    /**
+     * 规范化后的查询条件，以及渲染结果的缓存，查询条件变化时失效
+     */
+    private List<PredicateNode> normalizedPredicates;
+
+    private String renderedConditions;
+
+    private List<Object> renderedParameters;
+
     /**
      * 构造方法
      */
@@ -58,21 +67,69 @@ public abstract class Criteria<T> {
         this.nextIsOr = false;
         this.updateValues = new LinkedHashMap<>();
         this.selectFields = new ArrayList<>();
-        this.conditions = new ArrayList<>();
+        this.predicates = new ArrayList<>();
         this.orderBys = new ArrayList<>();
-        this.whereParameters = new ArrayList<>();
         this.lastSqls = new ArrayList<>();
     }
 
     /**
-     * 获取条件前缀（根据 isNextOr 决定是 AND 还是 OR）
-     * 执行后重置 isNextOr 为 false，避免影响后续条件
+     * 构造方法，直接使用给定的各部分（供预编译条件构造器绑定参数时复用模板的只读片段）
      */
-    public String getConditionPrefix() {
-        String prefix = this.nextIsOr ? " OR " : " AND ";
+    protected Criteria(List<String> selectFields, List<PredicateNode> predicates,
+                       Map<String, Object> updateValues, List<String> orderBys, List<String> lastSqls) {
+        this.nextIsOr = false;
+        this.selectFields = selectFields;
+        this.predicates = predicates;
+        this.updateValues = updateValues;
+        this.orderBys = orderBys;
+        this.lastSqls = lastSqls;
+    }
+
+    /**
+     * 获取下一个条件的连接方式（根据 nextIsOr 决定是 AND 还是 OR）
+     * 执行后重置 nextIsOr 为 false，避免影响后续条件
+     */
+    protected JoinType nextJoinType() {
+        JoinType joinType = this.nextIsOr ? JoinType.OR : JoinType.AND;
         // 重置状态，确保下一个条件默认用 AND
         this.nextIsOr = false;
-        return prefix;
+        return joinType;
+    }
+
+    /**
+     * 追加一个查询条件
+     *
+     * @param predicate 谓词节点
+     */
+    protected void addPredicate(PredicateNode predicate) {
+        this.predicates.add(predicate);
+        this.renderedConditions = null;
+    }
+
+    /**
+     * 规范化并渲染查询条件，结果缓存到查询条件变化为止
+     */
+    private void render() {
+        if (this.renderedConditions != null) {
+            return;
+        }
+        List<PredicateNode> normalized = Predicates.normalize(this.predicates);
+        StringBuilder sql = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+        Predicates.render(normalized, sql, parameters);
+        this.normalizedPredicates = normalized;
+        this.renderedParameters = Collections.unmodifiableList(parameters);
+        this.renderedConditions = sql.toString();
+    }
+
+    /**
+     * 获取查询条件的参数值（规范化后，按占位符顺序，只读）
+     *
+     * @return 参数列表
+     */
+    public List<Object> getWhereParameters() {
+        this.render();
+        return this.renderedParameters;
     }
 
     /**
@@ -87,7 +144,7 @@ public abstract class Criteria<T> {
                 parameters.add(updateValue);
             }
         }
-        parameters.addAll(this.whereParameters);
+        parameters.addAll(this.getWhereParameters());
         return parameters;
     }
 
@@ -180,21 +237,10 @@ public abstract class Criteria<T> {
      * @return 条件SQL片段
      */
     public String whereSql() {
+        this.render();
         StringBuilder sql = new StringBuilder();
-        if (!this.conditions.isEmpty()) {
-            sql.append(" WHERE ");
-            for (int i = 0; i < this.conditions.size(); i++) {
-                String condition = this.conditions.get(i);
-                if (i == 0) {
-                    if (condition.startsWith(" OR ")) {
-                        throw new TinyJdbcException("Criteria can not start with a function OR!");
-                    }
-                    if (condition.startsWith(" AND ")) {
-                        condition = condition.substring(5);
-                    }
-                }
-                sql.append(condition);
-            }
+        if (!this.renderedConditions.isEmpty()) {
+            sql.append(" WHERE ").append(this.renderedConditions);
         }
         if (!this.orderBys.isEmpty()) {
             sql.append(" ORDER BY ").append(String.join(",", this.orderBys));
@@ -205,30 +251,48 @@ public abstract class Criteria<T> {
         return sql.toString();
     }
 
+    /**
+     * 是否为不带任何查询字段、条件、排序和 last 片段的空条件（即查询整张表的全部字段）
+     */
+    public boolean isEmpty() {
+        return this.selectFields.isEmpty() && this.predicates.isEmpty() && this.orderBys.isEmpty() && this.lastSqls.isEmpty();
+    }
+
+    /**
+     * 条件只有一个等值条件（如 WHERE id = ?）时，返回该条件的字段名
+     *
+     * @return 数据库字段名，条件不是仅有一个等值条件时返回 null
+     */
+    public String getSoleEqualsColumn() {
+        if (!this.lastSqls.isEmpty()) {
+            return null;
+        }
+        this.render();
+        if (this.normalizedPredicates.size() != 1 || !(this.normalizedPredicates.get(0) instanceof ComparePredicate)) {
+            return null;
+        }
+        ComparePredicate predicate = (ComparePredicate) this.normalizedPredicates.get(0);
+        return "=".equals(predicate.getOperator()) && predicate.getColumn().indexOf(' ') < 0 ? predicate.getColumn() : null;
+    }
+
+    /**
+     * 条件只有指定字段的一个等值条件（如 WHERE id = ?）时，返回该条件的值
+     *
+     * @param column 数据库字段名
+     * @return 条件值，条件不是仅有该字段的一个等值条件时返回 null
+     */
+    public Object getSoleEqualsValue(String column) {
+        return column != null && column.equals(this.getSoleEqualsColumn()) ? this.getWhereParameters().get(0) : null;
+    }
+
     /**
      * 用于构造子条件SQL片段的生成
      *
      * @return 子条件SQL片段
      */
     public String children() {
-        StringBuilder sql = new StringBuilder();
-        if (!this.conditions.isEmpty()) {
-            sql.append("(");
-            for (int i = 0; i < this.conditions.size(); i++) {
-                String condition = this.conditions.get(i);
-                if (i == 0) {
-                    if (condition.startsWith(" OR ")) {
-                        throw new TinyJdbcException("Criteria can not start with a function OR!");
-                    }
-                    if (condition.startsWith(" AND ")) {
-                        condition = condition.substring(5);
-                    }
-                }
-                sql.append(condition);
-            }
-            sql.append(")");
-        }
-        return sql.toString();
+        this.render();
+        return this.renderedConditions.isEmpty() ? "" : "(" + this.renderedConditions + ")";
     }
 
 
@@ -0,0 +1,350 @@
+package org.tinycloud.jdbc.criteria;
+
+import org.tinycloud.jdbc.criteria.predicate.PredicateNode;
+import org.tinycloud.jdbc.criteria.query.QueryCriteria;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.tuple.Pair;
+import org.tinycloud.jdbc.util.StrUtils;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 预编译条件构造器，由一个带参数占位的查询条件模板构建一次，之后每次调用只需绑定参数
+ * </p>
+ * 模板中的条件值使用 {@link #param(int)}（按位置）或 {@link #param(String)}（按名称）占位，二者不能混用；
+ * 其余条件值作为常量保留。构建时渲染一次 SELECT 字段与 WHERE 片段，完整 SQL 按实体类缓存；
+ * 绑定时只复制一份参数数组，返回的条件对象可直接传给 DAO 的 select、selectOne、paginate、selectCount、exists 等方法。
+ * 分页 SQL 由分页方言在完整 SQL 之后追加，因此缓存的 SQL 与方言无关。like 系列条件同样支持占位，绑定时补上前后的 %。
+ * <pre>
+ * PreparedCriteria&lt;User&gt; byStatus = PreparedCriteria.of(new LambdaQueryCriteria&lt;User&gt;()
+ *         .eq(User::getStatus, PreparedCriteria.param("status"))
+ *         .like(User::getName, PreparedCriteria.param("name")));
+ * List&lt;User&gt; users = userDao.select(byStatus.bind(1, "tom"));
+ * </pre>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 23:45
+ */
+public final class PreparedCriteria<T> {
+
+    /**
+     * 占位标记的分隔符，占位对象被拼接进字符串（如 like 条件）时以此识别
+     */
+    private static final char MARK = '\u0000';
+
+    private final List<String> selectFields;
+
+    private final List<PredicateNode> predicates;
+
+    private final List<String> orderBys;
+
+    private final List<String> lastSqls;
+
+    private final String selectSql;
+
+    private final String whereSql;
+
+    /**
+     * 模板参数，占位位置为 null
+     */
+    private final Object[] constants;
+
+    /**
+     * 占位所在的参数位置
+     */
+    private final int[] slotPositions;
+
+    /**
+     * 占位对应的绑定参数序号
+     */
+    private final int[] slotArgs;
+
+    /**
+     * 占位前后拼接的字符串（like 条件），不需要拼接时为 null
+     */
+    private final String[] slotPrefixes;
+
+    private final String[] slotSuffixes;
+
+    /**
+     * 占位名称 -> 绑定参数序号（按名称占位时）
+     */
+    private final Map<String, Integer> names;
+
+    private final int argCount;
+
+    private final Map<Class<?>, String> selectSqlCache = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, String> countSqlCache = new ConcurrentHashMap<>();
+
+    private PreparedCriteria(Criteria<T> template) {
+        if (!template.updateValues.isEmpty()) {
+            throw new TinyJdbcException("PreparedCriteria only supports query criteria!");
+        }
+        this.selectFields = Collections.unmodifiableList(new ArrayList<>(template.selectFields));
+        this.predicates = Collections.unmodifiableList(new ArrayList<>(template.predicates));
+        this.orderBys = Collections.unmodifiableList(new ArrayList<>(template.orderBys));
+        this.lastSqls = Collections.unmodifiableList(new ArrayList<>(template.lastSqls));
+        this.selectSql = template.selectSql();
+        this.whereSql = template.whereSql();
+
+        List<Object> parameters = template.getWhereParameters();
+        this.constants = new Object[parameters.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        List<String> suffixes = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            String text = value instanceof Slot || value instanceof String ? value.toString() : null;
+            int start = text == null ? -1 : text.indexOf(MARK);
+            int end = start < 0 ? -1 : text.indexOf(MARK, start + 1);
+            if (end < 0) {
+                this.constants[i] = value;
+                continue;
+            }
+            positions.add(i);
+            keys.add(text.substring(start + 1, end));
+            prefixes.add(value instanceof Slot || start == 0 ? null : text.substring(0, start));
+            suffixes.add(value instanceof Slot || end == text.length() - 1 ? null : text.substring(end + 1));
+        }
+
+        this.slotPositions = new int[positions.size()];
+        this.slotArgs = new int[positions.size()];
+        this.slotPrefixes = prefixes.toArray(new String[0]);
+        this.slotSuffixes = suffixes.toArray(new String[0]);
+        Map<String, Integer> named = new LinkedHashMap<>();
+        int maxIndex = -1;
+        for (int i = 0; i < positions.size(); i++) {
+            String key = keys.get(i);
+            this.slotPositions[i] = positions.get(i);
+            if (key.startsWith("#")) {
+                this.slotArgs[i] = Integer.parseInt(key.substring(1));
+                maxIndex = Math.max(maxIndex, this.slotArgs[i]);
+            } else {
+                this.slotArgs[i] = named.computeIfAbsent(key, k -> named.size());
+            }
+        }
+        if (maxIndex >= 0 && !named.isEmpty()) {
+            throw new TinyJdbcException("PreparedCriteria can not mix positional and named parameters!");
+        }
+        if (maxIndex >= 0) {
+            boolean[] used = new boolean[maxIndex + 1];
+            for (int index : this.slotArgs) {
+                used[index] = true;
+            }
+            for (int i = 0; i < used.length; i++) {
+                if (!used[i]) {
+                    throw new TinyJdbcException("PreparedCriteria positional parameter " + i + " is missing!");
+                }
+            }
+        }
+        this.names = Collections.unmodifiableMap(named);
+        this.argCount = named.isEmpty() ? maxIndex + 1 : named.size();
+    }
+
+    /**
+     * 按位置占位，绑定时取第 index 个参数（从 0 开始）
+     *
+     * @param index 参数位置
+     * @return 占位对象
+     */
+    public static Slot param(int index) {
+        if (index < 0) {
+            throw new TinyJdbcException("PreparedCriteria parameter index cannot be negative!");
+        }
+        return new Slot("#" + index);
+    }
+
+    /**
+     * 按名称占位，同名占位绑定同一个值
+     *
+     * @param name 参数名称
+     * @return 占位对象
+     */
+    public static Slot param(String name) {
+        if (StrUtils.isEmpty(name) || name.startsWith("#") || name.indexOf(MARK) >= 0) {
+            throw new TinyJdbcException("PreparedCriteria parameter name is illegal: " + name);
+        }
+        return new Slot(name);
+    }
+
+    /**
+     * 由查询条件模板构建预编译条件，模板在构建后可以继续修改或丢弃，不影响预编译结果
+     *
+     * @param template 查询条件模板（QueryCriteria 或 LambdaQueryCriteria）
+     * @return 预编译条件
+     */
+    public static <T> PreparedCriteria<T> of(Criteria<T> template) {
+        if (template == null) {
+            throw new TinyJdbcException("PreparedCriteria template cannot be null!");
+        }
+        return new PreparedCriteria<>(template);
+    }
+
+    /**
+     * 按位置绑定参数；按名称占位时，按名称在模板中首次出现的顺序绑定
+     *
+     * @param args 参数值
+     * @return 绑定后的查询条件
+     */
+    public Bound<T> bind(Object... args) {
+        int length = args == null ? 0 : args.length;
+        if (length != argCount) {
+            throw new TinyJdbcException("PreparedCriteria expects " + argCount + " parameters, but got " + length);
+        }
+        Object[] values = this.constants.clone();
+        for (int i = 0; i < slotPositions.length; i++) {
+            values[slotPositions[i]] = this.wrap(i, args[slotArgs[i]]);
+        }
+        return new Bound<>(this, values);
+    }
+
+    /**
+     * 按名称绑定参数
+     *
+     * @param args 参数名称 -> 参数值
+     * @return 绑定后的查询条件
+     */
+    public Bound<T> bind(Map<String, ?> args) {
+        if (slotPositions.length > 0 && names.isEmpty()) {
+            throw new TinyJdbcException("PreparedCriteria uses positional parameters, please bind by position!");
+        }
+        Object[] ordered = new Object[names.size()];
+        for (Map.Entry<String, Integer> entry : names.entrySet()) {
+            if (args == null || !args.containsKey(entry.getKey())) {
+                throw new TinyJdbcException("PreparedCriteria parameter " + entry.getKey() + " is missing!");
+            }
+            ordered[entry.getValue()] = args.get(entry.getKey());
+        }
+        return this.bind(ordered);
+    }
+
+    /**
+     * 需要绑定的参数个数
+     */
+    public int getParameterCount() {
+        return argCount;
+    }
+
+    /**
+     * 参数名称，按在模板中首次出现的顺序；按位置占位时为空
+     */
+    public List<String> getParameterNames() {
+        return new ArrayList<>(names.keySet());
+    }
+
+    /**
+     * 预编译的完整查询 SQL
+     *
+     * @param entityClass 实体类
+     * @return 查询 SQL
+     */
+    public String getSelectSql(Class<?> entityClass) {
+        return ConcurrentHashMapUtils.computeIfAbsent(selectSqlCache, entityClass, clazz -> {
+            String tableColumn = selectSql;
+            if (StrUtils.isEmpty(tableColumn)) {
+                Pair<List<String>, String> pair = TableParserUtils.getTableColumn(clazz);
+                tableColumn = String.join(",", pair.getLeft());
+            }
+            return "SELECT " + tableColumn + " FROM " + TableParserUtils.getTableName(clazz) + whereSql;
+        });
+    }
+
+    /**
+     * 预编译的查询数量 SQL
+     *
+     * @param entityClass 实体类
+     * @return 查询数量 SQL
+     */
+    public String getCountSql(Class<?> entityClass) {
+        return ConcurrentHashMapUtils.computeIfAbsent(countSqlCache, entityClass,
+                clazz -> "SELECT COUNT(*) FROM " + TableParserUtils.getTableName(clazz) + whereSql);
+    }
+
+    private Object wrap(int slot, Object arg) {
+        String prefix = slotPrefixes[slot];
+        String suffix = slotSuffixes[slot];
+        if (prefix == null && suffix == null) {
+            return arg;
+        }
+        return (prefix == null ? "" : prefix) + arg + (suffix == null ? "" : suffix);
+    }
+
+    /**
+     * 参数占位对象，只能作为条件值使用
+     */
+    public static final class Slot {
+        private final String text;
+
+        private Slot(String key) {
+            this.text = MARK + key + MARK;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Slot && text.equals(((Slot) o).text));
+        }
+
+        @Override
+        public int hashCode() {
+            return text.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * 绑定参数后的查询条件，复用预编译条件的只读片段，不可再追加条件
+     */
+    public static final class Bound<T> extends QueryCriteria<T> {
+        private final PreparedCriteria<T> prepared;
+
+        private final List<Object> values;
+
+        private Bound(PreparedCriteria<T> prepared, Object[] values) {
+            super(prepared.selectFields, prepared.predicates, Collections.emptyMap(), prepared.orderBys, prepared.lastSqls);
+            this.prepared = prepared;
+            this.values = Collections.unmodifiableList(Arrays.asList(values));
+        }
+
+        /**
+         * 所属的预编译条件
+         */
+        public PreparedCriteria<T> getPrepared() {
+            return prepared;
+        }
+
+        @Override
+        public List<Object> getWhereParameters() {
+            return this.values;
+        }
+
+        @Override
+        public List<Object> getParameters() {
+            return this.values;
+        }
+
+        @Override
+        public String selectSql() {
+            return prepared.selectSql;
+        }
+
+        @Override
+        public String whereSql() {
+            return prepared.whereSql;
+        }
+    }
+}
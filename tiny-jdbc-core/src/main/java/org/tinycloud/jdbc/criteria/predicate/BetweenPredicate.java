@@ -0,0 +1,56 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     谓词：BETWEEN、NOT BETWEEN 条件
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public class BetweenPredicate implements PredicateNode {
+    private final String column;
+    private final Object start;
+    private final Object end;
+    private final boolean isNot;
+    private final JoinType joinType;
+
+    public BetweenPredicate(String column, Object start, Object end, boolean isNot, JoinType joinType) {
+        this.column = column;
+        this.start = start;
+        this.end = end;
+        this.isNot = isNot;
+        this.joinType = joinType;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public PredicateNode withJoinType(JoinType joinType) {
+        return joinType == this.joinType ? this : new BetweenPredicate(column, start, end, isNot, joinType);
+    }
+
+    @Override
+    public void render(StringBuilder sql, List<Object> parameters) {
+        sql.append('(').append(column).append(isNot ? " NOT BETWEEN ? AND ?)" : " BETWEEN ? AND ?)");
+        parameters.add(start);
+        parameters.add(end);
+    }
+
+    @Override
+    public boolean matches(PredicateNode other) {
+        if (!(other instanceof BetweenPredicate)) {
+            return false;
+        }
+        BetweenPredicate that = (BetweenPredicate) other;
+        return isNot == that.isNot && column.equals(that.column) && Objects.equals(start, that.start) && Objects.equals(end, that.end);
+    }
+}
@@ -0,0 +1,65 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     谓词：比较条件（=、&lt;&gt;、&gt;、&gt;=、&lt;、&lt;=、LIKE、NOT LIKE）
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public class ComparePredicate implements PredicateNode {
+    private final String column;
+    private final String operator;
+    private final Object value;
+    private final JoinType joinType;
+
+    public ComparePredicate(String column, String operator, Object value, JoinType joinType) {
+        this.column = column;
+        this.operator = operator;
+        this.value = value;
+        this.joinType = joinType;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getOperator() {
+        return operator;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public PredicateNode withJoinType(JoinType joinType) {
+        return joinType == this.joinType ? this : new ComparePredicate(column, operator, value, joinType);
+    }
+
+    @Override
+    public void render(StringBuilder sql, List<Object> parameters) {
+        sql.append(column).append(' ').append(operator).append(" ?");
+        parameters.add(value);
+    }
+
+    @Override
+    public boolean matches(PredicateNode other) {
+        if (!(other instanceof ComparePredicate)) {
+            return false;
+        }
+        ComparePredicate that = (ComparePredicate) other;
+        return column.equals(that.column) && operator.equals(that.operator) && Objects.equals(value, that.value);
+    }
+}
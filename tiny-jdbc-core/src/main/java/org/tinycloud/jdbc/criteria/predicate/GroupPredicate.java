@@ -0,0 +1,61 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     谓词：括号分组，对应条件构造器的 and(...)、or(...)
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public class GroupPredicate implements PredicateNode {
+    private final List<PredicateNode> children;
+    private final JoinType joinType;
+
+    public GroupPredicate(List<PredicateNode> children, JoinType joinType) {
+        this.children = children;
+        this.joinType = joinType;
+    }
+
+    public List<PredicateNode> getChildren() {
+        return children;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public PredicateNode withJoinType(JoinType joinType) {
+        return joinType == this.joinType ? this : new GroupPredicate(children, joinType);
+    }
+
+    @Override
+    public void render(StringBuilder sql, List<Object> parameters) {
+        sql.append('(');
+        Predicates.render(children, sql, parameters);
+        sql.append(')');
+    }
+
+    @Override
+    public boolean matches(PredicateNode other) {
+        if (!(other instanceof GroupPredicate)) {
+            return false;
+        }
+        List<PredicateNode> those = ((GroupPredicate) other).children;
+        if (children.size() != those.size()) {
+            return false;
+        }
+        for (int i = 0; i < children.size(); i++) {
+            if ((i > 0 && children.get(i).getJoinType() != those.get(i).getJoinType()) || !children.get(i).matches(those.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
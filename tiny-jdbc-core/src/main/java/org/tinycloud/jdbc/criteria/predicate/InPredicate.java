@@ -0,0 +1,64 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.inlist.InLists;
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     谓词：IN、NOT IN 条件
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public class InPredicate implements PredicateNode {
+    private final String column;
+    private final List<?> values;
+    private final boolean isNot;
+    private final JoinType joinType;
+
+    public InPredicate(String column, List<?> values, boolean isNot, JoinType joinType) {
+        this.column = column;
+        this.values = values;
+        this.isNot = isNot;
+        this.joinType = joinType;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public List<?> getValues() {
+        return values;
+    }
+
+    public boolean isNot() {
+        return isNot;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public PredicateNode withJoinType(JoinType joinType) {
+        return joinType == this.joinType ? this : new InPredicate(column, values, isNot, joinType);
+    }
+
+    @Override
+    public void render(StringBuilder sql, List<Object> parameters) {
+        InLists.render(column, values, isNot, sql, parameters);
+    }
+
+    @Override
+    public boolean matches(PredicateNode other) {
+        if (!(other instanceof InPredicate)) {
+            return false;
+        }
+        InPredicate that = (InPredicate) other;
+        return isNot == that.isNot && column.equals(that.column) && values.equals(that.values);
+    }
+}
@@ -0,0 +1,53 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     谓词：IS NULL、IS NOT NULL 条件
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public class NullPredicate implements PredicateNode {
+    private final String column;
+    private final boolean isNot;
+    private final JoinType joinType;
+
+    public NullPredicate(String column, boolean isNot, JoinType joinType) {
+        this.column = column;
+        this.isNot = isNot;
+        this.joinType = joinType;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public PredicateNode withJoinType(JoinType joinType) {
+        return joinType == this.joinType ? this : new NullPredicate(column, isNot, joinType);
+    }
+
+    @Override
+    public void render(StringBuilder sql, List<Object> parameters) {
+        sql.append(column).append(isNot ? " IS NOT NULL" : " IS NULL");
+    }
+
+    @Override
+    public boolean matches(PredicateNode other) {
+        if (!(other instanceof NullPredicate)) {
+            return false;
+        }
+        NullPredicate that = (NullPredicate) other;
+        return isNot == that.isNot && column.equals(that.column);
+    }
+}
@@ -0,0 +1,33 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     条件构造器的谓词节点，与前一个节点之间的连接方式由 {@link #getJoinType()} 决定
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public interface PredicateNode {
+
+    JoinType getJoinType();
+
+    /**
+     * 返回连接方式不同、内容相同的节点
+     */
+    PredicateNode withJoinType(JoinType joinType);
+
+    /**
+     * 渲染 SQL 片段，并按占位符顺序收集参数
+     */
+    void render(StringBuilder sql, List<Object> parameters);
+
+    /**
+     * 内容是否相同（不比较自身的连接方式）
+     */
+    boolean matches(PredicateNode other);
+}
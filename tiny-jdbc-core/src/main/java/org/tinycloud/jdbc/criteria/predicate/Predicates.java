@@ -0,0 +1,203 @@
+package org.tinycloud.jdbc.criteria.predicate;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     谓词树的规范化与渲染
+ * </p>
+ * 规范化按 SQL 优先级（AND 先于 OR）把同一层的节点拆分为以 OR 连接的若干合取项，然后：
+ * 1、递归规范化括号分组，去掉空分组；只包含 AND 的分组直接展开到所在的合取项中；
+ * 2、去掉合取项内重复的谓词，以及重复的合取项；
+ * 3、把只包含同一字段等值（或 IN）条件的合取项合并为一个 IN 条件，如 a = ? OR a = ? 合并为 a IN (?, ?)；
+ * 4、整层只剩一个括号分组时去掉括号。
+ * 规范化不改变条件的语义，只让等价的查询生成相同且更简单的 SQL，便于数据库复用执行计划、选择索引。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:10
+ */
+public final class Predicates {
+
+    private Predicates() {
+    }
+
+    /**
+     * 渲染同一层的节点（不带括号）
+     *
+     * @param nodes      节点
+     * @param sql        SQL 片段
+     * @param parameters 参数
+     */
+    public static void render(List<PredicateNode> nodes, StringBuilder sql, List<Object> parameters) {
+        for (int i = 0; i < nodes.size(); i++) {
+            PredicateNode node = nodes.get(i);
+            if (i > 0) {
+                sql.append(' ').append(node.getJoinType().getSql()).append(' ');
+            }
+            node.render(sql, parameters);
+        }
+    }
+
+    /**
+     * 规范化同一层的节点
+     *
+     * @param nodes 节点
+     * @return 规范化后的节点，第一个节点的连接方式为 AND
+     * @throws TinyJdbcException 当第一个节点以 OR 连接时抛出此异常
+     */
+    public static List<PredicateNode> normalize(List<PredicateNode> nodes) {
+        if (nodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (nodes.get(0).getJoinType() == JoinType.OR) {
+            throw new TinyJdbcException("Criteria can not start with a function OR!");
+        }
+        // 1、按 OR 拆分为合取项
+        List<List<PredicateNode>> terms = new ArrayList<>();
+        List<PredicateNode> term = null;
+        for (PredicateNode node : nodes) {
+            if (term == null || node.getJoinType() == JoinType.OR) {
+                term = new ArrayList<>();
+                terms.add(term);
+            }
+            if (node instanceof GroupPredicate) {
+                List<PredicateNode> children = normalize(((GroupPredicate) node).getChildren());
+                if (children.isEmpty()) {
+                    continue;
+                }
+                if (isConjunction(children)) {
+                    for (PredicateNode child : children) {
+                        addDistinct(term, child);
+                    }
+                    continue;
+                }
+                node = new GroupPredicate(children, JoinType.AND);
+            }
+            addDistinct(term, node);
+        }
+
+        // 2、去掉重复的合取项，合并同一字段的等值条件
+        List<List<PredicateNode>> merged = new ArrayList<>(terms.size());
+        for (List<PredicateNode> current : terms) {
+            if (current.isEmpty() || containsTerm(merged, current)) {
+                continue;
+            }
+            int target = current.size() == 1 ? findFoldable(merged, current.get(0)) : -1;
+            if (target >= 0) {
+                merged.set(target, Collections.singletonList(fold(merged.get(target).get(0), current.get(0))));
+            } else {
+                merged.add(current);
+            }
+        }
+
+        // 3、重建连接方式
+        if (merged.size() == 1 && merged.get(0).size() == 1 && merged.get(0).get(0) instanceof GroupPredicate) {
+            return ((GroupPredicate) merged.get(0).get(0)).getChildren();
+        }
+        List<PredicateNode> normalized = new ArrayList<>(nodes.size());
+        for (int i = 0; i < merged.size(); i++) {
+            List<PredicateNode> current = merged.get(i);
+            for (int j = 0; j < current.size(); j++) {
+                normalized.add(current.get(j).withJoinType(i > 0 && j == 0 ? JoinType.OR : JoinType.AND));
+            }
+        }
+        return normalized;
+    }
+
+    private static boolean isConjunction(List<PredicateNode> nodes) {
+        for (int i = 1; i < nodes.size(); i++) {
+            if (nodes.get(i).getJoinType() == JoinType.OR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addDistinct(List<PredicateNode> term, PredicateNode node) {
+        for (PredicateNode existing : term) {
+            if (existing.matches(node)) {
+                return;
+            }
+        }
+        term.add(node);
+    }
+
+    private static boolean containsTerm(List<List<PredicateNode>> terms, List<PredicateNode> term) {
+        for (List<PredicateNode> existing : terms) {
+            if (existing.size() != term.size()) {
+                continue;
+            }
+            boolean same = true;
+            for (int i = 0; i < term.size() && same; i++) {
+                same = existing.get(i).matches(term.get(i));
+            }
+            if (same) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 等值条件或 IN 条件的字段名，其他谓词返回 null
+     */
+    private static String foldableColumn(PredicateNode node) {
+        if (node instanceof ComparePredicate && "=".equals(((ComparePredicate) node).getOperator())) {
+            return ((ComparePredicate) node).getColumn();
+        }
+        if (node instanceof InPredicate && !((InPredicate) node).isNot()) {
+            return ((InPredicate) node).getColumn();
+        }
+        return null;
+    }
+
+    private static int findFoldable(List<List<PredicateNode>> terms, PredicateNode node) {
+        String column = foldableColumn(node);
+        if (column == null) {
+            return -1;
+        }
+        for (int i = 0; i < terms.size(); i++) {
+            List<PredicateNode> term = terms.get(i);
+            if (term.size() == 1 && column.equals(foldableColumn(term.get(0)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static PredicateNode fold(PredicateNode left, PredicateNode right) {
+        List<Object> values = new ArrayList<>();
+        String column = collectValues(left, values);
+        collectValues(right, values);
+        if (values.size() == 1) {
+            return new ComparePredicate(column, "=", values.get(0), JoinType.AND);
+        }
+        return new InPredicate(column, values, false, JoinType.AND);
+    }
+
+    private static String collectValues(PredicateNode node, List<Object> values) {
+        if (node instanceof ComparePredicate) {
+            addValue(values, ((ComparePredicate) node).getValue());
+            return ((ComparePredicate) node).getColumn();
+        }
+        for (Object value : ((InPredicate) node).getValues()) {
+            addValue(values, value);
+        }
+        return ((InPredicate) node).getColumn();
+    }
+
+    private static void addValue(List<Object> values, Object value) {
+        for (Object existing : values) {
+            if (Objects.equals(existing, value)) {
+                return;
+            }
+        }
+        values.add(value);
+    }
+}
@@ -1,9 +1,12 @@
 package org.tinycloud.jdbc.criteria.query;
 
 import org.tinycloud.jdbc.criteria.AbstractCriteria;
+import org.tinycloud.jdbc.criteria.predicate.PredicateNode;
 import org.tinycloud.jdbc.util.ArrayUtils;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
@@ -15,6 +18,21 @@ import java.util.Arrays;
  **/
 public class QueryCriteria<T> extends AbstractCriteria<T, QueryCriteria<T>> {
 
+    /**
+     * 构造方法
+     */
+    public QueryCriteria() {
+        super();
+    }
+
+    /**
+     * 构造方法，直接使用给定的各部分
+     */
+    protected QueryCriteria(List<String> selectFields, List<PredicateNode> predicates,
+                            Map<String, Object> updateValues, List<String> orderBys, List<String> lastSqls) {
+        super(selectFields, predicates, updateValues, orderBys, lastSqls);
+    }
+
     /**
      * 指定查询的字段。
      *
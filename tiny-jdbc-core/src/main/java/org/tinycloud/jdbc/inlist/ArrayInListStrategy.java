@@ -0,0 +1,31 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.tinycloud.jdbc.util.DbType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     IN 条件策略：整个列表绑定为一个数组参数，如 id = ANY(?)、id &lt;&gt; ALL(?)，适用于 PostgreSQL、H2
+ * </p>
+ * SQL 文本与列表长度无关，不受单条语句参数个数的限制，语句缓存也只需一条。数组由 Connection.createArrayOf 在绑定参数时创建，
+ * 列表中的值须为同一类别：整数（按 bigint 绑定）、字符串（按 varchar 绑定）或 UUID。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public class ArrayInListStrategy implements InListStrategy {
+
+    public static final ArrayInListStrategy INSTANCE = new ArrayInListStrategy();
+
+    @Override
+    public boolean supports(DbType dbType, List<?> values) {
+        return (dbType == DbType.POSTGRE_SQL || dbType == DbType.H2) && SqlArrayValue.elementType(values) != null;
+    }
+
+    @Override
+    public void render(String column, List<?> values, boolean isNot, DbType dbType, StringBuilder sql, List<Object> parameters) {
+        sql.append(column).append(isNot ? " <> ALL(?)" : " = ANY(?)");
+        parameters.add(new SqlArrayValue(SqlArrayValue.elementType(values), values));
+    }
+}
@@ -0,0 +1,45 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.tinycloud.jdbc.util.DbType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     默认的 IN 条件策略选择：小列表逐个展开；达到数组阈值时在 PostgreSQL、H2 上绑定为数组；
+ *     达到临时表阈值时在 MySQL、MariaDB、PostgreSQL、H2 上写入临时表；其他情况逐个展开
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public class DefaultInListStrategySelector implements InListStrategySelector {
+    private final int arrayThreshold;
+    private final int tempTableThreshold;
+
+    /**
+     * 构造方法
+     *
+     * @param arrayThreshold     使用数组参数的最小列表长度，小于等于 0 时不使用
+     * @param tempTableThreshold 使用临时表的最小列表长度，小于等于 0 时不使用
+     */
+    public DefaultInListStrategySelector(int arrayThreshold, int tempTableThreshold) {
+        this.arrayThreshold = arrayThreshold;
+        this.tempTableThreshold = tempTableThreshold;
+    }
+
+    @Override
+    public InListStrategy select(DbType dbType, List<?> values) {
+        if (dbType == null) {
+            return ExpandedInListStrategy.INSTANCE;
+        }
+        int size = values.size();
+        if (tempTableThreshold > 0 && size >= tempTableThreshold && TempTableInListStrategy.INSTANCE.supports(dbType, values)) {
+            return TempTableInListStrategy.INSTANCE;
+        }
+        if (arrayThreshold > 0 && size >= arrayThreshold && ArrayInListStrategy.INSTANCE.supports(dbType, values)) {
+            return ArrayInListStrategy.INSTANCE;
+        }
+        return ExpandedInListStrategy.INSTANCE;
+    }
+}
@@ -0,0 +1,33 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.tinycloud.jdbc.util.DbType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     IN 条件策略：每个值一个占位符，如 id IN (?, ?, ?)，适用于所有数据库
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public class ExpandedInListStrategy implements InListStrategy {
+
+    public static final ExpandedInListStrategy INSTANCE = new ExpandedInListStrategy();
+
+    @Override
+    public boolean supports(DbType dbType, List<?> values) {
+        return true;
+    }
+
+    @Override
+    public void render(String column, List<?> values, boolean isNot, DbType dbType, StringBuilder sql, List<Object> parameters) {
+        sql.append(column).append(isNot ? " NOT IN (" : " IN (");
+        for (int i = 0; i < values.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        sql.append(')');
+        parameters.addAll(values);
+    }
+}
@@ -0,0 +1,37 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.tinycloud.jdbc.util.DbType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     IN / NOT IN 条件的渲染策略
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public interface InListStrategy {
+
+    /**
+     * 是否可以在指定数据库上处理这些值
+     *
+     * @param dbType 数据库类型
+     * @param values 条件值（非空）
+     * @return true=可以处理
+     */
+    boolean supports(DbType dbType, List<?> values);
+
+    /**
+     * 渲染条件 SQL 片段，并按占位符顺序追加参数
+     *
+     * @param column     字段名
+     * @param values     条件值（非空）
+     * @param isNot      是否为 NOT IN
+     * @param dbType     数据库类型
+     * @param sql        SQL 片段
+     * @param parameters 参数
+     */
+    void render(String column, List<?> values, boolean isNot, DbType dbType, StringBuilder sql, List<Object> parameters);
+}
@@ -0,0 +1,26 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.tinycloud.jdbc.util.DbType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     根据列表大小和数据库类型选择 IN 条件的执行策略，默认不配置（始终逐个展开），可注册为 Spring Bean 或通过阈值配置启用
+ * </p>
+ * 在 {@link InLists#execute} 中、语句执行前调用，改写只作用于实际执行的 SQL，渲染出的 SQL 和参数始终是逐个展开的普通值。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public interface InListStrategySelector {
+
+    /**
+     * 选择渲染策略
+     *
+     * @param dbType 执行语句的数据源的数据库类型，无法识别且未配置 tiny-jdbc.db-type 时为 null
+     * @param values 条件值（非空）
+     * @return 渲染策略
+     */
+    InListStrategy select(DbType dbType, List<?> values);
+}
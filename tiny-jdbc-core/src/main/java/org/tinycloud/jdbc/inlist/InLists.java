@@ -0,0 +1,334 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.tinycloud.jdbc.config.GlobalConfig;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.DbType;
+import org.tinycloud.jdbc.util.DbTypeUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     IN 条件的渲染与执行入口，条件构造器、SQL 构造器以及按主键批量操作都经由这里渲染 IN 条件
+ * </p>
+ * 渲染时始终逐个展开为 col IN (?, ?, ...)，SQL 和参数都是普通值，可以直接交给 JdbcTemplate 执行。
+ * 配置了 {@link InListStrategySelector} 时，{@link #execute} 在执行前按执行语句的数据源的数据库类型，
+ * 把 SQL 中的长列表改写为数组参数或临时表子查询；未配置时不做任何改写。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public final class InLists {
+    private static final Logger logger = LoggerFactory.getLogger(InLists.class);
+
+    /**
+     * 临时表中列表编号 k 的序列
+     */
+    private static final AtomicLong KEY_SEQUENCE = new AtomicLong();
+
+    /**
+     * 数据源 -> 数据库类型，识别失败时为 Optional.empty()
+     */
+    private static final Map<DataSource, Optional<DbType>> DB_TYPES = new ConcurrentHashMap<>();
+
+    private InLists() {
+    }
+
+    /**
+     * 渲染 IN / NOT IN 条件，逐个展开为 col IN (?, ?, ...)
+     *
+     * @param column     字段名
+     * @param values     条件值（非空）
+     * @param isNot      是否为 NOT IN
+     * @param sql        SQL 片段
+     * @param parameters 参数
+     */
+    public static void render(String column, List<?> values, boolean isNot, StringBuilder sql, List<Object> parameters) {
+        ExpandedInListStrategy.INSTANCE.render(column, values, isNot, null, sql, parameters);
+    }
+
+    /**
+     * 执行 SQL：配置了 IN 条件策略时，先按执行语句的数据源改写 SQL 中的 IN 列表；
+     * 改写结果含有需要写入临时表的列表时，在同一个连接上先写入临时表、再执行、最后清理；否则直接执行
+     * 每个列表的编号 k 在进程内唯一，清理失败时遗留的行不会被之后的语句匹配到；
+     * 同一条语句中同一张临时表只能引用一次的数据库（MySQL、MariaDB）上，同类别的第二个列表保持逐个展开；
+     * 当前线程处于事务中时不使用临时表，避免在调用方的事务中执行 DDL 和写入
+     *
+     * @param jdbcTemplate jdbcTemplate
+     * @param sql          SQL语句
+     * @param params       参数
+     * @param action       实际执行（jdbcTemplate，替换后的SQL，替换后的参数）
+     * @return 执行结果
+     */
+    public static <R> R execute(JdbcTemplate jdbcTemplate, String sql, Object[] params, Action<R> action) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        InListStrategySelector selector = globalConfig == null ? null : globalConfig.getInListStrategySelector();
+        if (selector == null || params == null || params.length == 0) {
+            return action.apply(jdbcTemplate, sql, params);
+        }
+        List<Object> args = new ArrayList<>(params.length);
+        String statement = rewrite(sql, params, selector, dbType(jdbcTemplate), args);
+        if (statement == null) {
+            return action.apply(jdbcTemplate, sql, params);
+        }
+        if (!hasTempTableValues(args)) {
+            return action.apply(jdbcTemplate, statement, args.toArray());
+        }
+        return jdbcTemplate.execute((ConnectionCallback<R>) con -> {
+            JdbcTemplate local = new JdbcTemplate(new SingleConnectionDataSource(con, true));
+            List<TempTableValues> staged = new ArrayList<>();
+            List<Long> keys = new ArrayList<>();
+            Object[] bound = args.toArray();
+            try {
+                for (int i = 0; i < bound.length; i++) {
+                    if (bound[i] instanceof TempTableValues) {
+                        TempTableValues values = (TempTableValues) bound[i];
+                        long key = KEY_SEQUENCE.incrementAndGet();
+                        staged.add(values);
+                        keys.add(key);
+                        values.stage(local, key);
+                        bound[i] = key;
+                    }
+                }
+                return action.apply(local, statement, bound);
+            } finally {
+                for (int i = 0; i < staged.size(); i++) {
+                    try {
+                        staged.get(i).cleanup(local, keys.get(i));
+                    } catch (RuntimeException e) {
+                        logger.warn("Tiny-Jdbc in-list temporary table cleanup failed: {}", staged.get(i).getTable(), e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 改写 SQL 中逐个展开的 IN 列表（IN (?, ?, ...)、NOT IN (?, ?, ...)），跳过引号中的内容
+     *
+     * @param sql      SQL语句
+     * @param params   参数
+     * @param selector 策略选择
+     * @param dbType   执行语句的数据库类型，可为 null
+     * @param args     输出：改写后的参数
+     * @return 改写后的 SQL，没有需要改写的列表、或者占位符与参数个数不一致时返回 null
+     */
+    static String rewrite(String sql, Object[] params, InListStrategySelector selector, DbType dbType, List<Object> args) {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        StringBuilder statement = null;
+        Set<String> referenced = new HashSet<>();
+        int from = 0;
+        int index = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                if (index >= params.length) {
+                    return null;
+                }
+                args.add(params[index++]);
+            } else if (c == '(') {
+                int[] list = matchList(sql, i);
+                int keyword = list == null || index + list[1] > params.length ? -1 : keywordStart(sql, i);
+                if (keyword < 0) {
+                    continue;
+                }
+                boolean isNot = Character.toUpperCase(sql.charAt(keyword)) == 'N';
+                List<Object> values = Arrays.asList(params).subList(index, index + list[1]);
+                InListStrategy strategy = select(selector, dbType, values, inTransaction);
+                StringBuilder fragment = new StringBuilder();
+                List<Object> fragmentArgs = new ArrayList<>(values.size());
+                if (strategy != ExpandedInListStrategy.INSTANCE) {
+                    strategy.render("", values, isNot, dbType, fragment, fragmentArgs);
+                }
+                if (strategy == ExpandedInListStrategy.INSTANCE || isSingleReferenceUsed(fragmentArgs, referenced)) {
+                    // 保持原样
+                    args.addAll(values);
+                } else {
+                    // 从关键字前的空白开始替换，策略以空字段名渲染，输出以空格开头
+                    int replaceFrom = keyword;
+                    while (replaceFrom > from && Character.isWhitespace(sql.charAt(replaceFrom - 1))) {
+                        replaceFrom--;
+                    }
+                    if (statement == null) {
+                        statement = new StringBuilder(sql.length());
+                    }
+                    statement.append(sql, from, replaceFrom).append(fragment);
+                    args.addAll(fragmentArgs);
+                    from = list[0] + 1;
+                }
+                index += list[1];
+                i = list[0];
+            }
+        }
+        if (statement == null || index != params.length) {
+            return null;
+        }
+        return statement.append(sql, from, sql.length()).toString();
+    }
+
+    /**
+     * 选择策略：当前线程处于事务中时，临时表策略改为数组参数（数据库支持时）或逐个展开
+     */
+    private static InListStrategy select(InListStrategySelector selector, DbType dbType, List<?> values, boolean inTransaction) {
+        InListStrategy strategy = selector.select(dbType, values);
+        if (strategy == null) {
+            return ExpandedInListStrategy.INSTANCE;
+        }
+        if (inTransaction && strategy instanceof TempTableInListStrategy) {
+            return ArrayInListStrategy.INSTANCE.supports(dbType, values) ? ArrayInListStrategy.INSTANCE : ExpandedInListStrategy.INSTANCE;
+        }
+        return strategy;
+    }
+
+    /**
+     * 渲染结果中的临时表在本条语句中是否已被引用过，且该数据库不允许同一条语句两次引用同一张临时表
+     */
+    private static boolean isSingleReferenceUsed(List<Object> fragmentArgs, Set<String> referenced) {
+        for (Object arg : fragmentArgs) {
+            if (arg instanceof TempTableValues) {
+                TempTableValues values = (TempTableValues) arg;
+                if (!referenced.add(values.getTable()) && values.isSingleReference()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 匹配从 open 开始的占位符列表 (?, ?, ...)
+     *
+     * @return {右括号位置, 占位符个数}，不是占位符列表时返回 null
+     */
+    private static int[] matchList(String sql, int open) {
+        int count = 0;
+        int i = skipWhitespace(sql, open + 1);
+        while (i < sql.length() && sql.charAt(i) == '?') {
+            count++;
+            i = skipWhitespace(sql, i + 1);
+            if (i < sql.length() && sql.charAt(i) == ')') {
+                return new int[]{i, count};
+            }
+            if (i >= sql.length() || sql.charAt(i) != ',') {
+                return null;
+            }
+            i = skipWhitespace(sql, i + 1);
+        }
+        return null;
+    }
+
+    /**
+     * 左括号前是否为 IN 或 NOT IN 关键字
+     *
+     * @return 关键字（IN 或 NOT）的起始位置，不是时返回 -1
+     */
+    private static int keywordStart(String sql, int open) {
+        int in = wordBefore(sql, open, "IN");
+        if (in < 0) {
+            return -1;
+        }
+        int not = wordBefore(sql, in, "NOT");
+        return not >= 0 ? not : in;
+    }
+
+    /**
+     * end 之前（跳过空白）是否为完整的单词 word，不区分大小写
+     *
+     * @return 单词的起始位置，不是时返回 -1
+     */
+    private static int wordBefore(String sql, int end, String word) {
+        int i = end;
+        while (i > 0 && Character.isWhitespace(sql.charAt(i - 1))) {
+            i--;
+        }
+        int start = i - word.length();
+        if (start < 0 || !sql.regionMatches(true, start, word, 0, word.length())) {
+            return -1;
+        }
+        if (start > 0) {
+            char before = sql.charAt(start - 1);
+            if (Character.isLetterOrDigit(before) || before == '_' || before == '$') {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    private static int skipWhitespace(String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 执行语句的数据源的数据库类型，无法识别时使用配置的 db-type
+     */
+    private static DbType dbType(JdbcTemplate jdbcTemplate) {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Optional<DbType> dbType = dataSource == null ? Optional.empty()
+                : ConcurrentHashMapUtils.computeIfAbsent(DB_TYPES, dataSource, InLists::detect);
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        return dbType.orElse(globalConfig == null ? null : globalConfig.getDbType());
+    }
+
+    private static Optional<DbType> detect(DataSource dataSource) {
+        try {
+            return Optional.ofNullable(DbTypeUtils.getDbType(dataSource));
+        } catch (RuntimeException e) {
+            logger.debug("Tiny-Jdbc in-list could not identify the database type of {}", dataSource, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * SQL 的实际执行
+     *
+     * @param <R> 执行结果类型
+     */
+    @FunctionalInterface
+    public interface Action<R> {
+        /**
+         * 执行 SQL
+         *
+         * @param jdbcTemplate 执行使用的 jdbcTemplate
+         * @param sql          替换后的SQL
+         * @param args         替换后的参数
+         * @return 执行结果
+         */
+        R apply(JdbcTemplate jdbcTemplate, String sql, Object[] args);
+    }
+
+    private static boolean hasTempTableValues(List<Object> args) {
+        for (Object arg : args) {
+            if (arg instanceof TempTableValues) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ *     数组参数，执行时通过 Connection.createArrayOf 创建 java.sql.Array 并绑定
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public class SqlArrayValue extends AbstractSqlTypeValue {
+    private final String elementType;
+    private final Object[] elements;
+
+    public SqlArrayValue(String elementType, List<?> values) {
+        this.elementType = elementType;
+        this.elements = new Object[values.size()];
+        for (int i = 0; i < elements.length; i++) {
+            Object value = values.get(i);
+            // 整数统一按 bigint 绑定
+            elements[i] = value instanceof Integer || value instanceof Short || value instanceof Byte ? ((Number) value).longValue() : value;
+        }
+    }
+
+    /**
+     * 推断数组元素的数据库类型，列表中的值类别不一致或不受支持时返回 null
+     */
+    static String elementType(List<?> values) {
+        String type = null;
+        for (Object value : values) {
+            String current;
+            if (value == null) {
+                continue;
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                current = "bigint";
+            } else if (value instanceof CharSequence) {
+                current = "varchar";
+            } else if (value instanceof UUID) {
+                current = "uuid";
+            } else {
+                return null;
+            }
+            if (type != null && !type.equals(current)) {
+                return null;
+            }
+            type = current;
+        }
+        return type;
+    }
+
+    public String getElementType() {
+        return elementType;
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    protected Object createTypeValue(Connection con, int sqlType, String typeName) throws SQLException {
+        return con.createArrayOf(elementType, elements);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SqlArrayValue)) {
+            return false;
+        }
+        SqlArrayValue that = (SqlArrayValue) o;
+        return elementType.equals(that.elementType) && Arrays.equals(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * elementType.hashCode() + Arrays.hashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        return elementType + "[" + elements.length + "]";
+    }
+}
@@ -0,0 +1,65 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.tinycloud.jdbc.util.DbType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     IN 条件策略：执行前把列表分批写入会话级临时表，再以子查询关联，如 id IN (SELECT v FROM tiny_jdbc_in_bigint WHERE k = ?)，
+ *     适用于 MySQL、MariaDB、PostgreSQL、H2
+ * </p>
+ * 临时表按值的类别区分（tiny_jdbc_in_bigint、tiny_jdbc_in_varchar），首次使用时在当前会话中创建，之后复用；
+ * 每个列表以进程内唯一的编号 k 区分，语句执行结束后删除本次写入的行。写入与查询在同一个连接上完成（见 {@link InLists#execute}）。
+ * MySQL、MariaDB 的同一条语句不能两次引用同一张临时表，同一条语句中同类别的第二个列表在执行时改为逐个展开。
+ * H2 的临时表以 TRANSACTIONAL 创建，不会隐式提交调用方的事务。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public class TempTableInListStrategy implements InListStrategy {
+
+    public static final TempTableInListStrategy INSTANCE = new TempTableInListStrategy();
+
+    /**
+     * 字符串值的最大长度
+     */
+    private static final int MAX_VARCHAR_LENGTH = 4000;
+
+    @Override
+    public boolean supports(DbType dbType, List<?> values) {
+        if (dbType != DbType.MYSQL && dbType != DbType.MARIADB && dbType != DbType.POSTGRE_SQL && dbType != DbType.H2) {
+            return false;
+        }
+        String type = SqlArrayValue.elementType(values);
+        if ("varchar".equals(type)) {
+            for (Object value : values) {
+                if (value != null && ((CharSequence) value).length() > MAX_VARCHAR_LENGTH) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return "bigint".equals(type);
+    }
+
+    @Override
+    public void render(String column, List<?> values, boolean isNot, DbType dbType, StringBuilder sql, List<Object> parameters) {
+        boolean numeric = "bigint".equals(SqlArrayValue.elementType(values));
+        String table = numeric ? "tiny_jdbc_in_bigint" : "tiny_jdbc_in_varchar";
+        String valueType = numeric ? "BIGINT" : "VARCHAR(" + MAX_VARCHAR_LENGTH + ")";
+        String createSql;
+        boolean singleReference = dbType == DbType.MYSQL || dbType == DbType.MARIADB;
+        if (dbType == DbType.H2) {
+            createSql = "CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS " + table + " (k BIGINT NOT NULL, v " + valueType + ") TRANSACTIONAL";
+        } else if (dbType == DbType.POSTGRE_SQL) {
+            createSql = "CREATE TEMPORARY TABLE IF NOT EXISTS " + table + " (k BIGINT NOT NULL, v " + valueType + ")";
+        } else {
+            // utf8mb4 下 VARCHAR(4000) 超出索引长度上限，只索引 k
+            createSql = "CREATE TEMPORARY TABLE IF NOT EXISTS " + table + " (k BIGINT NOT NULL, v " + valueType + ", KEY (k))";
+        }
+        TempTableValues tempTableValues = new TempTableValues(table, createSql, values, singleReference);
+        sql.append(column).append(isNot ? " NOT IN " : " IN ").append(tempTableValues.getSubquery());
+        parameters.add(tempTableValues);
+    }
+}
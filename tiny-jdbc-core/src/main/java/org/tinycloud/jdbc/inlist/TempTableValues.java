@@ -0,0 +1,111 @@
+package org.tinycloud.jdbc.inlist;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     需要写入临时表的 IN 列表，只出现在 {@link InLists#execute} 改写后的参数中，执行前写入临时表并替换为列表编号 k；
+ *     对应的 SQL 片段为 {@link #getSubquery()}
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 00:40
+ */
+public class TempTableValues {
+
+    /**
+     * 每批写入的行数
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private final String table;
+    private final String createSql;
+    private final List<?> values;
+
+    /**
+     * 同一条语句中是否只能引用一次该临时表（MySQL、MariaDB）
+     */
+    private final boolean singleReference;
+
+    public TempTableValues(String table, String createSql, List<?> values) {
+        this(table, createSql, values, false);
+    }
+
+    public TempTableValues(String table, String createSql, List<?> values, boolean singleReference) {
+        this.table = table;
+        this.createSql = createSql;
+        this.values = values;
+        this.singleReference = singleReference;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<?> getValues() {
+        return values;
+    }
+
+    public boolean isSingleReference() {
+        return singleReference;
+    }
+
+    /**
+     * 渲染到 SQL 中的子查询，以编号 k 的占位符结尾
+     */
+    public String getSubquery() {
+        return "(SELECT v FROM " + table + " WHERE k = ?)";
+    }
+
+    /**
+     * 创建临时表（如不存在），并以编号 key 分批写入列表
+     */
+    void stage(JdbcTemplate jdbcTemplate, long key) {
+        jdbcTemplate.execute(createSql);
+        String insertSql = "INSERT INTO " + table + " (k, v) VALUES (?, ?)";
+        List<Object[]> batch = new ArrayList<>(Math.min(BATCH_SIZE, values.size()));
+        for (Object value : values) {
+            batch.add(new Object[]{key, value instanceof CharSequence ? value.toString() : value});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(insertSql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, batch);
+        }
+    }
+
+    /**
+     * 删除编号 key 写入的行
+     */
+    void cleanup(JdbcTemplate jdbcTemplate, long key) {
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE k = ?", key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TempTableValues)) {
+            return false;
+        }
+        TempTableValues that = (TempTableValues) o;
+        return table.equals(that.table) && Objects.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * table.hashCode() + values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return table + "[" + values.size() + "]";
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
  */
 public interface SqlInterceptor {
     /**
-     * 在真正构建sql和参数之前执行，该方法会影响最终的sql和参数
+     * 在真正构建sql和参数之前执行，只有 {@link #rewritesSql()} 返回 true 时，修改的sql和参数才会被实际执行
      *
      * @param invocation   SqlInvocation
      * @param jdbcTemplate JdbcTemplate
@@ -20,6 +20,15 @@ public interface SqlInterceptor {
         // do nothing
     }
 
+    /**
+     * 是否改写sql和参数，默认 false：before 中对 invocation 的 sql 和参数的修改会被还原，实际执行原来的sql和参数
+     *
+     * @return true 表示执行本拦截器修改后的sql和参数
+     **/
+    default boolean rewritesSql() {
+        return false;
+    }
+
     /**
      * SQL执行完成后方法（主要用于对返回值修改）
      *
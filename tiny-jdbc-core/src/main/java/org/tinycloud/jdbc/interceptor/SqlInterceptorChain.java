@@ -0,0 +1,64 @@
+package org.tinycloud.jdbc.interceptor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.tinycloud.jdbc.util.CollectionUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 依次调用拦截器的 before 方法
+ * </p>
+ * 只有 {@link SqlInterceptor#rewritesSql()} 返回 true 的拦截器对 sql 和参数的修改会保留下来并被实际执行，
+ * 其他拦截器的修改会被还原（每个拦截器类只记录一次警告），与只观察 sql 的拦截器的原有行为保持一致。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 09:10
+ */
+public final class SqlInterceptorChain {
+    private static final Logger log = LoggerFactory.getLogger(SqlInterceptorChain.class);
+
+    /**
+     * 已记录过警告的拦截器类
+     */
+    private static final Set<Class<?>> WARNED = ConcurrentHashMap.newKeySet();
+
+    private SqlInterceptorChain() {
+    }
+
+    /**
+     * 依次调用拦截器的 before 方法
+     *
+     * @param interceptors 拦截器，可为 null
+     * @param sql          SQL 语句
+     * @param params       SQL 语句中的参数
+     * @param sqlType      SQL 类型
+     * @param jdbcTemplate JdbcTemplate
+     * @return SQL 调用，其中的 sql 和参数就是实际执行的 sql 和参数
+     */
+    public static SqlInvocation before(List<SqlInterceptor> interceptors, String sql, Object[] params, SqlType sqlType,
+                                       JdbcTemplate jdbcTemplate) {
+        SqlInvocation invocation = new SqlInvocation(sql, params, sqlType);
+        if (CollectionUtils.isEmpty(interceptors)) {
+            return invocation;
+        }
+        for (SqlInterceptor interceptor : interceptors) {
+            String currentSql = invocation.getSql();
+            Object[] currentArgs = invocation.getArgs();
+            interceptor.before(invocation, jdbcTemplate);
+            if (!interceptor.rewritesSql() && (invocation.getSql() != currentSql || invocation.getArgs() != currentArgs)) {
+                if (WARNED.add(interceptor.getClass())) {
+                    log.warn("SqlInterceptor {} modified the SQL or arguments without overriding rewritesSql(), the modification is ignored.",
+                            interceptor.getClass().getName());
+                }
+                invocation.setSql(currentSql);
+                invocation.setArgs(currentArgs);
+            }
+        }
+        return invocation;
+    }
+}
@@ -0,0 +1,146 @@
+package org.tinycloud.jdbc.interceptor;
+
+import org.tinycloud.jdbc.cache.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * SQL 改写结果缓存，按（拦截器实例，原始 SQL）缓存 {@link SqlRewriteInterceptor} 的改写结果
+ * </p>
+ * 所有 DAO 共用 GlobalConfig 中的同一个实例；容量超限时淘汰最久未访问的条目。
+ * 改写过程在锁外执行，并发未命中时可能重复改写同一条 SQL，由于改写是纯函数，结果相同。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 03:40
+ */
+public class SqlRewriteCache {
+
+    private final int maxSize;
+
+    private final CacheStats stats = new CacheStats();
+
+    /**
+     * 缓存条目，按访问顺序排列，用于 LRU 淘汰
+     */
+    private final LinkedHashMap<Key, String> entries;
+
+    /**
+     * 构造方法
+     *
+     * @param maxSize 最大条目数
+     */
+    public SqlRewriteCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, String>(64, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                if (size() > SqlRewriteCache.this.maxSize) {
+                    stats.recordEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取改写后的 SQL，未命中时调用 rewriter 改写并缓存
+     *
+     * @param owner    改写方（拦截器实例），不同实例的改写结果互不影响
+     * @param sql      原始 SQL
+     * @param rewriter 改写函数
+     * @return 改写后的 SQL
+     */
+    public String get(Object owner, String sql, Function<String, String> rewriter) {
+        Key key = new Key(owner, sql);
+        String rewritten;
+        synchronized (this) {
+            rewritten = entries.get(key);
+        }
+        if (rewritten != null) {
+            stats.recordHit();
+            return rewritten;
+        }
+        stats.recordMiss();
+        rewritten = rewriter.apply(sql);
+        if (rewritten == null) {
+            rewritten = sql;
+        }
+        synchronized (this) {
+            entries.put(key, rewritten);
+        }
+        return rewritten;
+    }
+
+    /**
+     * 清空缓存，例如改写规则变化后调用
+     */
+    public synchronized void clear() {
+        stats.recordInvalidations(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * 当前条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 命中统计
+     */
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlRewriteCache{" +
+                "size=" + size() +
+                ", maxSize=" + maxSize +
+                ", stats=" + stats +
+                '}';
+    }
+
+    private static final class Key {
+        private final Object owner;
+        private final String sql;
+        private final int hash;
+
+        private Key(Object owner, String sql) {
+            this.owner = owner;
+            this.sql = sql;
+            this.hash = 31 * System.identityHashCode(owner) + sql.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return owner == other.owner && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
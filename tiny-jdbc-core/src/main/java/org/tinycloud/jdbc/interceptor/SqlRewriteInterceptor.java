@@ -0,0 +1,100 @@
+package org.tinycloud.jdbc.interceptor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.tinycloud.jdbc.config.GlobalConfig;
+import org.tinycloud.jdbc.util.TableNameParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * 改写 SQL 的拦截器基类（租户条件、表名替换、Hint 等）
+ * </p>
+ * 改写必须是 SQL 文本的纯函数：相同的 SQL 总是得到相同的结果，不依赖参数和线程上下文。
+ * 改写结果按（拦截器实例，原始 SQL）缓存在 GlobalConfig 的 SqlRewriteCache 中，同一条 SQL 只解析、改写一次；
+ * 改写只能修改 SQL 文本，不能增减参数。
+ * <pre>
+ * public class ShardTableInterceptor extends SqlRewriteInterceptor {
+ *     &#64;Override
+ *     protected String rewrite(String sql, List&lt;TableNameParser.SqlToken&gt; tables) {
+ *         return replaceTables(sql, tables, table -&gt; "t_order".equalsIgnoreCase(table) ? "t_order_2026" : table);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 03:40
+ */
+public abstract class SqlRewriteInterceptor implements SqlInterceptor {
+
+    /**
+     * 改写 SQL
+     *
+     * @param sql    原始 SQL
+     * @param tables TableNameParser 解析出的表名 token（含位置），按出现顺序排列
+     * @return 改写后的 SQL，返回 null 表示不改写
+     */
+    protected abstract String rewrite(String sql, List<TableNameParser.SqlToken> tables);
+
+    /**
+     * 是否改写该类型的 SQL，默认全部改写
+     *
+     * @param sqlType SQL 类型
+     * @return true 表示改写
+     */
+    protected boolean supports(SqlType sqlType) {
+        return true;
+    }
+
+    @Override
+    public boolean rewritesSql() {
+        return true;
+    }
+
+    /**
+     * 子类覆盖时需调用 super.before(invocation, jdbcTemplate)
+     */
+    @Override
+    public void before(SqlInvocation invocation, JdbcTemplate jdbcTemplate) {
+        String sql = invocation.getSql();
+        if (sql == null || sql.isEmpty() || !this.supports(invocation.getSqlType())) {
+            return;
+        }
+        GlobalConfig config = GlobalConfig.getConfig();
+        SqlRewriteCache cache = config == null ? null : config.getSqlRewriteCache();
+        String rewritten = cache == null ? this.parseAndRewrite(sql) : cache.get(this, sql, this::parseAndRewrite);
+        invocation.setSql(rewritten);
+    }
+
+    private String parseAndRewrite(String sql) {
+        List<TableNameParser.SqlToken> tables = new ArrayList<>();
+        new TableNameParser(sql).accept(tables::add);
+        Collections.sort(tables);
+        String rewritten = this.rewrite(sql, Collections.unmodifiableList(tables));
+        return rewritten == null ? sql : rewritten;
+    }
+
+    /**
+     * 替换 SQL 中的表名
+     *
+     * @param sql      原始 SQL
+     * @param tables   表名 token
+     * @param replacer 原表名 -&gt; 新表名，返回原值表示不替换
+     * @return 替换后的 SQL
+     */
+    protected static String replaceTables(String sql, List<TableNameParser.SqlToken> tables, Function<String, String> replacer) {
+        StringBuilder sb = new StringBuilder(sql.length() + 16);
+        int from = 0;
+        for (TableNameParser.SqlToken token : tables) {
+            if (token.getStart() < from) {
+                continue;
+            }
+            sb.append(sql, from, token.getStart()).append(replacer.apply(token.getValue()));
+            from = token.getEnd();
+        }
+        return sb.append(sql, from, sql.length()).toString();
+    }
+}
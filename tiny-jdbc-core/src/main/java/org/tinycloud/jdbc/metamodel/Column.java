@@ -0,0 +1,109 @@
+package org.tinycloud.jdbc.metamodel;
+
+import org.tinycloud.jdbc.criteria.TypeFunction;
+import org.tinycloud.jdbc.util.LambdaUtils;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * 静态元模型中的字段常量，保存实体类、属性名、已解析的数据库列名和属性类型，由 {@link MetamodelProcessor} 为每个 @Table 实体生成，如 User_.NAME
+ * </p>
+ * 字段常量本身就是一个 {@link TypeFunction}，可以直接传给 LambdaQueryCriteria、LambdaUpdateCriteria、SQL 构造器和 Expression 中
+ * 所有接收 User::getName 的方法；解析列名时直接读取常量中的列名，不再经过 SerializedLambda 和反射。
+ * <pre>
+ * List&lt;User&gt; users = userDao.select(new LambdaQueryCriteria&lt;User&gt;()
+ *         .eq(User_.STATUS, 1)
+ *         .like(User_.NAME, "tom")
+ *         .orderBy(User_.CREATED_AT, true));
+ * </pre>
+ *
+ * @param <T> 实体类型
+ * @param <R> 属性类型
+ * @author liuxingyu01
+ * @since 2026-10-20 01:20
+ */
+public final class Column<T, R> implements TypeFunction<T, R> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Class<T> entityClass;
+
+    private final String fieldName;
+
+    private final String columnName;
+
+    private final Class<R> javaType;
+
+    /**
+     * 属性的读取方法，首次调用 {@link #apply(Object)} 时解析
+     */
+    private transient volatile TypeFunction<T, ?> getter;
+
+    /**
+     * 构造方法，通常只在生成的元模型类中调用
+     *
+     * @param entityClass 实体类
+     * @param fieldName   属性名
+     * @param columnName  数据库列名
+     * @param javaType    属性类型（基本类型为对应的包装类型）
+     */
+    public Column(Class<T> entityClass, String fieldName, String columnName, Class<R> javaType) {
+        this.entityClass = Objects.requireNonNull(entityClass, "entityClass");
+        this.fieldName = Objects.requireNonNull(fieldName, "fieldName");
+        this.columnName = Objects.requireNonNull(columnName, "columnName");
+        this.javaType = Objects.requireNonNull(javaType, "javaType");
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public Class<R> getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * 读取实体的属性值（经由属性的 getter 方法）
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(T entity) {
+        TypeFunction<T, ?> fn = this.getter;
+        if (fn == null) {
+            fn = LambdaUtils.getLambdaGetter(entityClass, fieldName);
+            this.getter = fn;
+        }
+        return (R) fn.apply(entity);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Column)) {
+            return false;
+        }
+        Column<?, ?> that = (Column<?, ?>) o;
+        return entityClass == that.entityClass && fieldName.equals(that.fieldName);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * entityClass.hashCode() + fieldName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return columnName;
+    }
+}
@@ -0,0 +1,147 @@
+package org.tinycloud.jdbc.metamodel;
+
+import org.tinycloud.jdbc.util.StrUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * 静态元模型生成器（注解处理器），编译期为每个标注了 @Table 的实体生成同包下的元模型类，如 User -&gt; User_
+ * </p>
+ * 元模型类为实体的每个数据库字段生成一个 {@link Column} 常量，常量名为属性名的大写下划线形式（userName -&gt; USER_NAME），
+ * 列名的解析规则与运行时一致：@Column 的 value 优先，否则驼峰转下划线；static、transient 和 @Column(exist = false) 的属性不生成，
+ * 父类中的属性一并生成。以 Maven 为例，在编译插件中启用：
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;org.apache.maven.plugins&lt;/groupId&gt;
+ *     &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *     &lt;configuration&gt;
+ *         &lt;annotationProcessors&gt;
+ *             &lt;annotationProcessor&gt;org.tinycloud.jdbc.metamodel.MetamodelProcessor&lt;/annotationProcessor&gt;
+ *         &lt;/annotationProcessors&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:20
+ */
+@SupportedAnnotationTypes("org.tinycloud.jdbc.annotation.Table")
+public class MetamodelProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    this.generate((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement entity) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(entity);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + "_";
+        String entityName = processingEnv.getTypeUtils().erasure(entity.asType()).toString();
+
+        StringBuilder body = new StringBuilder();
+        Map<String, String> constants = new LinkedHashMap<>();
+        for (VariableElement field : this.collectFields(entity).values()) {
+            org.tinycloud.jdbc.annotation.Column annotation = field.getAnnotation(org.tinycloud.jdbc.annotation.Column.class);
+            if (annotation != null && !annotation.exist()) {
+                continue;
+            }
+            String fieldName = field.getSimpleName().toString();
+            String columnName = annotation == null || StrUtils.isEmpty(annotation.value())
+                    ? StrUtils.camelToUnderline(fieldName) : annotation.value();
+            String constant = StrUtils.camelToUnderline(fieldName).toUpperCase(Locale.ROOT);
+            String previous = constants.put(constant, fieldName);
+            if (previous != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Metamodel constant " + constant + " is generated by both '" + previous + "' and '" + fieldName + "'", field);
+                return;
+            }
+            String javaType = this.javaType(field.asType());
+            body.append("\n    public static final org.tinycloud.jdbc.metamodel.Column<").append(entityName).append(", ").append(javaType).append("> ")
+                    .append(constant).append(" =\n            new org.tinycloud.jdbc.metamodel.Column<>(").append(entityName).append(".class, \"")
+                    .append(fieldName).append("\", \"").append(escape(columnName)).append("\", ").append(javaType).append(".class);\n");
+        }
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, entity).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("/**\n * " + entityName + " 的静态元模型，由 MetamodelProcessor 生成，请勿修改\n */\n");
+            writer.write("public final class " + className + " {\n");
+            writer.write(body.toString());
+            writer.write("\n    private " + className + "() {\n    }\n}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to generate metamodel " + qualifiedName + ": " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * 本类及父类中的实例属性，同名属性以子类为准
+     */
+    private Map<String, VariableElement> collectFields(TypeElement entity) {
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        TypeElement current = entity;
+        while (current != null && !"java.lang.Object".contentEquals(current.getQualifiedName())) {
+            for (Element member : current.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD
+                        && !member.getModifiers().contains(Modifier.STATIC)
+                        && !member.getModifiers().contains(Modifier.TRANSIENT)) {
+                    fields.putIfAbsent(member.getSimpleName().toString(), (VariableElement) member);
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return fields;
+    }
+
+    /**
+     * 属性类型的源码形式：基本类型取包装类型，泛型取擦除后的类型
+     */
+    private String javaType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
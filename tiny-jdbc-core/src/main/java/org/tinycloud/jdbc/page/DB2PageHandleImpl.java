@@ -8,18 +8,23 @@ package org.tinycloud.jdbc.page;
  **/
 public class DB2PageHandleImpl implements IPageHandle {
 
+    @Override
+    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
+
     /**
      * 分页查询适配
      *
-     * @param oldSQL   需要改造为分页查询的SQL
-     * @param pageNo   pageNo 第几页，用来计算first 这个值由（pageNo-1）*pageSize
-     * @param pageSize pageSize 每页数量
+     * @param oldSQL 需要改造为分页查询的SQL
+     * @param offset 偏移位置，从 0 开始
+     * @param limit  返回的最大记录数
      * @return 处理过后的sql
      */
     @Override
-    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
-        long pageStart = (pageNo - 1) * pageSize + 1;
-        long pageEnd = pageStart + pageSize - 1;
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
+        long pageStart = offset + 1L;
+        long pageEnd = offset + limit;
         StringBuilder sql = new StringBuilder("SELECT * FROM ( SELECT B.*, ROWNUMBER() OVER() AS RN FROM ( ");
         sql.append(oldSQL);
         sql.append(" ) AS B ) AS A WHERE A.RN BETWEEN ").append("?").append(" AND ")
@@ -9,18 +9,21 @@ package org.tinycloud.jdbc.page;
  * @since 2024-04-17 11:45
  */
 public class GBase8sPageHandleImpl implements IPageHandle {
+    @Override
+    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
+
     /**
      * 分页查询适配
      *
-     * @param oldSQL   需要改造为分页查询的SQL
-     * @param pageNo   pageNo 第几页，用来计算offset，这个值由（pageNo-1）*pageSize
-     * @param pageSize pageSize 每页数量
+     * @param oldSQL 需要改造为分页查询的SQL
+     * @param offset 偏移位置，从 0 开始
+     * @param limit  返回的最大记录数
      * @return 处理过后的sql
      */
     @Override
-    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
-        long offset = (pageNo - 1) * pageSize;
-        long limit = pageSize;
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
         // 这个sql的分页的是紧跟着SELECT的（SELECT SKIP ? FIRST ? * FROM user WHERE age > 18），所以暂时拼接，无法参数后置
         StringBuilder sql = (new StringBuilder(oldSQL)).insert(6, " SKIP " + offset + " FIRST " + limit);
         return PagingSQLProvider.create(sql.toString());
@@ -12,9 +12,12 @@ package org.tinycloud.jdbc.page;
 public class GaussDBPageHandleImpl implements IPageHandle {
     @Override
     public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
+
+    @Override
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
         StringBuilder sql = new StringBuilder(oldSQL);
-        long offset = (pageNo - 1) * pageSize;
-        long limit = pageSize;
         if (offset != 0L) {
             sql.append(" LIMIT ").append("?").append(",").append("?");
             return PagingSQLProvider.create(sql.toString(), offset, limit);
@@ -1,5 +1,7 @@
 package org.tinycloud.jdbc.page;
 
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+
 /**
  * <p>
  * 分页处理器-接口声明
@@ -19,6 +21,23 @@ public interface IPageHandle {
      */
     PagingSQLProvider handlerPagingSQL(String sql, long pageNo, long pageSize);
 
+    /**
+     * 将传入的SQL按 offset-limit 做分页处理
+     * 内置的分页处理器均已实现该方法；自定义分页处理器未覆盖时，仅支持 offset 为 limit 整数倍的情况（转换为页码处理）。
+     *
+     * @param sql    oldSql 原SQL
+     * @param offset 偏移位置，从 0 开始
+     * @param limit  返回的最大记录数
+     * @return 带有分页逻辑的新 SQL 语句。
+     */
+    default PagingSQLProvider handlerOffsetPagingSQL(String sql, long offset, long limit) {
+        if (offset % limit != 0L) {
+            throw new TinyJdbcException(this.getClass().getName() + " does not support offset paging, offset: "
+                    + offset + ", limit: " + limit);
+        }
+        return this.handlerPagingSQL(sql, offset / limit + 1L, limit);
+    }
+
     /**
      * 将传入的 SQL 做 COUNT 处理
      * 根据传入的原 SQL 语句，生成用于统计符合条件记录总数的 COUNT SQL 语句。
@@ -44,4 +63,18 @@ public interface IPageHandle {
         String countSql = this.handlerCountSQL(sql);
         return PageHandleResult.create(pageSQl, countSql);
     }
+
+    /**
+     * 综合处理 offset-limit 分页和 COUNT 查询
+     *
+     * @param sql    oldSql 原 SQL 语句，即未添加分页和 COUNT 逻辑的原始查询语句。
+     * @param offset 偏移位置，从 0 开始
+     * @param limit  返回的最大记录数
+     * @return 封装了分页 SQL 语句和 COUNT SQL 语句的 PageHandleResult 对象。
+     */
+    default PageHandleResult handleOffset(String sql, long offset, long limit) {
+        PagingSQLProvider pageSQl = this.handlerOffsetPagingSQL(sql, offset, limit);
+        String countSql = this.handlerCountSQL(sql);
+        return PageHandleResult.create(pageSQl, countSql);
+    }
 }
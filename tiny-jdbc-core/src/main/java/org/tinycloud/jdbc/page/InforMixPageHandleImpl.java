@@ -12,18 +12,21 @@ import java.util.regex.Pattern;
  * @since 2024-04-17 11:48
  */
 public class InforMixPageHandleImpl implements IPageHandle {
+    @Override
+    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
+
     /**
      * 分页查询适配
      *
-     * @param oldSQL   需要改造为分页查询的SQL
-     * @param pageNo   pageNo 第几页，用来计算offset，这个值由（pageNo-1）*pageSize
-     * @param pageSize pageSize 每页数量
+     * @param oldSQL 需要改造为分页查询的SQL
+     * @param offset 偏移位置，从 0 开始
+     * @param limit  返回的最大记录数
      * @return 处理过后的sql
      */
     @Override
-    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
-        long offset = (pageNo - 1L) * pageSize;
-        long limit = pageSize;
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
         StringBuilder ret = new StringBuilder();
         // 这个sql的分页的是紧跟着SELECT的（SELECT SKIP ? FIRST ? * FROM user WHERE age > 18），所以暂时拼接，无法参数后置
         ret.append(String.format("select skip %s first %s ", offset + "", limit + ""));
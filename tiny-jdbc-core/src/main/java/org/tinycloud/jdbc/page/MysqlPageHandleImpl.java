@@ -9,19 +9,22 @@ package org.tinycloud.jdbc.page;
  **/
 public class MysqlPageHandleImpl implements IPageHandle {
 
+    @Override
+    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
+
     /**
      * 分页查询适配
      *
-     * @param oldSQL   需要改造为分页查询的SQL
-     * @param pageNo   pageNo 第几页，用来计算offset，这个值由（pageNo-1）*pageSize
-     * @param pageSize pageSize 每页数量
+     * @param oldSQL 需要改造为分页查询的SQL
+     * @param offset 偏移位置，从 0 开始
+     * @param limit  返回的最大记录数
      * @return 处理过后的sql
      */
     @Override
-    public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
         StringBuilder sql = new StringBuilder(oldSQL);
-        long offset = (pageNo - 1L) * pageSize;
-        long limit = pageSize;
         if (offset <= 0L) {
             sql.append(" LIMIT ").append("?");
             return PagingSQLProvider.create(sql.toString(), limit);
@@ -39,6 +39,16 @@ public class OffsetPage<T> implements Serializable {
      */
     private Collection<T> records;
 
+    /**
+     * 是否使用分页总数缓存（需开启全局分页总数缓存），默认为 true，设置为 false 时本次查询直接执行 count 语句
+     */
+    private boolean useCountCache = true;
+
+    /**
+     * 是否查询总记录数，默认为 true，设置为 false 时不执行 count 语句，total 和 pages 保持为 null
+     */
+    private boolean searchCount = true;
+
     public OffsetPage() {
     }
 
@@ -71,6 +81,10 @@ public class OffsetPage<T> implements Serializable {
         this.limit = limit;
     }
 
+    public Long getPages() {
+        return pages;
+    }
+
     public void setPages(Long pages) {
         this.pages = pages;
     }
@@ -83,6 +97,22 @@ public class OffsetPage<T> implements Serializable {
         this.records = records;
     }
 
+    public boolean isUseCountCache() {
+        return useCountCache;
+    }
+
+    public void setUseCountCache(boolean useCountCache) {
+        this.useCountCache = useCountCache;
+    }
+
+    public boolean isSearchCount() {
+        return searchCount;
+    }
+
+    public void setSearchCount(boolean searchCount) {
+        this.searchCount = searchCount;
+    }
+
     public Long getTotal() {
         return total;
     }
@@ -94,7 +124,11 @@ public class OffsetPage<T> implements Serializable {
 
     @Override
     public String toString() {
-        return "Page {offset=" + offset + ", limit=" + limit + ", total=" + total + ", pages=" + pages
+        return "OffsetPage {offset=" + offset + ", limit=" + limit + ", total=" + total + ", pages=" + pages
                 + ", records=" + records + "}";
     }
+
+    public static <T> OffsetPage<T> of(Long offset, Long limit) {
+        return new OffsetPage<>(offset, limit);
+    }
 }
@@ -11,10 +11,12 @@ public class Oracle12cPageHandleImpl implements IPageHandle {
 
     @Override
     public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
-        StringBuilder sql = new StringBuilder();
-        long offset = (pageNo - 1L) * pageSize;
-        long limit = pageSize;
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
 
+    @Override
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
+        StringBuilder sql = new StringBuilder();
         sql.append(oldSQL);
         sql.append(" OFFSET ");
         sql.append("?");
@@ -37,6 +37,16 @@ public class Page<T> implements Serializable {
      */
     private List<T> records;
 
+    /**
+     * 是否使用分页总数缓存（需开启全局分页总数缓存），默认为 true，设置为 false 时本次查询直接执行 count 语句
+     */
+    private boolean useCountCache = true;
+
+    /**
+     * 是否查询总记录数，默认为 true，设置为 false 时不执行 count 语句，total 和 pages 保持为 null
+     */
+    private boolean searchCount = true;
+
     public Page() {
 
     }
@@ -86,6 +96,22 @@ public class Page<T> implements Serializable {
         this.records = records;
     }
 
+    public boolean isUseCountCache() {
+        return useCountCache;
+    }
+
+    public void setUseCountCache(boolean useCountCache) {
+        this.useCountCache = useCountCache;
+    }
+
+    public boolean isSearchCount() {
+        return searchCount;
+    }
+
+    public void setSearchCount(boolean searchCount) {
+        this.searchCount = searchCount;
+    }
+
     public Long getTotal() {
         return total;
     }
@@ -31,4 +31,23 @@ public class PageCheck {
             throw new TinyJdbcException("pageSize must be greater than 0");
         }
     }
+
+    /**
+     * 检查 offset-limit 分页对象的有效性。
+     * 该方法会验证分页对象是否为 null，以及偏移位置是否为非负数、返回数量是否为正数。
+     *
+     * @param page 要检查的分页对象，泛型类型。
+     * @throws TinyJdbcException 当分页对象、偏移位置或返回数量不满足要求时抛出该异常。
+     */
+    public static void check(OffsetPage<?> page) {
+        if (page == null || page.getOffset() == null || page.getLimit() == null) {
+            throw new TinyJdbcException("paginate page cannot be null");
+        }
+        if (page.getOffset() < 0) {
+            throw new TinyJdbcException("offset must be greater than or equal to 0");
+        }
+        if (page.getLimit() <= 0) {
+            throw new TinyJdbcException("limit must be greater than 0");
+        }
+    }
 }
@@ -11,9 +11,12 @@ package org.tinycloud.jdbc.page;
 public class TrinoPageHandleImpl implements IPageHandle {
     @Override
     public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
+
+    @Override
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
         StringBuilder sql = new StringBuilder(oldSQL);
-        long offset = (pageNo - 1L) * pageSize;
-        long limit = pageSize;
         if (offset != 0L) {
             sql.append(" OFFSET ").append("?").append(" LIMIT ").append("?");
             return PagingSQLProvider.create(sql.toString(), offset, limit);
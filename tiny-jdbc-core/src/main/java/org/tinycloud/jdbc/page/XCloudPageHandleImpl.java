@@ -11,10 +11,12 @@ package org.tinycloud.jdbc.page;
 public class XCloudPageHandleImpl implements IPageHandle {
     @Override
     public PagingSQLProvider handlerPagingSQL(String oldSQL, long pageNo, long pageSize) {
-        StringBuilder sql = new StringBuilder(oldSQL);
-        long offset = (pageNo - 1L) * pageSize;
-        long limit = pageSize;
+        return this.handlerOffsetPagingSQL(oldSQL, (pageNo - 1L) * pageSize, pageSize);
+    }
 
+    @Override
+    public PagingSQLProvider handlerOffsetPagingSQL(String oldSQL, long offset, long limit) {
+        StringBuilder sql = new StringBuilder(oldSQL);
         sql.append(" LIMIT ");
         if (offset != 0L) {
             sql.append(" ( ").append("?").append(",").append("?").append(" ) ");
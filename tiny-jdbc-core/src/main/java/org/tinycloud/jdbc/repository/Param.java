@@ -0,0 +1,18 @@
+package org.tinycloud.jdbc.repository;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * 声明 @Query 方法参数的名称，SQL 中以 :name 引用
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Param {
+    String value();
+}
@@ -0,0 +1,20 @@
+package org.tinycloud.jdbc.repository;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * 声明式查询注解，标注在 @TinyRepository 接口的方法上，value 为要执行的 SQL
+ * </p>
+ * 参数可以按名称（:name，名称取自 @Param 或编译参数 -parameters）、按位置（?1、?2，从 1 开始）
+ * 或按顺序（?）引用，三种方式不能混用；集合或数组类型的参数展开为逗号分隔的多个占位符，如 id IN (:ids)。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Query {
+    String value();
+}
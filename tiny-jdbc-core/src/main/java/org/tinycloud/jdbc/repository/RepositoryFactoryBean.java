@@ -0,0 +1,50 @@
+package org.tinycloud.jdbc.repository;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.tinycloud.jdbc.JdbcTemplateHelper;
+
+/**
+ * <p>
+ * 声明式 DAO 的 FactoryBean，Bean 初始化时（即应用启动时）编译接口中的全部 @Query 方法，SQL 有误时启动失败
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+public class RepositoryFactoryBean<R> implements FactoryBean<R>, InitializingBean {
+
+    private final Class<R> repositoryInterface;
+
+    private JdbcTemplateHelper jdbcTemplateHelper;
+
+    private R repository;
+
+    public RepositoryFactoryBean(Class<R> repositoryInterface) {
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    public void setJdbcTemplateHelper(JdbcTemplateHelper jdbcTemplateHelper) {
+        this.jdbcTemplateHelper = jdbcTemplateHelper;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.repository = RepositoryProxyFactory.create(repositoryInterface, jdbcTemplateHelper);
+    }
+
+    @Override
+    public R getObject() {
+        return repository;
+    }
+
+    @Override
+    public Class<R> getObjectType() {
+        return repositoryInterface;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+}
@@ -0,0 +1,414 @@
+package org.tinycloud.jdbc.repository;
+
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.tinycloud.jdbc.JdbcTemplateHelper;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.page.OffsetPage;
+import org.tinycloud.jdbc.page.Page;
+import org.tinycloud.jdbc.support.RowVisitor;
+import org.tinycloud.jdbc.util.DataAccessUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * <p>
+ * 一个 @Query 方法的编译结果，启动时解析一次 SQL，确定参数绑定、结果映射和执行方式，调用时只按计划取参数并执行
+ * </p>
+ * 执行方式由方法签名决定：
+ * <ul>
+ *     <li>SQL 不是 SELECT/WITH 开头：执行更新，返回值可以是 void、int、long、boolean（影响行数大于 0）</li>
+ *     <li>有 RowVisitor 参数：流式查询，逐行回调，返回 void</li>
+ *     <li>有 Page 或 OffsetPage 参数：分页查询，返回对应的分页对象</li>
+ *     <li>返回 List/Collection：查询列表；返回 Optional 或单个对象：查询单条，多于一条时抛出异常</li>
+ * </ul>
+ * 元素类型为 Map 时按列名映射，为 String、数值、日期等简单类型时取第一列，其余按属性映射（BeanPropertyRowMapper）。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+final class RepositoryMethod {
+
+    private enum Shape {
+        UPDATE, LIST, ONE, OPTIONAL, PAGE, OFFSET_PAGE, STREAM
+    }
+
+    private final Shape shape;
+
+    private final Class<?> returnType;
+
+    /**
+     * 按占位拆分后的 SQL 片段，长度为占位数 + 1
+     */
+    private final String[] fragments;
+
+    /**
+     * 每个占位对应的方法参数位置
+     */
+    private final int[] slotArgs;
+
+    /**
+     * 每个占位是否展开为多个占位符（集合或数组参数）
+     */
+    private final boolean[] slotExpands;
+
+    /**
+     * 没有需要展开的占位时，预先拼好的 SQL
+     */
+    private final String sql;
+
+    private final RowMapper<?> rowMapper;
+
+    private final int pageArg;
+
+    private final int visitorArg;
+
+    private final String name;
+
+    RepositoryMethod(Method method) {
+        this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        Query query = method.getAnnotation(Query.class);
+        if (query == null) {
+            throw new TinyJdbcException("Repository method " + name + " must be annotated with @Query");
+        }
+        this.returnType = method.getReturnType();
+
+        // 1. 区分特殊参数（分页、行访问器）与绑定参数
+        Class<?>[] types = method.getParameterTypes();
+        int page = -1;
+        int visitor = -1;
+        List<Integer> bindable = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) {
+            if (Page.class.isAssignableFrom(types[i]) || OffsetPage.class.isAssignableFrom(types[i])) {
+                if (page >= 0) {
+                    throw new TinyJdbcException("Repository method " + name + " can not declare more than one page parameter");
+                }
+                page = i;
+            } else if (RowVisitor.class.isAssignableFrom(types[i])) {
+                if (visitor >= 0) {
+                    throw new TinyJdbcException("Repository method " + name + " can not declare more than one RowVisitor parameter");
+                }
+                visitor = i;
+            } else {
+                bindable.add(i);
+            }
+        }
+        this.pageArg = page;
+        this.visitorArg = visitor;
+
+        // 2. 解析 SQL，确定每个占位绑定的参数
+        List<String> parts = new ArrayList<>();
+        List<Object> refs = new ArrayList<>();
+        parse(query.value(), parts, refs);
+        this.fragments = parts.toArray(new String[0]);
+        this.slotArgs = this.resolveSlots(method, refs, bindable);
+        this.slotExpands = new boolean[slotArgs.length];
+        boolean expands = false;
+        for (int i = 0; i < slotArgs.length; i++) {
+            Class<?> type = types[slotArgs[i]];
+            slotExpands[i] = Collection.class.isAssignableFrom(type) || (type.isArray() && type != byte[].class);
+            expands |= slotExpands[i];
+        }
+        this.sql = expands ? null : String.join("?", parts);
+
+        // 3. 按方法签名确定执行方式和结果映射
+        boolean select = isSelect(query.value());
+        Class<?> elementType;
+        if (visitor >= 0) {
+            if (!select || returnType != void.class || page >= 0) {
+                throw new TinyJdbcException("Repository method " + name + " with a RowVisitor parameter must be a SELECT returning void");
+            }
+            this.shape = Shape.STREAM;
+            elementType = elementType(method.getGenericParameterTypes()[visitor]);
+        } else if (!select) {
+            if (page >= 0 || !isUpdateResult(returnType)) {
+                throw new TinyJdbcException("Repository method " + name + " executes an update and must return void, int, long or boolean");
+            }
+            this.shape = Shape.UPDATE;
+            elementType = null;
+        } else if (page >= 0) {
+            if (!returnType.isAssignableFrom(types[page])) {
+                throw new TinyJdbcException("Repository method " + name + " must return the same page type as its page parameter");
+            }
+            this.shape = Page.class.isAssignableFrom(types[page]) ? Shape.PAGE : Shape.OFFSET_PAGE;
+            elementType = elementType(method.getGenericReturnType());
+        } else if (returnType == List.class || returnType == Collection.class || returnType == Iterable.class) {
+            this.shape = Shape.LIST;
+            elementType = elementType(method.getGenericReturnType());
+        } else if (returnType == Optional.class) {
+            this.shape = Shape.OPTIONAL;
+            elementType = elementType(method.getGenericReturnType());
+        } else if (returnType == void.class) {
+            throw new TinyJdbcException("Repository method " + name + " executes a query and can not return void");
+        } else {
+            this.shape = Shape.ONE;
+            elementType = boxed(returnType);
+        }
+        this.rowMapper = elementType == null ? null : rowMapper(elementType);
+    }
+
+    /**
+     * 执行方法
+     *
+     * @param helper JdbcTemplateHelper
+     * @param args   方法参数
+     * @return 方法返回值
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Object invoke(JdbcTemplateHelper helper, Object[] args) {
+        String sqlText;
+        Object[] params;
+        if (this.sql != null) {
+            sqlText = this.sql;
+            params = new Object[slotArgs.length];
+            for (int i = 0; i < slotArgs.length; i++) {
+                params[i] = args[slotArgs[i]];
+            }
+        } else {
+            StringBuilder sb = new StringBuilder(fragments[0]);
+            List<Object> values = new ArrayList<>(slotArgs.length + 16);
+            for (int i = 0; i < slotArgs.length; i++) {
+                Object arg = args[slotArgs[i]];
+                if (slotExpands[i]) {
+                    int size = this.expand(arg, values);
+                    for (int j = 0; j < size; j++) {
+                        sb.append(j > 0 ? ", ?" : "?");
+                    }
+                } else {
+                    sb.append('?');
+                    values.add(arg);
+                }
+                sb.append(fragments[i + 1]);
+            }
+            sqlText = sb.toString();
+            params = values.toArray();
+        }
+
+        switch (shape) {
+            case UPDATE:
+                int rows = helper.execute(sqlText, params);
+                if (returnType == void.class || returnType == Void.class) {
+                    return null;
+                } else if (returnType == long.class || returnType == Long.class) {
+                    return (long) rows;
+                } else if (returnType == boolean.class || returnType == Boolean.class) {
+                    return rows > 0;
+                }
+                return rows;
+            case LIST:
+                return helper.select(sqlText, rowMapper, params);
+            case OPTIONAL:
+                return Optional.ofNullable(DataAccessUtils.singleResult(helper.select(sqlText, rowMapper, params)));
+            case PAGE:
+                return helper.paginate(sqlText, (RowMapper) rowMapper, (Page) args[pageArg], params);
+            case OFFSET_PAGE:
+                return helper.paginate(sqlText, (RowMapper) rowMapper, (OffsetPage) args[pageArg], params);
+            case STREAM:
+                helper.selectEach(sqlText, (RowMapper) rowMapper, (RowVisitor) args[visitorArg], params);
+                return null;
+            default:
+                Object result = DataAccessUtils.singleResult(helper.select(sqlText, rowMapper, params));
+                if (result == null && returnType.isPrimitive()) {
+                    throw new TinyJdbcException("Repository method " + name + " returns " + returnType + " but the query returned no row");
+                }
+                return result;
+        }
+    }
+
+    /**
+     * 把集合或数组参数逐个加入参数列表
+     *
+     * @return 元素个数
+     */
+    private int expand(Object arg, List<Object> values) {
+        if (arg instanceof Collection) {
+            Collection<?> collection = (Collection<?>) arg;
+            if (!collection.isEmpty()) {
+                values.addAll(collection);
+                return collection.size();
+            }
+        } else if (arg != null) {
+            int length = Array.getLength(arg);
+            for (int i = 0; i < length; i++) {
+                values.add(Array.get(arg, i));
+            }
+            if (length > 0) {
+                return length;
+            }
+        }
+        throw new TinyJdbcException("Repository method " + name + " collection parameter cannot be null or empty");
+    }
+
+    private int[] resolveSlots(Method method, List<Object> refs, List<Integer> bindable) {
+        int[] slots = new int[refs.size()];
+        boolean named = false;
+        boolean positional = false;
+        boolean sequential = false;
+        for (Object ref : refs) {
+            named |= ref instanceof String;
+            positional |= ref instanceof Integer;
+            sequential |= ref == null;
+        }
+        if ((named ? 1 : 0) + (positional ? 1 : 0) + (sequential ? 1 : 0) > 1) {
+            throw new TinyJdbcException("Repository method " + name + " can not mix :name, ?n and ? parameters");
+        }
+        if (sequential && refs.size() != bindable.size()) {
+            throw new TinyJdbcException("Repository method " + name + " SQL has " + refs.size() + " parameters, but the method declares " + bindable.size());
+        }
+        Map<String, Integer> names = new HashMap<>();
+        if (named) {
+            Parameter[] parameters = method.getParameters();
+            for (int index : bindable) {
+                Param param = parameters[index].getAnnotation(Param.class);
+                if (param != null) {
+                    names.put(param.value(), index);
+                } else if (parameters[index].isNamePresent()) {
+                    names.put(parameters[index].getName(), index);
+                }
+            }
+        }
+        for (int i = 0; i < refs.size(); i++) {
+            Object ref = refs.get(i);
+            if (ref == null) {
+                slots[i] = bindable.get(i);
+            } else if (ref instanceof Integer) {
+                int position = (Integer) ref;
+                if (position < 1 || position > bindable.size()) {
+                    throw new TinyJdbcException("Repository method " + name + " parameter ?" + position + " is out of range");
+                }
+                slots[i] = bindable.get(position - 1);
+            } else {
+                Integer index = names.get(ref);
+                if (index == null) {
+                    throw new TinyJdbcException("Repository method " + name + " parameter :" + ref
+                            + " not found, please declare it with @Param or compile with -parameters");
+                }
+                slots[i] = index;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * 按占位拆分 SQL，跳过字符串、带引号的标识符和注释；占位为 :name（名称）、?n（位置，Integer）或 ?（顺序，null）
+     */
+    private static void parse(String sql, List<String> fragments, List<Object> refs) {
+        StringBuilder current = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? length : end + 1;
+                current.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && next == '-') {
+                int end = sql.indexOf('\n', i);
+                end = end < 0 ? length : end;
+                current.append(sql, i, end);
+                i = end;
+            } else if (c == '/' && next == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                current.append(sql, i, end);
+                i = end;
+            } else if (c == ':' && next == ':') {
+                current.append("::");
+                i += 2;
+            } else if (c == ':' && Character.isJavaIdentifierStart(next)) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                fragments.add(current.toString());
+                current.setLength(0);
+                refs.add(sql.substring(i + 1, end));
+                i = end;
+            } else if (c == '?') {
+                int end = i + 1;
+                while (end < length && Character.isDigit(sql.charAt(end))) {
+                    end++;
+                }
+                fragments.add(current.toString());
+                current.setLength(0);
+                refs.add(end > i + 1 ? Integer.valueOf(sql.substring(i + 1, end)) : null);
+                i = end;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        fragments.add(current.toString());
+    }
+
+    private static boolean isSelect(String sql) {
+        String text = sql.trim();
+        while (text.startsWith("(")) {
+            text = text.substring(1).trim();
+        }
+        String keyword = text.length() >= 6 ? text.substring(0, 6) : text;
+        return keyword.equalsIgnoreCase("SELECT") || (keyword.length() >= 4 && keyword.substring(0, 4).equalsIgnoreCase("WITH"));
+    }
+
+    private static boolean isUpdateResult(Class<?> type) {
+        return type == void.class || type == Void.class || type == int.class || type == Integer.class
+                || type == long.class || type == Long.class || type == boolean.class || type == Boolean.class;
+    }
+
+    private Class<?> elementType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+            if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+        }
+        throw new TinyJdbcException("Repository method " + name + " can not resolve the element type of " + type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RowMapper<?> rowMapper(Class<?> type) {
+        if (Map.class.isAssignableFrom(type)) {
+            return new ColumnMapRowMapper();
+        }
+        if (isSimpleType(type)) {
+            return new SingleColumnRowMapper(type);
+        }
+        return BeanPropertyRowMapper.newInstance(type);
+    }
+
+    private static boolean isSimpleType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || CharSequence.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type)
+                || Boolean.class == type || Character.class == type || Date.class.isAssignableFrom(type)
+                || Temporal.class.isAssignableFrom(type) || BigDecimal.class == type || BigInteger.class == type
+                || UUID.class == type || byte[].class == type || Object.class == type;
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return Array.get(Array.newInstance(type, 1), 0).getClass();
+    }
+}
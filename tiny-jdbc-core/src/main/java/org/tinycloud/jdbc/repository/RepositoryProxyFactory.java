@@ -0,0 +1,138 @@
+package org.tinycloud.jdbc.repository;
+
+import org.tinycloud.jdbc.JdbcTemplateHelper;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * 声明式 DAO 的代理工厂，创建时编译接口中的全部 @Query 方法并建立方法表，调用时只查表执行
+ * </p>
+ * 接口中的 default 方法按原实现执行，可以在其中组合调用其他 @Query 方法。
+ * <pre>
+ * &#64;TinyRepository
+ * public interface UserRepository {
+ *     &#64;Query("SELECT * FROM t_user WHERE status = :status")
+ *     List&lt;User&gt; findByStatus(&#64;Param("status") int status);
+ *
+ *     &#64;Query("SELECT * FROM t_user WHERE dept_id IN (:deptIds)")
+ *     Page&lt;User&gt; pageByDept(&#64;Param("deptIds") List&lt;Long&gt; deptIds, Page&lt;User&gt; page);
+ *
+ *     &#64;Query("UPDATE t_user SET status = ?1 WHERE id = ?2")
+ *     int updateStatus(int status, long id);
+ * }
+ * UserRepository repository = RepositoryProxyFactory.create(UserRepository.class, jdbcTemplateHelper);
+ * </pre>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+public final class RepositoryProxyFactory {
+
+    private RepositoryProxyFactory() {
+    }
+
+    /**
+     * 创建声明式 DAO 的实现
+     *
+     * @param repositoryInterface DAO 接口
+     * @param jdbcTemplateHelper  JdbcTemplateHelper
+     * @return DAO 实现
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R create(Class<R> repositoryInterface, JdbcTemplateHelper jdbcTemplateHelper) {
+        if (repositoryInterface == null || !repositoryInterface.isInterface()) {
+            throw new TinyJdbcException("Repository type must be an interface: " + repositoryInterface);
+        }
+        if (jdbcTemplateHelper == null) {
+            throw new TinyJdbcException("Repository " + repositoryInterface.getName() + " jdbcTemplateHelper cannot be null");
+        }
+        Map<Method, RepositoryMethod> queries = new HashMap<>();
+        Map<Method, MethodHandle> defaults = new HashMap<>();
+        for (Method method : repositoryInterface.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.isDefault()) {
+                defaults.put(method, null);
+            } else {
+                queries.put(method, new RepositoryMethod(method));
+            }
+        }
+
+        InvocationHandler handler = new RepositoryInvocationHandler(repositoryInterface, jdbcTemplateHelper, queries, defaults);
+        R proxy = (R) Proxy.newProxyInstance(repositoryInterface.getClassLoader(), new Class<?>[]{repositoryInterface}, handler);
+        for (Map.Entry<Method, MethodHandle> entry : defaults.entrySet()) {
+            entry.setValue(bindDefault(entry.getKey(), proxy));
+        }
+        return proxy;
+    }
+
+    private static MethodHandle bindDefault(Method method, Object proxy) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup;
+            try {
+                // Java 9+
+                Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+                lookup = (MethodHandles.Lookup) privateLookupIn.invoke(null, declaringClass, MethodHandles.lookup());
+            } catch (NoSuchMethodException e) {
+                // Java 8
+                Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+                constructor.setAccessible(true);
+                lookup = constructor.newInstance(declaringClass, MethodHandles.Lookup.PRIVATE);
+            }
+            return lookup.unreflectSpecial(method, declaringClass).bindTo(proxy);
+        } catch (ReflectiveOperationException e) {
+            throw new TinyJdbcException("Repository default method " + method + " can not be bound", e);
+        }
+    }
+
+    private static final class RepositoryInvocationHandler implements InvocationHandler {
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private final Class<?> repositoryInterface;
+        private final JdbcTemplateHelper jdbcTemplateHelper;
+        private final Map<Method, RepositoryMethod> queries;
+        private final Map<Method, MethodHandle> defaults;
+
+        private RepositoryInvocationHandler(Class<?> repositoryInterface, JdbcTemplateHelper jdbcTemplateHelper,
+                                            Map<Method, RepositoryMethod> queries, Map<Method, MethodHandle> defaults) {
+            this.repositoryInterface = repositoryInterface;
+            this.jdbcTemplateHelper = jdbcTemplateHelper;
+            this.queries = queries;
+            this.defaults = defaults;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            RepositoryMethod query = queries.get(method);
+            if (query != null) {
+                return query.invoke(jdbcTemplateHelper, args == null ? NO_ARGS : args);
+            }
+            MethodHandle handle = defaults.get(method);
+            if (handle != null) {
+                return handle.invokeWithArguments(args == null ? NO_ARGS : args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TinyRepository[" + repositoryInterface.getName() + "]";
+                default:
+                    throw new TinyJdbcException("Repository method " + method + " is not supported");
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.tinycloud.jdbc.repository;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.tinycloud.jdbc.util.ClassUtils;
+import org.tinycloud.jdbc.util.StrUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * 处理 @TinyRepositoryScan：扫描 @TinyRepository 接口，为每个接口注册一个 {@link RepositoryFactoryBean}，
+ * Bean 名称为接口简单类名首字母小写，已存在同名 Bean 时跳过
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+public class RepositoryScannerRegistrar implements ImportBeanDefinitionRegistrar {
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        Map<String, Object> attributes = importingClassMetadata.getAnnotationAttributes(TinyRepositoryScan.class.getName());
+        Set<String> basePackages = new LinkedHashSet<>();
+        if (attributes != null) {
+            for (String name : new String[]{"value", "basePackages"}) {
+                for (String basePackage : (String[]) attributes.get(name)) {
+                    if (StrUtils.isNotEmpty(basePackage)) {
+                        basePackages.add(basePackage.trim());
+                    }
+                }
+            }
+        }
+        if (basePackages.isEmpty()) {
+            basePackages.add(ClassUtils.getPackageName(importingClassMetadata.getClassName()));
+        }
+        registerRepositories(registry, basePackages);
+    }
+
+    /**
+     * 扫描并注册声明式 DAO
+     *
+     * @param registry     BeanDefinitionRegistry
+     * @param basePackages 要扫描的包
+     */
+    public static void registerRepositories(BeanDefinitionRegistry registry, Collection<String> basePackages) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface() && beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(new AnnotationTypeFilter(TinyRepository.class));
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                String className = candidate.getBeanClassName();
+                String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                String beanName = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+                if (registry.containsBeanDefinition(beanName)) {
+                    continue;
+                }
+                GenericBeanDefinition definition = new GenericBeanDefinition();
+                definition.setBeanClass(RepositoryFactoryBean.class);
+                definition.getConstructorArgumentValues().addGenericArgumentValue(className);
+                definition.setAttribute("factoryBeanObjectType", className);
+                definition.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_TYPE);
+                registry.registerBeanDefinition(beanName, definition);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.tinycloud.jdbc.repository;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * 声明式 DAO 接口注解，接口中的方法使用 @Query 声明 SQL，启动时由 {@link RepositoryProxyFactory} 生成实现
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TinyRepository {
+}
@@ -0,0 +1,31 @@
+package org.tinycloud.jdbc.repository;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * 扫描指定包下标注了 @TinyRepository 的接口，并注册为 Spring Bean；不指定包时扫描被标注类所在的包。
+ * 使用 tiny-jdbc-boot-starter 且未使用本注解时，自动扫描 Spring Boot 应用所在的包
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 01:50
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(RepositoryScannerRegistrar.class)
+public @interface TinyRepositoryScan {
+
+    /**
+     * 要扫描的包，同 basePackages
+     */
+    String[] value() default {};
+
+    /**
+     * 要扫描的包
+     */
+    String[] basePackages() default {};
+}
@@ -0,0 +1,115 @@
+package org.tinycloud.jdbc.result;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.StrUtils;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * 列式查询的列定义，指定要读取的列（列名或从 1 开始的下标）以及存储类型
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 16:02
+ */
+public final class ColumnSpec implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 列名（列标签），为 null 时按下标读取
+     */
+    private final String column;
+
+    /**
+     * 列下标，从 1 开始，按列名读取时为 0
+     */
+    private final int index;
+
+    /**
+     * 存储类型
+     */
+    private final ColumnType type;
+
+    /**
+     * OBJECT 类型时要转换的 Java 类型，为 null 时使用驱动返回的类型
+     */
+    private final Class<?> javaType;
+
+    private ColumnSpec(String column, int index, ColumnType type, Class<?> javaType) {
+        if (column == null && index <= 0) {
+            throw new TinyJdbcException("ColumnSpec requires a column name or an index greater than 0");
+        }
+        if (column != null && StrUtils.isBlank(column)) {
+            throw new TinyJdbcException("ColumnSpec column name cannot be blank");
+        }
+        this.column = column;
+        this.index = index;
+        this.type = type;
+        this.javaType = javaType;
+    }
+
+    public static ColumnSpec ofLong(String column) {
+        return new ColumnSpec(column, 0, ColumnType.LONG, null);
+    }
+
+    public static ColumnSpec ofLong(int index) {
+        return new ColumnSpec(null, index, ColumnType.LONG, null);
+    }
+
+    public static ColumnSpec ofInt(String column) {
+        return new ColumnSpec(column, 0, ColumnType.INT, null);
+    }
+
+    public static ColumnSpec ofInt(int index) {
+        return new ColumnSpec(null, index, ColumnType.INT, null);
+    }
+
+    public static ColumnSpec ofDouble(String column) {
+        return new ColumnSpec(column, 0, ColumnType.DOUBLE, null);
+    }
+
+    public static ColumnSpec ofDouble(int index) {
+        return new ColumnSpec(null, index, ColumnType.DOUBLE, null);
+    }
+
+    public static ColumnSpec ofObject(String column) {
+        return new ColumnSpec(column, 0, ColumnType.OBJECT, null);
+    }
+
+    public static ColumnSpec ofObject(int index) {
+        return new ColumnSpec(null, index, ColumnType.OBJECT, null);
+    }
+
+    public static ColumnSpec ofObject(String column, Class<?> javaType) {
+        return new ColumnSpec(column, 0, ColumnType.OBJECT, javaType);
+    }
+
+    public static ColumnSpec ofObject(int index, Class<?> javaType) {
+        return new ColumnSpec(null, index, ColumnType.OBJECT, javaType);
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnSpec{" +
+                "column=" + (column != null ? column : "#" + index) +
+                ", type=" + type +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package org.tinycloud.jdbc.result;
+
+/**
+ * <p>
+ * 列式结果的存储类型
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 16:00
+ */
+public enum ColumnType {
+    /**
+     * 存储为 long[]
+     */
+    LONG,
+    /**
+     * 存储为 int[]
+     */
+    INT,
+    /**
+     * 存储为 double[]
+     */
+    DOUBLE,
+    /**
+     * 存储为 Object[]
+     */
+    OBJECT
+}
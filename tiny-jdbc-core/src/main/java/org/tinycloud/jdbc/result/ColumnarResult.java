@@ -0,0 +1,361 @@
+package org.tinycloud.jdbc.result;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * 列式查询结果，每一列使用一个可增长的数组存储
+ * </p>
+ * LONG、INT、DOUBLE 列分别存储为 long[]、int[]、double[]，并用 BitSet 记录 NULL 值（NULL 位置的数组元素为 0）；
+ * OBJECT 列存储为 Object[]。读取完成后数组会被裁剪为实际行数，getLongs 等方法直接返回内部数组，调用方不应修改。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 16:10
+ */
+public class ColumnarResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 列名
+     */
+    private final String[] columnNames;
+
+    /**
+     * 列存储类型
+     */
+    private final ColumnType[] types;
+
+    /**
+     * 列数据，元素为 long[]、int[]、double[] 或 Object[]
+     */
+    private final Object[] columns;
+
+    /**
+     * 每列的 NULL 位图，OBJECT 列为 null
+     */
+    private final BitSet[] nulls;
+
+    /**
+     * 行数
+     */
+    private int size;
+
+    /**
+     * 当前容量
+     */
+    private int capacity;
+
+    public ColumnarResult(String[] columnNames, ColumnType[] types) {
+        if (columnNames.length != types.length) {
+            throw new IllegalArgumentException("columnNames and types must have the same length");
+        }
+        this.columnNames = columnNames.clone();
+        this.types = types.clone();
+        this.columns = new Object[types.length];
+        this.nulls = new BitSet[types.length];
+        this.capacity = DEFAULT_CAPACITY;
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case LONG:
+                    columns[i] = new long[capacity];
+                    nulls[i] = new BitSet();
+                    break;
+                case INT:
+                    columns[i] = new int[capacity];
+                    nulls[i] = new BitSet();
+                    break;
+                case DOUBLE:
+                    columns[i] = new double[capacity];
+                    nulls[i] = new BitSet();
+                    break;
+                default:
+                    columns[i] = new Object[capacity];
+                    break;
+            }
+        }
+    }
+
+    // ======================== 写入（由 ColumnarResultExtractor 调用） ========================
+
+    /**
+     * 开始新的一行，必要时扩容
+     */
+    void beginRow() {
+        if (size == capacity) {
+            grow();
+        }
+    }
+
+    /**
+     * 结束当前行
+     */
+    void endRow() {
+        size++;
+    }
+
+    void putLong(int column, long value, boolean isNull) {
+        ((long[]) columns[column])[size] = value;
+        if (isNull) {
+            nulls[column].set(size);
+        }
+    }
+
+    void putInt(int column, int value, boolean isNull) {
+        ((int[]) columns[column])[size] = value;
+        if (isNull) {
+            nulls[column].set(size);
+        }
+    }
+
+    void putDouble(int column, double value, boolean isNull) {
+        ((double[]) columns[column])[size] = value;
+        if (isNull) {
+            nulls[column].set(size);
+        }
+    }
+
+    void putObject(int column, Object value) {
+        ((Object[]) columns[column])[size] = value;
+    }
+
+    /**
+     * 将所有列数组裁剪为实际行数
+     */
+    void trimToSize() {
+        if (capacity == size) {
+            return;
+        }
+        resize(size);
+    }
+
+    private void grow() {
+        int newCapacity = capacity + (capacity >> 1);
+        if (newCapacity - Integer.MAX_VALUE + 8 > 0) {
+            if (capacity == Integer.MAX_VALUE - 8) {
+                throw new TinyJdbcException("ColumnarResult row count exceeds the maximum array size");
+            }
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        resize(newCapacity);
+    }
+
+    private void resize(int newCapacity) {
+        for (int i = 0; i < columns.length; i++) {
+            switch (types[i]) {
+                case LONG:
+                    columns[i] = Arrays.copyOf((long[]) columns[i], newCapacity);
+                    break;
+                case INT:
+                    columns[i] = Arrays.copyOf((int[]) columns[i], newCapacity);
+                    break;
+                case DOUBLE:
+                    columns[i] = Arrays.copyOf((double[]) columns[i], newCapacity);
+                    break;
+                default:
+                    columns[i] = Arrays.copyOf((Object[]) columns[i], newCapacity);
+                    break;
+            }
+        }
+        this.capacity = newCapacity;
+    }
+
+    // ======================== 读取 ========================
+
+    /**
+     * 行数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 列数
+     */
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * 列名列表（只读）
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * 列存储类型
+     *
+     * @param column 列下标，从 0 开始
+     */
+    public ColumnType getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * 获取列下标，列名大小写不敏感
+     *
+     * @param columnName 列名
+     * @return 列下标（从 0 开始），不存在时返回 -1
+     */
+    public int indexOf(String columnName) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取 LONG 列的数据（内部数组，长度等于行数）
+     *
+     * @param column 列下标，从 0 开始
+     */
+    public long[] getLongs(int column) {
+        checkType(column, ColumnType.LONG);
+        return (long[]) columns[column];
+    }
+
+    public long[] getLongs(String columnName) {
+        return getLongs(requireIndex(columnName));
+    }
+
+    /**
+     * 获取 INT 列的数据（内部数组，长度等于行数）
+     *
+     * @param column 列下标，从 0 开始
+     */
+    public int[] getInts(int column) {
+        checkType(column, ColumnType.INT);
+        return (int[]) columns[column];
+    }
+
+    public int[] getInts(String columnName) {
+        return getInts(requireIndex(columnName));
+    }
+
+    /**
+     * 获取 DOUBLE 列的数据（内部数组，长度等于行数）
+     *
+     * @param column 列下标，从 0 开始
+     */
+    public double[] getDoubles(int column) {
+        checkType(column, ColumnType.DOUBLE);
+        return (double[]) columns[column];
+    }
+
+    public double[] getDoubles(String columnName) {
+        return getDoubles(requireIndex(columnName));
+    }
+
+    /**
+     * 获取 OBJECT 列的数据（内部数组，长度等于行数）
+     *
+     * @param column 列下标，从 0 开始
+     */
+    public Object[] getObjects(int column) {
+        checkType(column, ColumnType.OBJECT);
+        return (Object[]) columns[column];
+    }
+
+    public Object[] getObjects(String columnName) {
+        return getObjects(requireIndex(columnName));
+    }
+
+    /**
+     * 判断指定单元格是否为 NULL
+     *
+     * @param row    行下标
+     * @param column 列下标
+     */
+    public boolean isNull(int row, int column) {
+        checkRow(row);
+        if (types[column] == ColumnType.OBJECT) {
+            return ((Object[]) columns[column])[row] == null;
+        }
+        return nulls[column].get(row);
+    }
+
+    /**
+     * 获取指定列的 NULL 位图拷贝，OBJECT 列根据值是否为 null 计算
+     *
+     * @param column 列下标
+     */
+    public BitSet getNulls(int column) {
+        if (types[column] != ColumnType.OBJECT) {
+            return (BitSet) nulls[column].clone();
+        }
+        BitSet bitSet = new BitSet(size);
+        Object[] values = (Object[]) columns[column];
+        for (int i = 0; i < size; i++) {
+            if (values[i] == null) {
+                bitSet.set(i);
+            }
+        }
+        return bitSet;
+    }
+
+    /**
+     * 获取指定单元格的值（装箱），NULL 返回 null，适用于零散访问
+     *
+     * @param row    行下标
+     * @param column 列下标
+     */
+    public Object getValue(int row, int column) {
+        if (isNull(row, column)) {
+            return null;
+        }
+        switch (types[column]) {
+            case LONG:
+                return ((long[]) columns[column])[row];
+            case INT:
+                return ((int[]) columns[column])[row];
+            case DOUBLE:
+                return ((double[]) columns[column])[row];
+            default:
+                return ((Object[]) columns[column])[row];
+        }
+    }
+
+    private int requireIndex(String columnName) {
+        int index = indexOf(columnName);
+        if (index < 0) {
+            throw new TinyJdbcException("ColumnarResult column not found: " + columnName);
+        }
+        return index;
+    }
+
+    private void checkType(int column, ColumnType expected) {
+        if (types[column] != expected) {
+            throw new TinyJdbcException("ColumnarResult column " + columnNames[column] + " is " + types[column]
+                    + ", not " + expected);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarResult{" +
+                "columnNames=" + Arrays.toString(columnNames) +
+                ", types=" + Arrays.toString(types) +
+                ", size=" + size +
+                '}';
+    }
+}
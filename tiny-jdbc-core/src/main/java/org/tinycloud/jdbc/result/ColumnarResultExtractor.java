@@ -0,0 +1,100 @@
+package org.tinycloud.jdbc.result;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * <p>
+ * 将 ResultSet 按列提取为 {@link ColumnarResult}，数值列直接读取为基本类型，不产生装箱对象
+ * </p>
+ * 未指定列定义时读取全部列，并根据 JDBC 类型推断存储类型：BIGINT 为 LONG，INTEGER/SMALLINT/TINYINT 为 INT，
+ * DOUBLE/FLOAT/REAL 为 DOUBLE，其余为 OBJECT。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 16:30
+ */
+public class ColumnarResultExtractor implements ResultSetExtractor<ColumnarResult> {
+
+    private final ColumnSpec[] specs;
+
+    public ColumnarResultExtractor(ColumnSpec... specs) {
+        this.specs = specs == null ? new ColumnSpec[0] : specs.clone();
+    }
+
+    @Override
+    public ColumnarResult extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int count = specs.length == 0 ? metaData.getColumnCount() : specs.length;
+        int[] indexes = new int[count];
+        String[] names = new String[count];
+        ColumnType[] types = new ColumnType[count];
+        Class<?>[] javaTypes = new Class<?>[count];
+        for (int i = 0; i < count; i++) {
+            if (specs.length == 0) {
+                indexes[i] = i + 1;
+                types[i] = inferType(metaData.getColumnType(i + 1));
+            } else {
+                ColumnSpec spec = specs[i];
+                indexes[i] = spec.getColumn() != null ? rs.findColumn(spec.getColumn()) : spec.getIndex();
+                types[i] = spec.getType();
+                javaTypes[i] = spec.getJavaType();
+            }
+            names[i] = JdbcUtils.lookupColumnName(metaData, indexes[i]);
+        }
+
+        ColumnarResult result = new ColumnarResult(names, types);
+        while (rs.next()) {
+            result.beginRow();
+            for (int i = 0; i < count; i++) {
+                int index = indexes[i];
+                switch (types[i]) {
+                    case LONG: {
+                        long value = rs.getLong(index);
+                        result.putLong(i, value, value == 0L && rs.wasNull());
+                        break;
+                    }
+                    case INT: {
+                        int value = rs.getInt(index);
+                        result.putInt(i, value, value == 0 && rs.wasNull());
+                        break;
+                    }
+                    case DOUBLE: {
+                        double value = rs.getDouble(index);
+                        result.putDouble(i, value, value == 0D && rs.wasNull());
+                        break;
+                    }
+                    default:
+                        result.putObject(i, javaTypes[i] != null
+                                ? JdbcUtils.getResultSetValue(rs, index, javaTypes[i])
+                                : JdbcUtils.getResultSetValue(rs, index));
+                        break;
+                }
+            }
+            result.endRow();
+        }
+        result.trimToSize();
+        return result;
+    }
+
+    private static ColumnType inferType(int sqlType) {
+        switch (sqlType) {
+            case Types.BIGINT:
+                return ColumnType.LONG;
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return ColumnType.INT;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return ColumnType.DOUBLE;
+            default:
+                return ColumnType.OBJECT;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package org.tinycloud.jdbc.result;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * 紧凑的查询结果集，所有行共享一份列名索引，每行仅保存一个 Object[]
+ * </p>
+ * 与 selectMap 返回的 List&lt;Map&gt; 相比，不再为每一行重复保存列名和大小写不敏感索引，适用于列多、行多的报表类查询。
+ * 每一行都可以通过 {@link #getRowMap(int)} 或 {@link #asMaps()} 以只读 Map 的形式访问，列名大小写不敏感。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 15:10
+ */
+public class RowSet implements Iterable<Map<String, Object>>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 列名，按查询结果的顺序
+     */
+    private final String[] columnNames;
+
+    /**
+     * 小写列名 -> 列下标（重复列名时取最后一个，与 ColumnMapRowMapper 保持一致）
+     */
+    private final Map<String, Integer> columnIndex;
+
+    /**
+     * 去重后的列下标，用于 Map 视图的遍历
+     */
+    private final int[] distinctColumns;
+
+    /**
+     * 行数据
+     */
+    private final List<Object[]> rows;
+
+    public RowSet(String[] columnNames) {
+        this(columnNames, new ArrayList<>());
+    }
+
+    public RowSet(String[] columnNames, List<Object[]> rows) {
+        this.columnNames = columnNames.clone();
+        this.columnIndex = new HashMap<>((int) (columnNames.length / 0.75F) + 1);
+        for (int i = 0; i < columnNames.length; i++) {
+            this.columnIndex.put(toKey(columnNames[i]), i);
+        }
+        int[] distinct = new int[this.columnIndex.size()];
+        int n = 0;
+        for (int i = 0; i < columnNames.length; i++) {
+            if (this.columnIndex.get(toKey(columnNames[i])) == i) {
+                distinct[n++] = i;
+            }
+        }
+        this.distinctColumns = distinct;
+        this.rows = rows;
+    }
+
+    /**
+     * 追加一行数据，values 的长度须与列数一致
+     *
+     * @param values 行数据
+     */
+    public void addRow(Object[] values) {
+        if (values.length != columnNames.length) {
+            throw new IllegalArgumentException("row length " + values.length + " does not match column count " + columnNames.length);
+        }
+        rows.add(values);
+    }
+
+    /**
+     * 列名列表（只读）
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * 列数
+     */
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * 行数
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * 获取列下标，列名大小写不敏感
+     *
+     * @param columnName 列名
+     * @return 列下标，不存在时返回 -1
+     */
+    public int indexOf(String columnName) {
+        Integer index = columnName == null ? null : columnIndex.get(toKey(columnName));
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取指定单元格的值
+     *
+     * @param row    行下标
+     * @param column 列下标
+     * @return 值
+     */
+    public Object getValue(int row, int column) {
+        return rows.get(row)[column];
+    }
+
+    /**
+     * 获取指定单元格的值
+     *
+     * @param row        行下标
+     * @param columnName 列名，大小写不敏感
+     * @return 值，列不存在时返回 null
+     */
+    public Object getValue(int row, String columnName) {
+        int column = indexOf(columnName);
+        return column < 0 ? null : rows.get(row)[column];
+    }
+
+    /**
+     * 获取一行数据的拷贝
+     *
+     * @param row 行下标
+     * @return 行数据
+     */
+    public Object[] getRowValues(int row) {
+        return rows.get(row).clone();
+    }
+
+    /**
+     * 获取一行数据的只读 Map 视图
+     *
+     * @param row 行下标
+     * @return 只读 Map，列名大小写不敏感
+     */
+    public Map<String, Object> getRowMap(int row) {
+        return new RowMap(rows.get(row));
+    }
+
+    /**
+     * 以 List&lt;Map&gt; 的形式访问全部行，兼容 selectMap 的返回值，列表和其中的 Map 均为只读视图
+     *
+     * @return 只读视图
+     */
+    public List<Map<String, Object>> asMaps() {
+        return new RowMapList();
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        return asMaps().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "RowSet{" +
+                "columnNames=" + Arrays.toString(columnNames) +
+                ", size=" + rows.size() +
+                '}';
+    }
+
+    private static String toKey(String columnName) {
+        return columnName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 全部行的只读 List 视图
+     */
+    private final class RowMapList extends AbstractList<Map<String, Object>> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Map<String, Object> get(int index) {
+            return getRowMap(index);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * 单行的只读 Map 视图
+     */
+    private final class RowMap extends AbstractMap<String, Object> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] values;
+
+        private RowMap(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            int column = indexOf((String) key);
+            return column < 0 ? null : values[column];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && indexOf((String) key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return distinctColumns.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int cursor;
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < distinctColumns.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int column = distinctColumns[cursor++];
+                            return new SimpleImmutableEntry<>(columnNames[column], values[column]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return distinctColumns.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.tinycloud.jdbc.result;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * 将 ResultSet 提取为 {@link RowSet}，列名和取值方式与 Spring 的 ColumnMapRowMapper 保持一致
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 15:20
+ */
+public class RowSetExtractor implements ResultSetExtractor<RowSet> {
+
+    @Override
+    public RowSet extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] columnNames = new String[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columnNames[i - 1] = JdbcUtils.lookupColumnName(metaData, i);
+        }
+        RowSet rowSet = new RowSet(columnNames);
+        while (rs.next()) {
+            Object[] values = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                values[i - 1] = JdbcUtils.getResultSetValue(rs, i);
+            }
+            rowSet.addRow(values);
+        }
+        return rowSet;
+    }
+}
@@ -0,0 +1,173 @@
+package org.tinycloud.jdbc.sql;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.page.IPageHandle;
+import org.tinycloud.jdbc.page.PagingSQLProvider;
+import org.tinycloud.jdbc.sql.enums.Operation;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * SQL 构建器的编译结果（不可变），由 {@link SQL#compile()} 生成
+ * </p>
+ * 持有 SQL 文本、调用方参数个数以及编译时的参数值，线程安全，可以保存在静态字段中，
+ * 通过 ISqlSupport 以新的参数值重复执行，不再重新渲染 SQL 或遍历条件树收集参数。
+ * 执行时只传调用方的参数值（派生表、JOIN、WHERE、HAVING 中的值，IN 列表每个元素占一个位置，元素个数在编译时确定），
+ * 设置了 LIMIT / OFFSET 时，分页子句和分页参数由执行时的分页处理器按数据库方言生成，调用方无需关心方言差异。
+ * <pre>
+ * private static final CompiledSql&lt;User&gt; BY_STATUS = SQL.table(User.class)
+ *         .select().where(w -&gt; w.eq(User::getStatus, 0)).limit(10).compile();
+ * List&lt;User&gt; users = userDao.select(BY_STATUS, 1);
+ * List&lt;User&gt; page2 = userDao.select(BY_STATUS.withPage(10, 10), 1);
+ * </pre>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 23:55
+ */
+public final class CompiledSql<T> {
+    private final Operation operation;
+    private final String sql;
+    private final Object[] parameters;
+    private final Integer offset;
+    private final Integer limit;
+    private final IPageHandle pageHandle;
+    private final List<String> projection;
+
+    /**
+     * 按分页处理器缓存的分页 SQL 和分页参数，未配置 db-type 时以 STANDARD_PAGING 为键
+     */
+    private final Map<Object, PagingSQLProvider> pagingCache = new ConcurrentHashMap<>(4);
+
+    private static final Object STANDARD_PAGING = new Object();
+
+    CompiledSql(Operation operation, String sql, Object[] parameters, Integer offset, Integer limit, IPageHandle pageHandle,
+                List<String> projection) {
+        this.operation = operation;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.offset = offset;
+        this.limit = limit;
+        this.pageHandle = pageHandle;
+        this.projection = projection;
+    }
+
+    /**
+     * 操作类型
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * 最终的 SQL 文本，分页子句由编译时指定的分页处理器或按配置的 db-type 生成
+     */
+    public String getSql() {
+        return this.getSql(null);
+    }
+
+    /**
+     * 最终的 SQL 文本
+     *
+     * @param pageHandle 执行时的分页处理器，编译时指定了分页处理器的以编译时的为准
+     * @return SQL 文本
+     */
+    public String getSql(IPageHandle pageHandle) {
+        return this.isPaged() ? this.paging(pageHandle).getSql() : sql;
+    }
+
+    /**
+     * 是否设置了 LIMIT / OFFSET
+     */
+    public boolean isPaged() {
+        return limit != null || offset != null;
+    }
+
+    /**
+     * 调用方需要传入的参数个数，不含分页参数
+     */
+    public int getParameterCount() {
+        return parameters.length;
+    }
+
+    /**
+     * 编译时的参数值（副本），不含分页参数
+     */
+    public Object[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * 生成本次执行的参数数组
+     *
+     * @param values 按占位符顺序的新参数值（不含分页参数），为空时使用编译时的参数值
+     * @return 参数数组
+     * @throws TinyJdbcException 当参数个数与调用方参数个数不一致时抛出此异常
+     */
+    public Object[] parameters(Object... values) {
+        return this.parameters(null, values);
+    }
+
+    /**
+     * 生成本次执行的参数数组，分页参数由分页处理器按数据库方言追加在末尾
+     *
+     * @param pageHandle 执行时的分页处理器，编译时指定了分页处理器的以编译时的为准
+     * @param values     按占位符顺序的新参数值（不含分页参数），为空时使用编译时的参数值
+     * @return 参数数组
+     * @throws TinyJdbcException 当参数个数与调用方参数个数不一致时抛出此异常
+     */
+    public Object[] parameters(IPageHandle pageHandle, Object... values) {
+        Object[] userValues;
+        if (values == null || values.length == 0) {
+            userValues = parameters;
+        } else if (values.length != parameters.length) {
+            throw new TinyJdbcException("The compiled SQL expects " + parameters.length + " parameters, but got " + values.length);
+        } else {
+            userValues = values;
+        }
+        if (!this.isPaged()) {
+            return userValues == parameters && parameters.length > 0 ? parameters.clone() : userValues;
+        }
+        Object[] pagingParameters = this.paging(pageHandle).getParameters();
+        Object[] result = Arrays.copyOf(userValues, userValues.length + pagingParameters.length, Object[].class);
+        System.arraycopy(pagingParameters, 0, result, userValues.length, pagingParameters.length);
+        return result;
+    }
+
+    /**
+     * 以新的 OFFSET / LIMIT 生成编译结果，不含分页的 SQL 和调用方参数不变，无需重新编译
+     *
+     * @param offset 偏移量
+     * @param limit  行数
+     * @return 新的编译结果
+     * @throws TinyJdbcException 当操作类型不是 SELECT 时抛出此异常
+     */
+    public CompiledSql<T> withPage(long offset, int limit) {
+        if (operation != Operation.SELECT) {
+            throw new TinyJdbcException("Only SELECT statements support LIMIT / OFFSET.");
+        }
+        if (offset < 0 || offset > Integer.MAX_VALUE || limit < 0) {
+            throw new TinyJdbcException("Invalid paging parameters, offset: " + offset + ", limit: " + limit);
+        }
+        return new CompiledSql<>(operation, sql, parameters, (int) offset, limit, pageHandle, projection);
+    }
+
+    private PagingSQLProvider paging(IPageHandle executingPageHandle) {
+        IPageHandle handle = SQL.resolvePageHandle(pageHandle != null ? pageHandle : executingPageHandle);
+        return ConcurrentHashMapUtils.computeIfAbsent(pagingCache, handle == null ? STANDARD_PAGING : handle,
+                key -> SQL.paging(sql, offset, limit, handle, projection));
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSql{" +
+                "sql='" + sql + '\'' +
+                ", parameters=" + Arrays.toString(parameters) +
+                (this.isPaged() ? ", offset=" + offset + ", limit=" + limit : "") +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package org.tinycloud.jdbc.sql;
 
 import org.tinycloud.jdbc.criteria.TypeFunction;
+import org.tinycloud.jdbc.page.IPageHandle;
 import org.tinycloud.jdbc.sql.condition.*;
 import org.tinycloud.jdbc.sql.enums.JoinType;
 import org.tinycloud.jdbc.util.LambdaUtils;
@@ -243,6 +244,49 @@ public class ConditionGroup<T> {
         return this;
     }
 
+    public ConditionGroup<T> in(String column, SQL<?> subquery) {
+        this.elements.add(new SubqueryCondition(column, "IN", SQL.requireSubquery(subquery), this.defaultJoinType));
+        return this;
+    }
+
+    public <R> ConditionGroup<T> in(TypeFunction<T, R> field, SQL<?> subquery) {
+        String column = LambdaUtils.getLambdaColumnName(field);
+        this.elements.add(new SubqueryCondition(column, "IN", SQL.requireSubquery(subquery), this.defaultJoinType));
+        return this;
+    }
+
+    public ConditionGroup<T> notIn(String column, SQL<?> subquery) {
+        this.elements.add(new SubqueryCondition(column, "NOT IN", SQL.requireSubquery(subquery), this.defaultJoinType));
+        return this;
+    }
+
+    public <R> ConditionGroup<T> notIn(TypeFunction<T, R> field, SQL<?> subquery) {
+        String column = LambdaUtils.getLambdaColumnName(field);
+        this.elements.add(new SubqueryCondition(column, "NOT IN", SQL.requireSubquery(subquery), this.defaultJoinType));
+        return this;
+    }
+
+    public ConditionGroup<T> exists(SQL<?> subquery) {
+        this.elements.add(new SubqueryCondition(null, "EXISTS", SQL.requireSubquery(subquery), this.defaultJoinType));
+        return this;
+    }
+
+    public ConditionGroup<T> notExists(SQL<?> subquery) {
+        this.elements.add(new SubqueryCondition(null, "NOT EXISTS", SQL.requireSubquery(subquery), this.defaultJoinType));
+        return this;
+    }
+
+    // 列与列比较，用于 JOIN 的 ON 条件和关联子查询，如 eqColumn("u.dept_id", "d.id")
+    public ConditionGroup<T> eqColumn(String leftColumn, String rightColumn) {
+        this.elements.add(new ColumnCondition(leftColumn, "=", rightColumn, this.defaultJoinType));
+        return this;
+    }
+
+    public ConditionGroup<T> notEqColumn(String leftColumn, String rightColumn) {
+        this.elements.add(new ColumnCondition(leftColumn, "<>", rightColumn, this.defaultJoinType));
+        return this;
+    }
+
     public ConditionGroup<T> and() {
         this.defaultJoinType = JoinType.AND;
         return this;
@@ -258,22 +302,54 @@ public class ConditionGroup<T> {
     }
 
     public String toSql() {
+        return this.toSql(null);
+    }
+
+    /**
+     * 渲染条件，其中嵌套的子查询使用指定的分页处理器渲染分页子句
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return 条件 SQL
+     */
+    public String toSql(IPageHandle pageHandle) {
         if (this.elements.isEmpty()) {
             return "";
         }
         StringBuilder sql = new StringBuilder();
-        sql.append(this.elements.get(0).toSql());
+        sql.append(this.elements.get(0).toSql(pageHandle));
         for (int i = 1; i < this.elements.size(); i++) {
             sql.append(" ").append(this.elements.get(i).getJoinType().getSql()).append(" ");
-            sql.append(this.elements.get(i).toSql());
+            sql.append(this.elements.get(i).toSql(pageHandle));
         }
         return sql.toString();
     }
 
     public List<Object> getParameters() {
+        return this.getParameters(null);
+    }
+
+    /**
+     * 条件中的子查询是否设置了 LIMIT / OFFSET
+     */
+    public boolean hasPagedSubquery() {
+        for (ConditionElement element : this.elements) {
+            if (element.hasPagedSubquery()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 收集参数，须与 toSql(IPageHandle) 使用同一个分页处理器
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return 参数列表
+     */
+    public List<Object> getParameters(IPageHandle pageHandle) {
         List<Object> params = new ArrayList<>();
         for (ConditionElement element : this.elements) {
-            params.addAll(element.getParameters());
+            params.addAll(element.getParameters(pageHandle));
         }
         return params;
     }
@@ -0,0 +1,104 @@
+package org.tinycloud.jdbc.sql;
+
+import org.tinycloud.jdbc.page.IPageHandle;
+
+import java.util.List;
+
+/**
+ * <p>
+ * 关联：JOIN 的表（或子查询）、别名以及 ON 条件
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 03:10
+ */
+public class Join {
+    private final String keyword;
+    private final String table;
+    private final SQL<?> subquery;
+    private final String alias;
+    private final ConditionGroup<?> on;
+
+    /**
+     * 构造函数，用于创建一个 Join 对象。
+     *
+     * @param keyword  关联关键字，如 INNER JOIN、LEFT JOIN
+     * @param table    关联的表名，关联子查询时为 null
+     * @param subquery 关联的子查询（派生表），关联表时为 null
+     * @param alias    别名
+     * @param on       ON 条件
+     */
+    public Join(String keyword, String table, SQL<?> subquery, String alias, ConditionGroup<?> on) {
+        this.keyword = keyword;
+        this.table = table;
+        this.subquery = subquery;
+        this.alias = alias;
+        this.on = on;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * 渲染 JOIN 子句，如 LEFT JOIN t_dept d ON u.dept_id = d.id
+     *
+     * @return JOIN 子句
+     */
+    public String toSql() {
+        return this.toSql(null);
+    }
+
+    /**
+     * 渲染 JOIN 子句，子查询的分页子句使用指定的分页处理器渲染
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return JOIN 子句
+     */
+    public String toSql(IPageHandle pageHandle) {
+        StringBuilder sql = new StringBuilder(keyword).append(" ");
+        if (subquery != null) {
+            sql.append("(").append(subquery.toSql(pageHandle)).append(")");
+        } else {
+            sql.append(table);
+        }
+        if (alias != null) {
+            sql.append(" ").append(alias);
+        }
+        return sql.append(" ON ").append(on.toSql(pageHandle)).toString();
+    }
+
+    /**
+     * 关联的子查询或 ON 条件中的子查询是否设置了 LIMIT / OFFSET
+     */
+    boolean hasPagedSubquery() {
+        return (subquery != null && (subquery.isPaged() || subquery.hasPagedSubquery())) || on.hasPagedSubquery();
+    }
+
+    /**
+     * 按占位符顺序收集参数：先子查询，后 ON 条件
+     *
+     * @return 参数列表
+     */
+    public List<Object> getParameters() {
+        return this.getParameters(null);
+    }
+
+    /**
+     * 按占位符顺序收集参数，须与 toSql(IPageHandle) 使用同一个分页处理器
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return 参数列表
+     */
+    public List<Object> getParameters(IPageHandle pageHandle) {
+        List<Object> parameters = on.getParameters(pageHandle);
+        if (subquery != null) {
+            parameters.addAll(0, subquery.getParameters(pageHandle));
+        }
+        return parameters;
+    }
+}
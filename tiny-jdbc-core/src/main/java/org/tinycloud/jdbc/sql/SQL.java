@@ -1,16 +1,23 @@
 package org.tinycloud.jdbc.sql;
 
 import org.tinycloud.jdbc.annotation.Table;
+import org.tinycloud.jdbc.config.GlobalConfig;
 import org.tinycloud.jdbc.criteria.TypeFunction;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.page.IPageHandle;
+import org.tinycloud.jdbc.page.PageHandleFactory;
+import org.tinycloud.jdbc.page.PagingSQLProvider;
 import org.tinycloud.jdbc.sql.enums.ClauseState;
 import org.tinycloud.jdbc.sql.enums.Operation;
+import org.tinycloud.jdbc.util.ConcurrentHashMapUtils;
+import org.tinycloud.jdbc.util.DbType;
 import org.tinycloud.jdbc.util.LambdaUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * <p>
@@ -21,9 +28,31 @@ import java.util.stream.Stream;
  * @since 2025-05-21 14:00
  */
 public class SQL<T> {
+    /**
+     * 未指定分页处理器时按 db-type 使用的分页处理器，未配置 db-type 时使用标准的 LIMIT ? / OFFSET ? 子句
+     */
+    private static final Map<DbType, IPageHandle> PAGE_HANDLES = new ConcurrentHashMap<>();
+
+    /**
+     * 只设置 OFFSET 时传给分页处理器的行数
+     */
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * 可以从外层查询中按名称引用的查询字段：列名、带限定名的列名，或以 AS 指定了别名的表达式
+     */
+    private static final String IDENTIFIER = "(?:[A-Za-z_][\\w$]*|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\])";
+    private static final Pattern COLUMN_NAME = Pattern.compile(
+            "^(?:" + IDENTIFIER + "\\s*\\.\\s*)*(" + IDENTIFIER + ")$");
+    private static final Pattern COLUMN_ALIAS = Pattern.compile(
+            "^.+\\s+AS\\s+(" + IDENTIFIER + ")$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
     private final String table;
+    private final String alias;
+    private final SQL<?> fromSubquery;
     private Operation operation;
     private final List<String> selectFields = new ArrayList<>();
+    private final List<Join> joins = new ArrayList<>();
     private final Map<String, Object> insertValues = new LinkedHashMap<>();
     private final Map<String, Object> updateValues = new LinkedHashMap<>();
     private final ConditionGroup<T> whereCondition = new ConditionGroup<>();
@@ -33,12 +62,14 @@ public class SQL<T> {
     private Integer limit;
     private Integer offset;
 
-    // 记录各子句的调用状态
-    private volatile ClauseState whereState = ClauseState.NOT_CALLED;
-    private volatile ClauseState havingState = ClauseState.NOT_CALLED;
+    // 记录各子句的调用状态（构建器只在单个线程中使用，跨线程共享请使用 compile() 的结果）
+    private ClauseState whereState = ClauseState.NOT_CALLED;
+    private ClauseState havingState = ClauseState.NOT_CALLED;
 
-    private SQL(String table) {
+    private SQL(String table, String alias, SQL<?> fromSubquery) {
         this.table = table;
+        this.alias = alias;
+        this.fromSubquery = fromSubquery;
     }
 
     /**
@@ -48,7 +79,18 @@ public class SQL<T> {
      * @return SQL对象
      */
     public static <T> SQL<T> table(String table) {
-        return new SQL<>(table);
+        return new SQL<>(table, null, null);
+    }
+
+    /**
+     * 创建一个SQL对象，指定表名和别名，别名只能用于 SELECT 语句（关联查询、关联子查询）
+     *
+     * @param table 表名
+     * @param alias 别名
+     * @return SQL对象
+     */
+    public static <T> SQL<T> table(String table, String alias) {
+        return new SQL<>(table, requireAlias(alias), null);
     }
 
     /**
@@ -61,11 +103,35 @@ public class SQL<T> {
      * @throws TinyJdbcException 当传入的实体类缺少 @Table 注解时抛出此异常
      */
     public static <T> SQL<T> table(Class<T> entityClass) {
-        Table tableAnnotation = entityClass.getAnnotation(Table.class);
-        if (tableAnnotation == null) {
-            throw new TinyJdbcException("Class " + entityClass.getName() + " is missing the @Table annotation.");
-        }
-        return new SQL<>(tableAnnotation.value());
+        return new SQL<>(tableName(entityClass), null, null);
+    }
+
+    /**
+     * 根据实体类创建一个 SQL 对象，并指定别名，别名只能用于 SELECT 语句（关联查询、关联子查询）
+     *
+     * @param entityClass 实体类的 Class 对象，该类应包含 @Table 注解以指定对应的数据库表名
+     * @param alias       别名
+     * @return 一个基于指定表名和别名创建的 SQL 对象
+     * @throws TinyJdbcException 当传入的实体类缺少 @Table 注解时抛出此异常
+     */
+    public static <T> SQL<T> table(Class<T> entityClass, String alias) {
+        return new SQL<>(tableName(entityClass), requireAlias(alias), null);
+    }
+
+    /**
+     * 以子查询（派生表）作为 FROM 创建一个 SQL 对象，只能用于 SELECT 语句，子查询的参数排在最前面
+     * <pre>
+     * SQL&lt;Object&gt; sql = SQL.table(SQL.table("t_order").select("user_id", "SUM(amount) AS total").groupBy("user_id"), "o")
+     *         .select("o.user_id", "o.total")
+     *         .where(w -&gt; w.gt("o.total", 1000));
+     * </pre>
+     *
+     * @param subquery 子查询，必须是 SELECT 语句
+     * @param alias    派生表别名
+     * @return SQL对象
+     */
+    public static <T> SQL<T> table(SQL<?> subquery, String alias) {
+        return new SQL<>(null, requireAlias(alias), requireSubquery(subquery));
     }
 
 
@@ -241,6 +307,7 @@ public class SQL<T> {
      * 为 SELECT 语句添加 LIMIT 子句，用于限制查询结果的行数，支持链式调用。
      * 该方法会验证当前操作是否为 SELECT 操作，若不是则抛出异常；
      * 若为 SELECT 操作，则设置 LIMIT 子句的限制行数。
+     * 渲染时通过分页处理器（IPageHandle）按数据库方言生成，行数和偏移量绑定为参数，不同的取值共用同一条 SQL。
      *
      * @param limit 要限制的查询结果的最大行数
      * @return 当前 SQL 对象实例，用于支持链式调用。
@@ -256,7 +323,7 @@ public class SQL<T> {
 
     /**
      * 为 SELECT 语句添加 OFFSET 子句，用于指定查询结果的起始偏移量，支持链式调用。
-     * OFFSET 子句通常与 LIMIT 子句配合使用，用于实现分页查询。
+     * OFFSET 子句通常与 LIMIT 子句配合使用，用于实现分页查询；只设置 OFFSET 时不限制行数。
      * 该方法会验证当前操作是否为 SELECT 操作，若不是则抛出异常；
      * 若为 SELECT 操作，则设置 OFFSET 子句的起始偏移量。
      *
@@ -272,6 +339,110 @@ public class SQL<T> {
         return this;
     }
 
+    // ------------------------ JOIN ------------------------
+
+    /**
+     * 为 SELECT 语句添加 INNER JOIN 子句，关联实体类对应的表，支持链式调用。
+     * <pre>
+     * SQL.table(User.class, "u").select("u.*", "d.dept_name")
+     *         .join(Dept.class, "d", on -&gt; on.eqColumn("u.dept_id", "d.id"))
+     *         .where(w -&gt; w.eq("d.status", 1));
+     * </pre>
+     *
+     * @param entityClass 关联的实体类，需包含 @Table 注解
+     * @param alias       关联表的别名
+     * @param on          ON 条件，列与列比较使用 eqColumn，值比较会绑定为参数
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     * @throws TinyJdbcException 如果当前操作不是 SELECT 操作或 ON 条件为空，抛出此异常
+     */
+    public SQL<T> join(Class<?> entityClass, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("INNER JOIN", tableName(entityClass), null, alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 INNER JOIN 子句，关联指定表，支持链式调用。
+     *
+     * @param table 关联的表名
+     * @param alias 关联表的别名
+     * @param on    ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> join(String table, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("INNER JOIN", table, null, alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 INNER JOIN 子句，关联子查询（派生表），支持链式调用。
+     *
+     * @param subquery 子查询，必须是 SELECT 语句
+     * @param alias    派生表别名
+     * @param on       ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> join(SQL<?> subquery, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("INNER JOIN", null, requireSubquery(subquery), alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 LEFT JOIN 子句，关联实体类对应的表，支持链式调用。
+     *
+     * @param entityClass 关联的实体类，需包含 @Table 注解
+     * @param alias       关联表的别名
+     * @param on          ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> leftJoin(Class<?> entityClass, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("LEFT JOIN", tableName(entityClass), null, alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 LEFT JOIN 子句，关联指定表，支持链式调用。
+     *
+     * @param table 关联的表名
+     * @param alias 关联表的别名
+     * @param on    ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> leftJoin(String table, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("LEFT JOIN", table, null, alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 LEFT JOIN 子句，关联子查询（派生表），支持链式调用。
+     *
+     * @param subquery 子查询，必须是 SELECT 语句
+     * @param alias    派生表别名
+     * @param on       ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> leftJoin(SQL<?> subquery, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("LEFT JOIN", null, requireSubquery(subquery), alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 RIGHT JOIN 子句，关联实体类对应的表，支持链式调用。
+     *
+     * @param entityClass 关联的实体类，需包含 @Table 注解
+     * @param alias       关联表的别名
+     * @param on          ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> rightJoin(Class<?> entityClass, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("RIGHT JOIN", tableName(entityClass), null, alias, on);
+    }
+
+    /**
+     * 为 SELECT 语句添加 RIGHT JOIN 子句，关联指定表，支持链式调用。
+     *
+     * @param table 关联的表名
+     * @param alias 关联表的别名
+     * @param on    ON 条件
+     * @return 当前 SQL 对象实例，用于支持链式调用。
+     */
+    public SQL<T> rightJoin(String table, String alias, Consumer<ConditionGroup<T>> on) {
+        return this.addJoin("RIGHT JOIN", table, null, alias, on);
+    }
+
     // ------------------------ INSERT ------------------------
 
     /**
@@ -443,18 +614,29 @@ public class SQL<T> {
      * @throws TinyJdbcException 当未调用 select(), insert(), update(), 或 delete() 方法指定操作类型时抛出此异常
      */
     public String toSql() {
+        return this.toSql(null);
+    }
+
+    /**
+     * 根据当前设置的操作类型构建并返回对应的 SQL 语句，LIMIT / OFFSET 通过指定的分页处理器按数据库方言渲染。
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择，未配置时使用 LIMIT ? OFFSET ?
+     * @return 生成的 SQL 语句字符串
+     * @throws TinyJdbcException 当未调用 select(), insert(), update(), 或 delete() 方法指定操作类型时抛出此异常
+     */
+    public String toSql(IPageHandle pageHandle) {
         if (this.operation == null) {
             throw new TinyJdbcException("Please call the select(), insert(), update(), or delete() method first.");
         }
         switch (this.operation) {
             case SELECT:
-                return this.buildSelectSql();
+                return this.buildSelectSql(pageHandle);
             case INSERT:
                 return this.buildInsertSql();
             case UPDATE:
-                return this.buildUpdateSql();
+                return this.buildUpdateSql(pageHandle);
             case DELETE:
-                return this.buildDeleteSql();
+                return this.buildDeleteSql(pageHandle);
             default:
                 throw new TinyJdbcException("Unsupported operation type: " + this.operation);
         }
@@ -468,19 +650,105 @@ public class SQL<T> {
      * @throws TinyJdbcException 当操作类型不支持时抛出此异常
      */
     public List<Object> getParameters() {
+        return this.getParameters(null);
+    }
+
+    /**
+     * 获取当前 SQL 操作对应的参数列表，LIMIT / OFFSET 的参数由指定的分页处理器生成，须与 toSql(IPageHandle) 使用同一个分页处理器。
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择，未配置时使用 LIMIT ? OFFSET ?
+     * @return 包含当前 SQL 操作所需参数的列表
+     * @throws TinyJdbcException 当操作类型不支持时抛出此异常
+     */
+    public List<Object> getParameters(IPageHandle pageHandle) {
         switch (this.operation) {
-            case SELECT:
-            case DELETE:
-                return Stream.concat(this.whereCondition.getParameters().stream(), this.havingCondition.getParameters().stream()).collect(Collectors.toList());
+            case SELECT: {
+                // 按占位符在 SQL 中出现的顺序：派生表、JOIN、WHERE、HAVING、分页
+                List<Object> parameters = this.getSelectParameters(pageHandle);
+                if (this.isPaged()) {
+                    // 分页参数与原 SQL 无关，这里只取参数
+                    parameters.addAll(Arrays.asList(this.paging("", pageHandle).getParameters()));
+                }
+                return parameters;
+            }
+            case DELETE: {
+                List<Object> parameters = this.whereCondition.getParameters(pageHandle);
+                parameters.addAll(this.havingCondition.getParameters(pageHandle));
+                return parameters;
+            }
             case INSERT:
                 return new ArrayList<>(this.insertValues.values());
-            case UPDATE:
-                return Stream.concat(this.updateValues.values().stream(), this.whereCondition.getParameters().stream()).collect(Collectors.toList());
+            case UPDATE: {
+                List<Object> parameters = new ArrayList<>(this.updateValues.values());
+                parameters.addAll(this.whereCondition.getParameters(pageHandle));
+                return parameters;
+            }
             default:
                 throw new TinyJdbcException("Unsupported operation type: " + this.operation);
         }
     }
 
+    /**
+     * 编译为不可变的 CompiledSql，只渲染一次 SQL 并收集一次参数。
+     * 编译结果线程安全，可以保存在静态字段中，通过 ISqlSupport 以新的参数值重复执行；编译后再修改本构建器不影响编译结果。
+     * 设置了 LIMIT / OFFSET 时，编译结果只保存不含分页的 SQL，执行时按 Dao 的分页处理器生成分页子句和分页参数。
+     *
+     * @return 编译结果
+     * @throws TinyJdbcException 当未调用 select(), insert(), update(), 或 delete() 方法指定操作类型，或者子查询设置了 LIMIT / OFFSET 时抛出此异常
+     */
+    public CompiledSql<T> compile() {
+        return this.compile(null);
+    }
+
+    /**
+     * 编译为不可变的 CompiledSql，LIMIT / OFFSET 固定使用指定的分页处理器按数据库方言渲染为参数。
+     *
+     * @param pageHandle 分页处理器，为 null 时执行时使用 Dao 的分页处理器
+     * @return 编译结果
+     * @throws TinyJdbcException 当未调用 select(), insert(), update(), 或 delete() 方法指定操作类型，或者子查询设置了 LIMIT / OFFSET 时抛出此异常
+     */
+    public CompiledSql<T> compile(IPageHandle pageHandle) {
+        if (this.operation == null) {
+            throw new TinyJdbcException("Please call the select(), insert(), update(), or delete() method first.");
+        }
+        if (this.hasPagedSubquery()) {
+            // 子查询的分页参数与调用方的参数混在一起，无法按位置区分，暂不支持编译
+            throw new TinyJdbcException("compile() does not support subqueries with LIMIT / OFFSET.");
+        }
+        if (this.operation != Operation.SELECT || !this.isPaged()) {
+            return new CompiledSql<>(this.operation, this.toSql(pageHandle), this.getParameters(pageHandle).toArray(),
+                    null, null, null, null);
+        }
+        return new CompiledSql<>(this.operation, this.buildSelectSql(pageHandle, false), this.getSelectParameters(pageHandle).toArray(),
+                this.offset, this.limit, pageHandle, this.pagingProjection());
+    }
+
+    /**
+     * 派生表、关联子查询或条件中的子查询是否设置了 LIMIT / OFFSET
+     *
+     * @return 任一子查询设置了 LIMIT / OFFSET 时返回 true
+     */
+    public boolean hasPagedSubquery() {
+        if (this.fromSubquery != null && (this.fromSubquery.isPaged() || this.fromSubquery.hasPagedSubquery())) {
+            return true;
+        }
+        for (Join join : this.joins) {
+            if (join.hasPagedSubquery()) {
+                return true;
+            }
+        }
+        return this.whereCondition.hasPagedSubquery() || this.havingCondition.hasPagedSubquery();
+    }
+
+    /**
+     * 是否设置了 LIMIT 或 OFFSET，设置时渲染需要分页处理器
+     *
+     * @return true 表示设置了 LIMIT 或 OFFSET
+     */
+    public boolean isPaged() {
+        return this.limit != null || this.offset != null;
+    }
+
     // ------------------------ 私有方法 ------------------------
 
     /**
@@ -495,26 +763,104 @@ public class SQL<T> {
         if (this.operation != null) {
             throw new TinyJdbcException("Cannot use " + this.operation + " and " + newOperation + " operations simultaneously.");
         }
+        if (newOperation != Operation.SELECT && (this.alias != null || this.fromSubquery != null)) {
+            throw new TinyJdbcException("Table alias and derived table can only be used in SELECT statements.");
+        }
         this.operation = newOperation;
     }
 
+    private SQL<T> addJoin(String keyword, String joinTable, SQL<?> subquery, String joinAlias, Consumer<ConditionGroup<T>> on) {
+        if (this.operation != Operation.SELECT) {
+            throw new TinyJdbcException("The JOIN clause can only be used in SELECT statements.");
+        }
+        if (subquery == null && (joinTable == null || joinTable.trim().isEmpty())) {
+            throw new TinyJdbcException("The JOIN table cannot be null or empty.");
+        }
+        if (on == null) {
+            throw new TinyJdbcException("The JOIN clause requires an ON condition.");
+        }
+        ConditionGroup<T> condition = new ConditionGroup<>();
+        on.accept(condition);
+        if (condition.isEmpty()) {
+            throw new TinyJdbcException("The JOIN clause requires an ON condition.");
+        }
+        this.joins.add(new Join(keyword, joinTable, subquery, subquery != null ? requireAlias(joinAlias) : joinAlias, condition));
+        return this;
+    }
+
+    private static String tableName(Class<?> entityClass) {
+        Table tableAnnotation = entityClass.getAnnotation(Table.class);
+        if (tableAnnotation == null) {
+            throw new TinyJdbcException("Class " + entityClass.getName() + " is missing the @Table annotation.");
+        }
+        return tableAnnotation.value();
+    }
+
+    private static String requireAlias(String alias) {
+        if (alias == null || alias.trim().isEmpty()) {
+            throw new TinyJdbcException("Alias cannot be null or empty");
+        }
+        return alias;
+    }
+
+    /**
+     * 校验子查询、派生表必须是 SELECT 语句
+     *
+     * @param subquery 子查询
+     * @return 子查询
+     * @throws TinyJdbcException 当子查询为空或不是 SELECT 语句时抛出此异常
+     */
+    static SQL<?> requireSubquery(SQL<?> subquery) {
+        if (subquery == null) {
+            throw new TinyJdbcException("The subquery cannot be null.");
+        }
+        if (subquery.operation != Operation.SELECT) {
+            throw new TinyJdbcException("A subquery must be a SELECT statement.");
+        }
+        return subquery;
+    }
+
     /**
      * 构建 SELECT SQL 语句。
      * 该方法会根据已设置的查询字段、条件、分组、排序、分页等信息，
      * 构建一个完整的 SELECT SQL 语句。
      *
+     * @param pageHandle 分页处理器，可为 null
      * @return 生成的 SELECT SQL 语句字符串
      */
-    private String buildSelectSql() {
+    private String buildSelectSql(IPageHandle pageHandle) {
+        return this.buildSelectSql(pageHandle, true);
+    }
+
+    /**
+     * 构建 SELECT SQL 语句
+     *
+     * @param pageHandle 分页处理器，可为 null
+     * @param paged      是否渲染 LIMIT / OFFSET
+     * @return 生成的 SELECT SQL 语句字符串
+     */
+    private String buildSelectSql(IPageHandle pageHandle, boolean paged) {
         StringBuilder sql = new StringBuilder();
         if (this.selectFields.isEmpty()) {
             sql.append("SELECT *");
         } else {
             sql.append("SELECT ").append(String.join(", ", this.selectFields));
         }
-        sql.append(" FROM ").append(this.table);
+        sql.append(" FROM ");
+        if (this.fromSubquery != null) {
+            sql.append("(").append(this.fromSubquery.toSql(pageHandle)).append(")");
+        } else {
+            sql.append(this.table);
+        }
+        if (this.alias != null) {
+            sql.append(" ").append(this.alias);
+        }
+        // 添加 JOIN 子句
+        for (Join join : this.joins) {
+            sql.append(" ").append(join.toSql(pageHandle));
+        }
         if (!this.whereCondition.isEmpty()) {
-            sql.append(" WHERE ").append(this.whereCondition.toSql());
+            sql.append(" WHERE ").append(this.whereCondition.toSql(pageHandle));
         }
         // 添加 GROUP BY 子句
         if (!this.groupByColumns.isEmpty()) {
@@ -522,7 +868,7 @@ public class SQL<T> {
         }
         // 添加 HAVING 子句
         if (!this.havingCondition.isEmpty()) {
-            sql.append(" HAVING ").append(this.havingCondition.toSql());
+            sql.append(" HAVING ").append(this.havingCondition.toSql(pageHandle));
         }
         // 添加 ORDER BY 子句
         if (!this.orderByClauses.isEmpty()) {
@@ -534,15 +880,127 @@ public class SQL<T> {
             sql.append(orderJoiner);
         }
         // 添加 LIMIT 和 OFFSET 子句
-        if (this.limit != null) {
-            sql.append(" LIMIT ").append(this.limit);
-        }
-        if (this.offset != null) {
-            sql.append(" OFFSET ").append(this.offset);
+        if (paged && this.isPaged()) {
+            return this.paging(sql.toString(), pageHandle).getSql();
         }
         return sql.toString();
     }
 
+    /**
+     * SELECT 语句中分页参数之前的参数：派生表、JOIN、WHERE、HAVING
+     */
+    private List<Object> getSelectParameters(IPageHandle pageHandle) {
+        List<Object> parameters = new ArrayList<>();
+        if (this.fromSubquery != null) {
+            parameters.addAll(this.fromSubquery.getParameters(pageHandle));
+        }
+        for (Join join : this.joins) {
+            parameters.addAll(join.getParameters(pageHandle));
+        }
+        parameters.addAll(this.whereCondition.getParameters(pageHandle));
+        parameters.addAll(this.havingCondition.getParameters(pageHandle));
+        return parameters;
+    }
+
+    /**
+     * 通过分页处理器按数据库方言渲染 LIMIT / OFFSET，行数和偏移量绑定为参数
+     *
+     * @param sql        不含分页的 SQL
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return 分页 SQL 和分页参数
+     * @throws TinyJdbcException 当设置了 OFFSET 却没有设置 LIMIT 时抛出此异常
+     */
+    private PagingSQLProvider paging(String sql, IPageHandle pageHandle) {
+        return paging(sql, this.offset, this.limit, pageHandle, this.pagingProjection());
+    }
+
+    /**
+     * 分页处理器以子查询包装原 SQL 时（如 Oracle 的 ROWNUM、DB2 的 ROWNUMBER()），从外层查询中选出的字段，
+     * 用于去掉包装时增加的行号列
+     *
+     * @return 查询字段的名称，SELECT * 或存在无法按名称引用的字段（未指定别名的表达式、重名字段）时返回 null
+     */
+    private List<String> pagingProjection() {
+        if (this.selectFields.isEmpty()) {
+            return null;
+        }
+        List<String> projection = new ArrayList<>(this.selectFields.size());
+        Set<String> names = new HashSet<>();
+        for (String field : this.selectFields) {
+            String name = columnName(field.trim());
+            if (name == null || !names.add(name.toUpperCase(Locale.ROOT))) {
+                return null;
+            }
+            projection.add(name);
+        }
+        return projection;
+    }
+
+    /**
+     * 查询字段在结果集中的名称
+     *
+     * @param field 查询字段
+     * @return 列名或别名，无法确定时返回 null
+     */
+    private static String columnName(String field) {
+        Matcher matcher = COLUMN_ALIAS.matcher(field);
+        if (matcher.matches()) {
+            return matcher.group(1);
+        }
+        matcher = COLUMN_NAME.matcher(field);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * 通过分页处理器按数据库方言渲染 LIMIT / OFFSET，行数和偏移量绑定为参数，编译结果执行时也经由这里生成分页子句
+     *
+     * @param sql        不含分页的 SQL
+     * @param offset     偏移量，可为 null
+     * @param limit      行数，可为 null
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择，未配置时使用标准的 LIMIT ? / OFFSET ? 子句
+     * @param projection 分页处理器以子查询包装原 SQL 时从外层查询中选出的字段，为 null 时不处理
+     * @return 分页 SQL 和分页参数
+     */
+    static PagingSQLProvider paging(String sql, Integer offset, Integer limit, IPageHandle pageHandle, List<String> projection) {
+        IPageHandle handle = resolvePageHandle(pageHandle);
+        if (handle == null) {
+            // 未配置 db-type，与未接入分页处理器之前相同，只是行数和偏移量改为绑定参数
+            StringBuilder pagingSql = new StringBuilder(sql);
+            List<Object> parameters = new ArrayList<>(2);
+            if (limit != null) {
+                pagingSql.append(" LIMIT ?");
+                parameters.add(limit);
+            }
+            if (offset != null) {
+                pagingSql.append(" OFFSET ?");
+                parameters.add(offset);
+            }
+            return PagingSQLProvider.create(pagingSql.toString(), parameters);
+        }
+        // 只设置 OFFSET 时不限制行数
+        PagingSQLProvider provider = handle.handlerOffsetPagingSQL(sql, offset == null ? 0L : offset, limit == null ? UNLIMITED : limit);
+        if (projection != null && !provider.getSql().startsWith(sql)) {
+            provider.setSql("SELECT " + String.join(", ", projection) + " FROM ( " + provider.getSql() + " ) PAGED_TB");
+        }
+        return provider;
+    }
+
+    /**
+     * 未指定分页处理器时按配置的 db-type 选择
+     *
+     * @return 分页处理器，未配置 db-type 时返回 null
+     */
+    static IPageHandle resolvePageHandle(IPageHandle pageHandle) {
+        if (pageHandle != null) {
+            return pageHandle;
+        }
+        GlobalConfig config = GlobalConfig.getConfig();
+        if (config == null || config.getDbType() == null) {
+            return null;
+        }
+        return ConcurrentHashMapUtils.computeIfAbsent(PAGE_HANDLES, config.getDbType(), PageHandleFactory::createPageHandleByDbType);
+    }
+
     /**
      * 构建 INSERT SQL 语句。
      * 该方法会验证是否指定了插入的列和对应的值，若未指定则抛出异常。
@@ -556,12 +1014,20 @@ public class SQL<T> {
             throw new TinyJdbcException("The INSERT statement requires columns and values to be specified.");
         }
         // 1. 构建列名：(col1, col2, col3)
-        String columns = this.insertValues.keySet().stream().collect(Collectors.joining(", ", " (", ")"));
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(this.table).append(" (");
+        int index = 0;
+        for (String column : this.insertValues.keySet()) {
+            if (index++ > 0) {
+                sql.append(", ");
+            }
+            sql.append(column);
+        }
         // 2. 构建占位符：VALUES (?, ?, ?)
-        String placeholders = this.insertValues.keySet().stream().map(col -> "?") // 每个列名对应一个 "?"
-                .collect(Collectors.joining(", ", " VALUES (", ")"));
-        // 3. 拼接完整 SQL
-        return "INSERT INTO " + this.table + columns + placeholders;
+        sql.append(") VALUES (");
+        for (int i = 0; i < index; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.append(")").toString();
     }
 
     /**
@@ -569,24 +1035,29 @@ public class SQL<T> {
      * 该方法会验证是否设置了至少一个 SET 子句，以及是否包含 WHERE 子句，
      * 确保不会执行无限制的更新操作。
      *
+     * @param pageHandle 分页处理器，用于渲染 WHERE 中子查询的分页子句，可为 null
      * @return 生成的 UPDATE SQL 语句字符串
      * @throws TinyJdbcException 当没有设置 SET 子句或 WHERE 子句时抛出此异常
      */
-    private String buildUpdateSql() {
+    private String buildUpdateSql(IPageHandle pageHandle) {
         if (this.updateValues.isEmpty()) {
             throw new TinyJdbcException("The UPDATE statement requires at least one SET clause.");
         }
-        // 1. 构建 SET 子句：col1 = ?, col2 = ?, ...
-        String setClause = this.updateValues.keySet().stream()
-                .map(col -> col + " = ?")
-                .collect(Collectors.joining(", "));
-        // 2. 构建 WHERE 子句
         if (this.whereCondition.isEmpty()) {
             throw new TinyJdbcException("The UPDATE statement requires a WHERE clause.");
         }
-        String whereClause = " WHERE " + this.whereCondition.toSql();
-        // 3. 拼接完整 SQL
-        return "UPDATE " + this.table + " SET " + setClause + whereClause;
+        // 1. 构建 SET 子句：col1 = ?, col2 = ?, ...
+        StringBuilder sql = new StringBuilder("UPDATE ").append(this.table).append(" SET ");
+        int index = 0;
+        for (String column : this.updateValues.keySet()) {
+            if (index++ > 0) {
+                sql.append(", ");
+            }
+            sql.append(column).append(" = ?");
+        }
+        // 2. 构建 WHERE 子句
+        sql.append(" WHERE ").append(this.whereCondition.toSql(pageHandle));
+        return sql.toString();
     }
 
     /**
@@ -594,13 +1065,14 @@ public class SQL<T> {
      * 该方法会生成一条用于从指定表中删除数据的 SQL 语句，
      * 为避免误删全量数据，要求必须包含 WHERE 子句。
      *
+     * @param pageHandle 分页处理器，用于渲染 WHERE 中子查询的分页子句，可为 null
      * @return 生成的 DELETE SQL 语句字符串
      * @throws TinyJdbcException 当没有设置 WHERE 子句时抛出此异常
      */
-    private String buildDeleteSql() {
+    private String buildDeleteSql(IPageHandle pageHandle) {
         StringBuilder sql = new StringBuilder("DELETE FROM ").append(this.table);
         if (!this.whereCondition.isEmpty()) {
-            sql.append(" WHERE ").append(this.whereCondition.toSql());
+            sql.append(" WHERE ").append(this.whereCondition.toSql(pageHandle));
         } else {
             throw new TinyJdbcException("The DELETE statement requires a WHERE clause.");
         }
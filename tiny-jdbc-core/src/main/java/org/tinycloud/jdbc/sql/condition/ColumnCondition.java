@@ -0,0 +1,43 @@
+package org.tinycloud.jdbc.sql.condition;
+
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *     条件：列与列比较（JOIN 的 ON 条件、关联子查询），如 u.dept_id = d.id
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 03:10
+ */
+public class ColumnCondition implements ConditionElement {
+    private final String leftColumn;
+    private final String operator;
+    private final String rightColumn;
+    private final JoinType joinType;
+
+    public ColumnCondition(String leftColumn, String operator, String rightColumn, JoinType joinType) {
+        this.leftColumn = leftColumn;
+        this.operator = operator;
+        this.rightColumn = rightColumn;
+        this.joinType = joinType;
+    }
+
+    @Override
+    public String toSql() {
+        return leftColumn + " " + operator + " " + rightColumn;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public List<Object> getParameters() {
+        return Collections.emptyList(); // 列与列比较不需要参数
+    }
+}
@@ -1,5 +1,6 @@
 package org.tinycloud.jdbc.sql.condition;
 
+import org.tinycloud.jdbc.page.IPageHandle;
 import org.tinycloud.jdbc.sql.enums.JoinType;
 
 import java.util.List;
@@ -18,4 +19,33 @@ public interface ConditionElement {
     JoinType getJoinType();
 
     List<Object> getParameters();
+
+    /**
+     * 渲染条件，其中嵌套的子查询使用指定的分页处理器渲染分页子句
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return 条件 SQL
+     */
+    default String toSql(IPageHandle pageHandle) {
+        return this.toSql();
+    }
+
+    /**
+     * 收集参数，须与 toSql(IPageHandle) 使用同一个分页处理器
+     *
+     * @param pageHandle 分页处理器，为 null 时按配置的 db-type 选择
+     * @return 参数列表
+     */
+    default List<Object> getParameters(IPageHandle pageHandle) {
+        return this.getParameters();
+    }
+
+    /**
+     * 条件中的子查询是否设置了 LIMIT / OFFSET
+     *
+     * @return 不含子查询时返回 false
+     */
+    default boolean hasPagedSubquery() {
+        return false;
+    }
 }
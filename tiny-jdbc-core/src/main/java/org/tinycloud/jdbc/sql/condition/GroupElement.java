@@ -1,5 +1,6 @@
 package org.tinycloud.jdbc.sql.condition;
 
+import org.tinycloud.jdbc.page.IPageHandle;
 import org.tinycloud.jdbc.sql.ConditionGroup;
 import org.tinycloud.jdbc.sql.enums.JoinType;
 
@@ -24,7 +25,12 @@ public class GroupElement implements ConditionElement {
 
     @Override
     public String toSql() {
-        return "(" + group.toSql() + ")";
+        return this.toSql(null);
+    }
+
+    @Override
+    public String toSql(IPageHandle pageHandle) {
+        return "(" + group.toSql(pageHandle) + ")";
     }
 
     @Override
@@ -34,6 +40,16 @@ public class GroupElement implements ConditionElement {
 
     @Override
     public List<Object> getParameters() {
-        return group.getParameters();
+        return this.getParameters(null);
+    }
+
+    @Override
+    public List<Object> getParameters(IPageHandle pageHandle) {
+        return group.getParameters(pageHandle);
+    }
+
+    @Override
+    public boolean hasPagedSubquery() {
+        return group.hasPagedSubquery();
     }
 }
@@ -1,6 +1,7 @@
 package org.tinycloud.jdbc.sql.condition;
 
 import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.inlist.InLists;
 import org.tinycloud.jdbc.sql.enums.JoinType;
 
 import java.util.ArrayList;
@@ -19,6 +20,8 @@ public class InCondition implements ConditionElement {
     private final List<?> values;
     private final JoinType joinType;
     private final boolean isNot;
+    private String sql;
+    private List<Object> parameters;
 
     public InCondition(String column, List<?> values, boolean isNot, JoinType joinType) {
         if (values == null || values.isEmpty()) {
@@ -32,15 +35,8 @@ public class InCondition implements ConditionElement {
 
     @Override
     public String toSql() {
-        StringBuilder sb = new StringBuilder(column).append((isNot ? " NOT IN (" : " IN ("));
-        for (int i = 0; i < values.size(); i++) {
-            sb.append("?");
-            if (i < values.size() - 1) {
-                sb.append(", ");
-            }
-        }
-        sb.append(")");
-        return sb.toString();
+        this.render();
+        return sql;
     }
 
     @Override
@@ -50,6 +46,20 @@ public class InCondition implements ConditionElement {
 
     @Override
     public List<Object> getParameters() {
-        return new ArrayList<>(values);
+        this.render();
+        return new ArrayList<>(parameters);
+    }
+
+    /**
+     * 按列表大小和数据库类型渲染一次，SQL 与参数一一对应
+     */
+    private void render() {
+        if (sql == null) {
+            StringBuilder sb = new StringBuilder();
+            List<Object> params = new ArrayList<>(values.size());
+            InLists.render(column, values, isNot, sb, params);
+            this.parameters = params;
+            this.sql = sb.toString();
+        }
     }
 }
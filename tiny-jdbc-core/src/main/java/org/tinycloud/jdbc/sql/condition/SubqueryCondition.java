@@ -0,0 +1,66 @@
+package org.tinycloud.jdbc.sql.condition;
+
+import org.tinycloud.jdbc.page.IPageHandle;
+import org.tinycloud.jdbc.sql.SQL;
+import org.tinycloud.jdbc.sql.enums.JoinType;
+
+import java.util.List;
+
+/**
+ * <p>
+ *     条件：子查询（IN (SELECT ...) / NOT IN (SELECT ...) / EXISTS (SELECT ...) / NOT EXISTS (SELECT ...)）
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 03:10
+ */
+public class SubqueryCondition implements ConditionElement {
+    private final String column;
+    private final String operator;
+    private final SQL<?> subquery;
+    private final JoinType joinType;
+
+    /**
+     * @param column   列名，EXISTS / NOT EXISTS 时为 null
+     * @param operator IN、NOT IN、EXISTS、NOT EXISTS
+     * @param subquery 子查询
+     * @param joinType 连接类型
+     */
+    public SubqueryCondition(String column, String operator, SQL<?> subquery, JoinType joinType) {
+        this.column = column;
+        this.operator = operator;
+        this.subquery = subquery;
+        this.joinType = joinType;
+    }
+
+    @Override
+    public String toSql() {
+        return this.toSql(null);
+    }
+
+    @Override
+    public String toSql(IPageHandle pageHandle) {
+        String sql = operator + " (" + subquery.toSql(pageHandle) + ")";
+        return column == null ? sql : column + " " + sql;
+    }
+
+    @Override
+    public JoinType getJoinType() {
+        return joinType;
+    }
+
+    @Override
+    public List<Object> getParameters() {
+        return this.getParameters(null);
+    }
+
+    @Override
+    public List<Object> getParameters(IPageHandle pageHandle) {
+        return subquery.getParameters(pageHandle);
+    }
+
+    @Override
+    public boolean hasPagedSubquery() {
+        return subquery.isPaged() || subquery.hasPagedSubquery();
+    }
+}
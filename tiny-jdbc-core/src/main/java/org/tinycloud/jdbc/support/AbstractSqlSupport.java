@@ -2,12 +2,29 @@ package org.tinycloud.jdbc.support;
 
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.tinycloud.jdbc.annotation.SingleFlight;
+import org.tinycloud.jdbc.cache.BloomIndexManager;
+import org.tinycloud.jdbc.cache.BloomKeyIndex;
+import org.tinycloud.jdbc.cache.CacheInvalidator;
+import org.tinycloud.jdbc.cache.CacheKey;
+import org.tinycloud.jdbc.cache.EntityCacheManager;
+import org.tinycloud.jdbc.cache.EntityCopier;
+import org.tinycloud.jdbc.cache.PageCountCache;
+import org.tinycloud.jdbc.cache.QueryResultCache;
+import org.tinycloud.jdbc.cache.ReferenceTable;
+import org.tinycloud.jdbc.cache.ReferenceTableManager;
+import org.tinycloud.jdbc.cache.SingleFlightGroup;
+import org.tinycloud.jdbc.cache.SqlTables;
+import org.tinycloud.jdbc.cache.TransactionEntityCache;
 import org.tinycloud.jdbc.config.GlobalConfig;
+import org.tinycloud.jdbc.criteria.Criteria;
 import org.tinycloud.jdbc.criteria.query.LambdaQueryCriteria;
 import org.tinycloud.jdbc.criteria.query.QueryCriteria;
 import org.tinycloud.jdbc.criteria.update.LambdaUpdateCriteria;
@@ -15,25 +32,52 @@ import org.tinycloud.jdbc.criteria.update.UpdateCriteria;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
 import org.tinycloud.jdbc.fill.FillMetaObject;
 import org.tinycloud.jdbc.fill.MetaObjectHandler;
+import org.tinycloud.jdbc.inlist.InLists;
 import org.tinycloud.jdbc.interceptor.SqlInterceptor;
+import org.tinycloud.jdbc.interceptor.SqlInterceptorChain;
 import org.tinycloud.jdbc.interceptor.SqlInvocation;
 import org.tinycloud.jdbc.interceptor.SqlType;
 import org.tinycloud.jdbc.page.IPageHandle;
+import org.tinycloud.jdbc.page.OffsetPage;
 import org.tinycloud.jdbc.page.Page;
 import org.tinycloud.jdbc.page.PageCheck;
 import org.tinycloud.jdbc.page.PageHandleResult;
+import org.tinycloud.jdbc.result.ColumnSpec;
+import org.tinycloud.jdbc.result.ColumnarResult;
+import org.tinycloud.jdbc.result.ColumnarResultExtractor;
+import org.tinycloud.jdbc.result.RowSet;
+import org.tinycloud.jdbc.result.RowSetExtractor;
+import org.tinycloud.jdbc.sql.CompiledSql;
 import org.tinycloud.jdbc.sql.SQL;
 import org.tinycloud.jdbc.util.ArrayUtils;
 import org.tinycloud.jdbc.util.CollectionUtils;
+import org.tinycloud.jdbc.util.RangeSplitUtils;
+import org.tinycloud.jdbc.util.TableParserUtils;
 import org.tinycloud.jdbc.util.tuple.Pair;
 
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * jdbc抽象类，给出默认的支持
@@ -43,6 +87,16 @@ import java.util.Map;
  **/
 public abstract class AbstractSqlSupport<T, ID extends Serializable> implements ISqlSupport<T, ID>, IObjectSupport<T, ID> {
 
+    /**
+     * 并行扫描线程名前缀
+     */
+    private static final String PARALLEL_SCAN_THREAD_PREFIX = "tiny-jdbc-parallel-scan-";
+
+    /**
+     * 所有 Dao 共用的并行扫描线程池，首次使用时创建，线程数等于全局配置的连接预算，空闲线程 60 秒后回收
+     */
+    private static volatile ThreadPoolExecutor parallelScanExecutor;
+
     protected abstract JdbcTemplate getJdbcTemplate();
 
     protected abstract IPageHandle getPageHandle();
@@ -62,24 +116,37 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
      */
     private final RowMapper<T> rowMapper;
 
+    /**
+     * 并发查询合并，DAO 类未标注 @SingleFlight 时为 null
+     */
+    private final SingleFlightGroup singleFlightGroup;
+
+    /**
+     * 并发查询合并时，等待方是否拿到结果的副本
+     */
+    private final boolean singleFlightCopy;
+
     @SuppressWarnings("unchecked")
     public AbstractSqlSupport() {
         ParameterizedType type = (ParameterizedType) getClass().getGenericSuperclass();
         entityClass = (Class<T>) type.getActualTypeArguments()[0];
         rowMapper = BeanPropertyRowMapper.newInstance(entityClass);
+        SingleFlight singleFlight = null;
+        for (Class<?> clazz = getClass(); clazz != null && singleFlight == null; clazz = clazz.getSuperclass()) {
+            singleFlight = clazz.getAnnotation(SingleFlight.class);
+        }
+        singleFlightGroup = singleFlight == null ? null : new SingleFlightGroup();
+        singleFlightCopy = singleFlight != null && singleFlight.copyResults();
     }
 
     // ======================== 抽离的私有工具方法（加do前缀） ========================
 
     /**
      * 私有工具方法：在执行sql之前调用拦截器
+     * 返回的 invocation 中是声明了 rewritesSql() 的拦截器改写后的SQL和参数，后续的执行、并发合并和结果缓存都以它为准
      */
-    private void doBefore(SqlInvocation invocation, JdbcTemplate jdbcTemplate) {
-        if (CollectionUtils.isNotEmpty(this.getSqlInterceptors())) {
-            for (SqlInterceptor sqlInterceptor : this.getSqlInterceptors()) {
-                sqlInterceptor.before(invocation, jdbcTemplate);
-            }
-        }
+    private SqlInvocation doBefore(String sql, Object[] params, SqlType sqlType) {
+        return SqlInterceptorChain.before(this.getSqlInterceptors(), sql, params, sqlType, this.getJdbcTemplate());
     }
 
     /**
@@ -97,67 +164,431 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
     /**
      * 私有工具方法：执行查询，返回指定类型的列表
      */
-    @SuppressWarnings("unchecked")
     private <F> List<F> doQuery(String sql, RowMapper<F> rowMapper, Object... params) {
-        SqlInvocation invocation = new SqlInvocation(sql, params, SqlType.QUERY);
+        return this.doQuery(this.doBefore(sql, params, SqlType.QUERY), rowMapper);
+    }
+
+    /**
+     * 私有工具方法：执行已经过拦截器的查询，执行后调用拦截器
+     */
+    @SuppressWarnings("unchecked")
+    private <F> List<F> doQuery(SqlInvocation invocation, RowMapper<F> rowMapper) {
+        return (List<F>) this.doAfter(this.doQueryResult(invocation, rowMapper), invocation, this.getJdbcTemplate());
+    }
+
+    /**
+     * 私有工具方法：执行已经过拦截器的查询，不调用拦截器的 after；DAO 标注了 @SingleFlight 且不在事务中时，按改写后的SQL和参数合并相同的并发查询
+     */
+    private <F> List<F> doQueryResult(SqlInvocation invocation, RowMapper<F> rowMapper) {
+        if (singleFlightGroup == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return this.doExecuteQuery(invocation, rowMapper);
+        }
+        Object mapperKey = rowMapper instanceof BeanPropertyRowMapper
+                ? "bean:" + ((BeanPropertyRowMapper<?>) rowMapper).getMappedClass().getName() : rowMapper;
+        CacheKey key = new CacheKey(this.getJdbcTemplate().getDataSource(), invocation.getSql(), invocation.getArgs(), mapperKey);
+        return singleFlightGroup.execute(key, () -> this.doExecuteQuery(invocation, rowMapper),
+                singleFlightCopy ? list -> doCopyResults(list, rowMapper) : null);
+    }
+
+    /**
+     * 私有工具方法：复制查询结果列表，实体和 Map 元素也各复制一份
+     */
+    private static <F> List<F> doCopyResults(List<F> result, RowMapper<F> rowMapper) {
+        List<F> copy = new ArrayList<>(result.size());
+        for (F element : result) {
+            copy.add(doCopyElement(element, rowMapper));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F doCopyElement(F element, RowMapper<F> rowMapper) {
+        if (element instanceof Map) {
+            return (F) new LinkedHashMap<>((Map<?, ?>) element);
+        }
+        return rowMapper instanceof BeanPropertyRowMapper ? EntityCopier.copy(element) : element;
+    }
+
+    /**
+     * 私有工具方法：执行改写后的查询，返回指定类型的列表
+     */
+    private <F> List<F> doExecuteQuery(SqlInvocation invocation, RowMapper<F> rowMapper) {
+        return InLists.execute(this.getJdbcTemplate(), invocation.getSql(), invocation.getArgs(), (template, statement, args) -> template.query(statement, rowMapper, args));
+    }
+
+    /**
+     * 私有工具方法：开启查询结果缓存时，优先读取缓存，未命中时执行查询并写入缓存；缓存键取拦截器改写后的SQL和参数。
+     * 缓存中保存的是拦截器 after 处理之前的结果，命中和未命中都会调用一次拦截器的 after
+     *
+     * @param invocation 经过拦截器的SQL调用
+     * @param resultType 结果类型标识
+     * @param query      实际查询，不调用拦截器的 after
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R doCachedQuery(SqlInvocation invocation, String resultType, Supplier<R> query) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        QueryResultCache queryCache = globalConfig == null ? null : globalConfig.getQueryResultCache();
+        R result;
+        if (queryCache == null || !queryCache.isCacheable(invocation.getSql())) {
+            result = query.get();
+        } else {
+            CacheKey key = new CacheKey(this.getJdbcTemplate().getDataSource(), invocation.getSql(), invocation.getArgs(), resultType);
+            result = queryCache.getOrLoad(key, query);
+        }
+        return (R) this.doAfter(result, invocation, this.getJdbcTemplate());
+    }
+
+    /**
+     * 私有工具方法：执行查询，逐行映射后回调，不在内存中保留结果集
+     */
+    private <F> void doQueryEach(String sql, RowMapper<F> rowMapper, RowVisitor<F> visitor, Object... params) {
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
         JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
-        this.doBefore(invocation, jdbcTemplate);
-        List<F> result = jdbcTemplate.query(sql, rowMapper, params);
-        return (List<F>) this.doAfter(result, invocation, jdbcTemplate);
+        AtomicInteger rowNum = new AtomicInteger();
+        InLists.execute(jdbcTemplate, invocation.getSql(), invocation.getArgs(), (template, statement, args) -> {
+            template.query(statement, (RowCallbackHandler) rs -> visitor.visit(rowMapper.mapRow(rs, rowNum.getAndIncrement())), args);
+            return null;
+        });
+        this.doAfter(null, invocation, jdbcTemplate);
     }
 
     /**
      * 私有工具方法：执行查询，返回Map列表
      */
-    @SuppressWarnings("unchecked")
     private List<Map<String, Object>> doQueryForList(String sql, Object... params) {
-        SqlInvocation invocation = new SqlInvocation(sql, params, SqlType.QUERY);
+        return this.doQueryForList(this.doBefore(sql, params, SqlType.QUERY));
+    }
+
+    /**
+     * 私有工具方法：执行已经过拦截器的查询，返回Map列表
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> doQueryForList(SqlInvocation invocation) {
+        JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
+        return (List<Map<String, Object>>) this.doAfter(this.doExecuteQueryForList(invocation), invocation, jdbcTemplate);
+    }
+
+    /**
+     * 私有工具方法：执行改写后的查询，返回 Map 列表
+     */
+    private List<Map<String, Object>> doExecuteQueryForList(SqlInvocation invocation) {
+        return InLists.execute(this.getJdbcTemplate(), invocation.getSql(), invocation.getArgs(), (template, statement, args) -> template.queryForList(statement, args));
+    }
+
+    /**
+     * 私有工具方法：执行查询，返回紧凑结果集
+     */
+    private RowSet doQueryForRowSet(String sql, Object... params) {
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
         JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
-        this.doBefore(invocation, jdbcTemplate);
-        List<Map<String, Object>> result = jdbcTemplate.queryForList(sql, params);
-        return (List<Map<String, Object>>) this.doAfter(result, invocation, jdbcTemplate);
+        RowSet result = InLists.execute(jdbcTemplate, invocation.getSql(), invocation.getArgs(), (template, statement, args) -> template.query(statement, new RowSetExtractor(), args));
+        return (RowSet) this.doAfter(result, invocation, jdbcTemplate);
+    }
+
+    /**
+     * 私有工具方法：执行查询，按列返回结果
+     */
+    private ColumnarResult doQueryForColumns(String sql, ColumnSpec[] columns, Object... params) {
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
+        JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
+        ColumnarResult result = InLists.execute(jdbcTemplate, invocation.getSql(), invocation.getArgs(), (template, statement, args) -> template.query(statement, new ColumnarResultExtractor(columns), args));
+        return (ColumnarResult) this.doAfter(result, invocation, jdbcTemplate);
     }
 
     /**
      * 私有工具方法：执行查询，返回单个对象
      */
-    @SuppressWarnings("unchecked")
     private <F> F doQueryForObject(String sql, Class<F> clazz, Object... params) {
-        SqlInvocation invocation = new SqlInvocation(sql, params, SqlType.QUERY);
+        return this.doQueryForObject(this.doBefore(sql, params, SqlType.QUERY), clazz);
+    }
+
+    /**
+     * 私有工具方法：执行已经过拦截器的查询，返回单个对象
+     */
+    @SuppressWarnings("unchecked")
+    private <F> F doQueryForObject(SqlInvocation invocation, Class<F> clazz) {
         JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
-        this.doBefore(invocation, jdbcTemplate);
-        F result = jdbcTemplate.queryForObject(sql, clazz, params);
-        return (F) this.doAfter(result, invocation, jdbcTemplate);
+        return (F) this.doAfter(this.doExecuteQueryForObject(invocation, clazz), invocation, jdbcTemplate);
+    }
+
+    /**
+     * 私有工具方法：执行改写后的查询，返回单个对象
+     */
+    private <F> F doExecuteQueryForObject(SqlInvocation invocation, Class<F> clazz) {
+        return InLists.execute(this.getJdbcTemplate(), invocation.getSql(), invocation.getArgs(), (template, statement, args) -> template.queryForObject(statement, clazz, args));
     }
 
     /**
      * 私有工具方法：执行增删改操作
      */
     private int doUpdate(String sql, Object... params) {
-        SqlInvocation invocation = new SqlInvocation(sql, params, SqlType.UPDATE);
+        return this.doUpdateForKeys(sql, null, params);
+    }
+
+    /**
+     * 私有工具方法：执行按主键的增删改操作，只失效对应主键的缓存
+     *
+     * @param sql    SQL语句
+     * @param ids    受影响的主键，为 null 时按SQL涉及的表失效缓存
+     * @param params 参数
+     */
+    private int doUpdateForKeys(String sql, Collection<?> ids, Object... params) {
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.UPDATE);
         JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
-        this.doBefore(invocation, jdbcTemplate);
-        int result = jdbcTemplate.update(sql, params);
+        int result = InLists.execute(jdbcTemplate, invocation.getSql(), invocation.getArgs(), (template, statement, args) -> template.update(statement, args));
+        if (ids == null) {
+            this.doInvalidateSql(sql, invocation);
+        } else {
+            CacheInvalidator.invalidateKeys(TableParserUtils.getTableName(entityClass), ids);
+        }
         return (int) this.doAfter(result, invocation, jdbcTemplate);
     }
 
+    /**
+     * 私有工具方法：按SQL涉及的表失效缓存，拦截器改写了SQL时，原SQL和改写后SQL涉及的表都失效
+     */
+    private void doInvalidateSql(String sql, SqlInvocation invocation) {
+        CacheInvalidator.invalidateSql(sql);
+        if (!sql.equals(invocation.getSql())) {
+            CacheInvalidator.invalidateSql(invocation.getSql());
+        }
+    }
+
+    /**
+     * 私有工具方法：按主键查询，开启实体二级缓存时优先读取缓存
+     */
+    private T doSelectById(Object id) {
+        // 存在性索引判定不存在的主键直接返回
+        BloomKeyIndex bloomIndex = this.doGetBloomIndex();
+        boolean probed = bloomIndex != null && bloomIndex.isReady()
+                && bloomIndex.getColumn().equals(TableParserUtils.getTableColumn(entityClass).getRight());
+        if (probed && !bloomIndex.mightContain(id)) {
+            return null;
+        }
+        EntityCacheManager entityCache = this.doGetEntityCache();
+        if (entityCache != null) {
+            T cached = entityCache.get(entityClass, id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long epoch = entityCache == null ? 0L : entityCache.currentEpoch(entityClass);
+        SqlProvider sqlProvider = SqlGenerator.selectByIdSql(id, entityClass);
+        T entity = this.selectOne(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        if (entityCache != null && entity != null) {
+            entityCache.put(entityClass, id, entity, epoch);
+        }
+        if (probed && entity == null) {
+            bloomIndex.recordFalsePositive();
+        }
+        return entity;
+    }
+
+    /**
+     * 私有工具方法：按主键批量查询，开启实体二级缓存时只查询未命中的主键
+     */
+    private List<T> doSelectByIds(List<?> ids) {
+        EntityCacheManager entityCache = this.doGetEntityCache();
+        if (entityCache == null) {
+            SqlProvider sqlProvider = SqlGenerator.selectByIdsSql(entityClass, new ArrayList<>(ids));
+            return this.select(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        }
+        // 先从缓存读取，只查询未命中的主键，结果按传入主键的顺序返回
+        Map<Object, T> found = new LinkedHashMap<>(ids.size() * 2);
+        List<Object> missing = new ArrayList<>();
+        for (Object id : ids) {
+            Object key = EntityCacheManager.normalizeId(id);
+            if (id == null || found.containsKey(key)) {
+                continue;
+            }
+            T cached = entityCache.get(entityClass, id);
+            found.put(key, cached);
+            if (cached == null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long epoch = entityCache.currentEpoch(entityClass);
+            SqlProvider sqlProvider = SqlGenerator.selectByIdsSql(entityClass, missing);
+            for (T entity : this.select(sqlProvider.getSql(), sqlProvider.getParameters().toArray())) {
+                Object key = EntityCacheManager.normalizeId(this.doGetPrimaryKey(entity));
+                found.put(key, entity);
+                entityCache.put(entityClass, key, entity, epoch);
+            }
+        }
+        List<T> result = new ArrayList<>(found.size());
+        for (T entity : found.values()) {
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 私有工具方法：获取当前实体类的全量缓存表，未开启或未标注 @CachedTable 时返回 null；首次获取时同步加载快照
+     */
+    private ReferenceTable doGetReferenceTable() {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        ReferenceTableManager referenceTableManager = globalConfig == null ? null : globalConfig.getReferenceTableManager();
+        ReferenceTable referenceTable = referenceTableManager == null ? null : referenceTableManager.getTable(entityClass);
+        if (referenceTable != null) {
+            referenceTableManager.ensureLoaded(referenceTable, () -> {
+                SqlProvider sqlProvider = SqlGenerator.selectCriteriaSql(new QueryCriteria<T>(), entityClass);
+                return this.doQuery(sqlProvider.getSql(), rowMapper, sqlProvider.getParameters().toArray());
+            });
+        }
+        return referenceTable;
+    }
+
+    /**
+     * 私有工具方法：获取可以直接读取的全量缓存表；当前事务写入过该表，或写入后的刷新尚未完成时返回 null，改为查询数据库
+     */
+    private ReferenceTable doGetReadableReferenceTable() {
+        ReferenceTable referenceTable = this.doGetReferenceTable();
+        if (referenceTable == null || !referenceTable.isFresh()
+                || CacheInvalidator.isWrittenInTransaction(Collections.singleton(referenceTable.getTable()))) {
+            return null;
+        }
+        return referenceTable;
+    }
+
+    /**
+     * 私有工具方法：条件为空或只有主键/唯一索引字段的一个等值条件时，从全量缓存表中读取；
+     * 不满足、或者快照中找不到且无法判定数据库中也不存在时返回 null
+     */
+    private List<T> doSelectReferenceTable(Criteria<T> criteria) {
+        ReferenceTable referenceTable = this.doGetReadableReferenceTable();
+        if (referenceTable == null) {
+            return null;
+        }
+        if (criteria.isEmpty()) {
+            return referenceTable.getAll();
+        }
+        String column = criteria.getSoleEqualsColumn();
+        if (column == null || !criteria.selectSql().isEmpty() || !referenceTable.isIndexed(column)) {
+            return null;
+        }
+        Object value = criteria.getSoleEqualsValue(column);
+        T entity = referenceTable.getByColumn(column, value);
+        if (entity == null && !referenceTable.isExactKey(column, value)) {
+            return null;
+        }
+        List<T> result = new ArrayList<>(1);
+        if (entity != null) {
+            result.add(entity);
+        }
+        return result;
+    }
+
+    /**
+     * 私有工具方法：获取当前实体类的存在性索引，未开启或未标注 @BloomIndex 时返回 null；首次获取时提交异步构建
+     */
+    private BloomKeyIndex doGetBloomIndex() {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        BloomIndexManager bloomIndexManager = globalConfig == null ? null : globalConfig.getBloomIndexManager();
+        BloomKeyIndex bloomIndex = bloomIndexManager == null ? null : bloomIndexManager.getIndex(entityClass);
+        if (bloomIndex != null) {
+            bloomIndexManager.ensureBuilt(bloomIndex, sink -> {
+                SqlProvider sqlProvider = SqlGenerator.selectColumnSql(entityClass, bloomIndex.getColumn());
+                this.doQueryEach(sqlProvider.getSql(), new SingleColumnRowMapper<>(), sink::accept);
+            });
+        }
+        return bloomIndex;
+    }
+
+    /**
+     * 私有工具方法：查询记录是否存在，条件只有索引字段的等值条件时先经存在性索引判断
+     */
+    private boolean doExists(Criteria<T> criteria, Supplier<Long> countQuery) {
+        BloomKeyIndex bloomIndex = this.doGetBloomIndex();
+        Object value = bloomIndex == null || !bloomIndex.isReady() ? null : criteria.getSoleEqualsValue(bloomIndex.getColumn());
+        if (value != null && !bloomIndex.mightContain(value)) {
+            return false;
+        }
+        Long count = countQuery.get();
+        boolean exists = null != count && count > 0L;
+        if (value != null && !exists) {
+            bloomIndex.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    /**
+     * 私有工具方法：新增或修改后，把索引字段的值写入存在性索引
+     */
+    private void doPutBloomIndex(T entity) {
+        BloomKeyIndex bloomIndex = this.doGetBloomIndex();
+        if (bloomIndex != null) {
+            bloomIndex.putEntity(entity);
+        }
+    }
+
+    /**
+     * 私有工具方法：获取当前事务中实体类的一级缓存（identity map），未开启或不在事务中时返回 null
+     */
+    private Map<Object, Object> doGetTransactionCache() {
+        return TransactionEntityCache.current(this.getJdbcTemplate().getDataSource(), entityClass);
+    }
+
+    /**
+     * 私有工具方法：新增或按主键更新后，同步事务一级缓存中的实例
+     */
+    private void doMergeTransactionCache(T entity, boolean ignoreNulls) {
+        Map<Object, Object> identityMap = this.doGetTransactionCache();
+        if (identityMap != null) {
+            TransactionEntityCache.merge(identityMap, this.doGetPrimaryKey(entity), entity, ignoreNulls);
+        }
+    }
+
+    /**
+     * 私有工具方法：按主键删除后，移除事务一级缓存中的实例
+     */
+    private void doEvictTransactionCache(Collection<?> ids) {
+        Map<Object, Object> identityMap = this.doGetTransactionCache();
+        if (identityMap != null) {
+            TransactionEntityCache.evict(identityMap, ids);
+        }
+    }
+
+    /**
+     * 私有工具方法：获取当前实体类的二级缓存，未开启时返回 null
+     */
+    private EntityCacheManager doGetEntityCache() {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        EntityCacheManager entityCache = globalConfig == null ? null : globalConfig.getEntityCacheManager();
+        return entityCache != null && entityCache.isCacheable(entityClass) ? entityCache : null;
+    }
+
+    /**
+     * 私有工具方法：读取实体的主键值
+     */
+    private Object doGetPrimaryKey(Object entity) {
+        try {
+            return TableParserUtils.getPrimaryKeyField(entityClass).get(entity);
+        } catch (IllegalAccessException e) {
+            throw new TinyJdbcException("get primary key value failed", e);
+        }
+    }
+
     /**
      * 私有工具方法：执行增删改操作，返回自增主键值
      */
     private Pair<Integer, Long> doUpdateReturnAutoIncrement(String sql, Object... params) {
-        SqlInvocation invocation = new SqlInvocation(sql, params, SqlType.UPDATE);
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.UPDATE);
         JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
-        this.doBefore(invocation, jdbcTemplate);
+        Object[] args = invocation.getArgs();
         KeyHolder keyHolder = new GeneratedKeyHolder();
         int affectedRows = jdbcTemplate.update(con -> {
-            PreparedStatement ps = con.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS);
-            if (ArrayUtils.isNotEmpty(params)) {
-                for (int i = 0; i < params.length; i++) {
-                    ps.setObject(i + 1, params[i]);
+            PreparedStatement ps = con.prepareStatement(invocation.getSql(), PreparedStatement.RETURN_GENERATED_KEYS);
+            if (ArrayUtils.isNotEmpty(args)) {
+                for (int i = 0; i < args.length; i++) {
+                    ps.setObject(i + 1, args[i]);
                 }
             }
             return ps;
         }, keyHolder);
+        CacheInvalidator.invalidateKeys(TableParserUtils.getTableName(entityClass), Collections.emptyList());
         if (keyHolder.getKey() != null) {
             Long autoIncrementId = keyHolder.getKey().longValue();
             int result = (int) this.doAfter(affectedRows, invocation, jdbcTemplate);
@@ -172,13 +603,204 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
      * 私有工具方法：执行 DDL 语句（CREATE / ALTER / DROP / TRUNCATE 等）
      */
     private void doExecute(String sql) {
-        SqlInvocation invocation = new SqlInvocation(sql, null, SqlType.EXECUTE);
+        SqlInvocation invocation = this.doBefore(sql, null, SqlType.EXECUTE);
         JdbcTemplate jdbcTemplate = this.getJdbcTemplate();
-        this.doBefore(invocation, jdbcTemplate);
-        jdbcTemplate.execute(sql);
+        jdbcTemplate.execute(invocation.getSql());
+        this.doInvalidateSql(sql, invocation);
         this.doAfter(null, invocation, jdbcTemplate);
     }
 
+    /**
+     * 私有工具方法：执行分页的 count 查询，开启分页总数缓存时优先读取缓存
+     */
+    private Long doQueryCount(String countSql, boolean useCountCache, Object... params) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        PageCountCache countCache = globalConfig == null ? null : globalConfig.getPageCountCache();
+        SqlInvocation invocation = this.doBefore(countSql, params, SqlType.QUERY);
+        if (countCache == null || !useCountCache || CacheInvalidator.isWrittenInTransaction(SqlTables.of(invocation.getSql()))) {
+            return this.doQueryForObject(invocation, Long.class);
+        }
+        // 缓存中保存拦截器 after 处理之前的总数，命中时同样调用拦截器的 after
+        CacheKey key = new CacheKey(this.getJdbcTemplate().getDataSource(), invocation.getSql(), invocation.getArgs());
+        Long count = countCache.get(key);
+        if (count == null) {
+            long epoch = countCache.currentEpoch();
+            count = this.doExecuteQueryForObject(invocation, Long.class);
+            if (count != null) {
+                countCache.put(key, count, epoch);
+            }
+        }
+        return (Long) this.doAfter(count, invocation, this.getJdbcTemplate());
+    }
+
+    /**
+     * 私有工具方法：执行分页查询的公共流程，先按需查询总数，总数大于偏移位置时再查询分页数据
+     *
+     * @param handleResult  分页处理结果
+     * @param searchCount   是否查询总记录数
+     * @param useCountCache 是否使用分页总数缓存
+     * @param offset        偏移位置
+     * @param recordsQuery  分页数据查询（分页SQL，参数）
+     * @param params        原SQL参数
+     * @return Pair，左边为总记录数（不查询总数时为 null），右边为分页数据
+     */
+    private <F> Pair<Long, List<F>> doPaginate(PageHandleResult handleResult, boolean searchCount, boolean useCountCache, long offset,
+                                              BiFunction<String, Object[], List<F>> recordsQuery, Object... params) {
+        Long count = null;
+        if (searchCount) {
+            // 查询总共数量
+            count = this.doQueryCount(handleResult.getCountSql(), useCountCache, params);
+        }
+        List<F> records;
+        if (!searchCount || (count != null && count > offset)) {
+            records = recordsQuery.apply(handleResult.getPageSql(), ArrayUtils.mergeArrays(params, handleResult.getParameters()));
+        } else {
+            records = new ArrayList<>();
+        }
+        return Pair.of(count, records);
+    }
+
+    /**
+     * 私有工具方法：按页码分页查询
+     */
+    private <F> Page<F> doPaginate(String sql, Page<F> page, BiFunction<String, Object[], List<F>> recordsQuery, Object... params) {
+        PageCheck.check(page);
+        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
+        long offset = (page.getPageNum() - 1L) * page.getPageSize();
+        Pair<Long, List<F>> result = this.doPaginate(handleResult, page.isSearchCount(), page.isUseCountCache(), offset, recordsQuery, params);
+        page.setRecords(result.getRight());
+        if (page.isSearchCount()) {
+            page.setTotal(result.getLeft());
+        }
+        return page;
+    }
+
+    /**
+     * 私有工具方法：按 offset-limit 分页查询
+     */
+    private <F> OffsetPage<F> doPaginate(String sql, OffsetPage<F> page, BiFunction<String, Object[], List<F>> recordsQuery, Object... params) {
+        PageCheck.check(page);
+        PageHandleResult handleResult = getPageHandle().handleOffset(sql, page.getOffset(), page.getLimit());
+        Pair<Long, List<F>> result = this.doPaginate(handleResult, page.isSearchCount(), page.isUseCountCache(), page.getOffset(), recordsQuery, params);
+        page.setRecords(result.getRight());
+        if (page.isSearchCount()) {
+            page.setTotal(result.getLeft());
+        }
+        return page;
+    }
+
+    /**
+     * 私有工具方法：渲染SQL构造器，设置了 LIMIT / OFFSET 时按当前分页处理器的方言渲染为绑定参数
+     */
+    private SqlProvider render(SQL<T> sql) {
+        IPageHandle pageHandle = sql.isPaged() ? this.getPageHandle() : null;
+        return SqlProvider.create(sql.toSql(pageHandle), sql.getParameters(pageHandle));
+    }
+
+    /**
+     * 私有工具方法：按主键区间并行扫描
+     * 先查询满足条件的主键 MIN/MAX，将其切分为连续的闭区间，再在有界线程池中并发执行各区间的查询
+     *
+     * @param criteria       条件构造器
+     * @param partitions     分片数
+     * @param partitionQuery 分片查询（分片SQL，参数）
+     */
+    private void doParallelScan(Criteria<T> criteria, int partitions, BiConsumer<String, Object[]> partitionQuery) {
+        if (criteria == null) {
+            throw new TinyJdbcException("parallelScan criteria cannot be null");
+        }
+        if (partitions <= 0) {
+            throw new TinyJdbcException("parallelScan partitions must be greater than 0");
+        }
+        SqlProvider rangeProvider = SqlGenerator.selectPrimaryKeyRangeSql(criteria, entityClass);
+        List<Object[]> bounds = this.doQuery(rangeProvider.getSql(),
+                (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getObject(2)}, rangeProvider.getParameters().toArray());
+        if (bounds.isEmpty() || bounds.get(0)[0] == null || bounds.get(0)[1] == null) {
+            return;
+        }
+        BigInteger min = RangeSplitUtils.toBigInteger(bounds.get(0)[0]);
+        BigInteger max = RangeSplitUtils.toBigInteger(bounds.get(0)[1]);
+        List<Pair<BigInteger, BigInteger>> ranges = RangeSplitUtils.split(min, max, partitions);
+
+        SqlProvider partitionProvider = SqlGenerator.selectPrimaryKeyPartitionSql(criteria, entityClass);
+        String sql = partitionProvider.getSql();
+        Object[] params = partitionProvider.getParameters().toArray();
+        List<Runnable> tasks = new ArrayList<>(ranges.size());
+        for (Pair<BigInteger, BigInteger> range : ranges) {
+            Object[] args = ArrayUtils.mergeArrays(new Object[]{RangeSplitUtils.toBindValue(range.getLeft()),
+                    RangeSplitUtils.toBindValue(range.getRight())}, params);
+            tasks.add(() -> partitionQuery.accept(sql, args));
+        }
+        this.doRunParallel(tasks);
+    }
+
+    /**
+     * 私有工具方法：在共用的有界线程池中执行任务并等待全部完成，所有 Dao 同时进行的并行扫描共用全局配置的连接预算
+     * 任一任务失败时取消其余任务并抛出异常；在并行扫描线程中再次发起的并行扫描直接在当前线程中依次执行，避免线程池互相等待
+     */
+    private void doRunParallel(List<Runnable> tasks) {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        Integer maxConnections = globalConfig == null ? null : globalConfig.getParallelScanMaxConnections();
+        int budget = maxConnections == null || maxConnections <= 0 ? 4 : maxConnections;
+        if (Math.min(tasks.size(), budget) <= 1 || Thread.currentThread().getName().startsWith(PARALLEL_SCAN_THREAD_PREFIX)) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        ExecutorService executor = doParallelScanExecutor(budget);
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new TinyJdbcException("parallelScan partition failed", cause);
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new TinyJdbcException("parallelScan interrupted", e);
+        }
+    }
+
+    /**
+     * 私有工具方法：获取共用的并行扫描线程池，首次调用时创建，连接预算变化时调整线程数
+     *
+     * @param budget 连接预算（线程数）
+     */
+    private static ExecutorService doParallelScanExecutor(int budget) {
+        ThreadPoolExecutor executor = parallelScanExecutor;
+        if (executor != null && executor.getMaximumPoolSize() == budget) {
+            return executor;
+        }
+        synchronized (AbstractSqlSupport.class) {
+            executor = parallelScanExecutor;
+            if (executor == null) {
+                AtomicInteger threadIndex = new AtomicInteger();
+                executor = new ThreadPoolExecutor(budget, budget, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, PARALLEL_SCAN_THREAD_PREFIX + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.allowCoreThreadTimeOut(true);
+                parallelScanExecutor = executor;
+            } else if (budget > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(budget);
+                executor.setCorePoolSize(budget);
+            } else if (budget < executor.getMaximumPoolSize()) {
+                executor.setCorePoolSize(budget);
+                executor.setMaximumPoolSize(budget);
+            }
+            return executor;
+        }
+    }
+
     /**
      * 私有工具方法：执行新增前自动填充
      */
@@ -257,78 +879,78 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
     @Override
     public List<T> select(String sql, Object... params) {
         // 调用加do前缀的方法
-        return this.doQuery(sql, rowMapper, params);
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
+        return this.doCachedQuery(invocation, "bean:" + entityClass.getName(), () -> this.doQueryResult(invocation, rowMapper));
     }
 
     @Override
     public <F> List<F> select(String sql, Class<F> clazz, Object... params) {
-        return this.doQuery(sql, new BeanPropertyRowMapper<>(clazz), params);
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
+        return this.doCachedQuery(invocation, "bean:" + clazz.getName(), () -> this.doQueryResult(invocation, new BeanPropertyRowMapper<>(clazz)));
     }
 
     @Override
     public List<Map<String, Object>> selectMap(String sql, Object... params) {
-        return this.doQueryForList(sql, params);
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
+        return this.doCachedQuery(invocation, "map", () -> this.doExecuteQueryForList(invocation));
+    }
+
+    @Override
+    public RowSet selectRows(String sql, Object... params) {
+        return this.doQueryForRowSet(sql, params);
+    }
+
+    @Override
+    public ColumnarResult selectColumns(String sql, List<ColumnSpec> columns, Object... params) {
+        ColumnSpec[] specs = columns == null ? new ColumnSpec[0] : columns.toArray(new ColumnSpec[0]);
+        return this.doQueryForColumns(sql, specs, params);
     }
 
     @Override
     public <F> List<F> selectSingleColumn(String sql, Class<F> clazz, Object... params) {
-        return this.doQuery(sql, new SingleColumnRowMapper<>(clazz), params);
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
+        return this.doCachedQuery(invocation, "column:" + clazz.getName(), () -> this.doQueryResult(invocation, new SingleColumnRowMapper<>(clazz)));
     }
 
     @Override
     public <F> F selectOneObject(String sql, Class<F> clazz, Object... params) {
-        return this.doQueryForObject(sql, clazz, params);
+        SqlInvocation invocation = this.doBefore(sql, params, SqlType.QUERY);
+        return this.doCachedQuery(invocation, "object:" + clazz.getName(), () -> this.doExecuteQueryForObject(invocation, clazz));
     }
 
     @Override
     public Page<T> paginate(String sql, Page<T> page, final Object... params) {
-        PageCheck.check(page);
-        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
-        // 查询总共数量
-        Long count = this.doQueryForObject(handleResult.getCountSql(), Long.class, params);
-        List<T> records;
-        if (count != null && count > 0L) {
-            records = this.doQuery(handleResult.getPageSql(), rowMapper, ArrayUtils.mergeArrays(params, handleResult.getParameters()));
-        } else {
-            records = new ArrayList<>();
-        }
-        page.setRecords(records);
-        page.setTotal(count);
-        return page;
+        return this.doPaginate(sql, page, (pageSql, args) -> this.doQuery(pageSql, rowMapper, args), params);
     }
 
     @Override
     public <F> Page<F> paginate(String sql, Class<F> clazz, Page<F> page, final Object... params) {
-        PageCheck.check(page);
-        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
-        // 查询总共数量
-        Long count = this.doQueryForObject(handleResult.getCountSql(), Long.class, params);
-        List<F> records;
-        if (count != null && count > 0L) {
-            records = this.doQuery(handleResult.getPageSql(), new BeanPropertyRowMapper<>(clazz), ArrayUtils.mergeArrays(params, handleResult.getParameters()));
-        } else {
-            records = new ArrayList<>();
-        }
-        page.setRecords(records);
-        page.setTotal(count);
-        return page;
+        return this.doPaginate(sql, page, (pageSql, args) -> this.doQuery(pageSql, new BeanPropertyRowMapper<>(clazz), args), params);
     }
 
     @Override
     public Page<Map<String, Object>> paginateMap(String sql, Page<Map<String, Object>> page, Object... params) {
-        PageCheck.check(page);
-        PageHandleResult handleResult = getPageHandle().handle(sql, page.getPageNum(), page.getPageSize());
-        // 查询总共数量
-        Long count = this.doQueryForObject(handleResult.getCountSql(), Long.class, params);
-        List<Map<String, Object>> records;
-        if (count != null && count > 0L) {
-            records = this.doQueryForList(handleResult.getPageSql(), ArrayUtils.mergeArrays(params, handleResult.getParameters()));
-        } else {
-            records = new ArrayList<>();
-        }
-        page.setRecords(records);
-        page.setTotal(count);
-        return page;
+        return this.doPaginate(sql, page, this::doQueryForList, params);
+    }
+
+    @Override
+    public OffsetPage<T> paginate(String sql, OffsetPage<T> page, final Object... params) {
+        return this.doPaginate(sql, page, (pageSql, args) -> this.doQuery(pageSql, rowMapper, args), params);
+    }
+
+    @Override
+    public <F> OffsetPage<F> paginate(String sql, Class<F> clazz, OffsetPage<F> page, final Object... params) {
+        return this.doPaginate(sql, page, (pageSql, args) -> this.doQuery(pageSql, new BeanPropertyRowMapper<>(clazz), args), params);
+    }
+
+    @Override
+    public OffsetPage<Map<String, Object>> paginateMap(String sql, OffsetPage<Map<String, Object>> page, Object... params) {
+        return this.doPaginate(sql, page, this::doQueryForList, params);
+    }
+
+    @Override
+    public Page<Map<String, Object>> paginateRows(String sql, Page<Map<String, Object>> page, Object... params) {
+        return this.doPaginate(sql, page, (pageSql, args) -> this.doQueryForRowSet(pageSql, args).asMaps(), params);
     }
 
     @Override
@@ -350,47 +972,161 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
 
     @Override
     public List<T> select(SQL<T> sql) {
-        return this.select(sql.toSql(), sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return this.select(provider.getSql(), provider.getParameters().toArray());
     }
 
     @Override
     public <F> List<F> select(SQL<T> sql, Class<F> clazz) {
-        return this.select(sql.toSql(), clazz, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return this.select(provider.getSql(), clazz, provider.getParameters().toArray());
     }
 
     @Override
     public Page<T> paginate(SQL<T> sql, Page<T> page) {
-        return this.paginate(sql.toSql(), page, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return this.paginate(provider.getSql(), page, provider.getParameters().toArray());
     }
 
     @Override
     public <F> Page<F> paginate(SQL<T> sql, Class<F> clazz, Page<F> page) {
-        return this.paginate(sql.toSql(), clazz, page, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return this.paginate(provider.getSql(), clazz, page, provider.getParameters().toArray());
+    }
+
+    @Override
+    public OffsetPage<T> paginate(SQL<T> sql, OffsetPage<T> page) {
+        SqlProvider provider = this.render(sql);
+        return this.paginate(provider.getSql(), page, provider.getParameters().toArray());
+    }
+
+    @Override
+    public <F> OffsetPage<F> paginate(SQL<T> sql, Class<F> clazz, OffsetPage<F> page) {
+        SqlProvider provider = this.render(sql);
+        return this.paginate(provider.getSql(), clazz, page, provider.getParameters().toArray());
     }
 
     @Override
     public <F> F selectOneObject(SQL<T> sql, Class<F> clazz) {
-        return this.selectOneObject(sql.toSql(), clazz, sql.getParameters().toArray());
+        SqlProvider provider = this.render(sql);
+        return this.selectOneObject(provider.getSql(), clazz, provider.getParameters().toArray());
+    }
+
+    @Override
+    public RowSet selectRows(SQL<T> sql) {
+        SqlProvider provider = this.render(sql);
+        return this.selectRows(provider.getSql(), provider.getParameters().toArray());
+    }
+
+    @Override
+    public ColumnarResult selectColumns(SQL<T> sql, ColumnSpec... columns) {
+        SqlProvider provider = this.render(sql);
+        return this.doQueryForColumns(provider.getSql(), columns, provider.getParameters().toArray());
+    }
+
+    @Override
+    public int update(CompiledSql<T> sql, final Object... params) {
+        return this.update(sql.getSql(this.getPageHandle()), sql.parameters(this.getPageHandle(), params));
+    }
+
+    @Override
+    public List<T> select(CompiledSql<T> sql, final Object... params) {
+        return this.select(sql.getSql(this.getPageHandle()), sql.parameters(this.getPageHandle(), params));
+    }
+
+    @Override
+    public <F> List<F> select(CompiledSql<T> sql, Class<F> clazz, final Object... params) {
+        return this.select(sql.getSql(this.getPageHandle()), clazz, sql.parameters(this.getPageHandle(), params));
+    }
+
+    @Override
+    public <F> F selectOneObject(CompiledSql<T> sql, Class<F> clazz, final Object... params) {
+        return this.selectOneObject(sql.getSql(this.getPageHandle()), clazz, sql.parameters(this.getPageHandle(), params));
     }
 
     // ======================== IObjectSupport实现开始 ========================
 
     @Override
+    @SuppressWarnings("unchecked")
     public T selectById(ID id) {
         if (id == null) {
             throw new TinyJdbcException("selectById id cannot be null");
         }
-        SqlProvider sqlProvider = SqlGenerator.selectByIdSql(id, entityClass);
-        return this.selectOne(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        ReferenceTable referenceTable = this.doGetReadableReferenceTable();
+        if (referenceTable != null) {
+            T entity = referenceTable.getById(id);
+            if (entity != null || referenceTable.isExactKey(referenceTable.getPrimaryKeyColumn(), id)) {
+                return entity;
+            }
+        }
+        Map<Object, Object> identityMap = this.doGetTransactionCache();
+        if (identityMap == null) {
+            return this.doSelectById(id);
+        }
+        // 事务内同一主键返回同一个实例
+        Object key = EntityCacheManager.normalizeId(id);
+        T entity = (T) identityMap.get(key);
+        if (entity == null) {
+            entity = this.doSelectById(id);
+            if (entity != null) {
+                identityMap.put(key, entity);
+            }
+        }
+        return entity;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public List<T> selectByIds(List<ID> ids) {
         if (CollectionUtils.isEmpty(ids)) {
             throw new TinyJdbcException("selectByIds ids cannot be null or empty");
         }
-        SqlProvider sqlProvider = SqlGenerator.selectByIdsSql(entityClass, new ArrayList<>(ids));
-        return this.select(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        ReferenceTable referenceTable = this.doGetReadableReferenceTable();
+        if (referenceTable != null) {
+            Set<Object> seen = new HashSet<>(ids.size() * 2);
+            List<T> result = new ArrayList<>(ids.size());
+            boolean served = true;
+            for (ID id : ids) {
+                T entity = id == null ? null : referenceTable.getById(id);
+                if (entity == null && id != null && !referenceTable.isExactKey(referenceTable.getPrimaryKeyColumn(), id)) {
+                    // 快照中找不到且无法判定不存在，整批改为查询数据库
+                    served = false;
+                    break;
+                }
+                if (entity != null && seen.add(EntityCacheManager.normalizeId(id))) {
+                    result.add(entity);
+                }
+            }
+            if (served) {
+                return result;
+            }
+        }
+        Map<Object, Object> identityMap = this.doGetTransactionCache();
+        if (identityMap == null) {
+            return this.doSelectByIds(ids);
+        }
+        Map<Object, Object> missing = new LinkedHashMap<>();
+        for (ID id : ids) {
+            Object key = EntityCacheManager.normalizeId(id);
+            if (id != null && !identityMap.containsKey(key)) {
+                missing.put(key, id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (T entity : this.doSelectByIds(new ArrayList<>(missing.values()))) {
+                identityMap.putIfAbsent(EntityCacheManager.normalizeId(this.doGetPrimaryKey(entity)), entity);
+            }
+        }
+        Set<Object> seen = new HashSet<>(ids.size() * 2);
+        List<T> result = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            Object key = EntityCacheManager.normalizeId(id);
+            Object entity = identityMap.get(key);
+            if (entity != null && seen.add(key)) {
+                result.add((T) entity);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -407,6 +1143,10 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         if (criteria == null) {
             throw new TinyJdbcException("select criteria cannot be null");
         }
+        List<T> cached = this.doSelectReferenceTable(criteria);
+        if (cached != null) {
+            return cached;
+        }
         SqlProvider sqlProvider = SqlGenerator.selectCriteriaSql(criteria, entityClass);
         return this.select(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
     }
@@ -416,10 +1156,72 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         if (lambdaCriteria == null) {
             throw new TinyJdbcException("select lambdaCriteria cannot be null");
         }
+        List<T> cached = this.doSelectReferenceTable(lambdaCriteria);
+        if (cached != null) {
+            return cached;
+        }
         SqlProvider sqlProvider = SqlGenerator.selectLambdaCriteriaSql(lambdaCriteria, entityClass);
         return this.select(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
     }
 
+    @Override
+    public ColumnarResult selectColumns(QueryCriteria<T> criteria, ColumnSpec... columns) {
+        if (criteria == null) {
+            throw new TinyJdbcException("selectColumns criteria cannot be null");
+        }
+        SqlProvider sqlProvider = SqlGenerator.selectCriteriaSql(criteria, entityClass);
+        return this.doQueryForColumns(sqlProvider.getSql(), columns, sqlProvider.getParameters().toArray());
+    }
+
+    @Override
+    public ColumnarResult selectColumns(LambdaQueryCriteria<T> lambdaCriteria, ColumnSpec... columns) {
+        if (lambdaCriteria == null) {
+            throw new TinyJdbcException("selectColumns lambdaCriteria cannot be null");
+        }
+        SqlProvider sqlProvider = SqlGenerator.selectLambdaCriteriaSql(lambdaCriteria, entityClass);
+        return this.doQueryForColumns(sqlProvider.getSql(), columns, sqlProvider.getParameters().toArray());
+    }
+
+    @Override
+    public long[] selectLongIds(QueryCriteria<T> criteria) {
+        if (criteria == null) {
+            throw new TinyJdbcException("selectLongIds criteria cannot be null");
+        }
+        SqlProvider sqlProvider = SqlGenerator.selectPrimaryKeyCriteriaSql(criteria, entityClass);
+        return this.doQueryForColumns(sqlProvider.getSql(), new ColumnSpec[]{ColumnSpec.ofLong(1)},
+                sqlProvider.getParameters().toArray()).getLongs(0);
+    }
+
+    @Override
+    public long[] selectLongIds(LambdaQueryCriteria<T> lambdaCriteria) {
+        if (lambdaCriteria == null) {
+            throw new TinyJdbcException("selectLongIds lambdaCriteria cannot be null");
+        }
+        SqlProvider sqlProvider = SqlGenerator.selectPrimaryKeyCriteriaSql(lambdaCriteria, entityClass);
+        return this.doQueryForColumns(sqlProvider.getSql(), new ColumnSpec[]{ColumnSpec.ofLong(1)},
+                sqlProvider.getParameters().toArray()).getLongs(0);
+    }
+
+    @Override
+    public void parallelScan(QueryCriteria<T> criteria, int partitions, Consumer<List<T>> consumer) {
+        this.doParallelScan(criteria, partitions, (sql, args) -> consumer.accept(this.doQuery(sql, rowMapper, args)));
+    }
+
+    @Override
+    public void parallelScan(LambdaQueryCriteria<T> lambdaCriteria, int partitions, Consumer<List<T>> consumer) {
+        this.doParallelScan(lambdaCriteria, partitions, (sql, args) -> consumer.accept(this.doQuery(sql, rowMapper, args)));
+    }
+
+    @Override
+    public void parallelScanRows(QueryCriteria<T> criteria, int partitions, RowVisitor<T> visitor) {
+        this.doParallelScan(criteria, partitions, (sql, args) -> this.doQueryEach(sql, rowMapper, visitor, args));
+    }
+
+    @Override
+    public void parallelScanRows(LambdaQueryCriteria<T> lambdaCriteria, int partitions, RowVisitor<T> visitor) {
+        this.doParallelScan(lambdaCriteria, partitions, (sql, args) -> this.doQueryEach(sql, rowMapper, visitor, args));
+    }
+
     @Override
     public Page<T> paginate(T entity, Page<T> page) {
         if (entity == null) {
@@ -447,6 +1249,71 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         return this.paginate(sqlProvider.getSql(), page, sqlProvider.getParameters().toArray());
     }
 
+    @Override
+    public OffsetPage<T> paginate(QueryCriteria<T> criteria, OffsetPage<T> page) {
+        if (criteria == null) {
+            throw new TinyJdbcException("paginate criteria cannot be null");
+        }
+        SqlProvider sqlProvider = SqlGenerator.selectCriteriaSql(criteria, entityClass);
+        return this.paginate(sqlProvider.getSql(), page, sqlProvider.getParameters().toArray());
+    }
+
+    @Override
+    public OffsetPage<T> paginate(LambdaQueryCriteria<T> lambdaCriteria, OffsetPage<T> page) {
+        if (lambdaCriteria == null) {
+            throw new TinyJdbcException("paginate lambdaCriteria cannot be null");
+        }
+        SqlProvider sqlProvider = SqlGenerator.selectLambdaCriteriaSql(lambdaCriteria, entityClass);
+        return this.paginate(sqlProvider.getSql(), page, sqlProvider.getParameters().toArray());
+    }
+
+    @Override
+    public boolean exists(QueryCriteria<T> criteria) {
+        if (criteria == null) {
+            throw new TinyJdbcException("exists criteria cannot be null");
+        }
+        return this.doExists(criteria, () -> this.selectCount(criteria));
+    }
+
+    @Override
+    public boolean exists(LambdaQueryCriteria<T> lambdaCriteria) {
+        if (lambdaCriteria == null) {
+            throw new TinyJdbcException("exists lambdaCriteria cannot be null");
+        }
+        return this.doExists(lambdaCriteria, () -> this.selectCount(lambdaCriteria));
+    }
+
+    @Override
+    public void rebuildBloomIndex() {
+        GlobalConfig globalConfig = GlobalConfig.getConfig();
+        if (globalConfig != null && globalConfig.getBloomIndexManager() != null && this.doGetBloomIndex() != null) {
+            globalConfig.getBloomIndexManager().rebuild(entityClass);
+        }
+    }
+
+    /**
+     * 初始化存在性索引，实体标注了 @BloomIndex 时提交异步构建，由 BaseDao 在 Spring 初始化完成后调用
+     */
+    protected void initBloomIndex() {
+        this.doGetBloomIndex();
+    }
+
+    /**
+     * 初始化全量缓存表，实体标注了 @CachedTable 时加载快照，由 BaseDao 在 Spring 初始化完成后调用
+     */
+    protected void initReferenceTable() {
+        this.doGetReferenceTable();
+    }
+
+    /**
+     * 并发查询合并的统计（实际执行次数、被合并的调用次数）
+     *
+     * @return DAO 类未标注 @SingleFlight 时返回 null
+     */
+    public SingleFlightGroup getSingleFlightGroup() {
+        return singleFlightGroup;
+    }
+
     @Override
     public Long selectCount(QueryCriteria<T> criteria) {
         if (criteria == null) {
@@ -488,9 +1355,14 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
             } catch (IllegalAccessException | IllegalArgumentException e) {
                 throw new TinyJdbcException("inject auto increment primary key failed", e);
             }
+            this.doMergeTransactionCache(entity, ignoreNulls);
+            this.doPutBloomIndex(entity);
             return pair.getLeft();
         }
-        return this.insert(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        int result = this.doUpdateForKeys(sqlProvider.getSql(), Collections.emptyList(), sqlProvider.getParameters().toArray());
+        this.doMergeTransactionCache(entity, ignoreNulls);
+        this.doPutBloomIndex(entity);
+        return result;
     }
 
     @Override
@@ -508,7 +1380,12 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         if (CollectionUtils.isEmpty(sqlProvider.getParameters())) {
             throw new TinyJdbcException("update parameters cannot be null");
         }
-        return update(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        int result = this.doUpdateForKeys(sqlProvider.getSql(), Collections.singletonList(this.doGetPrimaryKey(entity)),
+                sqlProvider.getParameters().toArray());
+        this.doMergeTransactionCache(entity, ignoreNulls);
+        // 按唯一字段建立的索引，修改后可能出现新的值
+        this.doPutBloomIndex(entity);
+        return result;
     }
 
     @Override
@@ -546,7 +1423,13 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         if (CollectionUtils.isEmpty(sqlProvider.getParameters())) {
             throw new TinyJdbcException("delete parameters cannot be null");
         }
-        return delete(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        Object primaryKey = this.doGetPrimaryKey(entity);
+        List<Object> keys = primaryKey == null ? null : Collections.singletonList(primaryKey);
+        int result = this.doUpdateForKeys(sqlProvider.getSql(), keys, sqlProvider.getParameters().toArray());
+        if (keys != null) {
+            this.doEvictTransactionCache(keys);
+        }
+        return result;
     }
 
     @Override
@@ -582,7 +1465,9 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         if (CollectionUtils.isEmpty(sqlProvider.getParameters())) {
             throw new TinyJdbcException("deleteById parameters cannot be null");
         }
-        return delete(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        int result = this.doUpdateForKeys(sqlProvider.getSql(), Collections.singletonList(id), sqlProvider.getParameters().toArray());
+        this.doEvictTransactionCache(Collections.singletonList(id));
+        return result;
     }
 
     @Override
@@ -594,7 +1479,9 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
         if (CollectionUtils.isEmpty(sqlProvider.getParameters())) {
             throw new TinyJdbcException("deleteById parameters cannot be null");
         }
-        return delete(sqlProvider.getSql(), sqlProvider.getParameters().toArray());
+        int result = this.doUpdateForKeys(sqlProvider.getSql(), ids, sqlProvider.getParameters().toArray());
+        this.doEvictTransactionCache(ids);
+        return result;
     }
 
     @Override
@@ -615,7 +1502,12 @@ public abstract class AbstractSqlSupport<T, ID extends Serializable> implements
             }
             batchArgs.add(sqlProvider.getParameters().toArray());
         }
-        return getJdbcTemplate().batchUpdate(sql, batchArgs);
+        int[] result = getJdbcTemplate().batchUpdate(sql, batchArgs);
+        CacheInvalidator.invalidateKeys(TableParserUtils.getTableName(entityClass), Collections.emptyList());
+        for (T t : collection) {
+            this.doPutBloomIndex(t);
+        }
+        return result;
     }
 
     @Override
@@ -0,0 +1,269 @@
+package org.tinycloud.jdbc.support;
+
+import org.tinycloud.jdbc.cache.EntityCacheManager;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.TableParserUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 按主键查询的自动批量加载器（DataLoader 模式），把多个线程在短时间窗口内发起的 selectById 合并为一次 selectByIds
+ * </p>
+ * 第一个请求到达后开始计时，窗口结束或收集到的主键数达到上限时立即发起批量查询，结果按主键分发给各自的 Future，
+ * 不存在的主键得到 null；同一批次内重复的主键只查询一次。批量查询按分片大小拆分为多条 IN 查询。
+ * 计时线程只负责到期时派发批次，批量查询在执行器线程中进行，未指定执行器时使用内置的专用线程池，
+ * 一个批次查询较慢不会推迟其他加载器或下一个批次的派发。
+ * 批量查询不参与调用方线程的事务，事务中需要读到本事务写入的数据时请直接调用 selectById。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 23:30
+ */
+public class BatchingLoader<T, ID extends Serializable> {
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tiny-jdbc-batching-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 未指定执行器时执行批量查询的线程池，空闲线程 60 秒后回收
+     */
+    private static final Executor DEFAULT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "tiny-jdbc-batching-loader-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final IObjectSupport<T, ID> dao;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final int chunkSize;
+
+    private final Executor executor;
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * 当前批次：归一化主键 -> 原始主键与等待的 Future
+     */
+    private Map<Object, Pending<T, ID>> pending = new LinkedHashMap<>();
+
+    /**
+     * 当前批次的定时派发任务，批次提前派发时取消
+     */
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * 构造方法，窗口 2 毫秒，每批最多 100 个主键，每条 IN 查询最多 500 个主键，在内置线程池中执行查询
+     *
+     * @param dao DAO
+     */
+    public BatchingLoader(IObjectSupport<T, ID> dao) {
+        this(dao, 2L, TimeUnit.MILLISECONDS, 100, 500, null);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param dao          DAO
+     * @param window       收集窗口
+     * @param unit         窗口时间单位
+     * @param maxBatchSize 每批最多收集的主键数，达到后立即查询
+     * @param chunkSize    每条 IN 查询最多携带的主键数
+     * @param executor     执行批量查询的线程池，为 null 时使用内置的专用线程池
+     */
+    public BatchingLoader(IObjectSupport<T, ID> dao, long window, TimeUnit unit, int maxBatchSize, int chunkSize, Executor executor) {
+        if (dao == null) {
+            throw new TinyJdbcException("BatchingLoader dao cannot be null");
+        }
+        if (maxBatchSize <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize and chunkSize must be greater than 0");
+        }
+        this.dao = dao;
+        this.windowNanos = unit.toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+        this.chunkSize = chunkSize;
+        this.executor = executor == null ? DEFAULT_EXECUTOR : executor;
+    }
+
+    /**
+     * 按主键加载实体
+     *
+     * @param id 主键
+     * @return 实体的 Future，主键不存在时结果为 null
+     */
+    public CompletableFuture<T> load(ID id) {
+        if (id == null) {
+            throw new TinyJdbcException("BatchingLoader id cannot be null");
+        }
+        loads.increment();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Map<Object, Pending<T, ID>> full = null;
+        synchronized (this) {
+            Map<Object, Pending<T, ID>> batch = pending;
+            batch.computeIfAbsent(EntityCacheManager.normalizeId(id), k -> new Pending<>(id)).futures.add(future);
+            if (batch.size() >= maxBatchSize) {
+                full = this.takePending();
+            } else if (batch.size() == 1 && scheduled == null) {
+                // 定时任务只派发它所属的批次，不会提前派发后续批次
+                scheduled = TIMER.schedule(() -> this.flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            this.dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * 按主键批量加载实体
+     *
+     * @param ids 主键
+     * @return 与主键一一对应的实体列表的 Future，不存在的主键对应 null
+     */
+    public CompletableFuture<List<T>> loadMany(Collection<ID> ids) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            futures.add(this.load(id));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<T> result = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                result.add(future.join());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 立即查询当前已收集的主键，不等待窗口结束
+     */
+    public void flush() {
+        Map<Object, Pending<T, ID>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = this.takePending();
+        }
+        this.dispatch(batch);
+    }
+
+    /**
+     * 窗口结束时派发指定批次，该批次已被提前派发时不做任何事
+     */
+    private void flush(Map<Object, Pending<T, ID>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            this.takePending();
+        }
+        this.dispatch(batch);
+    }
+
+    /**
+     * 取出当前批次并取消它的定时派发任务，须持有锁调用
+     */
+    private Map<Object, Pending<T, ID>> takePending() {
+        Map<Object, Pending<T, ID>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        return batch;
+    }
+
+    /**
+     * 已执行的批次数
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * 已收到的加载请求数
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    private void dispatch(Map<Object, Pending<T, ID>> batch) {
+        batches.increment();
+        try {
+            executor.execute(() -> this.resolve(batch));
+        } catch (RuntimeException e) {
+            for (Pending<T, ID> item : batch.values()) {
+                item.fail(e);
+            }
+        }
+    }
+
+    private void resolve(Map<Object, Pending<T, ID>> batch) {
+        List<Pending<T, ID>> items = new ArrayList<>(batch.values());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Pending<T, ID>> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            try {
+                List<ID> ids = new ArrayList<>(chunk.size());
+                for (Pending<T, ID> item : chunk) {
+                    ids.add(item.id);
+                }
+                Map<Object, T> found = new HashMap<>(chunk.size() * 2);
+                for (T entity : dao.selectByIds(ids)) {
+                    if (entity != null) {
+                        found.put(EntityCacheManager.normalizeId(TableParserUtils.getPrimaryKeyField(entity.getClass()).get(entity)), entity);
+                    }
+                }
+                for (Pending<T, ID> item : chunk) {
+                    item.complete(found.get(EntityCacheManager.normalizeId(item.id)));
+                }
+            } catch (RuntimeException | IllegalAccessException e) {
+                for (Pending<T, ID> item : chunk) {
+                    item.fail(e);
+                }
+            }
+        }
+    }
+
+    private static final class Pending<T, ID> {
+        private final ID id;
+        private final List<CompletableFuture<T>> futures = new ArrayList<>(1);
+
+        private Pending(ID id) {
+            this.id = id;
+        }
+
+        private void complete(T entity) {
+            for (CompletableFuture<T> future : futures) {
+                future.complete(entity);
+            }
+        }
+
+        private void fail(Throwable e) {
+            for (CompletableFuture<T> future : futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -5,7 +5,10 @@ import org.tinycloud.jdbc.criteria.query.QueryCriteria;
 import org.tinycloud.jdbc.criteria.update.LambdaUpdateCriteria;
 import org.tinycloud.jdbc.criteria.update.UpdateCriteria;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.page.OffsetPage;
 import org.tinycloud.jdbc.page.Page;
+import org.tinycloud.jdbc.result.ColumnSpec;
+import org.tinycloud.jdbc.result.ColumnarResult;
 import org.tinycloud.jdbc.util.ArrayUtils;
 import org.tinycloud.jdbc.util.DataAccessUtils;
 
@@ -13,6 +16,7 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -250,6 +254,84 @@ public interface IObjectSupport<T, ID extends Serializable> {
      */
     List<T> select(LambdaQueryCriteria<T> lambdaCriteria);
 
+    /**
+     * 根据查询构造器查询，按列返回结果，数值列存储为基本类型数组，不产生装箱对象
+     *
+     * @param criteria 条件构造器
+     * @param columns  列定义，为空时读取全部列并根据 JDBC 类型推断存储类型
+     * @return ColumnarResult
+     */
+    ColumnarResult selectColumns(QueryCriteria<T> criteria, ColumnSpec... columns);
+
+    /**
+     * 根据查询构造器查询，按列返回结果，数值列存储为基本类型数组，不产生装箱对象
+     *
+     * @param lambdaCriteria 条件构造器(lambda版)
+     * @param columns        列定义，为空时读取全部列并根据 JDBC 类型推断存储类型
+     * @return ColumnarResult
+     */
+    ColumnarResult selectColumns(LambdaQueryCriteria<T> lambdaCriteria, ColumnSpec... columns);
+
+    /**
+     * 根据查询构造器查询满足条件的主键值，以 long[] 返回，主键须为整数类型
+     *
+     * @param criteria 条件构造器
+     * @return 主键数组
+     */
+    long[] selectLongIds(QueryCriteria<T> criteria);
+
+    /**
+     * 根据查询构造器查询满足条件的主键值，以 long[] 返回，主键须为整数类型
+     *
+     * @param lambdaCriteria 条件构造器(lambda版)
+     * @return 主键数组
+     */
+    long[] selectLongIds(LambdaQueryCriteria<T> lambdaCriteria);
+
+    /**
+     * 按主键区间并行扫描，适用于大表全量读取
+     * 先查询满足条件的主键最小值和最大值，切分为 partitions 个连续区间后并发查询，每个区间的结果回调一次 consumer。
+     * 主键须为整数类型（如自增 ID、雪花 ID）；排序和 last 片段会被忽略；
+     * consumer 会在多个线程中并发调用，且各分片查询不参与当前线程的事务。
+     *
+     * @param criteria   条件构造器
+     * @param partitions 分片数
+     * @param consumer   分片结果处理
+     */
+    void parallelScan(QueryCriteria<T> criteria, int partitions, Consumer<List<T>> consumer);
+
+    /**
+     * 按主键区间并行扫描，适用于大表全量读取
+     * 先查询满足条件的主键最小值和最大值，切分为 partitions 个连续区间后并发查询，每个区间的结果回调一次 consumer。
+     * 主键须为整数类型（如自增 ID、雪花 ID）；排序和 last 片段会被忽略；
+     * consumer 会在多个线程中并发调用，且各分片查询不参与当前线程的事务。
+     *
+     * @param lambdaCriteria 条件构造器(lambda版)
+     * @param partitions     分片数
+     * @param consumer       分片结果处理
+     */
+    void parallelScan(LambdaQueryCriteria<T> lambdaCriteria, int partitions, Consumer<List<T>> consumer);
+
+    /**
+     * 按主键区间并行扫描，逐行回调，分片结果不在内存中整体保留
+     * 约束同 {@link #parallelScan(QueryCriteria, int, Consumer)}，visitor 会在多个线程中并发调用。
+     *
+     * @param criteria   条件构造器
+     * @param partitions 分片数
+     * @param visitor    行访问器
+     */
+    void parallelScanRows(QueryCriteria<T> criteria, int partitions, RowVisitor<T> visitor);
+
+    /**
+     * 按主键区间并行扫描，逐行回调，分片结果不在内存中整体保留
+     * 约束同 {@link #parallelScan(LambdaQueryCriteria, int, Consumer)}，visitor 会在多个线程中并发调用。
+     *
+     * @param lambdaCriteria 条件构造器(lambda版)
+     * @param partitions     分片数
+     * @param visitor        行访问器
+     */
+    void parallelScanRows(LambdaQueryCriteria<T> lambdaCriteria, int partitions, RowVisitor<T> visitor);
+
     /**
      * 分页查询给定的实例，返回实例列表
      *
@@ -277,6 +359,24 @@ public interface IObjectSupport<T, ID extends Serializable> {
      */
     Page<T> paginate(LambdaQueryCriteria<T> lambdaCriteria, Page<T> page);
 
+    /**
+     * 分页查询给定的实例（offset-limit 模式），返回实例列表
+     *
+     * @param criteria 条件构造器
+     * @param page     分页参数
+     * @return OffsetPage<T> 实例列表
+     */
+    OffsetPage<T> paginate(QueryCriteria<T> criteria, OffsetPage<T> page);
+
+    /**
+     * 分页查询给定的实例（offset-limit 模式），返回实例列表
+     *
+     * @param lambdaCriteria 条件构造器(lambda版)
+     * @param page           分页参数
+     * @return OffsetPage<T> 实例列表
+     */
+    OffsetPage<T> paginate(LambdaQueryCriteria<T> lambdaCriteria, OffsetPage<T> page);
+
     /**
      * 查询给定的实例，返回一个实例
      *
@@ -327,7 +427,12 @@ public interface IObjectSupport<T, ID extends Serializable> {
     Long selectCount(LambdaQueryCriteria<T> lambdaCriteria);
 
     /**
-     * 查询记录是否存在
+     * 立即重建实体的存在性索引（实体需标注 @BloomIndex），异步执行，重建完成前照常查询数据库
+     */
+    void rebuildBloomIndex();
+
+    /**
+     * 查询记录是否存在，实体标注了 @BloomIndex 且条件只有索引字段的等值条件时，索引判定不存在的直接返回 false
      *
      * @param criteria 条件构造器
      * @return true存在，false不存在
@@ -338,7 +443,7 @@ public interface IObjectSupport<T, ID extends Serializable> {
     }
 
     /**
-     * 查询记录是否存在
+     * 查询记录是否存在，实体标注了 @BloomIndex 且条件只有索引字段的等值条件时，索引判定不存在的直接返回 false
      *
      * @param lambdaCriteria 条件构造器(lambda版)
      * @return true存在，false不存在
@@ -1,7 +1,13 @@
 package org.tinycloud.jdbc.support;
 
+import org.tinycloud.jdbc.page.OffsetPage;
 import org.tinycloud.jdbc.page.Page;
+import org.tinycloud.jdbc.result.ColumnSpec;
+import org.tinycloud.jdbc.result.ColumnarResult;
+import org.tinycloud.jdbc.result.RowSet;
+import org.tinycloud.jdbc.sql.CompiledSql;
 import org.tinycloud.jdbc.sql.SQL;
+import org.tinycloud.jdbc.template.RenderedSql;
 import org.tinycloud.jdbc.util.DataAccessUtils;
 
 import java.io.Serializable;
@@ -109,6 +115,26 @@ public interface ISqlSupport<T, ID extends Serializable> {
      */
     List<Map<String, Object>> selectMap(String sql, Object... params);
 
+    /**
+     * 执行查询sql，返回紧凑结果集 RowSet（所有行共享列名索引，每行仅保存一个数组），适用于列多、行多的查询
+     * 每一行都可以通过 RowSet.getRowMap(int) 或 RowSet.asMaps() 以只读 Map 的形式访问
+     *
+     * @param sql    要执行的sql
+     * @param params 要绑定到查询的参数
+     * @return RowSet
+     */
+    RowSet selectRows(String sql, Object... params);
+
+    /**
+     * 执行查询sql，按列返回结果，数值列存储为基本类型数组（long[]/int[]/double[]），不产生装箱对象
+     *
+     * @param sql     要执行的sql
+     * @param columns 列定义，为空时读取全部列并根据 JDBC 类型推断存储类型
+     * @param params  要绑定到查询的参数
+     * @return ColumnarResult
+     */
+    ColumnarResult selectColumns(String sql, List<ColumnSpec> columns, Object... params);
+
     /**
      * 执行给定的 SQL 查询，返回指定类型的单列结果列表。
      * 该方法适用于查询预期返回多行单列数据的场景，例如只查询用户表中的所有用户名。
@@ -172,6 +198,47 @@ public interface ISqlSupport<T, ID extends Serializable> {
      */
     <F> Page<F> paginate(String sql, Class<F> clazz, Page<F> page, final Object... params);
 
+    /**
+     * 分页查询（offset-limit 模式）
+     *
+     * @param sql    要执行的SQL
+     * @param page   分页参数
+     * @param params ？参数
+     * @return OffsetPage<T>
+     */
+    OffsetPage<T> paginate(String sql, OffsetPage<T> page, Object... params);
+
+    /**
+     * 分页查询（offset-limit 模式）
+     *
+     * @param sql    要执行的SQL
+     * @param page   分页参数
+     * @param params ？参数
+     * @return OffsetPage<Map<String, Object>>
+     */
+    OffsetPage<Map<String, Object>> paginateMap(String sql, OffsetPage<Map<String, Object>> page, Object... params);
+
+    /**
+     * 分页查询，分页数据以 RowSet 的只读 Map 视图返回，内存占用低于 paginateMap
+     *
+     * @param sql    要执行的SQL
+     * @param page   分页参数
+     * @param params ？参数
+     * @return Page<Map<String, Object>>，records 为只读视图
+     */
+    Page<Map<String, Object>> paginateRows(String sql, Page<Map<String, Object>> page, Object... params);
+
+    /**
+     * 分页查询（offset-limit 模式，带参数）
+     *
+     * @param sql    要执行的SQL
+     * @param clazz  实体类型
+     * @param page   分页参数
+     * @param params ？参数
+     * @return OffsetPage<F>
+     */
+    <F> OffsetPage<F> paginate(String sql, Class<F> clazz, OffsetPage<F> page, final Object... params);
+
     /**
      * 使用提供的SQL对象，执行删除操作
      *
@@ -262,6 +329,26 @@ public interface ISqlSupport<T, ID extends Serializable> {
      */
     <F> Page<F> paginate(SQL<T> sql, Class<F> clazz, Page<F> page);
 
+    /**
+     * 使用提供的SQL对象，执行 offset-limit 分页查询操作
+     *
+     * @param sql  要执行的SQL对象，封装了SQL语句和参数
+     * @param page 分页参数
+     * @return OffsetPage<T> 包含分页查询结果的对象
+     */
+    OffsetPage<T> paginate(SQL<T> sql, OffsetPage<T> page);
+
+    /**
+     * 使用提供的SQL对象，执行 offset-limit 分页查询操作，返回指定类型的结果列表
+     *
+     * @param sql   要执行的SQL对象，封装了SQL语句和参数
+     * @param clazz 结果集中数据的类型
+     * @param page  分页参数
+     * @param <F>   结果对象的泛型类型，由 clazz 参数指定
+     * @return OffsetPage<F> 包含分页查询结果的对象
+     */
+    <F> OffsetPage<F> paginate(SQL<T> sql, Class<F> clazz, OffsetPage<F> page);
+
     /**
      * 使用提供的SQL对象，执行 SQL 查询，返回单个结果对象
      *
@@ -271,4 +358,147 @@ public interface ISqlSupport<T, ID extends Serializable> {
      * @return F 包含分页查询结果的对象，如果没有结果则返回 null
      */
     <F> F selectOneObject(SQL<T> sql, Class<F> clazz);
+
+    /**
+     * 使用提供的SQL对象，执行查询，返回紧凑结果集 RowSet
+     *
+     * @param sql 要执行的SQL对象，封装了SQL语句和参数
+     * @return RowSet
+     */
+    RowSet selectRows(SQL<T> sql);
+
+    /**
+     * 使用提供的SQL对象，执行查询，按列返回结果
+     *
+     * @param sql     要执行的SQL对象，封装了SQL语句和参数
+     * @param columns 列定义，为空时读取全部列并根据 JDBC 类型推断存储类型
+     * @return ColumnarResult
+     */
+    ColumnarResult selectColumns(SQL<T> sql, ColumnSpec... columns);
+
+    /**
+     * 使用编译后的SQL对象，执行更新操作
+     *
+     * @param sql    编译后的SQL对象
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @return int 受影响的行数
+     */
+    int update(CompiledSql<T> sql, final Object... params);
+
+    /**
+     * 使用编译后的SQL对象，执行删除操作
+     *
+     * @param sql    编译后的SQL对象
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @return int 受影响的行数
+     */
+    default int delete(CompiledSql<T> sql, final Object... params) {
+        return this.update(sql, params);
+    }
+
+    /**
+     * 使用编译后的SQL对象，执行插入操作
+     *
+     * @param sql    编译后的SQL对象
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @return int 受影响的行数
+     */
+    default int insert(CompiledSql<T> sql, final Object... params) {
+        return this.update(sql, params);
+    }
+
+    /**
+     * 使用编译后的SQL对象，执行查询操作
+     *
+     * @param sql    编译后的SQL对象
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @return List<T> 包含查询结果的列表
+     */
+    List<T> select(CompiledSql<T> sql, final Object... params);
+
+    /**
+     * 使用编译后的SQL对象，执行查询操作，返回第一条结果
+     *
+     * @param sql    编译后的SQL对象
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @return T 包含查询结果的对象
+     */
+    default T selectOne(CompiledSql<T> sql, final Object... params) {
+        List<T> resultList = this.select(sql, params);
+        return DataAccessUtils.singleResult(resultList);
+    }
+
+    /**
+     * 使用编译后的SQL对象，执行查询操作，返回指定类型的结果列表
+     *
+     * @param sql    编译后的SQL对象
+     * @param clazz  结果集中数据的类型
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @param <F>    结果对象的泛型类型，由 clazz 参数指定
+     * @return 包含指定类型结果数据的列表，如果没有结果则返回空列表
+     */
+    <F> List<F> select(CompiledSql<T> sql, Class<F> clazz, final Object... params);
+
+    /**
+     * 使用编译后的SQL对象，执行 SQL 查询，返回单个结果对象
+     *
+     * @param sql    编译后的SQL对象
+     * @param clazz  结果集中数据的类型
+     * @param params 按占位符顺序的参数值（不含分页参数），为空时使用编译时的参数值
+     * @param <F>    结果对象的泛型类型，由 clazz 参数指定
+     * @return F 查询结果，如果没有结果则返回 null
+     */
+    <F> F selectOneObject(CompiledSql<T> sql, Class<F> clazz, final Object... params);
+
+    /**
+     * 使用 SQL 模板的渲染结果，执行更新操作
+     *
+     * @param sql SqlTemplate 渲染出的SQL和参数
+     * @return int 受影响的行数
+     */
+    default int update(RenderedSql sql) {
+        return this.update(sql.getSql(), sql.getParameters());
+    }
+
+    /**
+     * 使用 SQL 模板的渲染结果，执行查询操作
+     *
+     * @param sql SqlTemplate 渲染出的SQL和参数
+     * @return List<T> 包含查询结果的列表
+     */
+    default List<T> select(RenderedSql sql) {
+        return this.select(sql.getSql(), sql.getParameters());
+    }
+
+    /**
+     * 使用 SQL 模板的渲染结果，执行查询操作，返回指定类型的结果列表
+     *
+     * @param sql   SqlTemplate 渲染出的SQL和参数
+     * @param clazz 结果集中数据的类型
+     * @return List<F> 包含查询结果的列表
+     */
+    default <F> List<F> select(RenderedSql sql, Class<F> clazz) {
+        return this.select(sql.getSql(), clazz, sql.getParameters());
+    }
+
+    /**
+     * 使用 SQL 模板的渲染结果，执行查询操作，返回第一条结果
+     *
+     * @param sql SqlTemplate 渲染出的SQL和参数
+     * @return T 包含查询结果的对象
+     */
+    default T selectOne(RenderedSql sql) {
+        return this.selectOne(sql.getSql(), sql.getParameters());
+    }
+
+    /**
+     * 使用 SQL 模板的渲染结果，执行分页查询
+     *
+     * @param sql  SqlTemplate 渲染出的SQL和参数
+     * @param page 分页参数
+     * @return Page<T>
+     */
+    default Page<T> paginate(RenderedSql sql, Page<T> page) {
+        return this.paginate(sql.getSql(), page, sql.getParameters());
+    }
 }
@@ -0,0 +1,20 @@
+package org.tinycloud.jdbc.support;
+
+/**
+ * <p>
+ * 行访问器，用于流式处理查询结果，每映射出一行即回调一次，不在内存中保留整个结果集
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 14:20
+ */
+@FunctionalInterface
+public interface RowVisitor<T> {
+
+    /**
+     * 处理一行数据
+     *
+     * @param row 当前行映射后的对象
+     */
+    void visit(T row);
+}
@@ -5,6 +5,8 @@ import org.tinycloud.jdbc.annotation.Column;
 import org.tinycloud.jdbc.annotation.Id;
 import org.tinycloud.jdbc.annotation.IdType;
 import org.tinycloud.jdbc.config.GlobalConfig;
+import org.tinycloud.jdbc.criteria.Criteria;
+import org.tinycloud.jdbc.criteria.PreparedCriteria;
 import org.tinycloud.jdbc.criteria.query.LambdaQueryCriteria;
 import org.tinycloud.jdbc.criteria.query.QueryCriteria;
 import org.tinycloud.jdbc.criteria.update.LambdaUpdateCriteria;
@@ -12,6 +14,7 @@ import org.tinycloud.jdbc.criteria.update.UpdateCriteria;
 import org.tinycloud.jdbc.exception.TinyJdbcException;
 import org.tinycloud.jdbc.id.IdGeneratorInterface;
 import org.tinycloud.jdbc.id.IdUtils;
+import org.tinycloud.jdbc.inlist.InLists;
 import org.tinycloud.jdbc.util.ConvertUtils;
 import org.tinycloud.jdbc.util.ReflectUtils;
 import org.tinycloud.jdbc.util.StrUtils;
@@ -22,8 +25,6 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * sql生成器，通过传入的对象，将对象转为要执行的SQL，要绑定到SQL的参数
@@ -507,14 +508,14 @@ public class SqlGenerator {
 
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT ").append(tableColumn).append(" FROM ").append(tableName)
-                .append(" WHERE ").append(primaryKeyColumn).append(" IN ");
-        // 构建 IN 查询的 SQL 语句
-        String placeholders = IntStream.range(0, ids.size()).mapToObj(i -> "?").collect(Collectors.joining(",", "(", ")"));
-        sql.append(placeholders);
+                .append(" WHERE ");
+        // 构建 IN 查询的 SQL 语句，按列表大小和数据库类型选择渲染策略
+        List<Object> parameters = new ArrayList<>();
+        InLists.render(primaryKeyColumn, ids, false, sql, parameters);
 
         SqlProvider so = new SqlProvider();
         so.setSql(sql.toString());
-        so.setParameters(ids);
+        so.setParameters(parameters);
         return so;
     }
 
@@ -547,13 +548,13 @@ public class SqlGenerator {
         Pair<List<String>, String> pair = TableParserUtils.getTableColumn(clazz);
         String primaryKeyColumn = pair.getRight();
         StringBuilder sql = new StringBuilder();
-        sql.append("DELETE FROM ").append(tableName).append(" WHERE ").append(primaryKeyColumn).append(" IN ");
-        // 构建 IN 查询的 SQL 语句
-        String placeholders = IntStream.range(0, ids.size()).mapToObj(i -> "?").collect(Collectors.joining(",", "(", ")"));
-        sql.append(placeholders);
+        sql.append("DELETE FROM ").append(tableName).append(" WHERE ");
+        // 构建 IN 查询的 SQL 语句，按列表大小和数据库类型选择渲染策略
+        List<Object> parameters = new ArrayList<>();
+        InLists.render(primaryKeyColumn, ids, false, sql, parameters);
         SqlProvider so = new SqlProvider();
         so.setSql(sql.toString());
-        so.setParameters(ids);
+        so.setParameters(parameters);
         return so;
     }
 
@@ -565,6 +566,12 @@ public class SqlGenerator {
      * @return 组装完毕的SqlProvider
      */
     public static <T> SqlProvider selectCriteriaSql(QueryCriteria<T> criteria, Class<?> clazz) {
+        if (criteria instanceof PreparedCriteria.Bound) {
+            SqlProvider so = new SqlProvider();
+            so.setSql(((PreparedCriteria.Bound<T>) criteria).getPrepared().getSelectSql(clazz));
+            so.setParameters(criteria.getParameters());
+            return so;
+        }
         String tableName = TableParserUtils.getTableName(clazz);
         String tableColumn = criteria.selectSql();
         if (StrUtils.isEmpty(tableColumn)) {
@@ -613,6 +620,12 @@ public class SqlGenerator {
      * @return 组装完毕的SqlProvider
      */
     public static <T> SqlProvider selectCountCriteriaSql(QueryCriteria<T> criteria, Class<?> clazz) {
+        if (criteria instanceof PreparedCriteria.Bound) {
+            SqlProvider so = new SqlProvider();
+            so.setSql(((PreparedCriteria.Bound<T>) criteria).getPrepared().getCountSql(clazz));
+            so.setParameters(criteria.getParameters());
+            return so;
+        }
         String tableName = TableParserUtils.getTableName(clazz);
         SqlProvider so = new SqlProvider();
         so.setSql("SELECT COUNT(*) FROM " + tableName + criteria.whereSql());
@@ -633,4 +646,84 @@ public class SqlGenerator {
         so.setParameters(lambdaCriteria.getParameters());
         return so;
     }
+
+    /**
+     * 构建只查询主键列的SQL
+     *
+     * @param criteria 条件构造器
+     * @param clazz    实体类类型
+     * @return 组装完毕的SqlProvider
+     */
+    public static <T> SqlProvider selectPrimaryKeyCriteriaSql(Criteria<T> criteria, Class<?> clazz) {
+        String tableName = TableParserUtils.getTableName(clazz);
+        String primaryKeyColumn = TableParserUtils.getTableColumn(clazz).getRight();
+        SqlProvider so = new SqlProvider();
+        so.setSql("SELECT " + primaryKeyColumn + " FROM " + tableName + criteria.whereSql());
+        so.setParameters(criteria.getParameters());
+        return so;
+    }
+
+    /**
+     * 构建查询整张表单个字段的SQL，用于全量扫描
+     *
+     * @param clazz  实体类类型
+     * @param column 数据库字段名
+     * @return 组装完毕的SqlProvider
+     */
+    public static SqlProvider selectColumnSql(Class<?> clazz, String column) {
+        String tableName = TableParserUtils.getTableName(clazz);
+        SqlProvider so = new SqlProvider();
+        so.setSql("SELECT " + column + " FROM " + tableName);
+        so.setParameters(new ArrayList<>());
+        return so;
+    }
+
+    /**
+     * 构建并行扫描的主键范围查询SQL（MIN/MAX），仅使用条件构造器的条件部分，忽略排序和 last 片段
+     *
+     * @param criteria 条件构造器
+     * @param clazz    实体类类型
+     * @return 组装完毕的SqlProvider
+     */
+    public static <T> SqlProvider selectPrimaryKeyRangeSql(Criteria<T> criteria, Class<?> clazz) {
+        String tableName = TableParserUtils.getTableName(clazz);
+        String primaryKeyColumn = TableParserUtils.getTableColumn(clazz).getRight();
+        String children = criteria.children();
+        StringBuilder sql = new StringBuilder("SELECT MIN(").append(primaryKeyColumn).append("), MAX(")
+                .append(primaryKeyColumn).append(") FROM ").append(tableName);
+        if (StrUtils.isNotEmpty(children)) {
+            sql.append(" WHERE ").append(children);
+        }
+        SqlProvider so = new SqlProvider();
+        so.setSql(sql.toString());
+        so.setParameters(criteria.getParameters());
+        return so;
+    }
+
+    /**
+     * 构建并行扫描的分片查询SQL，主键区间为闭区间，前两个参数为区间的起止值（由调用方绑定）
+     *
+     * @param criteria 条件构造器
+     * @param clazz    实体类类型
+     * @return 组装完毕的SqlProvider，参数不包含区间起止值
+     */
+    public static <T> SqlProvider selectPrimaryKeyPartitionSql(Criteria<T> criteria, Class<?> clazz) {
+        String tableName = TableParserUtils.getTableName(clazz);
+        Pair<List<String>, String> pair = TableParserUtils.getTableColumn(clazz);
+        String tableColumn = criteria.selectSql();
+        if (StrUtils.isEmpty(tableColumn)) {
+            tableColumn = String.join(",", pair.getLeft());
+        }
+        String primaryKeyColumn = pair.getRight();
+        String children = criteria.children();
+        StringBuilder sql = new StringBuilder("SELECT ").append(tableColumn).append(" FROM ").append(tableName)
+                .append(" WHERE ").append(primaryKeyColumn).append(" >= ? AND ").append(primaryKeyColumn).append(" <= ?");
+        if (StrUtils.isNotEmpty(children)) {
+            sql.append(" AND ").append(children);
+        }
+        SqlProvider so = new SqlProvider();
+        so.setSql(sql.toString());
+        so.setParameters(criteria.getParameters());
+        return so;
+    }
 }
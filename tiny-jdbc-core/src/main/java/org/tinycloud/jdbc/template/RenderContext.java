@@ -0,0 +1,26 @@
+package org.tinycloud.jdbc.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * 一次渲染的上下文：输出的 SQL、参数、根参数对象以及 foreach 绑定的局部变量（按编译期分配的槽位存取）
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+final class RenderContext {
+    final StringBuilder sql;
+    final List<Object> parameters;
+    final Object root;
+    final Object[] locals;
+
+    RenderContext(Object root, int localCount, int sqlCapacity) {
+        this.root = root;
+        this.locals = new Object[localCount];
+        this.sql = new StringBuilder(sqlCapacity);
+        this.parameters = new ArrayList<>();
+    }
+}
@@ -0,0 +1,34 @@
+package org.tinycloud.jdbc.template;
+
+/**
+ * <p>
+ * SQL 模板的渲染结果：SQL 语句和按占位符顺序的参数
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+public final class RenderedSql {
+
+    private final String sql;
+
+    private final Object[] parameters;
+
+    RenderedSql(String sql, Object[] parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Object[] getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
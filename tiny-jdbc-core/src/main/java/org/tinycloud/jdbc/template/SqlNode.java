@@ -0,0 +1,20 @@
+package org.tinycloud.jdbc.template;
+
+/**
+ * <p>
+ * 模板编译后的渲染闭包，把 SQL 片段和参数直接写入渲染上下文
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+@FunctionalInterface
+interface SqlNode {
+
+    /**
+     * 渲染
+     *
+     * @param ctx 渲染上下文
+     */
+    void render(RenderContext ctx);
+}
@@ -0,0 +1,58 @@
+package org.tinycloud.jdbc.template;
+
+/**
+ * <p>
+ * 编译后的动态 SQL 模板，线程安全，可重复渲染
+ * </p>
+ * 渲染只执行编译好的闭包树，一次遍历同时产出 SQL 和参数，不再解析表达式。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+public final class SqlTemplate {
+
+    private final String id;
+
+    private final SqlNode root;
+
+    private final int localCount;
+
+    private final int capacity;
+
+    SqlTemplate(String id, SqlNode root, int localCount, int capacity) {
+        this.id = id;
+        this.root = root;
+        this.localCount = localCount;
+        this.capacity = capacity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 渲染模板
+     *
+     * @param params 参数对象，Map 或者 JavaBean，可为 null
+     * @return SQL 和参数
+     */
+    public RenderedSql render(Object params) {
+        RenderContext ctx = new RenderContext(params, localCount, capacity);
+        root.render(ctx);
+        StringBuilder sql = ctx.sql;
+        int length = sql.length();
+        while (length > 0 && Character.isWhitespace(sql.charAt(length - 1))) {
+            length--;
+        }
+        int start = 0;
+        while (start < length && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        return new RenderedSql(sql.substring(start, length), ctx.parameters.toArray());
+    }
+
+    @Override
+    public String toString() {
+        return "SqlTemplate[" + id + "]";
+    }
+}
@@ -0,0 +1,229 @@
+package org.tinycloud.jdbc.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 动态 SQL 模板注册表，加载 XML 模板文件并在启动时一次性编译全部模板
+ * </p>
+ * 模板文件格式：
+ * <pre>
+ * &lt;sql-templates namespace="user"&gt;
+ *     &lt;sql id="columns"&gt;id, username, status&lt;/sql&gt;
+ *     &lt;template id="search"&gt;
+ *         SELECT &lt;include refid="columns"/&gt; FROM t_user
+ *         &lt;where&gt;
+ *             &lt;if test="status != null"&gt;AND status = #{status}&lt;/if&gt;
+ *             &lt;if test="ids != null and ids.size > 0"&gt;
+ *                 AND id IN &lt;foreach collection="ids" item="id" open="(" close=")" separator=","&gt;#{id}&lt;/foreach&gt;
+ *             &lt;/if&gt;
+ *         &lt;/where&gt;
+ *     &lt;/template&gt;
+ * &lt;/sql-templates&gt;
+ *
+ * RenderedSql sql = registry.render("user.search", params);
+ * List&lt;User&gt; users = userDao.select(sql);
+ * </pre>
+ * 只支持 #{} 绑定参数，不支持字符串拼接，模板本身不会引入 SQL 注入。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+public class SqlTemplateRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(SqlTemplateRegistry.class);
+
+    /**
+     * 限定名 -> &lt;template&gt; 元素
+     */
+    private final Map<String, TemplateSource> sources = new ConcurrentHashMap<>();
+
+    /**
+     * 限定名 -> &lt;sql&gt; 片段元素
+     */
+    private final Map<String, Element> fragments = new ConcurrentHashMap<>();
+
+    /**
+     * 限定名 -> 编译后的模板
+     */
+    private final Map<String, SqlTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * 从类路径加载模板文件并编译
+     *
+     * @param resources 类路径资源，如 sql/user.xml
+     * @return SqlTemplateRegistry
+     */
+    public static SqlTemplateRegistry fromClasspath(String... resources) {
+        SqlTemplateRegistry registry = new SqlTemplateRegistry();
+        registry.loadClasspath(resources);
+        registry.compileAll();
+        return registry;
+    }
+
+    /**
+     * 从类路径加载模板文件
+     *
+     * @param resources 类路径资源，如 sql/user.xml
+     */
+    public void loadClasspath(String... resources) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = SqlTemplateRegistry.class.getClassLoader();
+        }
+        for (String resource : resources) {
+            String name = resource.startsWith("/") ? resource.substring(1) : resource;
+            try (InputStream in = classLoader.getResourceAsStream(name)) {
+                if (in == null) {
+                    throw new TinyJdbcException("SqlTemplate resource not found: " + resource);
+                }
+                this.load(resource, in);
+            } catch (IOException e) {
+                throw new TinyJdbcException("SqlTemplate resource " + resource + " can not be read", e);
+            }
+        }
+    }
+
+    /**
+     * 加载一个模板文件，只解析不编译，加载完全部文件后调用 compileAll() 编译
+     *
+     * @param location 文件位置，用于错误信息
+     * @param in       文件内容
+     */
+    public void load(String location, InputStream in) {
+        Element root = parse(location, in).getDocumentElement();
+        if (!"sql-templates".equals(root.getTagName())) {
+            throw new TinyJdbcException("SqlTemplate resource " + location + " root element must be <sql-templates>");
+        }
+        String namespace = root.getAttribute("namespace").trim();
+        NodeList children = root.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            Element element = (Element) child;
+            String id = element.getAttribute("id").trim();
+            if (id.isEmpty()) {
+                throw new TinyJdbcException("SqlTemplate resource " + location + " <" + element.getTagName() + "> requires attribute id");
+            }
+            String qualified = namespace.isEmpty() ? id : namespace + "." + id;
+            if ("sql".equals(element.getTagName())) {
+                if (fragments.putIfAbsent(qualified, element) != null) {
+                    throw new TinyJdbcException("SqlTemplate fragment " + qualified + " is duplicated in " + location);
+                }
+            } else if ("template".equals(element.getTagName())) {
+                if (sources.putIfAbsent(qualified, new TemplateSource(namespace, element)) != null) {
+                    throw new TinyJdbcException("SqlTemplate " + qualified + " is duplicated in " + location);
+                }
+            } else {
+                throw new TinyJdbcException("SqlTemplate resource " + location + " has an unsupported element <" + element.getTagName() + ">");
+            }
+        }
+    }
+
+    /**
+     * 编译全部已加载的模板，模板有错误时在启动阶段就抛出
+     */
+    public void compileAll() {
+        for (String id : sources.keySet()) {
+            this.get(id);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Tiny-Jdbc compiled {} sql templates", templates.size());
+        }
+    }
+
+    /**
+     * 获取编译后的模板
+     *
+     * @param id 模板限定名，namespace.id
+     * @return SqlTemplate
+     */
+    public SqlTemplate get(String id) {
+        SqlTemplate template = templates.get(id);
+        if (template != null) {
+            return template;
+        }
+        TemplateSource source = sources.get(id);
+        if (source == null) {
+            throw new TinyJdbcException("SqlTemplate not found: " + id);
+        }
+        // DOM 不是线程安全的，编译过程串行执行
+        synchronized (this) {
+            template = templates.get(id);
+            if (template == null) {
+                template = TemplateCompiler.compile(id, source.namespace, source.element, fragments::get);
+                templates.put(id, template);
+            }
+            return template;
+        }
+    }
+
+    /**
+     * 渲染模板
+     *
+     * @param id     模板限定名，namespace.id
+     * @param params 参数对象，Map 或者 JavaBean，可为 null
+     * @return SQL 和参数
+     */
+    public RenderedSql render(String id, Object params) {
+        return this.get(id).render(params);
+    }
+
+    private static Document parse(String location, InputStream in) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            factory.setNamespaceAware(false);
+            factory.setIgnoringComments(true);
+            factory.setCoalescing(true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            // 解析错误以异常抛出，不输出到 System.err
+            builder.setErrorHandler(new ErrorHandler() {
+                @Override
+                public void warning(SAXParseException exception) {
+                }
+
+                @Override
+                public void error(SAXParseException exception) throws SAXException {
+                    throw exception;
+                }
+
+                @Override
+                public void fatalError(SAXParseException exception) throws SAXException {
+                    throw exception;
+                }
+            });
+            return builder.parse(in);
+        } catch (Exception e) {
+            throw new TinyJdbcException("SqlTemplate resource " + location + " can not be parsed", e);
+        }
+    }
+
+    private static final class TemplateSource {
+        private final String namespace;
+        private final Element element;
+
+        private TemplateSource(String namespace, Element element) {
+            this.namespace = namespace;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package org.tinycloud.jdbc.template;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * 把一个 &lt;template&gt; 元素编译为渲染闭包树：文本预先去掉注释、规整空白（引号中的内容不变）并拆分出 #{} 参数，
+ * include 在编译期内联，test 条件和属性路径编译为闭包
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+final class TemplateCompiler {
+
+    private static final String[] WHERE_PREFIX_OVERRIDES = {"AND ", "OR "};
+
+    private static final String[] SET_SUFFIX_OVERRIDES = {","};
+
+    private static final String[] NONE = new String[0];
+
+    /**
+     * 限定名 -> 片段元素，返回 null 表示不存在
+     */
+    private final Function<String, Element> fragments;
+
+    private final TemplateExpressions.Scope scope = new TemplateExpressions.Scope();
+
+    private final Set<String> including = new HashSet<>();
+
+    private final String namespace;
+
+    private final String id;
+
+    private TemplateCompiler(Function<String, Element> fragments, String namespace, String id) {
+        this.fragments = fragments;
+        this.namespace = namespace;
+        this.id = id;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param id        模板限定名
+     * @param namespace 模板所在文件的命名空间，可为空
+     * @param element   &lt;template&gt; 元素
+     * @param fragments 片段查找
+     * @return 编译后的模板
+     */
+    static SqlTemplate compile(String id, String namespace, Element element, Function<String, Element> fragments) {
+        TemplateCompiler compiler = new TemplateCompiler(fragments, namespace, id);
+        SqlNode root = compiler.children(element);
+        int capacity = Math.max(64, element.getTextContent().length() + 64);
+        return new SqlTemplate(id, root, compiler.scope.getMaxSize(), capacity);
+    }
+
+    private SqlNode children(Element parent) {
+        List<SqlNode> nodes = new ArrayList<>();
+        NodeList list = parent.getChildNodes();
+        for (int i = 0; i < list.getLength(); i++) {
+            Node child = list.item(i);
+            if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                this.text(child.getNodeValue(), nodes);
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                nodes.add(this.element((Element) child));
+            }
+        }
+        if (nodes.isEmpty()) {
+            return ctx -> {
+            };
+        }
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+        SqlNode[] array = nodes.toArray(new SqlNode[0]);
+        return ctx -> {
+            for (SqlNode node : array) {
+                node.render(ctx);
+            }
+        };
+    }
+
+    private SqlNode element(Element element) {
+        switch (element.getTagName()) {
+            case "if": {
+                TemplateExpressions.Condition test = TemplateExpressions.condition(this.required(element, "test"), scope);
+                SqlNode body = this.children(element);
+                return ctx -> {
+                    if (test.test(ctx)) {
+                        body.render(ctx);
+                    }
+                };
+            }
+            case "where":
+                return trim("WHERE", null, WHERE_PREFIX_OVERRIDES, NONE, this.children(element));
+            case "set":
+                return trim("SET", null, NONE, SET_SUFFIX_OVERRIDES, this.children(element));
+            case "trim":
+                return trim(emptyToNull(element.getAttribute("prefix")), emptyToNull(element.getAttribute("suffix")),
+                        overrides(element.getAttribute("prefixOverrides")), overrides(element.getAttribute("suffixOverrides")),
+                        this.children(element));
+            case "foreach":
+                return this.foreach(element);
+            case "include":
+                return this.include(this.required(element, "refid"));
+            default:
+                throw new TinyJdbcException("SqlTemplate " + id + " has an unsupported element <" + element.getTagName() + ">");
+        }
+    }
+
+    private SqlNode foreach(Element element) {
+        TemplateExpressions.Accessor collection = TemplateExpressions.path(this.required(element, "collection"), scope);
+        String open = element.getAttribute("open");
+        String close = element.getAttribute("close");
+        String separator = element.getAttribute("separator");
+        String indexName = element.getAttribute("index");
+        int itemSlot = scope.push(this.required(element, "item"));
+        int indexSlot = indexName.isEmpty() ? -1 : scope.push(indexName);
+        SqlNode body = this.children(element);
+        if (indexSlot >= 0) {
+            scope.pop();
+        }
+        scope.pop();
+        return ctx -> {
+            Object value = collection.get(ctx);
+            if (value == null) {
+                return;
+            }
+            int index = 0;
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    appendSeparator(ctx, index++, open, separator);
+                    ctx.locals[itemSlot] = entry.getValue();
+                    if (indexSlot >= 0) {
+                        ctx.locals[indexSlot] = entry.getKey();
+                    }
+                    body.render(ctx);
+                }
+            } else if (value instanceof Iterable) {
+                for (Object item : (Iterable<?>) value) {
+                    appendSeparator(ctx, index, open, separator);
+                    ctx.locals[itemSlot] = item;
+                    if (indexSlot >= 0) {
+                        ctx.locals[indexSlot] = index;
+                    }
+                    index++;
+                    body.render(ctx);
+                }
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                for (; index < length; index++) {
+                    appendSeparator(ctx, index, open, separator);
+                    ctx.locals[itemSlot] = Array.get(value, index);
+                    if (indexSlot >= 0) {
+                        ctx.locals[indexSlot] = index;
+                    }
+                    body.render(ctx);
+                }
+            } else {
+                throw new TinyJdbcException("SqlTemplate foreach collection must be an Iterable, array or Map, but got "
+                        + value.getClass().getName());
+            }
+            if (index > 0) {
+                ctx.sql.append(close);
+            }
+        };
+    }
+
+    private SqlNode include(String refid) {
+        String qualified = namespace.isEmpty() || refid.indexOf('.') >= 0 ? refid : namespace + "." + refid;
+        Element fragment = fragments.apply(qualified);
+        if (fragment == null && !qualified.equals(refid)) {
+            fragment = fragments.apply(refid);
+            qualified = refid;
+        }
+        if (fragment == null) {
+            throw new TinyJdbcException("SqlTemplate " + id + " includes an unknown fragment: " + refid);
+        }
+        if (!including.add(qualified)) {
+            throw new TinyJdbcException("SqlTemplate " + id + " includes fragment " + qualified + " recursively");
+        }
+        SqlNode node = this.children(fragment);
+        including.remove(qualified);
+        return node;
+    }
+
+    /**
+     * 规整文本中的注释和空白，并拆分出 #{} 参数
+     */
+    private void text(String raw, List<SqlNode> nodes) {
+        String text = normalize(raw);
+        int from = 0;
+        while (from < text.length()) {
+            int start = text.indexOf("#{", from);
+            if (start < 0) {
+                addStatic(text.substring(from), nodes);
+                return;
+            }
+            int end = text.indexOf('}', start + 2);
+            if (end < 0) {
+                throw new TinyJdbcException("SqlTemplate " + id + " has an unclosed #{: " + text);
+            }
+            addStatic(text.substring(from, start), nodes);
+            TemplateExpressions.Accessor accessor = TemplateExpressions.path(text.substring(start + 2, end), scope);
+            nodes.add(ctx -> {
+                ctx.sql.append('?');
+                ctx.parameters.add(accessor.get(ctx));
+            });
+            from = end + 1;
+        }
+    }
+
+    private static void addStatic(String text, List<SqlNode> nodes) {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (" ".equals(text)) {
+            nodes.add(TemplateCompiler::appendSpace);
+        } else if (text.charAt(0) == ' ') {
+            String rest = text.substring(1);
+            nodes.add(ctx -> {
+                appendSpace(ctx);
+                ctx.sql.append(rest);
+            });
+        } else {
+            nodes.add(ctx -> ctx.sql.append(text));
+        }
+    }
+
+    /**
+     * 追加一个空格，开头或已有空白时不追加
+     */
+    private static void appendSpace(RenderContext ctx) {
+        int length = ctx.sql.length();
+        if (length > 0 && !Character.isWhitespace(ctx.sql.charAt(length - 1))) {
+            ctx.sql.append(' ');
+        }
+    }
+
+    private static void appendSeparator(RenderContext ctx, int index, String open, String separator) {
+        ctx.sql.append(index == 0 ? open : separator);
+    }
+
+    private static SqlNode trim(String prefix, String suffix, String[] prefixOverrides, String[] suffixOverrides, SqlNode body) {
+        return ctx -> {
+            StringBuilder sql = ctx.sql;
+            int start = sql.length();
+            body.render(ctx);
+            int from = skipSpaces(sql, start, sql.length());
+            int to = trimSpaces(sql, from, sql.length());
+            for (String override : prefixOverrides) {
+                if (regionMatches(sql, from, to, override)) {
+                    from = skipSpaces(sql, from + override.length(), to);
+                    break;
+                }
+            }
+            for (String override : suffixOverrides) {
+                if (regionMatches(sql, to - override.length(), to, override)) {
+                    to = trimSpaces(sql, from, to - override.length());
+                    break;
+                }
+            }
+            if (from >= to) {
+                sql.setLength(start);
+                return;
+            }
+            String content = sql.substring(from, to);
+            sql.setLength(start);
+            appendSpace(ctx);
+            if (prefix != null) {
+                sql.append(prefix).append(' ');
+            }
+            sql.append(content);
+            if (suffix != null) {
+                sql.append(' ').append(suffix);
+            }
+        };
+    }
+
+    private static int skipSpaces(StringBuilder sql, int from, int to) {
+        while (from < to && Character.isWhitespace(sql.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimSpaces(StringBuilder sql, int from, int to) {
+        while (to > from && Character.isWhitespace(sql.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean regionMatches(StringBuilder sql, int from, int to, String value) {
+        if (from < 0 || to - from < value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.toUpperCase(sql.charAt(from + i)) != Character.toUpperCase(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 规整文本：引号中的内容原样保留；-- 行注释和 /* *&#47; 块注释被移除（/*+ *&#47; 优化器提示保留）；
+     * 其余连续的空白（含换行）规整为一个空格
+     */
+    private static String normalize(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        boolean space = false;
+        int length = raw.length();
+        int i = 0;
+        while (i < length) {
+            char c = raw.charAt(i);
+            int end = -1;
+            if (c == '\'' || c == '"' || c == '`') {
+                end = closeQuote(raw, i, c);
+            } else if (c == '/' && raw.startsWith("/*+", i)) {
+                int close = raw.indexOf("*/", i + 3);
+                end = close < 0 ? length : close + 2;
+            } else if (c == '-' && raw.startsWith("--", i)) {
+                int close = raw.indexOf('\n', i + 2);
+                i = close < 0 ? length : close;
+                space = true;
+                continue;
+            } else if (c == '/' && raw.startsWith("/*", i)) {
+                int close = raw.indexOf("*/", i + 2);
+                i = close < 0 ? length : close + 2;
+                space = true;
+                continue;
+            } else if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            if (end < 0) {
+                sb.append(c);
+                i++;
+            } else {
+                sb.append(raw, i, end);
+                i = end;
+            }
+        }
+        if (space) {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 返回引号结束后的位置，两个连续的引号视为转义；未闭合时返回文本末尾
+     */
+    private static int closeQuote(String raw, int start, char quote) {
+        int i = start + 1;
+        while (i < raw.length()) {
+            if (raw.charAt(i) == quote) {
+                if (i + 1 < raw.length() && raw.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return raw.length();
+    }
+
+    private static String[] overrides(String value) {
+        if (value == null || value.isEmpty()) {
+            return NONE;
+        }
+        String[] parts = value.split("\\|");
+        List<String> result = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            if (!part.trim().isEmpty()) {
+                result.add(part);
+            }
+        }
+        return result.toArray(NONE);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private String required(Element element, String attribute) {
+        String value = element.getAttribute(attribute);
+        if (value == null || value.trim().isEmpty()) {
+            throw new TinyJdbcException("SqlTemplate " + id + " <" + element.getTagName() + "> requires attribute " + attribute);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,418 @@
+package org.tinycloud.jdbc.template;
+
+import org.tinycloud.jdbc.criteria.TypeFunction;
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.LambdaUtils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 模板表达式的编译：#{path} 中的属性路径以及 if 的 test 条件，编译为闭包后渲染时直接求值，不再解析
+ * </p>
+ * test 条件支持：属性路径（a、a.b）、字面量（null、true、false、数字、'字符串'）、比较（== != &gt; &gt;= &lt; &lt;=，
+ * 以及 XML 中免转义的 gt gte lt lte）、逻辑（and or not，&amp;&amp; || !）和括号；
+ * 单独的属性作为条件时，null、false、0、空字符串、空集合、空数组为假。
+ * 集合、数组、Map、字符串支持 size、length、empty 伪属性。
+ *
+ * @author liuxingyu01
+ * @since 2026-10-20 02:30
+ */
+final class TemplateExpressions {
+
+    private TemplateExpressions() {
+    }
+
+    /**
+     * 取值闭包
+     */
+    interface Accessor {
+        Object get(RenderContext ctx);
+    }
+
+    /**
+     * 条件闭包
+     */
+    interface Condition {
+        boolean test(RenderContext ctx);
+    }
+
+    /**
+     * 编译期的局部变量表（foreach 的 item、index），名称到槽位
+     */
+    static final class Scope {
+        private final List<String> names = new ArrayList<>();
+        private int maxSize;
+
+        int push(String name) {
+            names.add(name);
+            maxSize = Math.max(maxSize, names.size());
+            return names.size() - 1;
+        }
+
+        void pop() {
+            names.remove(names.size() - 1);
+        }
+
+        int slotOf(String name) {
+            return names.lastIndexOf(name);
+        }
+
+        int getMaxSize() {
+            return maxSize;
+        }
+    }
+
+    /**
+     * 编译属性路径
+     */
+    static Accessor path(String path, Scope scope) {
+        String text = path.trim();
+        if (text.isEmpty()) {
+            throw new TinyJdbcException("SqlTemplate property path cannot be empty");
+        }
+        String[] segments = text.split("\\.");
+        for (String segment : segments) {
+            if (segment.isEmpty() || !Character.isJavaIdentifierStart(segment.charAt(0))) {
+                throw new TinyJdbcException("SqlTemplate property path is illegal: " + path);
+            }
+        }
+        int slot = scope.slotOf(segments[0]);
+        Accessor head;
+        if (slot >= 0) {
+            head = ctx -> ctx.locals[slot];
+        } else {
+            Property property = new Property(segments[0]);
+            head = ctx -> property.read(ctx.root);
+        }
+        for (int i = 1; i < segments.length; i++) {
+            Accessor target = head;
+            Property property = new Property(segments[i]);
+            head = ctx -> property.read(target.get(ctx));
+        }
+        return head;
+    }
+
+    /**
+     * 编译 test 条件
+     */
+    static Condition condition(String expression, Scope scope) {
+        Parser parser = new Parser(expression, scope);
+        Condition condition = parser.parseOr();
+        if (parser.peek() != null) {
+            throw new TinyJdbcException("SqlTemplate test expression has unexpected token '" + parser.peek() + "': " + expression);
+        }
+        return condition;
+    }
+
+    static boolean truthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0D;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() > 0;
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return !((Map<?, ?>) value).isEmpty();
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value) > 0;
+        }
+        return true;
+    }
+
+    private static boolean equalsValue(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return compareNumber((Number) left, (Number) right) == 0;
+        }
+        if (left instanceof Character || right instanceof Character) {
+            return Objects.equals(String.valueOf(left), String.valueOf(right));
+        }
+        if (left instanceof Enum && right instanceof String) {
+            return ((Enum<?>) left).name().equals(right);
+        }
+        if (right instanceof Enum && left instanceof String) {
+            return ((Enum<?>) right).name().equals(left);
+        }
+        return Objects.equals(left, right);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValue(Object left, Object right, String expression) {
+        if (left == null || right == null) {
+            throw new TinyJdbcException("SqlTemplate can not compare null values: " + expression);
+        }
+        if (left instanceof Number && right instanceof Number) {
+            return compareNumber((Number) left, (Number) right);
+        }
+        if (left instanceof Comparable && left.getClass().isInstance(right)) {
+            return ((Comparable) left).compareTo(right);
+        }
+        throw new TinyJdbcException("SqlTemplate can not compare " + left.getClass().getName() + " with "
+                + right.getClass().getName() + ": " + expression);
+    }
+
+    private static int compareNumber(Number left, Number right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return Long.compare(left.longValue(), right.longValue());
+        }
+        return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    /**
+     * 属性读取，按目标类型缓存读取方法（单态内联缓存），Map 按键读取
+     */
+    static final class Property {
+        private final String name;
+        private volatile Getter cache;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+        Object read(Object target) {
+            if (target == null) {
+                return null;
+            }
+            if (target instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) target;
+                if (map.containsKey(name) || !isPseudo(name)) {
+                    return map.get(name);
+                }
+                return "empty".equals(name) ? map.isEmpty() : map.size();
+            }
+            Getter getter = this.cache;
+            if (getter == null || getter.type != target.getClass()) {
+                getter = new Getter(target.getClass(), name);
+                this.cache = getter;
+            }
+            return getter.read(target);
+        }
+
+        private static boolean isPseudo(String name) {
+            return "size".equals(name) || "length".equals(name) || "empty".equals(name);
+        }
+    }
+
+    private static final class Getter {
+        private final Class<?> type;
+        private final String name;
+        private final TypeFunction<Object, ?> function;
+
+        @SuppressWarnings("unchecked")
+        private Getter(Class<?> type, String name) {
+            this.type = type;
+            this.name = name;
+            boolean pseudo = Property.isPseudo(name)
+                    && (Collection.class.isAssignableFrom(type) || CharSequence.class.isAssignableFrom(type) || type.isArray());
+            this.function = pseudo ? null : (TypeFunction<Object, ?>) LambdaUtils.getLambdaGetter(type, name);
+        }
+
+        private Object read(Object target) {
+            if (function != null) {
+                return function.apply(target);
+            }
+            int size;
+            if (target instanceof Collection) {
+                size = ((Collection<?>) target).size();
+            } else if (target instanceof CharSequence) {
+                size = ((CharSequence) target).length();
+            } else {
+                size = Array.getLength(target);
+            }
+            return "empty".equals(name) ? size == 0 : size;
+        }
+    }
+
+    /**
+     * test 条件的递归下降解析器
+     */
+    private static final class Parser {
+        private static final List<String> TWO_CHAR_OPERATORS = Arrays.asList("==", "!=", ">=", "<=", "&&", "||");
+
+        private final String expression;
+        private final Scope scope;
+        private final List<String> tokens;
+        private int position;
+
+        private Parser(String expression, Scope scope) {
+            this.expression = expression;
+            this.scope = scope;
+            this.tokens = tokenize(expression);
+        }
+
+        private String peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private String next() {
+            String token = peek();
+            if (token == null) {
+                throw new TinyJdbcException("SqlTemplate test expression ends unexpectedly: " + expression);
+            }
+            position++;
+            return token;
+        }
+
+        private Condition parseOr() {
+            Condition left = parseAnd();
+            while ("or".equals(peek()) || "||".equals(peek())) {
+                next();
+                Condition a = left;
+                Condition b = parseAnd();
+                left = ctx -> a.test(ctx) || b.test(ctx);
+            }
+            return left;
+        }
+
+        private Condition parseAnd() {
+            Condition left = parseUnary();
+            while ("and".equals(peek()) || "&&".equals(peek())) {
+                next();
+                Condition a = left;
+                Condition b = parseUnary();
+                left = ctx -> a.test(ctx) && b.test(ctx);
+            }
+            return left;
+        }
+
+        private Condition parseUnary() {
+            String token = peek();
+            if ("!".equals(token) || "not".equals(token)) {
+                next();
+                Condition inner = parseUnary();
+                return ctx -> !inner.test(ctx);
+            }
+            if ("(".equals(token)) {
+                next();
+                Condition inner = parseOr();
+                if (!")".equals(next())) {
+                    throw new TinyJdbcException("SqlTemplate test expression misses ')': " + expression);
+                }
+                return inner;
+            }
+            Accessor left = parseOperand();
+            String operator = peek();
+            if (operator == null) {
+                return ctx -> truthy(left.get(ctx));
+            }
+            switch (operator) {
+                case "==":
+                case "!=":
+                case ">":
+                case "gt":
+                case ">=":
+                case "gte":
+                case "<":
+                case "lt":
+                case "<=":
+                case "lte":
+                    next();
+                    return comparison(left, operator, parseOperand());
+                default:
+                    return ctx -> truthy(left.get(ctx));
+            }
+        }
+
+        private Condition comparison(Accessor left, String operator, Accessor right) {
+            switch (operator) {
+                case "==":
+                    return ctx -> equalsValue(left.get(ctx), right.get(ctx));
+                case "!=":
+                    return ctx -> !equalsValue(left.get(ctx), right.get(ctx));
+                case ">":
+                case "gt":
+                    return ctx -> compareValue(left.get(ctx), right.get(ctx), expression) > 0;
+                case ">=":
+                case "gte":
+                    return ctx -> compareValue(left.get(ctx), right.get(ctx), expression) >= 0;
+                case "<":
+                case "lt":
+                    return ctx -> compareValue(left.get(ctx), right.get(ctx), expression) < 0;
+                default:
+                    return ctx -> compareValue(left.get(ctx), right.get(ctx), expression) <= 0;
+            }
+        }
+
+        private Accessor parseOperand() {
+            String token = next();
+            char first = token.charAt(0);
+            if (first == '\'' || first == '"') {
+                String value = token.substring(1, token.length() - 1);
+                return ctx -> value;
+            }
+            if (Character.isDigit(first) || (first == '-' && token.length() > 1)) {
+                Number value = token.contains(".") ? (Number) new BigDecimal(token) : (Number) Long.valueOf(token);
+                return ctx -> value;
+            }
+            switch (token) {
+                case "null":
+                    return ctx -> null;
+                case "true":
+                    return ctx -> Boolean.TRUE;
+                case "false":
+                    return ctx -> Boolean.FALSE;
+                default:
+                    if (!Character.isJavaIdentifierStart(first)) {
+                        throw new TinyJdbcException("SqlTemplate test expression has unexpected token '" + token + "': " + expression);
+                    }
+                    return path(token, scope);
+            }
+        }
+
+        private static List<String> tokenize(String expression) {
+            List<String> tokens = new ArrayList<>();
+            int length = expression.length();
+            int i = 0;
+            while (i < length) {
+                char c = expression.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '\'' || c == '"') {
+                    int end = expression.indexOf(c, i + 1);
+                    if (end < 0) {
+                        throw new TinyJdbcException("SqlTemplate test expression has an unclosed string: " + expression);
+                    }
+                    tokens.add(expression.substring(i, end + 1));
+                    i = end + 1;
+                } else if (Character.isJavaIdentifierPart(c) || (c == '-' && i + 1 < length && Character.isDigit(expression.charAt(i + 1)))) {
+                    int end = i + 1;
+                    while (end < length && (Character.isJavaIdentifierPart(expression.charAt(end)) || expression.charAt(end) == '.')) {
+                        end++;
+                    }
+                    tokens.add(expression.substring(i, end));
+                    i = end;
+                } else if (i + 1 < length && TWO_CHAR_OPERATORS.contains(expression.substring(i, i + 2))) {
+                    tokens.add(expression.substring(i, i + 2));
+                    i += 2;
+                } else if ("()!<>".indexOf(c) >= 0) {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    throw new TinyJdbcException("SqlTemplate test expression has an illegal character '" + c + "': " + expression);
+                }
+            }
+            return tokens;
+        }
+    }
+}
@@ -50,6 +50,36 @@ public class ClassUtils {
         return type == boolean.class || Boolean.class == type;
     }
 
+    /**
+     * 获取基本类型对应的包装类型
+     *
+     * @param type 类型
+     * @return 基本类型返回包装类型，其他类型原样返回
+     */
+    public static Class<?> wrapPrimitive(Class<?> type) {
+        if (type == null || !type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
     /**
      * 判断是否为代理对象
      *
@@ -65,6 +65,10 @@ public class LambdaUtils {
      * @return String 列名称
      */
     public static <T> String getLambdaColumnName(TypeFunction<T, ?> getter) {
+        if (getter instanceof org.tinycloud.jdbc.metamodel.Column) {
+            // 静态元模型常量已保存解析好的列名
+            return ((org.tinycloud.jdbc.metamodel.Column<T, ?>) getter).getColumnName();
+        }
         SerializedLambda serializedLambda = resolve(getter);
         final String methodName = serializedLambda.getImplMethodName();
         final String fieldName = PropertyNamer.methodToProperty(methodName);
@@ -0,0 +1,96 @@
+package org.tinycloud.jdbc.util;
+
+import org.tinycloud.jdbc.exception.TinyJdbcException;
+import org.tinycloud.jdbc.util.tuple.Pair;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * 数值区间切分工具类，用于将主键的 [min, max] 闭区间切分为若干个连续且不重叠的子区间
+ * </p>
+ *
+ * @author liuxingyu01
+ * @since 2026-10-19 14:25
+ */
+public class RangeSplitUtils {
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /**
+     * 将 [min, max] 闭区间切分为最多 partitions 个连续子区间，区间长度尽量均匀
+     *
+     * @param min        最小值（包含）
+     * @param max        最大值（包含）
+     * @param partitions 期望的分片数
+     * @return 子区间列表，Pair 左边为起始值（包含），右边为结束值（包含）
+     */
+    public static List<Pair<BigInteger, BigInteger>> split(BigInteger min, BigInteger max, int partitions) {
+        if (partitions <= 0) {
+            throw new TinyJdbcException("partitions must be greater than 0");
+        }
+        if (min.compareTo(max) > 0) {
+            throw new TinyJdbcException("range min must be less than or equal to max, min: " + min + ", max: " + max);
+        }
+        BigInteger span = max.subtract(min).add(BigInteger.ONE);
+        BigInteger parts = span.min(BigInteger.valueOf(partitions));
+        BigInteger[] divAndRem = span.divideAndRemainder(parts);
+        BigInteger size = divAndRem[0];
+        long remainder = divAndRem[1].longValue();
+
+        int count = parts.intValue();
+        List<Pair<BigInteger, BigInteger>> ranges = new ArrayList<>(count);
+        BigInteger start = min;
+        for (int i = 0; i < count; i++) {
+            // 前 remainder 个区间各多分一个值
+            BigInteger length = i < remainder ? size.add(BigInteger.ONE) : size;
+            BigInteger end = start.add(length).subtract(BigInteger.ONE);
+            ranges.add(Pair.of(start, end));
+            start = end.add(BigInteger.ONE);
+        }
+        return ranges;
+    }
+
+    /**
+     * 将数值型主键值转换为 BigInteger
+     *
+     * @param value 主键值
+     * @return BigInteger
+     * @throws TinyJdbcException 非整数类型的值
+     */
+    public static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigDecimal) {
+            try {
+                return ((BigDecimal) value).toBigIntegerExact();
+            } catch (ArithmeticException e) {
+                throw new TinyJdbcException("primary key value is not an integer: " + value, e);
+            }
+        }
+        throw new TinyJdbcException("primary key must be an integer type, actual: "
+                + (value == null ? "null" : value.getClass().getName()));
+    }
+
+    /**
+     * 将 BigInteger 转换为适合 JDBC 绑定的值，long 范围内使用 Long，否则使用 BigDecimal
+     *
+     * @param value 数值
+     * @return 绑定参数
+     */
+    public static Object toBindValue(BigInteger value) {
+        if (value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0) {
+            return value.longValue();
+        }
+        return new BigDecimal(value);
+    }
+}
@@ -26,6 +26,8 @@ public class TableParserUtils {
 
     private static final Map<Class<?>, Pair<List<String>, String>> tableColumnCache = new ConcurrentHashMap<>(128);
 
+    private static final Map<Class<?>, Field> primaryKeyFieldCache = new ConcurrentHashMap<>(128);
+
 
     /**
      * 获取属性列表-Field
@@ -155,4 +157,22 @@ public class TableParserUtils {
             return new Pair<>(columnList, primaryKeyColumn);
         });
     }
+
+    /**
+     * 获取实体类的主键属性（已设置为可访问）
+     *
+     * @param clazz 实体类类型
+     * @return 标注了 @Id 的属性
+     */
+    public static Field getPrimaryKeyField(Class<?> clazz) {
+        return ConcurrentHashMapUtils.computeIfAbsent(primaryKeyFieldCache, clazz, key -> {
+            for (Field field : resolveFields(key)) {
+                if (field.getAnnotation(Id.class) != null) {
+                    ReflectUtils.makeAccessible(field);
+                    return field;
+                }
+            }
+            throw new TinyJdbcException("Please correctly set the primary key attribute column!");
+        });
+    }
 }